@@ -0,0 +1,117 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.apitest.method.offer;
+
+import bisq.core.payment.PaymentAccount;
+
+import bisq.proto.grpc.OfferEvent;
+import bisq.proto.grpc.OfferInfo;
+
+import io.grpc.Context;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static bisq.apitest.config.ApiTestConfig.BSQ;
+import static bisq.proto.grpc.OfferEvent.EventType.ADDED;
+import static bisq.proto.grpc.OfferEvent.EventType.REMOVED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static protobuf.OfferDirection.SELL;
+
+@Disabled
+@Slf4j
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SubscribeOffersTest extends AbstractOfferTest {
+
+    private static final String CURRENCY_CODE = "aud";
+    private static final long EVENT_TIMEOUT_SECONDS = 30;
+
+    private static final ExecutorService streamReader = Executors.newSingleThreadExecutor();
+
+    @Test
+    @Order(1)
+    public void testStreamedOfferEvents() throws InterruptedException {
+        PaymentAccount audAccount = createDummyF2FAccount(aliceClient, "AU");
+
+        // Bob subscribes to the offer book, Alice's offers are streamed to him.
+        BlockingQueue<OfferEvent> offerEvents = new LinkedBlockingQueue<>();
+        Context.CancellableContext subscriptionContext = Context.current().withCancellation();
+        streamReader.execute(() -> subscriptionContext.run(() -> {
+            try {
+                bobClient.subscribeOffers(SELL.name(), CURRENCY_CODE).forEachRemaining(offerEvents::add);
+            } catch (Exception ex) {
+                // The stream ends with a CANCELLED status when the subscription is cancelled.
+                log.info("Offer event stream ended: {}", ex.getMessage());
+            }
+        }));
+
+        try {
+            OfferInfo newOffer = aliceClient.createMarketBasedPricedOffer(SELL.name(),
+                    CURRENCY_CODE,
+                    10_000_000L,
+                    10_000_000L,
+                    0.00,
+                    defaultBuyerSecurityDepositPct.get(),
+                    audAccount.getId(),
+                    BSQ,
+                    NO_TRIGGER_PRICE);
+            log.debug("Alice's new offer {}", newOffer.getId());
+
+            OfferEvent addedEvent = takeEventForOffer(offerEvents, newOffer.getId());
+            assertEquals(ADDED, addedEvent.getEventType());
+            assertEquals(SELL.name(), addedEvent.getOffer().getDirection());
+            assertEquals(CURRENCY_CODE.toUpperCase(), addedEvent.getOffer().getCounterCurrencyCode());
+
+            aliceClient.cancelOffer(newOffer.getId());
+            OfferEvent removedEvent = takeEventForOffer(offerEvents, newOffer.getId());
+            assertEquals(REMOVED, removedEvent.getEventType());
+        } finally {
+            subscriptionContext.cancel(null);
+        }
+    }
+
+    private static OfferEvent takeEventForOffer(BlockingQueue<OfferEvent> offerEvents, String offerId)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(EVENT_TIMEOUT_SECONDS);
+        while (System.currentTimeMillis() < deadline) {
+            OfferEvent offerEvent = offerEvents.poll(1, TimeUnit.SECONDS);
+            // The stream starts with the offers already in the offer book.
+            if (offerEvent != null && offerEvent.getOffer().getId().equals(offerId))
+                return offerEvent;
+        }
+        return fail("No offer event received for offer " + offerId);
+    }
+
+    @AfterAll
+    public static void shutdownStreamReader() {
+        streamReader.shutdownNow();
+    }
+}
@@ -81,6 +81,7 @@ import bisq.cli.opts.SendBtcOptionParser;
 import bisq.cli.opts.SetTxFeeRateOptionParser;
 import bisq.cli.opts.SetWalletPasswordOptionParser;
 import bisq.cli.opts.SimpleMethodOptionParser;
+import bisq.cli.opts.SubscribeOffersOptionParser;
 import bisq.cli.opts.TakeBsqSwapOfferOptionParser;
 import bisq.cli.opts.TakeOfferOptionParser;
 import bisq.cli.opts.UnlockWalletOptionParser;
@@ -211,6 +212,28 @@ public class CliMain {
                     }
                     return;
                 }
+                case subscribebalances: {
+                    var opts = new GetBalanceOptionParser(args).parse();
+                    if (opts.isForHelp()) {
+                        out.println(client.getMethodHelp(method));
+                        return;
+                    }
+                    var currencyCode = opts.getCurrencyCode();
+                    // Blocks until the server ends the stream or the cli is stopped.
+                    client.subscribeBalances(currencyCode).forEachRemaining(reply -> {
+                        var balances = reply.getBalances();
+                        out.println(new Date());
+                        if (!currencyCode.equalsIgnoreCase("BSQ")) {
+                            out.println("BTC");
+                            new TableBuilder(BTC_BALANCE_TBL, balances.getBtc()).build().print(out);
+                        }
+                        if (!currencyCode.equalsIgnoreCase("BTC")) {
+                            out.println("BSQ");
+                            new TableBuilder(BSQ_BALANCE_TBL, balances.getBsq()).build().print(out);
+                        }
+                    });
+                    return;
+                }
                 case getaddressbalance: {
                     var opts = new GetAddressBalanceOptionParser(args).parse();
                     if (opts.isForHelp()) {
@@ -248,6 +271,18 @@ public class CliMain {
                     out.println(formatInternalFiatPrice(price));
                     return;
                 }
+                case subscribebtcprice: {
+                    var opts = new GetBTCMarketPriceOptionParser(args).parse();
+                    if (opts.isForHelp()) {
+                        out.println(client.getMethodHelp(method));
+                        return;
+                    }
+                    var currencyCode = opts.getCurrencyCode();
+                    // Blocks until the server ends the stream or the cli is stopped.
+                    client.subscribeBtcPrice(currencyCode).forEachRemaining(reply ->
+                            out.println(formatInternalFiatPrice(reply.getPrice())));
+                    return;
+                }
                 case getfundingaddresses: {
                     if (new SimpleMethodOptionParser(args).parse().isForHelp()) {
                         out.println(client.getMethodHelp(method));
@@ -496,6 +531,19 @@ public class CliMain {
 
                     return;
                 }
+                case subscribeoffers: {
+                    var opts = new SubscribeOffersOptionParser(args).parse();
+                    if (opts.isForHelp()) {
+                        out.println(client.getMethodHelp(method));
+                        return;
+                    }
+                    // Blocks until the server ends the stream or the cli is stopped.
+                    client.subscribeOffers(opts.getDirection(), opts.getCurrencyCode()).forEachRemaining(offerEvent -> {
+                        out.println(offerEvent.getEventType().name().toLowerCase());
+                        new TableBuilder(OFFER_TBL, offerEvent.getOffer()).build().print(out);
+                    });
+                    return;
+                }
                 case getmyoffers: {
                     var opts = new GetOffersOptionParser(args).parse();
                     if (opts.isForHelp()) {
@@ -575,6 +623,16 @@ public class CliMain {
                     }
                     return;
                 }
+                case subscribetrades: {
+                    if (new SimpleMethodOptionParser(args).parse().isForHelp()) {
+                        out.println(client.getMethodHelp(method));
+                        return;
+                    }
+                    // Blocks until the server ends the stream or the cli is stopped.
+                    client.subscribeTrades().forEachRemaining(reply ->
+                            new TableBuilder(TRADE_DETAIL_TBL, reply.getTrade()).build().print(out));
+                    return;
+                }
                 case confirmpaymentstarted: {
                     var opts = new GetTradeOptionParser(args).parse();
                     if (opts.isForHelp()) {
@@ -891,12 +949,16 @@ public class CliMain {
             stream.println();
             stream.format(rowFormat, getbalance.name(), "[--currency-code=<bsq|btc>]", "Get server wallet balances");
             stream.println();
+            stream.format(rowFormat, subscribebalances.name(), "[--currency-code=<bsq|btc>]", "Stream server wallet balances on each change");
+            stream.println();
             stream.format(rowFormat, getaddressbalance.name(), "--address=<btc-address>", "Get server wallet address balance");
             stream.println();
             stream.format(rowFormat, getavgbsqprice.name(), "--days=<days>", "Get volume weighted average bsq trade price");
             stream.println();
             stream.format(rowFormat, getbtcprice.name(), "--currency-code=<currency-code>", "Get current market btc price");
             stream.println();
+            stream.format(rowFormat, subscribebtcprice.name(), "--currency-code=<currency-code>", "Stream market btc price on each change");
+            stream.println();
             stream.format(rowFormat, getfundingaddresses.name(), "", "Get BTC funding addresses");
             stream.println();
             stream.format(rowFormat, getunusedbsqaddress.name(), "", "Get unused BSQ address");
@@ -947,6 +1009,9 @@ public class CliMain {
             stream.format(rowFormat, getoffers.name(), "--direction=<buy|sell> \\", "Get current offers");
             stream.format(rowFormat, "", "--currency-code=<currency-code>", "");
             stream.println();
+            stream.format(rowFormat, subscribeoffers.name(), "[--direction=<buy|sell>] \\", "Stream added and removed offers");
+            stream.format(rowFormat, "", "[--currency-code=<currency-code>]", "");
+            stream.println();
             stream.format(rowFormat, getmyoffers.name(), "--direction=<buy|sell> \\", "Get my current offers");
             stream.format(rowFormat, "", "--currency-code=<currency-code>", "");
             stream.println();
@@ -960,6 +1025,8 @@ public class CliMain {
             stream.println();
             stream.format(rowFormat, gettrades.name(), "[--category=<open|closed|failed>]", "Get open (default), closed, or failed trades");
             stream.println();
+            stream.format(rowFormat, subscribetrades.name(), "", "Stream open trades on each state change");
+            stream.println();
             stream.format(rowFormat, confirmpaymentstarted.name(), "--trade-id=<trade-id>", "Confirm payment started");
             stream.println();
             stream.format(rowFormat, confirmpaymentreceived.name(), "--trade-id=<trade-id>", "Confirm payment received");
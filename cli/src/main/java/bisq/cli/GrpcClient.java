@@ -23,9 +23,13 @@ import bisq.proto.grpc.BalancesInfo;
 import bisq.proto.grpc.BsqBalanceInfo;
 import bisq.proto.grpc.BtcBalanceInfo;
 import bisq.proto.grpc.GetAverageBsqTradePriceRequest;
+import bisq.proto.grpc.GetBalancesReply;
 import bisq.proto.grpc.GetMethodHelpRequest;
+import bisq.proto.grpc.GetTradeReply;
 import bisq.proto.grpc.GetTradesRequest;
 import bisq.proto.grpc.GetVersionRequest;
+import bisq.proto.grpc.MarketPriceReply;
+import bisq.proto.grpc.OfferEvent;
 import bisq.proto.grpc.OfferInfo;
 import bisq.proto.grpc.RegisterDisputeAgentRequest;
 import bisq.proto.grpc.StopRequest;
@@ -36,6 +40,7 @@ import bisq.proto.grpc.TxInfo;
 import protobuf.PaymentAccount;
 import protobuf.PaymentMethod;
 
+import java.util.Iterator;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
@@ -100,6 +105,10 @@ public final class GrpcClient {
         return walletsServiceRequest.getBalances(currencyCode);
     }
 
+    public Iterator<GetBalancesReply> subscribeBalances(String currencyCode) {
+        return walletsServiceRequest.subscribeBalances(currencyCode);
+    }
+
     public AddressBalanceInfo getAddressBalance(String address) {
         return walletsServiceRequest.getAddressBalance(address);
     }
@@ -115,6 +124,10 @@ public final class GrpcClient {
         return walletsServiceRequest.getBtcPrice(currencyCode);
     }
 
+    public Iterator<MarketPriceReply> subscribeBtcPrice(String currencyCode) {
+        return walletsServiceRequest.subscribeBtcPrice(currencyCode);
+    }
+
     public List<AddressBalanceInfo> getFundingAddresses() {
         return walletsServiceRequest.getFundingAddresses();
     }
@@ -305,6 +318,10 @@ public final class GrpcClient {
         return offersServiceRequest.getOffers(direction, currencyCode, all);
     }
 
+    public Iterator<OfferEvent> subscribeOffers(String direction, String currencyCode) {
+        return offersServiceRequest.subscribeOffers(direction, currencyCode);
+    }
+
     public List<OfferInfo> getOffersSortedByDate(String currencyCode, boolean all) {
         return offersServiceRequest.getOffersSortedByDate(currencyCode, all);
     }
@@ -355,6 +372,10 @@ public final class GrpcClient {
         return tradesServiceRequest.getOpenTrades();
     }
 
+    public Iterator<GetTradeReply> subscribeTrades() {
+        return tradesServiceRequest.subscribeTrades();
+    }
+
     public List<TradeInfo> getTradeHistory(GetTradesRequest.Category category) {
         return tradesServiceRequest.getTradeHistory(category);
     }
@@ -33,6 +33,8 @@ public enum Method {
     getaddressbalance,
     getbalance,
     getbtcprice,
+    subscribebalances,
+    subscribebtcprice,
     getfundingaddresses,
     @Deprecated // Since 27-Dec-2021.
     getmyoffer, // Endpoint to be removed from future version.  Use getoffer instead.
@@ -40,11 +42,13 @@ public enum Method {
     getnetwork,
     getoffer,
     getoffers,
+    subscribeoffers,
     getpaymentacctform,
     getpaymentaccts,
     getpaymentmethods,
     gettrade,
     gettrades,
+    subscribetrades,
     failtrade,
     unfailtrade,
     gettransactions,
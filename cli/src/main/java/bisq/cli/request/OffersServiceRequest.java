@@ -27,9 +27,12 @@ import bisq.proto.grpc.GetMyOffersRequest;
 import bisq.proto.grpc.GetOfferCategoryRequest;
 import bisq.proto.grpc.GetOfferRequest;
 import bisq.proto.grpc.GetOffersRequest;
+import bisq.proto.grpc.OfferEvent;
 import bisq.proto.grpc.OfferInfo;
+import bisq.proto.grpc.SubscribeOffersRequest;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static bisq.proto.grpc.EditOfferRequest.EditType.ACTIVATION_STATE_ONLY;
@@ -240,6 +243,18 @@ public class OffersServiceRequest {
         return grpcStubs.offersService.getOffers(request).getOffersList();
     }
 
+    /**
+     * Returns a blocking iterator over the offer book events, starting with an ADDED event for each
+     * available offer.  An empty direction or currency code matches all directions or currencies.
+     */
+    public Iterator<OfferEvent> subscribeOffers(String direction, String currencyCode) {
+        var request = SubscribeOffersRequest.newBuilder()
+                .setDirection(direction)
+                .setCurrencyCode(currencyCode)
+                .build();
+        return grpcStubs.offersService.subscribeOffers(request);
+    }
+
     public List<OfferInfo> getOffersSortedByDate(String currencyCode, boolean all) {
         ArrayList<OfferInfo> offers = new ArrayList<>();
         offers.addAll(getOffers(BUY.name(), currencyCode, all));
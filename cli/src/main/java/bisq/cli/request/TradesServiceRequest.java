@@ -22,14 +22,17 @@ import bisq.proto.grpc.ConfirmPaymentReceivedRequest;
 import bisq.proto.grpc.ConfirmPaymentStartedRequest;
 import bisq.proto.grpc.ConfirmPaymentStartedXmrRequest;
 import bisq.proto.grpc.FailTradeRequest;
+import bisq.proto.grpc.GetTradeReply;
 import bisq.proto.grpc.GetTradeRequest;
 import bisq.proto.grpc.GetTradesRequest;
 import bisq.proto.grpc.TakeOfferReply;
+import bisq.proto.grpc.SubscribeTradesRequest;
 import bisq.proto.grpc.TakeOfferRequest;
 import bisq.proto.grpc.TradeInfo;
 import bisq.proto.grpc.UnFailTradeRequest;
 import bisq.proto.grpc.WithdrawFundsRequest;
 
+import java.util.Iterator;
 import java.util.List;
 
 import static bisq.proto.grpc.GetTradesRequest.Category.CLOSED;
@@ -98,6 +101,15 @@ public class TradesServiceRequest {
         return grpcStubs.tradesService.getTrades(request).getTradesList();
     }
 
+    /**
+     * Returns a blocking iterator over the open trades, followed by each trade whose state
+     * or dispute state changes.
+     */
+    public Iterator<GetTradeReply> subscribeTrades() {
+        var request = SubscribeTradesRequest.newBuilder().build();
+        return grpcStubs.tradesService.subscribeTrades(request);
+    }
+
     public List<TradeInfo> getTradeHistory(GetTradesRequest.Category category) {
         if (!category.equals(CLOSED) && !category.equals(FAILED))
             throw new IllegalStateException("unrecognized gettrades category parameter " + category.name());
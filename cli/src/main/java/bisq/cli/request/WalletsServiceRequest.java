@@ -22,6 +22,7 @@ import bisq.proto.grpc.BalancesInfo;
 import bisq.proto.grpc.BsqBalanceInfo;
 import bisq.proto.grpc.BtcBalanceInfo;
 import bisq.proto.grpc.GetAddressBalanceRequest;
+import bisq.proto.grpc.GetBalancesReply;
 import bisq.proto.grpc.GetBalancesRequest;
 import bisq.proto.grpc.GetDaoStatusRequest;
 import bisq.proto.grpc.GetFundingAddressesRequest;
@@ -31,6 +32,7 @@ import bisq.proto.grpc.GetTransactionsRequest;
 import bisq.proto.grpc.GetTxFeeRateRequest;
 import bisq.proto.grpc.GetUnusedBsqAddressRequest;
 import bisq.proto.grpc.LockWalletRequest;
+import bisq.proto.grpc.MarketPriceReply;
 import bisq.proto.grpc.MarketPriceRequest;
 import bisq.proto.grpc.RemoveWalletPasswordRequest;
 import bisq.proto.grpc.SendBsqRequest;
@@ -43,6 +45,7 @@ import bisq.proto.grpc.UnlockWalletRequest;
 import bisq.proto.grpc.UnsetTxFeeRatePreferenceRequest;
 import bisq.proto.grpc.VerifyBsqSentToAddressRequest;
 
+import java.util.Iterator;
 import java.util.List;
 
 
@@ -86,6 +89,17 @@ public class WalletsServiceRequest {
         return grpcStubs.walletsService.getBalances(request).getBalances();
     }
 
+    /**
+     * Returns a blocking iterator over the current balances, followed by the balances
+     * each time they change.
+     */
+    public Iterator<GetBalancesReply> subscribeBalances(String currencyCode) {
+        var request = GetBalancesRequest.newBuilder()
+                .setCurrencyCode(currencyCode)
+                .build();
+        return grpcStubs.walletsService.subscribeBalances(request);
+    }
+
     public AddressBalanceInfo getAddressBalance(String address) {
         var request = GetAddressBalanceRequest.newBuilder()
                 .setAddress(address).build();
@@ -99,6 +113,17 @@ public class WalletsServiceRequest {
         return grpcStubs.priceService.getMarketPrice(request).getPrice();
     }
 
+    /**
+     * Returns a blocking iterator over the current market price, followed by the price
+     * each time the price feed delivers a different price.
+     */
+    public Iterator<MarketPriceReply> subscribeBtcPrice(String currencyCode) {
+        var request = MarketPriceRequest.newBuilder()
+                .setCurrencyCode(currencyCode)
+                .build();
+        return grpcStubs.priceService.subscribeMarketPrice(request);
+    }
+
     public List<AddressBalanceInfo> getFundingAddresses() {
         var request = GetFundingAddressesRequest.newBuilder().build();
         return grpcStubs.walletsService.getFundingAddresses(request).getAddressBalanceInfoList();
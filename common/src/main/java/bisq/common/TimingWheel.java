@@ -0,0 +1,210 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timing wheel. Timeouts are kept in buckets by the tick at which they are due, so at each tick only the
+ * bucket of that tick is visited. Timeouts which are more than one rotation ahead carry the number of remaining
+ * rounds.
+ * <p>
+ * Timeouts can be scheduled and cancelled from any thread in O(1). New timeouts are added to their bucket at the next
+ * advance, cancelled ones are removed when their bucket gets visited. The wheel is advanced by a single thread, which
+ * also executes the due timeouts.
+ */
+@Slf4j
+class TimingWheel {
+    static class Timeout {
+        private final Runnable runnable;
+        private final long interval;
+        private final boolean periodic;
+        private long deadline;
+        private long remainingRounds;
+        private Timeout next;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable runnable, long interval, boolean periodic, long deadline) {
+            this.runnable = runnable;
+            this.interval = interval;
+            this.periodic = periodic;
+            this.deadline = deadline;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickDuration;
+    private final long startTime;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    // Next tick to be processed. Only accessed by the thread advancing the wheel.
+    private long nextTick;
+    private int numTimeouts;
+
+    /**
+     * @param tickDuration  Duration of a tick in ms
+     * @param ticksPerWheel Number of buckets, rounded up to a power of 2
+     * @param startTime     Time of tick 0 in ms
+     */
+    TimingWheel(long tickDuration, int ticksPerWheel, long startTime) {
+        this.tickDuration = tickDuration;
+        this.startTime = startTime;
+        int numBuckets = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        buckets = new Timeout[numBuckets];
+        mask = numBuckets - 1;
+    }
+
+    Timeout schedule(Runnable runnable, long delay, long now) {
+        return addPending(new Timeout(runnable, delay, false, now + delay));
+    }
+
+    Timeout schedulePeriodically(Runnable runnable, long interval, long now) {
+        return addPending(new Timeout(runnable, interval, true, now + interval));
+    }
+
+    /**
+     * Executes all timeouts which are due at the given time. Periodic timeouts get scheduled again with their interval
+     * starting at the given time.
+     */
+    synchronized void advance(long now) {
+        long currentTick = Math.floorDiv(now - startTime, tickDuration);
+        List<Timeout> expired = new ArrayList<>();
+        if (currentTick - nextTick >= buckets.length) {
+            // We have missed more than a full rotation (e.g. after the computer was in sleep mode), so we re-add all
+            // timeouts relative to the current tick instead of visiting each missed tick.
+            List<Timeout> timeouts = new ArrayList<>(numTimeouts);
+            for (int i = 0; i < buckets.length; i++) {
+                for (Timeout timeout = buckets[i]; timeout != null; timeout = timeout.next) {
+                    timeouts.add(timeout);
+                }
+                buckets[i] = null;
+            }
+            numTimeouts = 0;
+            nextTick = currentTick + 1;
+            timeouts.forEach(timeout -> {
+                if (timeout.isCancelled()) {
+                    return;
+                }
+                if (timeout.deadline <= now) {
+                    expired.add(timeout);
+                } else {
+                    add(timeout);
+                }
+            });
+        }
+
+        transferPendingTimeouts();
+        while (nextTick <= currentTick) {
+            collectExpired((int) (nextTick & mask), expired);
+            nextTick++;
+        }
+
+        expired.forEach(timeout -> {
+            if (timeout.isCancelled()) {
+                return;
+            }
+            try {
+                timeout.runnable.run();
+            } catch (Throwable t) {
+                log.error("Exception at executing timeout", t);
+                timeout.cancel();
+                return;
+            }
+            if (timeout.periodic && !timeout.isCancelled()) {
+                timeout.deadline = now + timeout.interval;
+                pendingTimeouts.add(timeout);
+            }
+        });
+    }
+
+    synchronized int size() {
+        return numTimeouts + pendingTimeouts.size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private Timeout addPending(Timeout timeout) {
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                add(timeout);
+            }
+        }
+    }
+
+    private void add(Timeout timeout) {
+        // First tick at which the deadline has passed. If that tick has been processed already we use the next one.
+        long tick = Math.max(-Math.floorDiv(startTime - timeout.deadline, tickDuration), nextTick);
+        timeout.remainingRounds = (tick - nextTick) / buckets.length;
+        int index = (int) (tick & mask);
+        timeout.next = buckets[index];
+        buckets[index] = timeout;
+        numTimeouts++;
+    }
+
+    private void collectExpired(int index, List<Timeout> expired) {
+        Timeout previous = null;
+        Timeout timeout = buckets[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            boolean remove = timeout.isCancelled();
+            if (!remove) {
+                if (timeout.remainingRounds <= 0) {
+                    expired.add(timeout);
+                    remove = true;
+                } else {
+                    timeout.remainingRounds--;
+                }
+            }
+
+            if (remove) {
+                if (previous == null) {
+                    buckets[index] = next;
+                } else {
+                    previous.next = next;
+                }
+                timeout.next = null;
+                numTimeouts--;
+            } else {
+                previous = timeout;
+            }
+            timeout = next;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import java.time.Duration;
+
+import java.util.TimerTask;
+
+/**
+ * Timer backed by a shared hashed timing wheel with a tick of {@link MasterTimer#FRAME_INTERVAL_MS}. Unlike the
+ * FrameRateTimer, scheduling and stopping is O(1) and at each tick only the due timers are visited, which matters
+ * for headless apps with many timers like seed nodes. Can be set with {@link UserThread#setTimerClass(Class)}.
+ * <p>
+ * The timers are executed on the user thread.
+ */
+public class TimingWheelTimer implements Timer {
+    private static final TimingWheel timingWheel = new TimingWheel(MasterTimer.FRAME_INTERVAL_MS,
+            512,
+            System.currentTimeMillis());
+
+    static {
+        new java.util.Timer("TimingWheelTimer", true).scheduleAtFixedRate(new TimerTask() {
+            @Override
+            public void run() {
+                UserThread.execute(() -> timingWheel.advance(System.currentTimeMillis()));
+            }
+        }, MasterTimer.FRAME_INTERVAL_MS, MasterTimer.FRAME_INTERVAL_MS);
+    }
+
+    private TimingWheel.Timeout timeout;
+
+    public TimingWheelTimer() {
+    }
+
+    @Override
+    public Timer runLater(Duration delay, Runnable runnable) {
+        timeout = timingWheel.schedule(runnable, delay.toMillis(), System.currentTimeMillis());
+        return this;
+    }
+
+    @Override
+    public Timer runPeriodically(Duration interval, Runnable runnable) {
+        timeout = timingWheel.schedulePeriodically(runnable, interval.toMillis(), System.currentTimeMillis());
+        return this;
+    }
+
+    @Override
+    public void stop() {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
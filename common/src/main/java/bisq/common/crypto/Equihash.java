@@ -42,6 +42,8 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -76,7 +78,10 @@ import static java.math.BigInteger.ONE;
  * the paper, the hash function BLAKE2b is used to supply 256 bits, which is shortened and
  * split into <i>k+1</i> 32-bit blocks. The blocks are masked to provide <i>n/(k+1)</i>
  * bits each and <i>n</i> bits in total. This allows working with 32-bit integers
- * throughout, for efficiency.
+ * throughout, for efficiency.<br><p>
+ * <br>
+ * Puzzles can be solved with several threads using {@link Puzzle#findSolutionAsync}, which
+ * tries disjoint sets of nonces in parallel and can be cancelled.
  */
 @SuppressWarnings("UnstableApiUsage")
 public class Equihash {
@@ -208,17 +213,51 @@ public class Equihash {
         }
 
         public Solution findSolution() {
+            var indexMultimap = new IntListMultimap(N / 2);
             Optional<int[]> inputs;
             for (int nonce = 0; ; nonce++) {
-                if ((inputs = withHashPrefix(seed, nonce).findInputs()).isPresent()) {
+                if ((inputs = withHashPrefix(seed, nonce).findInputs(indexMultimap)).isPresent()) {
                     return new Solution(nonce, inputs.get());
                 }
             }
         }
 
+        /**
+         * Searches for a solution with the given number of workers, where worker {@code i} tries
+         * the nonces {@code i, i + numWorkers, i + 2 * numWorkers, ...}. The first solution found
+         * completes the returned future, which need not be the one with the lowest nonce.
+         * Completing or cancelling the returned future stops all workers after their current nonce.
+         */
+        public CompletableFuture<Solution> findSolutionAsync(Executor executor, int numWorkers) {
+            checkArgument(numWorkers > 0, "Number of workers must be positive.");
+            var result = new CompletableFuture<Solution>();
+            try {
+                for (int i = 0; i < numWorkers; i++) {
+                    long firstNonce = i;
+                    executor.execute(() -> {
+                        try {
+                            // Each worker reuses its collision table buffer for all its nonces
+                            var indexMultimap = new IntListMultimap(N / 2);
+                            Optional<int[]> inputs;
+                            for (long nonce = firstNonce; !result.isDone(); nonce += numWorkers) {
+                                if ((inputs = withHashPrefix(seed, nonce).findInputs(indexMultimap)).isPresent()) {
+                                    result.complete(new Solution(nonce, inputs.get()));
+                                }
+                            }
+                        } catch (Throwable t) {
+                            result.completeExceptionally(t);
+                        }
+                    });
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+            return result;
+        }
+
         @VisibleForTesting
         int countAllSolutionsForNonce(long nonce) {
-            return (int) withHashPrefix(seed, nonce).streamInputsHits()
+            return (int) withHashPrefix(seed, nonce).streamInputsHits(new IntListMultimap(N / 2))
                     .map(ImmutableIntArray::copyOf)
                     .distinct()
                     .count();
@@ -246,10 +285,10 @@ public class Equihash {
             return Utilities.bytesToIntsBE(outputBytes);
         }
 
-        Stream<int[]> streamInputsHits() {
+        Stream<int[]> streamInputsHits(IntListMultimap indexMultimap) {
             var table = computeAllHashes();
             for (int i = 0; i < k; i++) {
-                table = findCollisions(table, i + 1 < k);
+                table = findCollisions(table, i + 1 < k, indexMultimap);
             }
             return IntStream.range(0, table.numRows)
                     .mapToObj(table::getRow)
@@ -258,8 +297,8 @@ public class Equihash {
                     .filter(this::testDifficultyCondition);
         }
 
-        Optional<int[]> findInputs() {
-            return streamInputsHits().findFirst();
+        Optional<int[]> findInputs(IntListMultimap indexMultimap) {
+            return streamInputsHits(indexMultimap).findFirst();
         }
 
         private XorTable computeAllHashes() {
@@ -357,6 +396,11 @@ public class Equihash {
             };
         }
 
+        void clear() {
+            Arrays.fill(shortLists, 0);
+            overspillMultimap.clear();
+        }
+
         // assumes non-negative values only:
         void put(int key, int value) {
             for (int i = 0; i < 4; i++) {
@@ -369,15 +413,16 @@ public class Equihash {
         }
     }
 
-    // Apply a single iteration of Wagner's Algorithm.
-    private XorTable findCollisions(XorTable table, boolean isPartial) {
+    // Apply a single iteration of Wagner's Algorithm. The passed multimap is cleared and reused,
+    // to avoid allocating a new one of N / 2 * 4 ints for each iteration.
+    private XorTable findCollisions(XorTable table, boolean isPartial, IntListMultimap indexMultimap) {
         int newHashWidth = isPartial ? table.hashWidth - 1 : 0;
         int newIndexTupleWidth = table.indexTupleWidth * 2;
         int newRowWidth = newHashWidth + newIndexTupleWidth;
         var newTableValues = ImmutableIntArray.builder(
                 newRowWidth * (isPartial ? tableCapacity : 10));
 
-        var indexMultimap = new IntListMultimap(N / 2);
+        indexMultimap.clear();
         for (int i = 0; i < table.numRows; i++) {
             var row = table.getRow(i);
             var collisionIndices = indexMultimap.get(row.get(0));
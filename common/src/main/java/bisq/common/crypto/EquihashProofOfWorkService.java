@@ -17,11 +17,15 @@
 
 package bisq.common.crypto;
 
+import bisq.common.util.Utilities;
+
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.Longs;
 
 import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,26 +33,42 @@ import lombok.extern.slf4j.Slf4j;
 public class EquihashProofOfWorkService extends ProofOfWorkService {
     /** Rough cost of two Hashcash iterations compared to solving an Equihash-90-5 puzzle of unit difficulty. */
     private static final double DIFFICULTY_SCALE_FACTOR = 3.0e-5;
+    /** Each thread needs a few MB for the collision tables, and we leave one core for the rest of the app. */
+    private static final int NUM_SOLVER_THREADS = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors() - 1));
+
+    // Shared by all mint requests, so concurrent requests get queued instead of competing for the cores
+    private static class SolverExecutorHolder {
+        private static final ExecutorService SOLVER_EXECUTOR = Utilities.getListeningExecutorService("EquihashSolver",
+                NUM_SOLVER_THREADS, NUM_SOLVER_THREADS, 60, new LinkedBlockingQueue<>());
+    }
 
     EquihashProofOfWorkService(int version) {
         super(version);
     }
 
+    /**
+     * The returned future can be cancelled, which stops the solver threads.
+     */
     @Override
     public CompletableFuture<ProofOfWork> mint(byte[] payload, byte[] challenge, double difficulty) {
         double scaledDifficulty = scaledDifficulty(difficulty);
         log.info("Got scaled & adjusted difficulty: {}", scaledDifficulty);
 
-        return CompletableFuture.supplyAsync(() -> {
-            long ts = System.currentTimeMillis();
-            byte[] seed = getSeed(payload, challenge);
-            byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed).findSolution().serialize();
+        long ts = System.currentTimeMillis();
+        byte[] seed = getSeed(payload, challenge);
+        var solutionFuture = new Equihash(90, 5, scaledDifficulty).puzzle(seed)
+                .findSolutionAsync(SolverExecutorHolder.SOLVER_EXECUTOR, NUM_SOLVER_THREADS);
+        CompletableFuture<ProofOfWork> proofOfWorkFuture = solutionFuture.thenApply(equihashSolution -> {
+            byte[] solution = equihashSolution.serialize();
             long counter = Longs.fromByteArray(Arrays.copyOf(solution, 8));
             var proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty,
                     System.currentTimeMillis() - ts, solution, getVersion());
             log.info("Completed minting proofOfWork: {}", proofOfWork);
             return proofOfWork;
         });
+        // Cancelling the dependent future does not cancel the solutionFuture, so we do it here.
+        proofOfWorkFuture.whenComplete((proofOfWork, throwable) -> solutionFuture.cancel(true));
+        return proofOfWorkFuture;
     }
 
     private byte[] getSeed(byte[] payload, byte[] challenge) {
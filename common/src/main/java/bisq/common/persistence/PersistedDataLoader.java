@@ -0,0 +1,46 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.persistence;
+
+import bisq.common.util.Utilities;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Bounded thread pool for reading and parsing the persisted data. At startup all stores get read at the same time, so
+ * we use a thread per core instead of a thread per file. The threads time out once the startup is completed.
+ */
+public class PersistedDataLoader {
+    private static final int NUM_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private static final ExecutorService EXECUTOR = Utilities.getListeningExecutorService("PersistedDataLoader",
+            NUM_THREADS,
+            NUM_THREADS,
+            10,
+            new LinkedBlockingQueue<>());
+
+    public static void execute(Runnable runnable) {
+        EXECUTOR.execute(runnable);
+    }
+
+    public static <R> CompletableFuture<R> supplyAsync(Supplier<R> supplier) {
+        return CompletableFuture.supplyAsync(supplier, EXECUTOR);
+    }
+}
@@ -24,16 +24,23 @@ import bisq.common.config.Config;
 import bisq.common.file.CorruptedStorageFileHandler;
 import bisq.common.file.FileUtil;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.proto.persistable.JournaledPersistableEnvelope;
 import bisq.common.proto.persistable.PersistableEnvelope;
 import bisq.common.proto.persistable.PersistenceProtoResolver;
 import bisq.common.util.SingleThreadExecutorUtils;
 import bisq.common.util.GcUtil;
 
+import bisq.persistence.AsyncFileChannelWriter;
+import bisq.persistence.JournalFileWriter;
+
 import com.google.inject.Inject;
 
 import javax.inject.Named;
 
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -42,7 +49,9 @@ import java.io.IOException;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -55,6 +64,7 @@ import lombok.extern.slf4j.Slf4j;
 import javax.annotation.Nullable;
 
 import static bisq.common.util.Preconditions.checkDir;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -71,6 +81,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * the write operations got triggered way too often specially for the very frequent changes at SequenceNumberMap and
  * the very large DaoState (at dao blockchain sync that slowed down sync).
  *
+ * For large envelopes which change often by adding or removing single items the journal mode can be enabled (see
+ * {@link #enableJournal(int)}). Changes are then persisted by {@link #persistDelta} which appends only the changed
+ * items to a journal file. After a number of journal entries we write a full snapshot and reset the journal. At reading
+ * the journal entries get applied to the snapshot.
+ *
  *
  * @param <T>   The type of the {@link PersistableEnvelope} to be written or read from disk
  */
@@ -209,6 +224,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private final File dir;
+    @Getter
     private final PersistenceProtoResolver persistenceProtoResolver;
     private final CorruptedStorageFileHandler corruptedStorageFileHandler;
     private File storageFile;
@@ -223,6 +239,19 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     public final AtomicBoolean initCalled = new AtomicBoolean(false);
     public final AtomicBoolean readCalled = new AtomicBoolean(false);
 
+    // Journal mode
+    private boolean journalEnabled;
+    private int maxJournalEntries;
+    private int numJournalEntries;
+    // Set if the journal could not be cut back to its valid records at reading. It must not be appended to before a
+    // snapshot reset it.
+    private volatile boolean journalNeedsReset;
+    // Only accessed from the writeToDiskExecutor thread
+    @Nullable
+    private JournalFileWriter journalFileWriter;
+    @Nullable
+    private AsynchronousFileChannel journalFileChannel;
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -276,6 +305,20 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         ALL_PERSISTENCE_MANAGERS.put(fileName, this);
     }
 
+    /**
+     * Enables the journal mode. Must be called after initialize and before readPersisted.
+     *
+     * @param maxJournalEntries Number of journal entries after which we write a full snapshot and reset the journal.
+     */
+    public void enableJournal(int maxJournalEntries) {
+        checkArgument(initCalled.get(), "initialize must be called before enableJournal");
+        checkArgument(persistable instanceof JournaledPersistableEnvelope,
+                "persistable must implement JournaledPersistableEnvelope");
+        checkArgument(maxJournalEntries > 0, "maxJournalEntries must be positive");
+        journalEnabled = true;
+        this.maxJournalEntries = maxJournalEntries;
+    }
+
     public void shutdown() {
         ALL_PERSISTENCE_MANAGERS.remove(fileName);
 
@@ -284,6 +327,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         }
 
         if (writeToDiskExecutor != null) {
+            writeToDiskExecutor.execute(this::closeJournal);
             writeToDiskExecutor.shutdown();
         }
     }
@@ -294,7 +338,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Read persisted file in a thread.
+     * Read persisted file on the {@link PersistedDataLoader} pool.
      *
      * @param resultHandler     Consumer of persisted data once it was read from disk.
      * @param orElse            Called if no file exists or reading of file failed.
@@ -304,7 +348,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     }
 
     /**
-     * Read persisted file in a thread.
+     * Read persisted file on the {@link PersistedDataLoader} pool.
      * We map result handler calls to UserThread, so clients don't need to worry about threading
      *
      * @param fileName          File name of our persisted data.
@@ -317,7 +361,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             return;
         }
 
-        new Thread(() -> {
+        PersistedDataLoader.execute(() -> {
             T persisted = getPersisted(fileName);
             if (persisted != null) {
                 UserThread.execute(() -> {
@@ -328,7 +372,19 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             } else {
                 UserThread.execute(orElse);
             }
-        }, "PersistenceManager-read-" + fileName).start();
+        });
+    }
+
+    /**
+     * Read persisted file on the {@link PersistedDataLoader} pool. In contrast to readPersisted the result is not
+     * mapped to the UserThread, so clients can combine several reads and process the results before they continue on
+     * the UserThread.
+     *
+     * @param fileName          File name of our persisted data.
+     * @return Future completed with the persisted data or with null if no file exists or reading of file failed.
+     */
+    public CompletableFuture<T> readPersistedAsync(String fileName) {
+        return PersistedDataLoader.supplyAsync(() -> getPersisted(fileName));
     }
 
     // API for synchronous reading of data. Not recommended to be used in application code.
@@ -357,6 +413,9 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             protobuf.PersistableEnvelope proto = protobuf.PersistableEnvelope.parseDelimitedFrom(fileInputStream);
             //noinspection unchecked
             T persistableEnvelope = (T) persistenceProtoResolver.fromProto(proto);
+            if (journalEnabled && fileName.equals(this.fileName)) {
+                applyJournal(persistableEnvelope);
+            }
             log.info("Reading {} completed in {} ms", fileName, System.currentTimeMillis() - ts);
             return persistableEnvelope;
         } catch (Throwable t) {
@@ -399,6 +458,43 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         maybeStartTimerForPersistence();
     }
 
+    /**
+     * Persists a change by appending the delta to the journal if the journal mode is enabled. Otherwise, or if we
+     * cannot write to the journal yet, we fall back to requestPersistence.
+     *
+     * @param delta     Envelope of the same type as the persisted one containing only the changed items.
+     * @param removed   If the items have been removed.
+     */
+    public void persistDelta(T delta, boolean removed) {
+        if (flushAtShutdownCalled) {
+            log.warn("We have started the shut down routine already. We ignore that persistDelta call.");
+            return;
+        }
+
+        // Without a snapshot the journal could not be applied at reading, so we need a full write first.
+        if (!journalEnabled || !allServicesInitialized.get() || !storageFile.exists()) {
+            requestPersistence();
+            return;
+        }
+
+        // We write a snapshot at shutdown, which resets the journal.
+        persistenceRequested = true;
+
+        numJournalEntries++;
+        if (numJournalEntries >= maxJournalEntries || journalNeedsReset) {
+            // The snapshot contains our change as well.
+            persistNow(null);
+            return;
+        }
+
+        protobuf.PersistenceJournalEntry journalEntry = protobuf.PersistenceJournalEntry.newBuilder()
+                .setRemoved(removed)
+                .setEnvelope((protobuf.PersistableEnvelope) delta.toPersistableMessage())
+                .build();
+        // We use the writeToDiskExecutor to keep the order with the snapshot writes, which reset the journal.
+        getWriteToDiskExecutor().execute(() -> appendToJournal(journalEntry.toByteArray()));
+    }
+
     private void maybeStartTimerForPersistence() {
         // We write to disk with a delay to avoid frequent write operations. Depending on the priority those delays
         // can be rather long.
@@ -421,6 +517,8 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
     private void persistNow(@Nullable Runnable completeHandler, boolean force) {
         long ts = System.currentTimeMillis();
+        numJournalEntries = 0;
+        journalNeedsReset = false;
         try {
             // The serialisation is done on the user thread to avoid threading issue with potential mutations of the
             // persistable object. Keeping it on the user thread we are in a synchronize model.
@@ -482,6 +580,10 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
             FileUtil.renameFile(tempFile, storageFile);
             usedTempFilePath = tempFile.toPath();
+
+            if (journalEnabled) {
+                resetJournal();
+            }
         } catch (Throwable t) {
             // If an error occurred, don't attempt to reuse this path again, in case temp file cleanup fails.
             usedTempFilePath = null;
@@ -514,6 +616,122 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         }
     }
 
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Journal
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private File getJournalFile() {
+        return new File(dir, fileName + "_journal");
+    }
+
+    private void applyJournal(T persisted) {
+        Path journalFilePath = getJournalFile().toPath();
+        if (!Files.exists(journalFilePath)) {
+            return;
+        }
+
+        // End of the last record which got applied
+        long validLength = 0;
+        int numAppliedRecords = 0;
+        try {
+            List<byte[]> records = JournalFileWriter.readRecords(journalFilePath);
+            for (byte[] record : records) {
+                protobuf.PersistenceJournalEntry journalEntry = protobuf.PersistenceJournalEntry.parseFrom(record);
+                PersistableEnvelope delta = persistenceProtoResolver.fromProto(journalEntry.getEnvelope());
+                ((JournaledPersistableEnvelope) persisted).applyJournalEntry(delta, journalEntry.getRemoved());
+                validLength += JournalFileWriter.getDelimitedSize(record);
+                numAppliedRecords++;
+            }
+            if (numAppliedRecords > 0) {
+                log.info("We applied {} journal entries to {}", numAppliedRecords, fileName);
+            }
+        } catch (Throwable t) {
+            log.error("Applying journal entry {} to {} failed. We ignore it and the following entries.",
+                    numAppliedRecords, fileName, t);
+        }
+
+        // If we did not reach the end of the journal, because of an incomplete record from a crash or a broken
+        // record, we cut the journal back to the last applied record. Otherwise, new entries would get appended
+        // after the broken record and would be lost at the next read.
+        try {
+            long journalLength = Files.size(journalFilePath);
+            if (validLength < journalLength) {
+                log.warn("We cut off {} bytes at the end of the journal of {}.", journalLength - validLength, fileName);
+                JournalFileWriter.truncate(journalFilePath, validLength);
+            }
+        } catch (Throwable t) {
+            log.error("Cutting the journal of {} back to its valid records failed. We write a snapshot at the " +
+                    "next change.", fileName, t);
+            journalNeedsReset = true;
+        }
+    }
+
+    // Called on the writeToDiskExecutor thread
+    private void appendToJournal(byte[] journalEntry) {
+        try {
+            getJournalFileWriter().append(journalEntry)
+                    .exceptionally(throwable -> {
+                        onJournalWriteFailed(throwable);
+                        return null;
+                    });
+        } catch (Throwable t) {
+            onJournalWriteFailed(t);
+        }
+    }
+
+    private void onJournalWriteFailed(Throwable throwable) {
+        log.error("Writing to journal of {} failed. We fall back to write a full snapshot.", fileName, throwable);
+        UserThread.execute(this::requestPersistence);
+    }
+
+    // Called on the writeToDiskExecutor thread after a snapshot was written
+    private void resetJournal() {
+        try {
+            if (journalFileWriter != null || getJournalFile().exists()) {
+                getJournalFileWriter().reset()
+                        .exceptionally(throwable -> {
+                            log.error("Resetting journal of {} failed.", fileName, throwable);
+                            return null;
+                        });
+            }
+        } catch (Throwable t) {
+            log.error("Resetting journal of {} failed.", fileName, t);
+        }
+    }
+
+    private JournalFileWriter getJournalFileWriter() throws IOException {
+        if (journalFileWriter == null) {
+            Path journalFilePath = getJournalFile().toPath();
+            journalFileChannel = AsynchronousFileChannel.open(journalFilePath,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+            journalFileWriter = new JournalFileWriter(new AsyncFileChannelWriter(journalFilePath, journalFileChannel),
+                    getWriteToDiskExecutor(),
+                    (int) journalFileChannel.size());
+        }
+        return journalFileWriter;
+    }
+
+    // Called on the writeToDiskExecutor thread
+    private void closeJournal() {
+        if (journalFileWriter != null) {
+            AsynchronousFileChannel channel = journalFileChannel;
+            journalFileWriter.getPendingWrites().whenComplete((nil, throwable) -> {
+                try {
+                    if (channel != null) {
+                        channel.close();
+                    }
+                } catch (IOException e) {
+                    log.error("Closing journal of {} failed.", fileName, e);
+                }
+            });
+            journalFileWriter = null;
+            journalFileChannel = null;
+        }
+    }
+
     private ExecutorService getWriteToDiskExecutor() {
         if (writeToDiskExecutor == null) {
             String name = "Write-" + fileName + "_to-disk";
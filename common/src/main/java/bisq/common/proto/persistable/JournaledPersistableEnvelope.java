@@ -0,0 +1,31 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.proto.persistable;
+
+/**
+ * Envelope which supports persisting changes as deltas in the journal of the PersistenceManager.
+ * The delta is an envelope of the same type containing only the added or removed items.
+ */
+public interface JournaledPersistableEnvelope extends PersistableEnvelope {
+
+    /**
+     * Applies a delta read from the journal. Must be idempotent as a delta might get applied to a snapshot which
+     * contains the change already.
+     */
+    void applyJournalEntry(PersistableEnvelope delta, boolean removed);
+}
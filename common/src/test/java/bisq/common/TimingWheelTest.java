@@ -0,0 +1,182 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import com.google.common.base.Stopwatch;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+    private static final long TICK = 100;
+
+    @Test
+    public void testTimeoutIsExecutedWhenDue() {
+        TimingWheel timingWheel = new TimingWheel(TICK, 8, 0);
+        AtomicInteger counter = new AtomicInteger();
+        timingWheel.schedule(counter::incrementAndGet, 250, 10);
+
+        timingWheel.advance(200);
+        assertEquals(0, counter.get());
+        timingWheel.advance(259);
+        assertEquals(0, counter.get());
+        timingWheel.advance(300);
+        assertEquals(1, counter.get());
+        timingWheel.advance(1000);
+        assertEquals(1, counter.get());
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void testTimeoutAfterMultipleRotations() {
+        // A rotation of the wheel is 800 ms
+        TimingWheel timingWheel = new TimingWheel(TICK, 8, 0);
+        AtomicInteger counter = new AtomicInteger();
+        timingWheel.schedule(counter::incrementAndGet, 2500, 0);
+
+        for (long now = 0; now < 2500; now += TICK) {
+            timingWheel.advance(now);
+            assertEquals(0, counter.get());
+        }
+        timingWheel.advance(2500);
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel timingWheel = new TimingWheel(TICK, 8, 0);
+        AtomicInteger counter = new AtomicInteger();
+        TimingWheel.Timeout pending = timingWheel.schedule(counter::incrementAndGet, 300, 0);
+        pending.cancel();
+        TimingWheel.Timeout added = timingWheel.schedule(counter::incrementAndGet, 300, 0);
+        timingWheel.advance(100);
+        added.cancel();
+
+        timingWheel.advance(1000);
+        assertEquals(0, counter.get());
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void testPeriodicTimeout() {
+        TimingWheel timingWheel = new TimingWheel(TICK, 8, 0);
+        AtomicInteger counter = new AtomicInteger();
+        TimingWheel.Timeout timeout = timingWheel.schedulePeriodically(counter::incrementAndGet, 200, 0);
+
+        for (long now = 0; now <= 1000; now += TICK) {
+            timingWheel.advance(now);
+        }
+        assertEquals(5, counter.get());
+
+        timeout.cancel();
+        timingWheel.advance(2000);
+        assertEquals(5, counter.get());
+    }
+
+    @Test
+    public void testFailingTimeoutGetsCancelled() {
+        TimingWheel timingWheel = new TimingWheel(TICK, 8, 0);
+        AtomicInteger counter = new AtomicInteger();
+        timingWheel.schedulePeriodically(() -> {
+            throw new RuntimeException("Test");
+        }, 100, 0);
+        timingWheel.schedule(counter::incrementAndGet, 100, 0);
+
+        timingWheel.advance(100);
+        timingWheel.advance(200);
+        assertEquals(1, counter.get());
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void testAdvanceAfterMissedRotations() {
+        TimingWheel timingWheel = new TimingWheel(TICK, 8, 0);
+        AtomicInteger counter = new AtomicInteger();
+        timingWheel.schedule(counter::incrementAndGet, 300, 0);
+        timingWheel.schedule(counter::incrementAndGet, 10_000, 0);
+        timingWheel.advance(0);
+
+        timingWheel.advance(5000);
+        assertEquals(1, counter.get());
+        timingWheel.advance(9900);
+        assertEquals(1, counter.get());
+        timingWheel.advance(10_000);
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    @Disabled
+    public void benchmarkAgainstFrameRateTimer() {
+        // Schedules 10k timers with delays up to 10 min, simulates 1000 ticks of 100 ms and stops all timers.
+        // MasterTimer runs all FrameRateTimers at each tick, so we call them directly to simulate the ticks.
+        int numTimers = 10_000;
+        int numTicks = 1000;
+        Random random = new Random(1);
+        long[] delays = new long[numTimers];
+        for (int i = 0; i < numTimers; i++) {
+            delays[i] = 1000 + random.nextInt(600_000);
+        }
+        AtomicInteger counter = new AtomicInteger();
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<FrameRateTimer> frameRateTimers = new ArrayList<>();
+        for (long delay : delays) {
+            FrameRateTimer timer = new FrameRateTimer();
+            timer.runLater(Duration.ofMillis(delay), counter::incrementAndGet);
+            frameRateTimers.add(timer);
+        }
+        Duration scheduleDuration = stopwatch.elapsed();
+        for (int tick = 0; tick < numTicks; tick++) {
+            frameRateTimers.forEach(FrameRateTimer::run);
+        }
+        Duration tickDuration = stopwatch.elapsed().minus(scheduleDuration);
+        frameRateTimers.forEach(FrameRateTimer::stop);
+        Duration stopDuration = stopwatch.elapsed().minus(scheduleDuration).minus(tickDuration);
+        System.out.println("FrameRateTimer: schedule " + scheduleDuration.toMillis() + " ms, " +
+                numTicks + " ticks " + tickDuration.toMillis() + " ms, stop " + stopDuration.toMillis() + " ms");
+
+        stopwatch.reset().start();
+        long now = System.currentTimeMillis();
+        TimingWheel timingWheel = new TimingWheel(TICK, 512, now);
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (long delay : delays) {
+            timeouts.add(timingWheel.schedule(counter::incrementAndGet, delay, now));
+        }
+        scheduleDuration = stopwatch.elapsed();
+        for (int tick = 0; tick < numTicks; tick++) {
+            timingWheel.advance(now + tick * TICK);
+        }
+        tickDuration = stopwatch.elapsed().minus(scheduleDuration);
+        timeouts.forEach(TimingWheel.Timeout::cancel);
+        timingWheel.advance(now + (numTicks + 512) * TICK);
+        stopDuration = stopwatch.elapsed().minus(scheduleDuration).minus(tickDuration);
+        System.out.println("TimingWheel: schedule " + scheduleDuration.toMillis() + " ms, " +
+                numTicks + " ticks " + tickDuration.toMillis() + " ms, stop " + stopDuration.toMillis() + " ms");
+        assertTrue(counter.get() > 0);
+    }
+}
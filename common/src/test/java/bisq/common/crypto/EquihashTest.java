@@ -27,6 +27,11 @@ import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.Multiset;
 
 import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -35,6 +40,7 @@ import org.junit.jupiter.api.Test;
 
 import static java.lang.Double.POSITIVE_INFINITY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EquihashTest {
@@ -82,6 +88,40 @@ public class EquihashTest {
         assertEquals(solution.toString(), roundTrippedSolution.toString());
     }
 
+    @Test
+    public void testFindSolutionAsync() throws Exception {
+        Equihash equihash = new Equihash(90, 5, 2.0);
+        byte[] seed = new byte[32];
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Solution solution = equihash.puzzle(seed).findSolutionAsync(executor, 4).get(60, TimeUnit.SECONDS);
+            Solution roundTrippedSolution = equihash.puzzle(seed).deserializeSolution(solution.serialize());
+
+            assertTrue(solution.verify());
+            assertEquals(solution.toString(), roundTrippedSolution.toString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFindSolutionAsyncCancel() throws Exception {
+        Equihash equihash = new Equihash(90, 5, POSITIVE_INFINITY);
+        byte[] seed = new byte[32];
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Solution> future = equihash.puzzle(seed).findSolutionAsync(executor, 2);
+            future.cancel(true);
+
+            assertThrows(CancellationException.class, future::join);
+            // The workers stop after their current nonce
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @Disabled
     public void benchmarkFindSolution() {
@@ -109,6 +149,32 @@ public class EquihashTest {
         System.out.println("Puzzle solution time per unit difficulty: " + duration.dividedBy(2000).toMillis() + " ms");
     }
 
+    @Test
+    @Disabled
+    public void benchmarkFindSolutionAsync() {
+        // Same as benchmarkFindSolution, but using all available cores for each puzzle, as done by
+        // EquihashProofOfWorkService. Real difficulty 2.0 is about the one set by the filter for BSQ swap offers.
+        int numWorkers = Runtime.getRuntime().availableProcessors();
+        double adjustedDifficulty = Equihash.adjustDifficulty(2.0);
+        Equihash equihash = new Equihash(90, 5, adjustedDifficulty);
+        ExecutorService executor = Executors.newFixedThreadPool(numWorkers);
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        for (int i = 0; i < 1000; i++) {
+            byte[] seed = Utilities.intsToBytesBE(new int[]{0, 0, 0, 0, 0, 0, 0, i});
+            equihash.puzzle(seed).findSolutionAsync(executor, numWorkers).join();
+        }
+        stopwatch.stop();
+        executor.shutdownNow();
+        var duration = stopwatch.elapsed();
+
+        System.out.println("For Equihash-90-5 with real difficulty 2.0, adjusted difficulty " + adjustedDifficulty +
+                " and " + numWorkers + " workers ...");
+        System.out.println("Total elapsed solution time: " + duration.toMillis() + " ms");
+        System.out.println("Mean time to solve one puzzle: " + duration.dividedBy(1000).toMillis() + " ms");
+        System.out.println("Puzzle solution time per unit difficulty: " + duration.dividedBy(2000).toMillis() + " ms");
+    }
+
     @Test
     @Disabled
     public void benchmarkVerify() {
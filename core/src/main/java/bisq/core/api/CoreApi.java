@@ -43,6 +43,8 @@ import bisq.proto.grpc.GetTradesRequest;
 
 import org.bitcoinj.core.Transaction;
 
+import org.fxmisc.easybind.Subscription;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -170,6 +172,13 @@ public class CoreApi {
         return coreOffersService.getOffers(direction, currencyCode, all);
     }
 
+    public Subscription subscribeToOffers(String direction,
+                                          String currencyCode,
+                                          Consumer<Offer> addedOfferHandler,
+                                          Consumer<Offer> removedOfferHandler) {
+        return coreOffersService.subscribeToOffers(direction, currencyCode, addedOfferHandler, removedOfferHandler);
+    }
+
     public List<OpenOffer> getMyOffers(String direction, String currencyCode) {
         return coreOffersService.getMyOffers(direction, currencyCode);
     }
@@ -286,6 +295,10 @@ public class CoreApi {
         corePriceService.getMarketPrice(currencyCode, resultHandler);
     }
 
+    public Subscription subscribeToMarketPrice(String currencyCode, Consumer<Double> priceHandler) {
+        return corePriceService.subscribeToMarketPrice(currencyCode, priceHandler);
+    }
+
     public Tuple2<Price, Price> getAverageBsqTradePrice(int days) {
         return corePriceService.getAverageBsqTradePrice(days);
     }
@@ -344,10 +357,18 @@ public class CoreApi {
         return coreTradesService.getOpenTrades();
     }
 
+    public Subscription subscribeToTradeChanges(Consumer<Trade> tradeChangeHandler) {
+        return coreTradesService.subscribeToTradeChanges(tradeChangeHandler);
+    }
+
     public List<TradeModel> getTradeHistory(GetTradesRequest.Category category) {
         return coreTradesService.getTradeHistory(category);
     }
 
+    public List<TradeModel> getClosedTrades(long fromDate, long toDate, int offset, int limit) {
+        return coreTradesService.getClosedTrades(fromDate, toDate, offset, limit);
+    }
+
     public String getTradeRole(TradeModel tradeModel) {
         return coreTradesService.getTradeRole(tradeModel);
     }
@@ -384,6 +405,10 @@ public class CoreApi {
         return walletsService.getBalances(currencyCode);
     }
 
+    public Subscription subscribeToBalanceChanges(Runnable balanceChangeHandler) {
+        return walletsService.subscribeToBalanceChanges(balanceChangeHandler);
+    }
+
     public long getAddressBalance(String addressString) {
         return walletsService.getAddressBalance(addressString);
     }
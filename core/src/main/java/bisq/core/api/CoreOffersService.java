@@ -41,16 +41,22 @@ import org.bitcoinj.core.Coin;
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.utils.Fiat;
 
+import org.fxmisc.easybind.Subscription;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import java.math.BigDecimal;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -151,11 +157,9 @@ class CoreOffersService {
     }
 
     Optional<Offer> findAvailableOffer(String id) {
-        return offerBookService.getOffers().stream()
-                .filter(o -> o.getId().equals(id))
+        return offerBookService.findOffer(id)
                 .filter(o -> !o.isMyOffer(keyRing))
-                .filter(o -> offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid())
-                .findAny();
+                .filter(o -> offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid());
     }
 
     OpenOffer getMyOffer(String id) {
@@ -176,12 +180,10 @@ class CoreOffersService {
     }
 
     Optional<Offer> findAvailableBsqSwapOffer(String id) {
-        return offerBookService.getOffers().stream()
-                .filter(o -> o.getId().equals(id))
+        return offerBookService.findOffer(id)
                 .filter(o -> !o.isMyOffer(keyRing))
                 .filter(o -> offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid())
-                .filter(Offer::isBsqSwapOffer)
-                .findAny();
+                .filter(Offer::isBsqSwapOffer);
     }
 
     Offer getMyBsqSwapOffer(String id) {
@@ -190,11 +192,9 @@ class CoreOffersService {
     }
 
     Optional<Offer> findMyBsqSwapOffer(String id) {
-        return offerBookService.getOffers().stream()
-                .filter(o -> o.getId().equals(id))
+        return offerBookService.findOffer(id)
                 .filter(o -> o.isMyOffer(keyRing))
-                .filter(Offer::isBsqSwapOffer)
-                .findAny();
+                .filter(Offer::isBsqSwapOffer);
     }
 
     List<Offer> getBsqSwapOffers(String direction) {
@@ -206,33 +206,60 @@ class CoreOffersService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Calls the addedOfferHandler with each available offer matching the direction and currency code, then with each
+     * added offer and the removedOfferHandler with each removed offer until the returned subscription gets
+     * unsubscribed. The offers are filtered like by getOffers. An empty direction or currency code matches all
+     * offers. Must be called on the user thread.
+     */
+    Subscription subscribeToOffers(String direction,
+                                   String currencyCode,
+                                   Consumer<Offer> addedOfferHandler,
+                                   Consumer<Offer> removedOfferHandler) {
+        if (!direction.isEmpty() && !direction.equalsIgnoreCase(BUY.name()) && !direction.equalsIgnoreCase(SELL.name()))
+            throw new IllegalArgumentException(format("'%s' is not a valid direction", direction));
+
+        Predicate<Offer> isMatchingOffer = getOfferFilter(direction, currencyCode.toUpperCase(), false);
+        // Whether an offer can be taken can change while it is in the offer book, so we remember the ids of the
+        // offers sent as added for sending the removal.
+        Set<String> addedOfferIds = new HashSet<>();
+        offerBookService.getOffers().stream()
+                .filter(isMatchingOffer)
+                .forEach(offer -> {
+                    addedOfferIds.add(offer.getId());
+                    addedOfferHandler.accept(offer);
+                });
+
+        OfferBookService.OfferBookChangedListener offerBookChangedListener = new OfferBookService.OfferBookChangedListener() {
+            @Override
+            public void onAdded(Offer offer) {
+                if (isMatchingOffer.test(offer)) {
+                    addedOfferIds.add(offer.getId());
+                    addedOfferHandler.accept(offer);
+                }
+            }
+
+            @Override
+            public void onRemoved(Offer offer) {
+                if (addedOfferIds.remove(offer.getId()))
+                    removedOfferHandler.accept(offer);
+            }
+        };
+        offerBookService.addOfferBookChangedListener(offerBookChangedListener);
+        return () -> offerBookService.removeOfferBookChangedListener(offerBookChangedListener);
+    }
+
     List<Offer> getOffers(String direction, String currencyCode, boolean all) {
         var upperCaseCurrencyCode = currencyCode.toUpperCase();
         var isFiat = isFiatCurrency(upperCaseCurrencyCode);
-        if (isFiat) {
-            return offerBookService.getOffers().stream()
-                    .filter(o -> !o.isMyOffer(keyRing))
-                    .filter(o -> offerMatchesDirectionAndCurrency(o, direction, upperCaseCurrencyCode))
-                    .filter(o -> all || offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid())
-                    .sorted(priceComparator(direction, true))
-                    .collect(Collectors.toList());
-        } else {
-            // In fiat offers, the baseCurrencyCode=BTC, counterCurrencyCode=FiatCode.
-            // In altcoin offers, baseCurrencyCode=AltcoinCode, counterCurrencyCode=BTC.
-            // This forces an extra filtering step below:  get all BTC offers,
-            // then filter on the currencyCode param (the altcoin code).
-            if (apiSupportsCryptoCurrency(upperCaseCurrencyCode))
-                return offerBookService.getOffers().stream()
-                        .filter(o -> !o.isMyOffer(keyRing))
-                        .filter(o -> offerMatchesDirectionAndCurrency(o, direction, "BTC"))
-                        .filter(o -> o.getBaseCurrencyCode().equalsIgnoreCase(upperCaseCurrencyCode))
-                        .filter(o -> all || offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid())
-                        .sorted(priceComparator(direction, false))
-                        .collect(Collectors.toList());
-            else
-                throw new IllegalArgumentException(
-                        format("api does not support the '%s' crypto currency", upperCaseCurrencyCode));
-        }
+        if (!isFiat && !apiSupportsCryptoCurrency(upperCaseCurrencyCode))
+            throw new IllegalArgumentException(
+                    format("api does not support the '%s' crypto currency", upperCaseCurrencyCode));
+
+        return getOffersOfMarket(direction, upperCaseCurrencyCode).stream()
+                .filter(getOfferFilter(direction, upperCaseCurrencyCode, all))
+                .sorted(priceComparator(direction, isFiat))
+                .collect(Collectors.toList());
     }
 
     List<OpenOffer> getMyOffers(String direction, String currencyCode) {
@@ -522,6 +549,37 @@ class CoreOffersService {
         }
     }
 
+    // The offer book is indexed by Offer.getCurrencyCode, which is the fiat or the altcoin code.
+    private List<Offer> getOffersOfMarket(String direction, String currencyCode) {
+        return Arrays.stream(OfferDirection.values())
+                .filter(offerDirection -> offerDirection.name().equalsIgnoreCase(direction))
+                .findAny()
+                .map(offerDirection -> offerBookService.getOffers(currencyCode, offerDirection))
+                .orElse(List.of());
+    }
+
+    // Filters the available offers as returned by getOffers. An empty direction or currency code matches all offers.
+    private Predicate<Offer> getOfferFilter(String direction, String upperCaseCurrencyCode, boolean all) {
+        Predicate<Offer> isMatchingCurrency;
+        if (upperCaseCurrencyCode.isEmpty()) {
+            isMatchingCurrency = o -> true;
+        } else if (isFiatCurrency(upperCaseCurrencyCode)) {
+            isMatchingCurrency = o -> o.getCounterCurrencyCode().equalsIgnoreCase(upperCaseCurrencyCode);
+        } else if (apiSupportsCryptoCurrency(upperCaseCurrencyCode)) {
+            // In fiat offers, the baseCurrencyCode=BTC, counterCurrencyCode=FiatCode.
+            // In altcoin offers, baseCurrencyCode=AltcoinCode, counterCurrencyCode=BTC.
+            isMatchingCurrency = o -> o.getCounterCurrencyCode().equalsIgnoreCase("BTC") &&
+                    o.getBaseCurrencyCode().equalsIgnoreCase(upperCaseCurrencyCode);
+        } else {
+            throw new IllegalArgumentException(
+                    format("api does not support the '%s' crypto currency", upperCaseCurrencyCode));
+        }
+        return o -> !o.isMyOffer(keyRing) &&
+                (direction.isEmpty() || o.getDirection().name().equalsIgnoreCase(direction)) &&
+                isMatchingCurrency.test(o) &&
+                (all || offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid());
+    }
+
     private boolean offerMatchesDirectionAndCurrency(Offer offer,
                                                      String direction,
                                                      String currencyCode) {
@@ -19,6 +19,7 @@ package bisq.core.api;
 
 import bisq.core.api.exception.NotAvailableException;
 import bisq.core.monetary.Price;
+import bisq.core.provider.price.MarketPrice;
 import bisq.core.provider.price.PriceFeedService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
@@ -26,9 +27,14 @@ import bisq.core.util.AveragePriceUtil;
 
 import bisq.common.util.Tuple2;
 
+import org.fxmisc.easybind.EasyBind;
+import org.fxmisc.easybind.Subscription;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -91,6 +97,29 @@ class CorePriceService {
                 log::warn);
     }
 
+    /**
+     * Calls the priceHandler with the current market price and then with each different price delivered by the price
+     * feed, until the returned subscription gets unsubscribed. Must be called on the user thread.
+     */
+    Subscription subscribeToMarketPrice(String currencyCode, Consumer<Double> priceHandler) {
+        String upperCaseCurrencyCode = currencyCode.toUpperCase();
+        if (!isCurrencyCode.test(upperCaseCurrencyCode))
+            throw new IllegalStateException(format("%s is not a valid currency code", upperCaseCurrencyCode));
+
+        AtomicReference<Double> lastPrice = new AtomicReference<>();
+        return EasyBind.subscribe(priceFeedService.updateCounterProperty(), counter -> {
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(upperCaseCurrencyCode);
+            if (marketPrice == null || !marketPrice.isPriceAvailable())
+                return;
+
+            double price = isFiatCurrency(upperCaseCurrencyCode)
+                    ? roundDouble(marketPrice.getPrice(), 4)
+                    : roundDouble(marketPrice.getPrice(), 8);
+            if (!Objects.equals(lastPrice.getAndSet(price), price))
+                priceHandler.accept(price);
+        });
+    }
+
     Tuple2<Price, Price> getAverageBsqTradePrice(int days) {
         Tuple2<Price, Price> prices = AveragePriceUtil.getAveragePriceTuple(preferences, tradeStatisticsManager, days);
         if (prices.first.getValue() == 0 || prices.second.getValue() == 0)
@@ -49,11 +49,25 @@ import bisq.proto.grpc.GetTradesRequest;
 
 import org.bitcoinj.core.Coin;
 
+import org.fxmisc.easybind.Subscription;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
+
+import javafx.beans.value.ChangeListener;
+
+import javafx.collections.ListChangeListener;
+
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -337,6 +351,46 @@ class CoreTradesService {
                 ));
     }
 
+    /**
+     * Calls the tradeChangeHandler with each open v1 protocol trade, then each time a trade gets added or the state or
+     * dispute state of a trade changes, until the returned subscription gets unsubscribed. BSQ swap trades are not
+     * included as they complete without intermediate states. Must be called on the user thread.
+     */
+    Subscription subscribeToTradeChanges(Consumer<Trade> tradeChangeHandler) {
+        coreWalletsService.verifyWalletsAreAvailable();
+        coreWalletsService.verifyEncryptedWalletIsUnlocked();
+
+        Map<Trade, Subscription> subscriptionsByTrade = new HashMap<>();
+        Consumer<Trade> addTrade = trade -> {
+            tradeChangeHandler.accept(trade);
+            ChangeListener<Object> listener = (observable, oldValue, newValue) -> tradeChangeHandler.accept(trade);
+            trade.stateProperty().addListener(listener);
+            trade.disputeStateProperty().addListener(listener);
+            subscriptionsByTrade.put(trade, () -> {
+                trade.stateProperty().removeListener(listener);
+                trade.disputeStateProperty().removeListener(listener);
+            });
+        };
+        tradeManager.getObservableList().forEach(addTrade);
+
+        ListChangeListener<Trade> tradesListener = change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(trade -> {
+                    Subscription subscription = subscriptionsByTrade.remove(trade);
+                    if (subscription != null)
+                        subscription.unsubscribe();
+                });
+                change.getAddedSubList().forEach(addTrade);
+            }
+        };
+        tradeManager.getObservableList().addListener(tradesListener);
+        return () -> {
+            tradeManager.getObservableList().removeListener(tradesListener);
+            subscriptionsByTrade.values().forEach(Subscription::unsubscribe);
+            subscriptionsByTrade.clear();
+        };
+    }
+
     List<TradeModel> getOpenTrades() {
         coreWalletsService.verifyWalletsAreAvailable();
         coreWalletsService.verifyEncryptedWalletIsUnlocked();
@@ -358,6 +412,32 @@ class CoreTradesService {
         }
     }
 
+    // Returns a page of the closed trades (including the BSQ swap trades) with a date in the given range, with the
+    // most recent first. The closed trades are taken from the date index of the ClosedTradableManager, so only the
+    // trades up to the requested page get touched.
+    List<TradeModel> getClosedTrades(long fromDate, long toDate, int offset, int limit) {
+        coreWalletsService.verifyWalletsAreAvailable();
+        coreWalletsService.verifyEncryptedWalletIsUnlocked();
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException(format("invalid page with offset %d and limit %d", offset, limit));
+        }
+
+        Comparator<TradeModel> mostRecentFirst = Comparator.comparing(TradeModel::getDate).reversed();
+        Iterator<TradeModel> closedTrades = closedTradableManager.getTradablesByDateRange(new Date(fromDate), new Date(toDate))
+                .filter(tradable -> tradable instanceof Trade)
+                .map(tradable -> (TradeModel) tradable)
+                .iterator();
+        Iterator<TradeModel> bsqSwapTrades = bsqSwapTradeManager.getBsqSwapTrades().stream()
+                .filter(trade -> trade.getDate().getTime() >= fromDate && trade.getDate().getTime() <= toDate)
+                .map(trade -> (TradeModel) trade)
+                .sorted(mostRecentFirst)
+                .iterator();
+        return Streams.stream(Iterators.mergeSorted(List.of(closedTrades, bsqSwapTrades), mostRecentFirst))
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
     void failTrade(String tradeId) {
         // TODO Recommend API users call this method with extra care because
         //  the API lacks methods for diagnosing trade problems, and does not support
@@ -33,6 +33,7 @@ import bisq.core.btc.exceptions.BsqChangeBelowDustException;
 import bisq.core.btc.exceptions.InsufficientFundsException;
 import bisq.core.btc.exceptions.TransactionVerificationException;
 import bisq.core.btc.exceptions.WalletException;
+import bisq.core.btc.listeners.BsqBalanceListener;
 import bisq.core.btc.model.AddressEntry;
 import bisq.core.btc.model.BsqTransferModel;
 import bisq.core.btc.wallet.BsqTransferService;
@@ -60,6 +61,8 @@ import org.bitcoinj.core.TransactionConfidence;
 import org.bitcoinj.core.TransactionOutput;
 import org.bitcoinj.crypto.KeyCrypterScrypt;
 
+import org.fxmisc.easybind.Subscription;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -72,6 +75,8 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 
 import org.bouncycastle.crypto.params.KeyParameter;
 
+import javafx.beans.value.ChangeListener;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -186,6 +191,31 @@ class CoreWalletsService {
         }
     }
 
+    /**
+     * Calls the balanceChangeHandler each time the BTC or BSQ balances change, until the returned subscription gets
+     * unsubscribed. Must be called on the user thread.
+     */
+    Subscription subscribeToBalanceChanges(Runnable balanceChangeHandler) {
+        BsqBalanceListener bsqBalanceListener = (availableBalance,
+                                                 availableNonBsqBalance,
+                                                 unverifiedBalance,
+                                                 unconfirmedChangeBalance,
+                                                 lockedForVotingBalance,
+                                                 lockedInBondsBalance,
+                                                 unlockingBondsBalance) -> balanceChangeHandler.run();
+        ChangeListener<Coin> btcBalanceListener = (observable, oldValue, newValue) -> balanceChangeHandler.run();
+        bsqWalletService.addBsqBalanceListener(bsqBalanceListener);
+        balances.getAvailableBalance().addListener(btcBalanceListener);
+        balances.getReservedBalance().addListener(btcBalanceListener);
+        balances.getLockedBalance().addListener(btcBalanceListener);
+        return () -> {
+            bsqWalletService.removeBsqBalanceListener(bsqBalanceListener);
+            balances.getAvailableBalance().removeListener(btcBalanceListener);
+            balances.getReservedBalance().removeListener(btcBalanceListener);
+            balances.getLockedBalance().removeListener(btcBalanceListener);
+        };
+    }
+
     long getAddressBalance(String addressString) {
         Address address = getAddressEntry(addressString).getAddress();
         return btcWalletService.getBalanceForAddress(address).value;
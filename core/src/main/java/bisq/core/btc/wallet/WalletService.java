@@ -73,8 +73,10 @@ import org.bitcoinj.wallet.listeners.WalletReorganizeEventListener;
 
 import javax.inject.Inject;
 
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.SetMultimap;
 import com.google.common.util.concurrent.FutureCallback;
@@ -126,6 +128,7 @@ public abstract class WalletService {
     private final WalletChangeEventListener cacheInvalidationListener;
     private final AtomicReference<Multiset<Address>> txOutputAddressCache = new AtomicReference<>();
     private final AtomicReference<SetMultimap<Address, Transaction>> addressToMatchingTxSetCache = new AtomicReference<>();
+    private final AtomicReference<ListMultimap<Address, TransactionOutput>> addressToSpendCandidatesCache = new AtomicReference<>();
     @Getter
     protected Wallet wallet;
     @Getter
@@ -151,6 +154,7 @@ public abstract class WalletService {
         cacheInvalidationListener = wallet -> {
             txOutputAddressCache.set(null);
             addressToMatchingTxSetCache.set(null);
+            addressToSpendCandidatesCache.set(null);
         };
     }
 
@@ -556,7 +560,28 @@ public abstract class WalletService {
     }
 
     public Coin getBalanceForAddress(Address address) {
-        return wallet != null ? getBalance(wallet.calculateAllSpendCandidates(), address) : Coin.ZERO;
+        return wallet != null ? getBalance(getAddressToSpendCandidatesMultimap().get(address), address) : Coin.ZERO;
+    }
+
+    // We index the spend candidates by address, so we don't need to iterate all spend candidates of the wallet for
+    // each address. The dust check is still applied at getBalance as it depends on the preferences.
+    private ListMultimap<Address, TransactionOutput> getAddressToSpendCandidatesMultimap() {
+        return addressToSpendCandidatesCache.updateAndGet(map -> map != null ?
+                map :
+                computeAddressToSpendCandidatesMultimap());
+    }
+
+    private ListMultimap<Address, TransactionOutput> computeAddressToSpendCandidatesMultimap() {
+        ImmutableListMultimap.Builder<Address, TransactionOutput> builder = ImmutableListMultimap.builder();
+        wallet.calculateAllSpendCandidates().stream()
+                .filter(WalletService::isOutputScriptConvertibleToAddress)
+                .forEach(output -> {
+                    Address address = getAddressFromOutput(output);
+                    if (address != null) {
+                        builder.put(address, output);
+                    }
+                });
+        return builder.build();
     }
 
     protected Coin getBalance(List<TransactionOutput> transactionOutputs, Address address) {
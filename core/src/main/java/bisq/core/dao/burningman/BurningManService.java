@@ -25,10 +25,13 @@ import bisq.core.dao.governance.param.Param;
 import bisq.core.dao.governance.proofofburn.ProofOfBurnConsensus;
 import bisq.core.dao.governance.proposal.ProposalService;
 import bisq.core.dao.governance.proposal.storage.appendonly.ProposalPayload;
+import bisq.core.dao.state.DaoStateListener;
 import bisq.core.dao.state.DaoStateService;
 import bisq.core.dao.state.model.blockchain.BaseTx;
+import bisq.core.dao.state.model.blockchain.Block;
 import bisq.core.dao.state.model.blockchain.Tx;
 import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
 import bisq.core.dao.state.model.governance.CompensationProposal;
 import bisq.core.dao.state.model.governance.Issuance;
 
@@ -45,9 +48,11 @@ import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -56,17 +61,24 @@ import java.util.TreeMap;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 /**
  * Methods are used by the DelayedPayoutTxReceiverService, which is used in the trade protocol for creating and
  * verifying the delayed payout transaction. As verification is done by trade peer it requires data to be deterministic.
  * Parameters listed here must not be changed as they could break verification of the peers
  * delayed payout transaction in case not both traders are using the same version.
+ * <p>
+ * The candidates are memoised per chain height, as they are requested for each trade and fee payment. A memoised
+ * result is only used if the block at that height and the number of proposals are unchanged. The proof of burn outputs
+ * are indexed by the hash of the name and the index is updated with each parsed block.
  */
 @Slf4j
 @Singleton
-public class BurningManService {
+public class BurningManService implements DaoStateListener {
     // Parameters
     // Cannot be changed after release as it would break trade protocol verification of DPT receivers.
 
@@ -96,11 +108,38 @@ public class BurningManService {
     // that deposit plus the trade amount the limiting factor here is 11% (0.15 / 1.3).
     public static final double MAX_BURN_SHARE = 0.11;
 
+    // Covers the current chain height, the DPT selection height and a few older selection heights of open trades.
+    private static final int MAX_MEMOISED_CHAIN_HEIGHTS = 10;
+
+    @Value
+    private static class MemoKey {
+        int chainHeight;
+        boolean limitCappingRounds;
+    }
+
+    @Value
+    private static class MemoisedCandidates {
+        String blockHash;
+        int numProposalPayloads;
+        Map<String, BurningManCandidate> burningManCandidatesByName;
+    }
 
     private final DaoStateService daoStateService;
     private final CyclesInDaoStateService cyclesInDaoStateService;
     private final ProposalService proposalService;
 
+    private final Map<MemoKey, MemoisedCandidates> memoisedCandidates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MemoKey, MemoisedCandidates> eldest) {
+            return size() > MAX_MEMOISED_CHAIN_HEIGHTS;
+        }
+    };
+    // Proof of burn outputs by the hash of the name. Contains the outputs up to the block at indexedHeight.
+    private final Map<P2PDataStorage.ByteArray, Set<TxOutput>> proofOfBurnOpReturnTxOutputsByHash = new HashMap<>();
+    private int indexedHeight = -1;
+    @Nullable
+    private String indexedBlockHash;
+
     @Inject
     public BurningManService(DaoStateService daoStateService,
                              CyclesInDaoStateService cyclesInDaoStateService,
@@ -108,6 +147,18 @@ public class BurningManService {
         this.daoStateService = daoStateService;
         this.cyclesInDaoStateService = cyclesInDaoStateService;
         this.proposalService = proposalService;
+
+        daoStateService.addDaoStateListener(this);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // DaoStateListener
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void onParseBlockCompleteAfterBatchProcessing(Block block) {
+        updateProofOfBurnIndex();
     }
 
 
@@ -120,8 +171,62 @@ public class BurningManService {
     }
 
     Map<String, BurningManCandidate> getBurningManCandidatesByName(int chainHeight, boolean limitCappingRounds) {
+        // The result is deterministic for a given block and set of proposals. We do not memoise the result for a
+        // height we have not parsed yet.
+        Optional<String> blockHash = daoStateService.getBlockAtHeight(chainHeight).map(Block::getHash);
+        if (blockHash.isEmpty()) {
+            return createBurningManCandidatesByName(chainHeight, limitCappingRounds);
+        }
+
+        MemoKey memoKey = new MemoKey(chainHeight, limitCappingRounds);
+        int numProposalPayloads = proposalService.getProposalPayloads().size();
+        MemoisedCandidates memoised = memoisedCandidates.get(memoKey);
+        if (memoised == null ||
+                !memoised.getBlockHash().equals(blockHash.get()) ||
+                memoised.getNumProposalPayloads() != numProposalPayloads) {
+            memoised = new MemoisedCandidates(blockHash.get(),
+                    numProposalPayloads,
+                    Collections.unmodifiableMap(createBurningManCandidatesByName(chainHeight, limitCappingRounds)));
+            memoisedCandidates.put(memoKey, memoised);
+        }
+        return memoised.getBurningManCandidatesByName();
+    }
+
+    String getLegacyBurningManAddress(int chainHeight) {
+        return daoStateService.getParamValue(Param.RECIPIENT_BTC_ADDRESS, chainHeight);
+    }
+
+    List<BurningManCandidate> getActiveBurningManCandidates(int chainHeight) {
+        return getActiveBurningManCandidates(chainHeight, false);
+    }
+
+    List<BurningManCandidate> getActiveBurningManCandidates(int chainHeight, boolean limitCappingRounds) {
+        return getBurningManCandidatesByName(chainHeight, limitCappingRounds).values().stream()
+                .filter(burningManCandidate -> burningManCandidate.getCappedBurnAmountShare() > 0)
+                .filter(BurningManCandidate::isReceiverAddressValid)
+                .collect(Collectors.toList());
+    }
+
+    Map<P2PDataStorage.ByteArray, Set<TxOutput>> getProofOfBurnOpReturnTxOutputByHash(int chainHeight) {
+        updateProofOfBurnIndex();
+        Map<P2PDataStorage.ByteArray, Set<TxOutput>> map = new HashMap<>();
+        proofOfBurnOpReturnTxOutputsByHash.forEach((key, txOutputs) -> {
+            Set<TxOutput> txOutputsUpToChainHeight = getTxOutputsUpToChainHeight(txOutputs, chainHeight);
+            if (!txOutputsUpToChainHeight.isEmpty()) {
+                map.put(key, txOutputsUpToChainHeight);
+            }
+        });
+        return map;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private Map<String, BurningManCandidate> createBurningManCandidatesByName(int chainHeight, boolean limitCappingRounds) {
         Map<String, BurningManCandidate> burningManCandidatesByName = new TreeMap<>();
-        Map<P2PDataStorage.ByteArray, Set<TxOutput>> proofOfBurnOpReturnTxOutputByHash = getProofOfBurnOpReturnTxOutputByHash(chainHeight);
+        updateProofOfBurnIndex();
 
         // Add contributors who made a compensation request
         forEachCompensationIssuance(chainHeight, (issuance, compensationProposal) -> {
@@ -156,7 +261,7 @@ public class BurningManService {
                             cycleIndex));
                 }
             }
-            addBurnOutputModel(chainHeight, proofOfBurnOpReturnTxOutputByHash, name, candidate);
+            addBurnOutputModel(chainHeight, name, candidate);
         });
 
         // Add output receivers of genesis transaction
@@ -177,7 +282,7 @@ public class BurningManService {
                             txOutput.getTxId(),
                             txOutput.getIndex(),
                             issuanceDate));
-                    addBurnOutputModel(chainHeight, proofOfBurnOpReturnTxOutputByHash, name, candidate);
+                    addBurnOutputModel(chainHeight, name, candidate);
                 }));
 
         Collection<BurningManCandidate> burningManCandidates = burningManCandidatesByName.values();
@@ -205,37 +310,40 @@ public class BurningManService {
         return burningManCandidatesByName;
     }
 
-    String getLegacyBurningManAddress(int chainHeight) {
-        return daoStateService.getParamValue(Param.RECIPIENT_BTC_ADDRESS, chainHeight);
-    }
-
-    List<BurningManCandidate> getActiveBurningManCandidates(int chainHeight) {
-        return getActiveBurningManCandidates(chainHeight, false);
+    // We add the proof of burn outputs of the blocks parsed since the last update. In case the last indexed block got
+    // replaced by a reorg (or at the first call) we rebuild the index from the DAO state.
+    private void updateProofOfBurnIndex() {
+        int chainHeight = daoStateService.getChainHeight();
+        boolean isIndexedBlockUnchanged = indexedBlockHash != null &&
+                daoStateService.getBlockAtHeight(indexedHeight)
+                        .map(block -> block.getHash().equals(indexedBlockHash))
+                        .orElse(false);
+        if (!isIndexedBlockUnchanged || chainHeight < indexedHeight) {
+            proofOfBurnOpReturnTxOutputsByHash.clear();
+            daoStateService.getProofOfBurnOpReturnTxOutputs().forEach(this::addToProofOfBurnIndex);
+        } else {
+            for (int height = indexedHeight + 1; height <= chainHeight; height++) {
+                daoStateService.getBlockAtHeight(height).ifPresent(block -> block.getTxs().stream()
+                        .flatMap(tx -> tx.getTxOutputs().stream())
+                        .filter(txOutput -> txOutput.getTxOutputType() == TxOutputType.PROOF_OF_BURN_OP_RETURN_OUTPUT)
+                        .forEach(this::addToProofOfBurnIndex));
+            }
+        }
+        indexedHeight = chainHeight;
+        indexedBlockHash = daoStateService.getBlockAtHeight(chainHeight).map(Block::getHash).orElse(null);
     }
 
-    List<BurningManCandidate> getActiveBurningManCandidates(int chainHeight, boolean limitCappingRounds) {
-        return getBurningManCandidatesByName(chainHeight, limitCappingRounds).values().stream()
-                .filter(burningManCandidate -> burningManCandidate.getCappedBurnAmountShare() > 0)
-                .filter(BurningManCandidate::isReceiverAddressValid)
-                .collect(Collectors.toList());
+    private void addToProofOfBurnIndex(TxOutput txOutput) {
+        P2PDataStorage.ByteArray key = new P2PDataStorage.ByteArray(ProofOfBurnConsensus.getHashFromOpReturnData(txOutput.getOpReturnData()));
+        proofOfBurnOpReturnTxOutputsByHash.computeIfAbsent(key, k -> new HashSet<>()).add(txOutput);
     }
 
-    Map<P2PDataStorage.ByteArray, Set<TxOutput>> getProofOfBurnOpReturnTxOutputByHash(int chainHeight) {
-        Map<P2PDataStorage.ByteArray, Set<TxOutput>> map = new HashMap<>();
-        daoStateService.getProofOfBurnOpReturnTxOutputs().stream()
+    private static Set<TxOutput> getTxOutputsUpToChainHeight(Set<TxOutput> txOutputs, int chainHeight) {
+        return txOutputs.stream()
                 .filter(txOutput -> txOutput.getBlockHeight() <= chainHeight)
-                .forEach(txOutput -> {
-                    P2PDataStorage.ByteArray key = new P2PDataStorage.ByteArray(ProofOfBurnConsensus.getHashFromOpReturnData(txOutput.getOpReturnData()));
-                    map.computeIfAbsent(key, k -> new HashSet<>()).add(txOutput);
-                });
-        return map;
+                .collect(Collectors.toSet());
     }
 
-
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Private
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
     private void forEachCompensationIssuance(int chainHeight, BiConsumer<Issuance, CompensationProposal> action) {
         proposalService.getProposalPayloads().stream()
                 .map(ProposalPayload::getProposal)
@@ -309,10 +417,9 @@ public class BurningManService {
     }
 
     private void addBurnOutputModel(int chainHeight,
-                                    Map<P2PDataStorage.ByteArray, Set<TxOutput>> proofOfBurnOpReturnTxOutputByHash,
                                     String name,
                                     BurningManCandidate candidate) {
-        getProofOfBurnOpReturnTxOutputSetForName(proofOfBurnOpReturnTxOutputByHash, name)
+        getProofOfBurnOpReturnTxOutputSetForName(name, chainHeight)
                 .forEach(burnOutput -> {
                     int burnOutputHeight = burnOutput.getBlockHeight();
                     Optional<Tx> optionalTx = daoStateService.getTx(burnOutput.getTxId());
@@ -329,13 +436,12 @@ public class BurningManService {
                 });
     }
 
-    private static Set<TxOutput> getProofOfBurnOpReturnTxOutputSetForName(Map<P2PDataStorage.ByteArray, Set<TxOutput>> proofOfBurnOpReturnTxOutputByHash,
-                                                                          String name) {
+    private Set<TxOutput> getProofOfBurnOpReturnTxOutputSetForName(String name, int chainHeight) {
         byte[] preImage = name.getBytes(Charsets.UTF_8);
         byte[] hash = ProofOfBurnConsensus.getHash(preImage);
         P2PDataStorage.ByteArray key = new P2PDataStorage.ByteArray(hash);
-        if (proofOfBurnOpReturnTxOutputByHash.containsKey(key)) {
-            return proofOfBurnOpReturnTxOutputByHash.get(key);
+        if (proofOfBurnOpReturnTxOutputsByHash.containsKey(key)) {
+            return getTxOutputsUpToChainHeight(proofOfBurnOpReturnTxOutputsByHash.get(key), chainHeight);
         } else {
             return new HashSet<>();
         }
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Requests the blocks of a height range with a bounded look-ahead. Up to maxLookAhead blocks are requested
+ * concurrently on the executor, while the blocks are handed out strictly in order of their height.
+ * <p>
+ * The prefetched blocks might be from a chain which got reorganized in the meantime. If the parser detects that a
+ * block is not connecting, the prefetcher has to be flushed.
+ * <p>
+ * Not thread safe. Expected to be called from the user thread.
+ *
+ * @param <T> The type of the block.
+ */
+@Slf4j
+class BlockPrefetcher<T> {
+    interface BlockLoader<T> {
+        T load(int blockHeight) throws Exception;
+    }
+
+    private final BlockLoader<T> blockLoader;
+    private final ListeningExecutorService executor;
+    private final int maxLookAhead;
+    private final int endBlockHeight;
+    private final Deque<ListenableFuture<T>> pendingBlocks = new ArrayDeque<>();
+    // The block returned by next counts to the look-ahead window until next is called again
+    @Nullable
+    private ListenableFuture<T> returnedBlock;
+    private int nextBlockHeightToRequest;
+    private int nextBlockHeight;
+    private boolean flushed;
+
+    BlockPrefetcher(BlockLoader<T> blockLoader,
+                    ListeningExecutorService executor,
+                    int maxLookAhead,
+                    int startBlockHeight,
+                    int endBlockHeight) {
+        this.blockLoader = blockLoader;
+        this.executor = executor;
+        this.maxLookAhead = maxLookAhead;
+        this.endBlockHeight = endBlockHeight;
+        nextBlockHeightToRequest = startBlockHeight;
+        nextBlockHeight = startBlockHeight;
+    }
+
+    boolean hasNext() {
+        return !flushed && nextBlockHeight <= endBlockHeight;
+    }
+
+    boolean isFlushed() {
+        return flushed;
+    }
+
+    int getNextBlockHeight() {
+        return nextBlockHeight;
+    }
+
+    /**
+     * @return The future of the block at the next height. Completes exceptionally with a CancellationException if
+     * the prefetcher gets flushed before the block has been loaded.
+     */
+    ListenableFuture<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No block left to request. nextBlockHeight=" + nextBlockHeight);
+        }
+        // The previously returned block does not count to the look-ahead window anymore
+        returnedBlock = null;
+        fillLookAheadWindow();
+        returnedBlock = pendingBlocks.poll();
+        nextBlockHeight++;
+        return returnedBlock;
+    }
+
+    /**
+     * Cancels the requests for the prefetched blocks. After that call hasNext returns false.
+     */
+    void flush() {
+        if (flushed) {
+            return;
+        }
+        flushed = true;
+        if (!pendingBlocks.isEmpty()) {
+            log.info("We flush {} prefetched blocks starting at height {}", pendingBlocks.size(), nextBlockHeight);
+        }
+        pendingBlocks.forEach(future -> future.cancel(true));
+        pendingBlocks.clear();
+        if (returnedBlock != null) {
+            returnedBlock.cancel(true);
+            returnedBlock = null;
+        }
+    }
+
+    private void fillLookAheadWindow() {
+        while (pendingBlocks.size() < maxLookAhead && nextBlockHeightToRequest <= endBlockHeight) {
+            int blockHeight = nextBlockHeightToRequest++;
+            pendingBlocks.add(executor.submit(() -> blockLoader.load(blockHeight)));
+        }
+    }
+}
@@ -42,6 +42,8 @@ import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 /**
  * Main class for a full node which have Bitcoin Core with rpc running and does the blockchain lookup itself.
  * It also provides the BSQ transactions to lite nodes on request and broadcasts new BSQ blocks.
@@ -59,6 +61,8 @@ public class FullNode extends BsqNode {
     private long parseInBatchStartTime;
     private int parseBlocksOnHeadHeightCounter;
     private int numExceptions;
+    @Nullable
+    private BlockPrefetcher<RawBlock> blockPrefetcher;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -233,32 +237,38 @@ public class FullNode extends BsqNode {
                              Consumer<Block> newBlockHandler,
                              ResultHandler resultHandler,
                              Consumer<Throwable> errorHandler) {
-        parseBlockRecursively(startBlockHeight, chainHeight, newBlockHandler, resultHandler, errorHandler);
+        // In case we restart parsing after an error or a reorg we do not want to continue with the previous blocks
+        if (blockPrefetcher != null) {
+            blockPrefetcher.flush();
+        }
+        blockPrefetcher = rpcService.createBlockPrefetcher(startBlockHeight, chainHeight);
+        parseBlockRecursively(blockPrefetcher, newBlockHandler, resultHandler, errorHandler);
     }
 
-    private void parseBlockRecursively(int blockHeight,
-                                       int chainHeight,
+    private void parseBlockRecursively(BlockPrefetcher<RawBlock> blockPrefetcher,
                                        Consumer<Block> newBlockHandler,
                                        ResultHandler resultHandler,
                                        Consumer<Throwable> errorHandler) {
         if (shutdownInProgress) {
+            blockPrefetcher.flush();
             return;
         }
-        rpcService.requestDtoBlock(blockHeight,
+        rpcService.requestNextDtoBlock(blockPrefetcher,
                 rawBlock -> {
                     try {
                         doParseBlock(rawBlock).ifPresent(newBlockHandler);
 
-                        // Increment blockHeight and recursively call parseBlockAsync until we reach chainHeight
-                        if (blockHeight < chainHeight) {
-                            int newBlockHeight = blockHeight + 1;
-                            parseBlockRecursively(newBlockHeight, chainHeight, newBlockHandler, resultHandler, errorHandler);
-                        } else {
+                        // Recursively call parseBlockRecursively until we reach chainHeight
+                        if (blockPrefetcher.hasNext()) {
+                            parseBlockRecursively(blockPrefetcher, newBlockHandler, resultHandler, errorHandler);
+                        } else if (!blockPrefetcher.isFlushed()) {
                             // We are done
                             resultHandler.handleResult();
                         }
                     } catch (RequiredReorgFromSnapshotException e) {
                         log.warn("doParseBlock at parseBlockRecursively failed because of a blockchain reorg. {}", e.toString());
+                        // The prefetched blocks might be from the old chain. Parsing restarts from the snapshot.
+                        blockPrefetcher.flush();
                     }
                 },
                 errorHandler);
@@ -32,6 +32,7 @@ import bisq.common.UserThread;
 import bisq.common.config.Config;
 import bisq.common.handlers.ResultHandler;
 import bisq.common.util.SingleThreadExecutorUtils;
+import bisq.common.util.Utilities;
 
 import org.bitcoinj.core.Utils;
 
@@ -57,7 +58,9 @@ import java.math.BigDecimal;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -78,6 +81,9 @@ public class RpcService {
     private static final int ACTIVATE_HARD_FORK_2_HEIGHT_TESTNET = 1943000;
     private static final int ACTIVATE_HARD_FORK_2_HEIGHT_REGTEST = 1;
     private static final Range<Integer> SUPPORTED_NODE_VERSION_RANGE = Range.closedOpen(180000, 220100);
+    // Bitcoin Core serves 4 RPC requests in parallel by default (rpcthreads)
+    private static final int NUM_BLOCK_PREFETCH_THREADS = 4;
+    private static final int MAX_PREFETCHED_BLOCKS = 8;
 
     private final String rpcUser;
     private final String rpcPassword;
@@ -89,9 +95,15 @@ public class RpcService {
     private BitcoindClient client;
     private BitcoindDaemon daemon;
 
-    // We could use multiple threads, but then we need to support ordering of results in a queue
-    // Keep that for optimization after measuring performance differences
+    // Used for the setup and single requests. Requests for a range of blocks use the blockPrefetchExecutor.
     private final ListeningExecutorService executor = SingleThreadExecutorUtils.getSingleThreadListeningExecutor("RpcService");
+    // Used for requesting blocks with a look-ahead when parsing a range of blocks. Results are ordered by the
+    // BlockPrefetcher.
+    private final ListeningExecutorService blockPrefetchExecutor = Utilities.getListeningExecutorService("RpcService-prefetch",
+            NUM_BLOCK_PREFETCH_THREADS,
+            NUM_BLOCK_PREFETCH_THREADS,
+            60,
+            new LinkedBlockingQueue<>());
     private volatile boolean shutdownInProgress;
     private final Set<ResultHandler> setupResultHandlers = new CopyOnWriteArraySet<>();
     private final Set<Consumer<Throwable>> setupErrorHandlers = new CopyOnWriteArraySet<>();
@@ -150,6 +162,7 @@ public class RpcService {
 
         // A hard shutdown is justified for the RPC service.
         executor.shutdownNow();
+        blockPrefetchExecutor.shutdownNow();
     }
 
     public void setup(ResultHandler resultHandler, Consumer<Throwable> errorHandler) {
@@ -327,20 +340,28 @@ public class RpcService {
         }
     }
 
-    void requestDtoBlock(int blockHeight,
-                         Consumer<RawBlock> resultHandler,
-                         Consumer<Throwable> errorHandler) {
-        try {
-            ListenableFuture<RawBlock> future = executor.submit(() -> {
-                long startTs = System.currentTimeMillis();
-                String blockHash = client.getBlockHash(blockHeight);
-                var rawDtoBlock = client.getBlock(blockHash, 2);
-                var block = getRawBlockFromRawDtoBlock(rawDtoBlock);
-                log.info("requestDtoBlock from bitcoind at blockHeight {} with {} txs took {} ms",
-                        blockHeight, block.getRawTxs().size(), System.currentTimeMillis() - startTs);
-                return block;
-            });
+    /**
+     * Creates a prefetcher for the blocks from startBlockHeight to chainHeight. The blocks are requested with
+     * requestNextDtoBlock.
+     */
+    BlockPrefetcher<RawBlock> createBlockPrefetcher(int startBlockHeight, int chainHeight) {
+        return new BlockPrefetcher<>(blockHeight -> {
+            long startTs = System.currentTimeMillis();
+            String blockHash = client.getBlockHash(blockHeight);
+            var rawDtoBlock = client.getBlock(blockHash, 2);
+            var block = getRawBlockFromRawDtoBlock(rawDtoBlock);
+            log.info("requestNextDtoBlock from bitcoind at blockHeight {} with {} txs took {} ms",
+                    blockHeight, block.getRawTxs().size(), System.currentTimeMillis() - startTs);
+            return block;
+        }, blockPrefetchExecutor, MAX_PREFETCHED_BLOCKS, startBlockHeight, chainHeight);
+    }
 
+    void requestNextDtoBlock(BlockPrefetcher<RawBlock> blockPrefetcher,
+                             Consumer<RawBlock> resultHandler,
+                             Consumer<Throwable> errorHandler) {
+        int blockHeight = blockPrefetcher.getNextBlockHeight();
+        try {
+            ListenableFuture<RawBlock> future = blockPrefetcher.next();
             Futures.addCallback(future, new FutureCallback<>() {
                 @Override
                 public void onSuccess(RawBlock block) {
@@ -349,17 +370,22 @@ public class RpcService {
 
                 @Override
                 public void onFailure(@NotNull Throwable throwable) {
-                    log.error("Error at requestDtoBlock: blockHeight={}, error={}", blockHeight, throwable);
+                    if (throwable instanceof CancellationException) {
+                        // The prefetcher got flushed
+                        log.debug("Request of block at height {} got cancelled", blockHeight);
+                        return;
+                    }
+                    log.error("Error at requestNextDtoBlock: blockHeight={}, error={}", blockHeight, throwable);
                     UserThread.execute(() -> errorHandler.accept(throwable));
                 }
             }, MoreExecutors.directExecutor());
         } catch (RejectedExecutionException e) {
             if (!shutdownInProgress) {
-                log.error("Exception at requestDtoBlock", e);
+                log.error("Exception at requestNextDtoBlock", e);
                 throw e;
             }
         } catch (Exception e) {
-            log.error("Exception at requestDtoBlock", e);
+            log.error("Exception at requestNextDtoBlock", e);
             throw e;
         }
     }
@@ -69,6 +69,7 @@ public class FullNodeNetworkService implements MessageListener, PeerManager.List
     private final Broadcaster broadcaster;
     private final MissingDataRequestService missingDataRequestService;
     private final DaoStateService daoStateService;
+    private final RawBlockBucketCache rawBlockBucketCache;
 
     // Key is connection UID
     private final Map<String, GetBlocksRequestHandler> getBlocksRequestHandlers = new HashMap<>();
@@ -91,6 +92,7 @@ public class FullNodeNetworkService implements MessageListener, PeerManager.List
         this.broadcaster = broadcaster;
         this.missingDataRequestService = missingDataRequestService;
         this.daoStateService = daoStateService;
+        rawBlockBucketCache = new RawBlockBucketCache(daoStateService);
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -176,7 +178,7 @@ public class FullNodeNetworkService implements MessageListener, PeerManager.List
         }
 
         GetBlocksRequestHandler requestHandler = new GetBlocksRequestHandler(networkNode,
-                daoStateService,
+                rawBlockBucketCache,
                 new GetBlocksRequestHandler.Listener() {
                     @Override
                     public void onComplete(int serializedSize) {
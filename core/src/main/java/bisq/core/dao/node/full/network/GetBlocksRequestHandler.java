@@ -20,8 +20,6 @@ package bisq.core.dao.node.full.network;
 import bisq.core.dao.node.full.RawBlock;
 import bisq.core.dao.node.messages.GetBlocksRequest;
 import bisq.core.dao.node.messages.GetBlocksResponse;
-import bisq.core.dao.state.DaoStateService;
-import bisq.core.dao.state.model.blockchain.Block;
 
 import bisq.network.p2p.network.CloseConnectionReason;
 import bisq.network.p2p.network.Connection;
@@ -35,10 +33,8 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -68,7 +64,7 @@ class GetBlocksRequestHandler {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private final NetworkNode networkNode;
-    private final DaoStateService daoStateService;
+    private final RawBlockBucketCache rawBlockBucketCache;
     private final Listener listener;
     private Timer timeoutTimer;
     private boolean stopped;
@@ -78,9 +74,9 @@ class GetBlocksRequestHandler {
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    public GetBlocksRequestHandler(NetworkNode networkNode, DaoStateService daoStateService, Listener listener) {
+    public GetBlocksRequestHandler(NetworkNode networkNode, RawBlockBucketCache rawBlockBucketCache, Listener listener) {
         this.networkNode = networkNode;
-        this.daoStateService = daoStateService;
+        this.rawBlockBucketCache = rawBlockBucketCache;
         this.listener = listener;
     }
 
@@ -92,11 +88,12 @@ class GetBlocksRequestHandler {
     public void onGetBlocksRequest(GetBlocksRequest getBlocksRequest, Connection connection) {
         long ts = System.currentTimeMillis();
         // We limit number of blocks to 3000 which is about 3 weeks and about 5 MB on data
-        List<RawBlock> rawBlocks = daoStateService.getBlocksFromBlockHeightStream(getBlocksRequest.getFromBlockHeight(), 3000)
-                .map(RawBlock::fromBlock)
-                .collect(Collectors.toCollection(LinkedList::new));
+        RawBlockBucketCache.Blocks blocks = rawBlockBucketCache.getBlocks(getBlocksRequest.getFromBlockHeight(), 3000);
+        List<RawBlock> rawBlocks = blocks.getRawBlocks();
 
-        GetBlocksResponse getBlocksResponse = new GetBlocksResponse(rawBlocks, getBlocksRequest.getNonce());
+        GetBlocksResponse getBlocksResponse = new GetBlocksResponse(rawBlocks,
+                blocks.getRawBlocksAsProto(),
+                getBlocksRequest.getNonce());
         log.info("Received GetBlocksRequest from {} for blocks from height {}. " +
                         "Building GetBlocksResponse with {} blocks took {} ms.",
                 connection.getPeersNodeAddressOptional(), getBlocksRequest.getFromBlockHeight(),
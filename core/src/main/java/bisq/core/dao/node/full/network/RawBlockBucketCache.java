@@ -0,0 +1,164 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full.network;
+
+import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.storage.BlocksPersistence;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of the RawBlocks and their protobuf messages we send in GetBlocksResponses. The blocks are grouped in buckets
+ * of {@link BlocksPersistence#BUCKET_SIZE} blocks, aligned like the buckets of the persisted blocks. Only complete
+ * buckets get cached, the blocks of the most recent bucket are converted at each request.
+ * <p>
+ * A cached bucket is only used if the hash of its last block matches the block at that height in the DAO state. As the
+ * blocks are linked by their hashes, that covers all blocks of the bucket in case of a reorg.
+ * <p>
+ * Not thread safe. Expected to be used from the user thread.
+ */
+@Slf4j
+class RawBlockBucketCache {
+    // About 1 MB per bucket. Lite nodes request usually the recent blocks only.
+    private static final int MAX_CACHED_BUCKETS = 10;
+
+    @Getter
+    static class Blocks {
+        private final List<RawBlock> rawBlocks = new ArrayList<>();
+        private final List<protobuf.BaseBlock> rawBlocksAsProto = new ArrayList<>();
+
+        int size() {
+            return rawBlocks.size();
+        }
+    }
+
+    @Value
+    private static class Bucket {
+        int firstBlockHeight;
+        String hashOfLastBlock;
+        List<RawBlock> rawBlocks;
+        List<protobuf.BaseBlock> rawBlocksAsProto;
+    }
+
+    private final DaoStateService daoStateService;
+    private final Map<Integer, Bucket> bucketsByIndex = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Bucket> eldest) {
+            return size() > MAX_CACHED_BUCKETS;
+        }
+    };
+
+    RawBlockBucketCache(DaoStateService daoStateService) {
+        this.daoStateService = daoStateService;
+    }
+
+    Blocks getBlocks(int fromBlockHeight, int numMaxBlocks) {
+        Blocks blocks = new Blocks();
+        Optional<Block> lastBlock = daoStateService.getLastBlock();
+        if (lastBlock.isEmpty()) {
+            return blocks;
+        }
+        int lastBlockHeight = lastBlock.get().getHeight();
+        int height = Math.max(fromBlockHeight, daoStateService.getGenesisBlockHeight());
+        while (height <= lastBlockHeight && blocks.size() < numMaxBlocks) {
+            int bucketIndex = getBucketIndex(height);
+            if (getLastHeightOfBucket(bucketIndex) <= lastBlockHeight) {
+                Bucket bucket = getOrCreateBucket(bucketIndex);
+                if (bucket != null && height >= bucket.getFirstBlockHeight()) {
+                    int from = height - bucket.getFirstBlockHeight();
+                    int to = Math.min(bucket.getRawBlocks().size(), from + numMaxBlocks - blocks.size());
+                    blocks.rawBlocks.addAll(bucket.getRawBlocks().subList(from, to));
+                    blocks.rawBlocksAsProto.addAll(bucket.getRawBlocksAsProto().subList(from, to));
+                    height = bucket.getFirstBlockHeight() + to;
+                    continue;
+                }
+            }
+
+            daoStateService.getBlockAtHeight(height).ifPresent(block -> {
+                RawBlock rawBlock = RawBlock.fromBlock(block);
+                blocks.rawBlocks.add(rawBlock);
+                blocks.rawBlocksAsProto.add(rawBlock.toProtoMessage());
+            });
+            height++;
+        }
+        return blocks;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Bucket with index n covers the heights from (n - 1) * BUCKET_SIZE + 1 to n * BUCKET_SIZE
+    @VisibleForTesting
+    static int getBucketIndex(int height) {
+        return (height + BlocksPersistence.BUCKET_SIZE - 1) / BlocksPersistence.BUCKET_SIZE;
+    }
+
+    private static int getLastHeightOfBucket(int bucketIndex) {
+        return bucketIndex * BlocksPersistence.BUCKET_SIZE;
+    }
+
+    private Bucket getOrCreateBucket(int bucketIndex) {
+        int lastHeightOfBucket = getLastHeightOfBucket(bucketIndex);
+        Optional<Block> lastBlockOfBucket = daoStateService.getBlockAtHeight(lastHeightOfBucket);
+        if (lastBlockOfBucket.isEmpty()) {
+            return null;
+        }
+
+        Bucket bucket = bucketsByIndex.get(bucketIndex);
+        if (bucket != null && bucket.getHashOfLastBlock().equals(lastBlockOfBucket.get().getHash())) {
+            return bucket;
+        }
+
+        long ts = System.currentTimeMillis();
+        int firstBlockHeight = Math.max(lastHeightOfBucket - BlocksPersistence.BUCKET_SIZE + 1,
+                daoStateService.getGenesisBlockHeight());
+        List<RawBlock> rawBlocks = new ArrayList<>();
+        List<protobuf.BaseBlock> rawBlocksAsProto = new ArrayList<>();
+        for (int height = firstBlockHeight; height <= lastHeightOfBucket; height++) {
+            Optional<Block> block = daoStateService.getBlockAtHeight(height);
+            if (block.isEmpty()) {
+                // Should not happen as blocks are connected
+                log.warn("Missing block at height {}. We do not cache bucket {}", height, bucketIndex);
+                bucketsByIndex.remove(bucketIndex);
+                return null;
+            }
+            RawBlock rawBlock = RawBlock.fromBlock(block.get());
+            rawBlocks.add(rawBlock);
+            rawBlocksAsProto.add(rawBlock.toProtoMessage());
+        }
+        bucket = new Bucket(firstBlockHeight, lastBlockOfBucket.get().getHash(), rawBlocks, rawBlocksAsProto);
+        bucketsByIndex.put(bucketIndex, bucket);
+        log.info("Creating block bucket {} with {} blocks took {} ms", bucketIndex, rawBlocks.size(),
+                System.currentTimeMillis() - ts);
+        return bucket;
+    }
+}
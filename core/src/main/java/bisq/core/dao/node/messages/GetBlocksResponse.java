@@ -35,6 +35,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @EqualsAndHashCode(callSuper = true)
 @Getter
 @Slf4j
@@ -42,9 +44,18 @@ public final class GetBlocksResponse extends NetworkEnvelope implements DirectMe
         ExtendedDataSizePermission, InitialDataResponse {
     private final List<RawBlock> blocks;
     private final int requestNonce;
+    // Protobuf messages of the blocks, if provided by the sender (e.g. from a cache) to avoid converting the blocks
+    // again at each serialization. Not set at the receiver.
+    @Nullable
+    @EqualsAndHashCode.Exclude
+    private final List<protobuf.BaseBlock> blocksAsProto;
 
     public GetBlocksResponse(List<RawBlock> blocks, int requestNonce) {
-        this(blocks, requestNonce, Version.getP2PMessageVersion());
+        this(blocks, null, requestNonce, Version.getP2PMessageVersion());
+    }
+
+    public GetBlocksResponse(List<RawBlock> blocks, List<protobuf.BaseBlock> blocksAsProto, int requestNonce) {
+        this(blocks, blocksAsProto, requestNonce, Version.getP2PMessageVersion());
     }
 
 
@@ -52,9 +63,13 @@ public final class GetBlocksResponse extends NetworkEnvelope implements DirectMe
     // PROTO BUFFER
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private GetBlocksResponse(List<RawBlock> blocks, int requestNonce, int messageVersion) {
+    private GetBlocksResponse(List<RawBlock> blocks,
+                              @Nullable List<protobuf.BaseBlock> blocksAsProto,
+                              int requestNonce,
+                              int messageVersion) {
         super(messageVersion);
         this.blocks = blocks;
+        this.blocksAsProto = blocksAsProto;
         this.requestNonce = requestNonce;
     }
 
@@ -62,9 +77,11 @@ public final class GetBlocksResponse extends NetworkEnvelope implements DirectMe
     public protobuf.NetworkEnvelope toProtoNetworkEnvelope() {
         protobuf.NetworkEnvelope proto = getNetworkEnvelopeBuilder()
                 .setGetBlocksResponse(protobuf.GetBlocksResponse.newBuilder()
-                        .addAllRawBlocks(blocks.stream()
-                                .map(RawBlock::toProtoMessage)
-                                .collect(Collectors.toList()))
+                        .addAllRawBlocks(blocksAsProto != null ?
+                                blocksAsProto :
+                                blocks.stream()
+                                        .map(RawBlock::toProtoMessage)
+                                        .collect(Collectors.toList()))
                         .setRequestNonce(requestNonce))
                 .build();
         log.info("Sending a GetBlocksResponse with {} kB", proto.getSerializedSize() / 1000d);
@@ -79,6 +96,7 @@ public final class GetBlocksResponse extends NetworkEnvelope implements DirectMe
         return new GetBlocksResponse(proto.getRawBlocksList().isEmpty() ?
                 new ArrayList<>() :
                 list,
+                null,
                 proto.getRequestNonce(),
                 messageVersion);
     }
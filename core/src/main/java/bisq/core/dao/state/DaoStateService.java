@@ -36,14 +36,20 @@ import bisq.core.dao.state.model.governance.EvaluatedProposal;
 import bisq.core.dao.state.model.governance.Issuance;
 import bisq.core.dao.state.model.governance.IssuanceType;
 import bisq.core.dao.state.model.governance.ParamChange;
+import bisq.core.dao.state.storage.BlocksPersistence;
+import bisq.core.dao.state.storage.BsqBlocksStorageService;
 import bisq.core.util.ParsingUtils;
 import bisq.core.util.coin.BsqFormatter;
 
+import bisq.common.app.DevEnv;
+import bisq.common.config.Config;
+
 import org.bitcoinj.core.Coin;
 
 import javax.inject.Inject;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -51,11 +57,12 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import lombok.Getter;
@@ -70,14 +77,26 @@ import static com.google.common.base.Preconditions.checkArgument;
  */
 @Slf4j
 public class DaoStateService implements DaoSetupService {
+    // Number of the most recent buckets of blocks we keep in memory. Older blocks get read from disk on demand.
+    private static final int NUM_BLOCK_BUCKETS_IN_MEMORY = 2;
+
+    // From these heights on the hash chain commits to the large collections of the DAO state by a multiset hash
+    // instead of their full serialization. Nodes running an older version will report a different state hash from
+    // that height on.
+    private static final int ACTIVATE_STATE_COMMITMENT_HEIGHT_MAINNET = 1000000;
+    private static final int ACTIVATE_STATE_COMMITMENT_HEIGHT_TESTNET = 5000000;
+    private static final int ACTIVATE_STATE_COMMITMENT_HEIGHT_REGTEST = 1;
+
     private final DaoState daoState;
     private final GenesisTxInfo genesisTxInfo;
     private final BsqFormatter bsqFormatter;
+    private final BsqBlocksStorageService bsqBlocksStorageService;
     private final List<DaoStateListener> daoStateListeners = new CopyOnWriteArrayList<>();
     @Getter
     private boolean parseBlockChainComplete;
     private boolean allowDaoStateChange;
     private final Map<String, Set<String>> cachedTxIdSetByAddress = new HashMap<>();
+    private final ParamAndCycleIndex paramAndCycleIndex = new ParamAndCycleIndex();
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -85,10 +104,14 @@ public class DaoStateService implements DaoSetupService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public DaoStateService(DaoState daoState, GenesisTxInfo genesisTxInfo, BsqFormatter bsqFormatter) {
+    public DaoStateService(DaoState daoState,
+                           GenesisTxInfo genesisTxInfo,
+                           BsqFormatter bsqFormatter,
+                           BsqBlocksStorageService bsqBlocksStorageService) {
         this.daoState = daoState;
         this.genesisTxInfo = genesisTxInfo;
         this.bsqFormatter = bsqFormatter;
+        this.bsqBlocksStorageService = bsqBlocksStorageService;
     }
 
 
@@ -127,38 +150,47 @@ public class DaoStateService implements DaoSetupService {
         daoState.getCycles().clear();
         daoState.getCycles().addAll(snapshot.getCycles());
 
-        daoState.getUnspentTxOutputMap().clear();
-        daoState.getUnspentTxOutputMap().putAll(snapshot.getUnspentTxOutputMap());
-
-        daoState.getSpentInfoMap().clear();
-        daoState.getSpentInfoMap().putAll(snapshot.getSpentInfoMap());
+        // Unspent tx outputs, spent infos, issuances, evaluated proposals and decrypted ballots
+        daoState.setCommittedCollections(snapshot);
 
         daoState.getConfiscatedLockupTxList().clear();
         daoState.getConfiscatedLockupTxList().addAll(snapshot.getConfiscatedLockupTxList());
 
-        daoState.getIssuanceMap().clear();
-        daoState.getIssuanceMap().putAll(snapshot.getIssuanceMap());
-
         daoState.getParamChangeList().clear();
         daoState.getParamChangeList().addAll(snapshot.getParamChangeList());
 
-        daoState.getEvaluatedProposalList().clear();
-        daoState.getEvaluatedProposalList().addAll(snapshot.getEvaluatedProposalList());
-
-        daoState.getDecryptedBallotsWithMeritsList().clear();
-        daoState.getDecryptedBallotsWithMeritsList().addAll(snapshot.getDecryptedBallotsWithMeritsList());
-    }
-
-    public DaoState getClone() {
-        return DaoState.getClone(daoState);
+        paramAndCycleIndex.invalidate();
     }
 
     public protobuf.DaoState getBsqStateCloneExcludingBlocks() {
         return DaoState.getBsqStateCloneExcludingBlocks(daoState);
     }
 
+    /**
+     * @return The input for the hash of the DAO state at the current chain height. Below the activation height it is
+     * the full serialization of the state excluding the blocks, so the hashes of those blocks and the checkpoints stay
+     * valid. From the activation height on the large collections are represented by an incrementally updated multiset
+     * hash, so the costs per block depend on the changes of the block and not on the size of the state.
+     */
     public byte[] getSerializedStateForHashChain() {
-        return daoState.getSerializedStateForHashChain();
+        if (daoState.getChainHeight() < getStateCommitmentActivationHeight()) {
+            return daoState.getSerializedStateForHashChain();
+        }
+
+        byte[] stateCommitment = daoState.getStateCommitmentForHashChain();
+        if (DevEnv.isDevMode()) {
+            // In dev mode we verify that the incrementally updated commitment matches the one created from scratch.
+            checkArgument(Arrays.equals(stateCommitment, daoState.getStateCommitmentForHashChainFromScratch()),
+                    "Incrementally updated state commitment does not match the one created from scratch at height %s",
+                    daoState.getChainHeight());
+        }
+        return stateCommitment;
+    }
+
+    private static int getStateCommitmentActivationHeight() {
+        return Config.baseCurrencyNetwork().isMainnet() ? ACTIVATE_STATE_COMMITMENT_HEIGHT_MAINNET :
+                Config.baseCurrencyNetwork().isTestnet() ? ACTIVATE_STATE_COMMITMENT_HEIGHT_TESTNET :
+                        ACTIVATE_STATE_COMMITMENT_HEIGHT_REGTEST;
     }
 
 
@@ -190,10 +222,7 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public Optional<Cycle> getCycle(int height) {
-        return getCycles().stream()
-                .filter(cycle -> cycle.getHeightOfFirstBlock() <= height)
-                .filter(cycle -> cycle.getHeightOfLastBlock() >= height)
-                .findAny();
+        return paramAndCycleIndex.getCycle(getCycles(), height);
     }
 
     public Optional<Integer> getStartHeightOfNextCycle(int blockHeight) {
@@ -320,10 +349,35 @@ public class DaoStateService implements DaoSetupService {
         daoStateListeners.forEach(DaoStateListener::onParseBlockChainComplete);
     }
 
+    /**
+     * @return the blocks held in memory. Blocks released by releasePersistedBlocks are not included, use
+     * getBlockAtHeight or getBlocksFromBlockHeightStream to access them.
+     */
     public List<Block> getBlocks() {
         return daoState.getBlocks();
     }
 
+    public int getNumBlocks() {
+        return getLastBlock().map(block -> block.getHeight() - getGenesisBlockHeight() + 1).orElse(0);
+    }
+
+    /**
+     * Releases the blocks from memory which have been persisted, except the ones of the most recent
+     * NUM_BLOCK_BUCKETS_IN_MEMORY buckets. Their txs stay in memory in the tx cache, the released blocks get read
+     * from disk if requested (e.g. by the GetBlocksRequestHandler or the JSON export).
+     */
+    public void releasePersistedBlocks() {
+        int releaseBelowHeight = Math.min(bsqBlocksStorageService.getChainHeightOfPersistedBlocks() + 1,
+                getBlockHeightOfLastBlock() - NUM_BLOCK_BUCKETS_IN_MEMORY * BlocksPersistence.BUCKET_SIZE);
+        if (releaseBelowHeight <= getGenesisBlockHeight()) {
+            return;
+        }
+        int numReleasedBlocks = daoState.releaseBlocksBelow(releaseBelowHeight);
+        if (numReleasedBlocks > 0) {
+            log.info("Released {} persisted blocks below height {} from memory", numReleasedBlocks, releaseBelowHeight);
+        }
+    }
+
     public Optional<Block> getLastBlock() {
         if (!getBlocks().isEmpty())
             return Optional.of(daoState.getLastBlock());
@@ -340,19 +394,40 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public Optional<Block> getBlockAtHeight(int height) {
-        return Optional.ofNullable(daoState.getBlocksByHeight().get(height));
+        Block block = daoState.getBlocksByHeight().get(height);
+        if (block != null) {
+            return Optional.of(block);
+        }
+
+        // Blocks below the first block in memory have been released and get read from disk
+        List<Block> blocks = getBlocks();
+        if (!blocks.isEmpty() && height < blocks.get(0).getHeight()) {
+            return bsqBlocksStorageService.readPersistedBlock(height);
+        }
+        return Optional.empty();
+    }
+
+    // Case-insensitive. Released blocks are found by the hash suffixes in the block header index, so we only read the
+    // blocks from disk which have the same hash suffix.
+    public Optional<Block> getBlockByHash(String hash) {
+        return daoState.getCandidateHeightsOfBlockHash(hash)
+                .mapToObj(this::getBlockAtHeight)
+                .flatMap(Optional::stream)
+                .filter(block -> block.getHash().equalsIgnoreCase(hash))
+                .findFirst();
     }
 
     public long getBlockTimeAtBlockHeight(int height) {
-        return getBlockAtHeight(height).map(Block::getTime).orElse(0L);
+        return getBlockTime(height);
     }
 
     public boolean containsBlock(Block block) {
         return getBlocks().contains(block);
     }
 
+    // Does not require to read a released block from disk
     public long getBlockTime(int height) {
-        return getBlockAtHeight(height).map(Block::getTime).orElse(0L);
+        return daoState.getBlockTime(height).orElse(0L);
     }
 
     public List<Block> getBlocksFromBlockHeight(int fromBlockHeight) {
@@ -367,8 +442,14 @@ public class DaoStateService implements DaoSetupService {
     public Stream<Block> getBlocksFromBlockHeightStream(int fromBlockHeight, int numMaxBlocks) {
         // We limit requests to numMaxBlocks blocks, to avoid performance issues and too
         // large network data in case a node requests too far back in history.
-        return getBlocks().stream()
-                .filter(block -> block.getHeight() >= fromBlockHeight)
+        // We look up the blocks by height instead of scanning all blocks from genesis.
+        Optional<Block> lastBlock = getLastBlock();
+        if (lastBlock.isEmpty()) {
+            return Stream.empty();
+        }
+        return IntStream.rangeClosed(Math.max(fromBlockHeight, getGenesisBlockHeight()), lastBlock.get().getHeight())
+                .mapToObj(height -> getBlockAtHeight(height).orElse(null))
+                .filter(Objects::nonNull)
                 .limit(numMaxBlocks);
     }
 
@@ -401,6 +482,20 @@ public class DaoStateService implements DaoSetupService {
         return daoState.getTxCache().values().stream();
     }
 
+    /**
+     * @param txTypes       The tx types to include. If empty, txs of all types are included.
+     * @param afterTxId     If not null, the stream starts after the tx with that id. Used as cursor for pagination.
+     * @return Stream of txs ordered by time, newest first. Empty if the tx with afterTxId is not known.
+     */
+    public Stream<Tx> getTxStreamOrderedByTime(Set<TxType> txTypes, @Nullable String afterTxId) {
+        if (afterTxId == null) {
+            return daoState.getTxStreamOrderedByTime(txTypes, null);
+        }
+        return getTx(afterTxId)
+                .map(afterTx -> daoState.getTxStreamOrderedByTime(txTypes, afterTx))
+                .orElse(Stream.empty());
+    }
+
     public int getNumTxs() {
         return daoState.getTxCache().size();
     }
@@ -496,22 +591,22 @@ public class DaoStateService implements DaoSetupService {
     // UnspentTxOutput
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    public TreeMap<TxOutputKey, TxOutput> getUnspentTxOutputMap() {
+    public Map<TxOutputKey, TxOutput> getUnspentTxOutputMap() {
         return daoState.getUnspentTxOutputMap();
     }
 
-    public TreeMap<TxOutputKey, SpentInfo> getSpentInfoMap() {
+    public Map<TxOutputKey, SpentInfo> getSpentInfoMap() {
         return daoState.getSpentInfoMap();
     }
 
     public void addUnspentTxOutput(TxOutput txOutput) {
         assertDaoStateChange();
-        getUnspentTxOutputMap().put(txOutput.getKey(), txOutput);
+        daoState.addUnspentTxOutput(txOutput);
     }
 
     public void removeUnspentTxOutput(TxOutput txOutput) {
         assertDaoStateChange();
-        getUnspentTxOutputMap().remove(txOutput.getKey());
+        daoState.removeUnspentTxOutput(txOutput.getKey());
     }
 
     public boolean isUnspent(TxOutputKey key) {
@@ -654,7 +749,7 @@ public class DaoStateService implements DaoSetupService {
 
     public void addIssuance(Issuance issuance) {
         assertDaoStateChange();
-        daoState.getIssuanceMap().put(issuance.getTxId(), issuance);
+        daoState.putIssuance(issuance);
     }
 
     public Collection<Issuance> getIssuanceItems() {
@@ -973,20 +1068,8 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public String getParamValue(Param param, int blockHeight) {
-        List<ParamChange> paramChangeList = new ArrayList<>(daoState.getParamChangeList());
-        if (!paramChangeList.isEmpty()) {
-            // List is sorted by height, we start from latest entries to find most recent entry.
-            for (int i = paramChangeList.size() - 1; i >= 0; i--) {
-                ParamChange paramChange = paramChangeList.get(i);
-                if (paramChange.getParamName().equals(param.name()) &&
-                        blockHeight >= paramChange.getActivationHeight()) {
-                    return paramChange.getValue();
-                }
-            }
-        }
-
-        // If no value found we use default values
-        return param.getDefaultValue();
+        // If no value is found the index returns the default value
+        return paramAndCycleIndex.getParamValue(daoState.getParamChangeList(), param, blockHeight);
     }
 
     public List<Coin> getParamChangeList(Param param) {
@@ -1030,7 +1113,7 @@ public class DaoStateService implements DaoSetupService {
 
     public void setSpentInfo(TxOutputKey txOutputKey, SpentInfo spentInfo) {
         assertDaoStateChange();
-        daoState.getSpentInfoMap().put(txOutputKey, spentInfo);
+        daoState.putSpentInfo(txOutputKey, spentInfo);
     }
 
     public Optional<SpentInfo> getSpentInfo(TxOutput txOutput) {
@@ -1096,13 +1179,7 @@ public class DaoStateService implements DaoSetupService {
 
     public void addEvaluatedProposalSet(Set<EvaluatedProposal> evaluatedProposals) {
         assertDaoStateChange();
-
-        evaluatedProposals.stream()
-                .filter(e -> !daoState.getEvaluatedProposalList().contains(e))
-                .forEach(daoState.getEvaluatedProposalList()::add);
-
-        // We need deterministic order for the hash chain
-        daoState.getEvaluatedProposalList().sort(Comparator.comparing(EvaluatedProposal::getProposalTxId));
+        daoState.addEvaluatedProposals(evaluatedProposals);
     }
 
     public List<DecryptedBallotsWithMerits> getDecryptedBallotsWithMeritsList() {
@@ -1111,13 +1188,7 @@ public class DaoStateService implements DaoSetupService {
 
     public void addDecryptedBallotsWithMeritsSet(Set<DecryptedBallotsWithMerits> decryptedBallotsWithMeritsSet) {
         assertDaoStateChange();
-
-        decryptedBallotsWithMeritsSet.stream()
-                .filter(e -> !daoState.getDecryptedBallotsWithMeritsList().contains(e))
-                .forEach(daoState.getDecryptedBallotsWithMeritsList()::add);
-
-        // We need deterministic order for the hash chain
-        daoState.getDecryptedBallotsWithMeritsList().sort(Comparator.comparing(DecryptedBallotsWithMerits::getBlindVoteTxId));
+        daoState.addDecryptedBallotsWithMerits(decryptedBallotsWithMeritsSet);
     }
 
 
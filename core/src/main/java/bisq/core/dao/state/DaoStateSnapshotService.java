@@ -195,6 +195,7 @@ public class DaoStateSnapshotService implements DaoSetupService, DaoStateListene
                         blocksForSnapshot,
                         hashChainForSnapshot,
                         () -> {
+                            daoStateService.releasePersistedBlocks();
                             GcUtil.maybeReleaseMemory();
                             log.info("Persisted daoState after parsing completed at height {}. Took {} ms",
                                     chainHeight, System.currentTimeMillis() - ts);
@@ -265,6 +266,7 @@ public class DaoStateSnapshotService implements DaoSetupService, DaoStateListene
                             snapshotHeight, System.currentTimeMillis() - ts);
 
                     createSnapshot();
+                    daoStateService.releasePersistedBlocks();
                     persistingBlockInProgress = false;
                 });
     }
@@ -350,6 +352,7 @@ public class DaoStateSnapshotService implements DaoSetupService, DaoStateListene
         LinkedList<DaoStateHash> persistedDaoStateHashChain = daoStateStorageService.getPersistedDaoStateHashChain();
         daoStateMonitoringService.applySnapshot(persistedDaoStateHashChain);
         daoStateStorageService.releaseMemory();
+        daoStateService.releasePersistedBlocks();
     }
 
 
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state;
+
+import bisq.core.dao.governance.param.Param;
+import bisq.core.dao.state.model.governance.Cycle;
+import bisq.core.dao.state.model.governance.ParamChange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Resolves the param value and the cycle for a block height with a lookup in a map sorted by height instead of a scan
+ * over the param change list or the cycles.
+ * <p>
+ * Both lists only grow during parsing (a new cycle or a new param change about every 10000 blocks), so we rebuild
+ * the index if the size of the list has changed. As a snapshot might replace the lists with ones of the same size
+ * {@link #invalidate()} has to be called after a snapshot got applied.
+ */
+class ParamAndCycleIndex {
+    // Value by activation height per param name
+    private Map<String, NavigableMap<Integer, String>> paramValuesByName = new HashMap<>();
+    private int numIndexedParamChanges = -1;
+    // Cycle by height of first block
+    private NavigableMap<Integer, Cycle> cyclesByFirstBlockHeight = new TreeMap<>();
+    private int numIndexedCycles = -1;
+
+    synchronized void invalidate() {
+        numIndexedParamChanges = -1;
+        numIndexedCycles = -1;
+    }
+
+    /**
+     * @return the value of the most recent param change activated at or before the given height, or the default
+     * value of the param if there is none
+     */
+    synchronized String getParamValue(List<ParamChange> paramChangeList, Param param, int blockHeight) {
+        if (paramChangeList.size() != numIndexedParamChanges) {
+            indexParamChanges(paramChangeList);
+        }
+        NavigableMap<Integer, String> valuesByActivationHeight = paramValuesByName.get(param.name());
+        if (valuesByActivationHeight != null) {
+            Map.Entry<Integer, String> entry = valuesByActivationHeight.floorEntry(blockHeight);
+            if (entry != null) {
+                return entry.getValue();
+            }
+        }
+        return param.getDefaultValue();
+    }
+
+    synchronized Optional<Cycle> getCycle(List<Cycle> cycles, int height) {
+        if (cycles.size() != numIndexedCycles) {
+            indexCycles(cycles);
+        }
+        // Cycles are consecutive, so only the last cycle starting at or before the height can contain it
+        return Optional.ofNullable(cyclesByFirstBlockHeight.floorEntry(height))
+                .map(Map.Entry::getValue)
+                .filter(cycle -> height <= cycle.getHeightOfLastBlock());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void indexParamChanges(List<ParamChange> paramChangeList) {
+        Map<String, NavigableMap<Integer, String>> map = new HashMap<>();
+        List<ParamChange> paramChanges = new ArrayList<>(paramChangeList);
+        // The list is sorted by activation height. If a param got changed twice at the same height the later entry
+        // wins, as it did with the scan from the end of the list.
+        paramChanges.forEach(paramChange -> map.computeIfAbsent(paramChange.getParamName(), name -> new TreeMap<>())
+                .put(paramChange.getActivationHeight(), paramChange.getValue()));
+        paramValuesByName = map;
+        numIndexedParamChanges = paramChanges.size();
+    }
+
+    private void indexCycles(List<Cycle> cycles) {
+        NavigableMap<Integer, Cycle> map = new TreeMap<>();
+        List<Cycle> list = new ArrayList<>(cycles);
+        list.forEach(cycle -> map.put(cycle.getHeightOfFirstBlock(), cycle));
+        cyclesByFirstBlockHeight = map;
+        numIndexedCycles = list.size();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state.model;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.stream.IntStream;
+
+/**
+ * Time and hash suffix of the blocks by height. Blocks are consecutive, so we store them in arrays offset by the
+ * height of the first block. It uses about 16 bytes per block and is kept for the blocks which are not held in memory
+ * anymore. The block time of past heights is used frequently (e.g. for the issuance dates of the burning men) and the
+ * hash suffix allows to find a released block by its hash without reading all blocks from disk. We use the last 8
+ * bytes of the hash, as the displayed hashes of Bitcoin blocks start with many zeros.
+ * <p>
+ * Blocks get added on the user thread, but the index is read by the REST API as well, so access is synchronized.
+ */
+final class BlockHeaderIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int HASH_SUFFIX_LENGTH = 16;
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private long[] hashSuffixes = new long[INITIAL_CAPACITY];
+    private int firstHeight;
+    private int size;
+
+    synchronized void add(int height, long time, String hash) {
+        if (size == 0) {
+            firstHeight = height;
+        }
+        int index = height - firstHeight;
+        if (index < 0) {
+            // Should not happen as blocks are added in order
+            return;
+        }
+        if (index >= times.length) {
+            int capacity = Math.max(times.length * 2, index + 1);
+            times = Arrays.copyOf(times, capacity);
+            hashSuffixes = Arrays.copyOf(hashSuffixes, capacity);
+        }
+        times[index] = time;
+        hashSuffixes[index] = getHashSuffix(hash).orElse(0);
+        // At a reorg we might get a height again, in that case the later blocks get added again as well
+        size = index + 1;
+    }
+
+    synchronized OptionalLong getTime(int height) {
+        int index = height - firstHeight;
+        return index >= 0 && index < size ? OptionalLong.of(times[index]) : OptionalLong.empty();
+    }
+
+    /**
+     * @return the heights of the blocks whose hash ends with the same 8 bytes as the given hash. The caller has to
+     * compare the full hash of the blocks.
+     */
+    IntStream getCandidateHeights(String hash) {
+        OptionalLong hashSuffix = getHashSuffix(hash);
+        if (hashSuffix.isEmpty()) {
+            return IntStream.empty();
+        }
+        // We collect the heights while holding the lock, as the stream is consumed later
+        int[] candidateHeights;
+        synchronized (this) {
+            candidateHeights = IntStream.range(0, size)
+                    .filter(index -> hashSuffixes[index] == hashSuffix.getAsLong())
+                    .map(index -> firstHeight + index)
+                    .toArray();
+        }
+        return IntStream.of(candidateHeights);
+    }
+
+    synchronized void clear() {
+        times = new long[INITIAL_CAPACITY];
+        hashSuffixes = new long[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private static OptionalLong getHashSuffix(String hash) {
+        if (hash.length() < HASH_SUFFIX_LENGTH) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseUnsignedLong(hash.substring(hash.length() - HASH_SUFFIX_LENGTH), 16));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
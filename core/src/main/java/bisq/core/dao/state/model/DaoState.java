@@ -23,6 +23,7 @@ import bisq.core.dao.state.model.blockchain.Tx;
 import bisq.core.dao.state.model.blockchain.TxOutput;
 import bisq.core.dao.state.model.blockchain.TxOutputKey;
 import bisq.core.dao.state.model.blockchain.TxOutputType;
+import bisq.core.dao.state.model.blockchain.TxType;
 import bisq.core.dao.state.model.governance.Cycle;
 import bisq.core.dao.state.model.governance.DecryptedBallotsWithMerits;
 import bisq.core.dao.state.model.governance.EvaluatedProposal;
@@ -34,23 +35,38 @@ import bisq.common.util.JsonExclude;
 
 import com.google.protobuf.Message;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Streams;
+import com.google.common.primitives.Bytes;
+
 import javax.inject.Inject;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 /**
  * Root class for mutable state of the DAO.
  * Holds both blockchain data as well as data derived from the governance process (voting).
@@ -67,6 +83,11 @@ public class DaoState implements PersistablePayload {
     // Static
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // Newest first. Block time is not strictly increasing with height, so we add the height and the tx id as tie-breakers.
+    private static final Comparator<Tx> TX_BY_TIME_COMPARATOR = Comparator.comparingLong(Tx::getTime).reversed()
+            .thenComparing(Comparator.comparingInt(Tx::getBlockHeight).reversed())
+            .thenComparing(Tx::getId);
+
     public static DaoState getClone(DaoState daoState) {
         return DaoState.fromProto(daoState.getBsqStateBuilder().build());
     }
@@ -92,25 +113,22 @@ public class DaoState implements PersistablePayload {
     // These maps represent mutual data which can get changed at parsing a transaction
     // We use TreeMaps instead of HashMaps because we need deterministic sorting of the maps for the hashChains
     // used for the DAO monitor.
-    @Getter
+    // The getters of the maps and lists which are part of the stateCommitment return unmodifiable views, so the
+    // commitment can't get out of sync with them.
     private final TreeMap<TxOutputKey, TxOutput> unspentTxOutputMap;
-    @Getter
     private final TreeMap<TxOutputKey, SpentInfo> spentInfoMap;
 
     // These maps are related to state change triggered by voting
     @Getter
     private final List<String> confiscatedLockupTxList;
-    @Getter
     private final TreeMap<String, Issuance> issuanceMap; // key is txId
     @Getter
     private final List<ParamChange> paramChangeList;
 
     // Vote result data
     // All evaluated proposals which get added at the result phase
-    @Getter
     private final List<EvaluatedProposal> evaluatedProposalList;
     // All voting data which get added at the result phase
-    @Getter
     private final List<DecryptedBallotsWithMerits> decryptedBallotsWithMeritsList;
 
     // Transient data used only as an index - must be kept in sync with the block list
@@ -118,8 +136,22 @@ public class DaoState implements PersistablePayload {
     private transient final Map<String, Tx> txCache; // key is txId
     @JsonExclude
     private transient final Map<Integer, Block> blocksByHeight; // Blocks indexed by height
+    // Includes the blocks released from memory by releaseBlocksBelow
+    @JsonExclude
+    private transient final BlockHeaderIndex blockHeaderIndex = new BlockHeaderIndex();
     @JsonExclude
     private transient final Map<TxOutputType, Set<TxOutput>> txOutputsByTxOutputType = new HashMap<>();
+    // Txs ordered by TX_BY_TIME_COMPARATOR. We use concurrent sets as the REST API reads from a non-user thread.
+    @JsonExclude
+    private transient final NavigableSet<Tx> txsByTime = new ConcurrentSkipListSet<>(TX_BY_TIME_COMPARATOR);
+    @JsonExclude
+    private transient final Map<TxType, NavigableSet<Tx>> txsByTimeByTxType = new ConcurrentHashMap<>();
+
+    // Commitment to the entries of the large collections used for the hash chain. It gets created from the full state
+    // when it is requested the first time and is updated incrementally afterwards.
+    @JsonExclude
+    @Nullable
+    private transient MultisetHash stateCommitment;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -172,10 +204,12 @@ public class DaoState implements PersistablePayload {
         txCache = blocks.stream()
                 .flatMap(block -> block.getTxs().stream())
                 .peek(this::addToTxOutputsByTxOutputTypeMap)
+                .peek(this::addToTxsByTime)
                 .collect(Collectors.toMap(Tx::getId, Function.identity(), (x, y) -> x, HashMap::new));
 
         blocksByHeight = blocks.stream()
                 .collect(Collectors.toMap(Block::getHeight, Function.identity(), (x, y) -> x, HashMap::new));
+        blocks.forEach(block -> blockHeaderIndex.add(block.getHeight(), block.getTime(), block.getHash()));
     }
 
     @Override
@@ -259,10 +293,91 @@ public class DaoState implements PersistablePayload {
         return getBsqStateBuilderExcludingBlocks().addBlocks(getLastBlock().toProtoMessage()).build().toByteArray();
     }
 
+    /**
+     * Commits to the same data as getSerializedStateForHashChain, but the large collections (unspent tx outputs,
+     * spent infos, issuances, evaluated proposals and decrypted ballots) are only represented by the digest of a
+     * multiset hash over their entries. That hash gets updated when an entry is added or removed, so the costs per
+     * block are proportional to the changes of the block and not to the size of the state.
+     * <p>
+     * The small collections (cycles, confiscated lockup txs and param changes) and the last block are serialized
+     * in full as before.
+     */
+    public byte[] getStateCommitmentForHashChain() {
+        if (stateCommitment == null) {
+            stateCommitment = createStateCommitment();
+        }
+        return getStateCommitmentForHashChain(stateCommitment);
+    }
+
+    /**
+     * @return the result of getStateCommitmentForHashChain computed from the full state, ignoring the incrementally
+     * updated commitment. Used for verifying the incremental updates.
+     */
+    public byte[] getStateCommitmentForHashChainFromScratch() {
+        return getStateCommitmentForHashChain(createStateCommitment());
+    }
+
+    private byte[] getStateCommitmentForHashChain(MultisetHash multisetHash) {
+        byte[] serializedSmallCollections = protobuf.DaoState.newBuilder()
+                .setChainHeight(chainHeight)
+                .addBlocks(getLastBlock().toProtoMessage())
+                .addAllCycles(cycles.stream().map(Cycle::toProtoMessage).collect(Collectors.toList()))
+                .addAllConfiscatedLockupTxList(confiscatedLockupTxList)
+                .addAllParamChangeList(paramChangeList.stream().map(ParamChange::toProtoMessage).collect(Collectors.toList()))
+                .build().toByteArray();
+        return Bytes.concat(serializedSmallCollections, multisetHash.getDigest());
+    }
+
+    private MultisetHash createStateCommitment() {
+        MultisetHash multisetHash = new MultisetHash();
+        multisetHash.addAll(unspentTxOutputMap.values(), DaoState::encodeUnspentTxOutput);
+        multisetHash.addAll(spentInfoMap.entrySet(), e -> encodeSpentInfo(e.getKey(), e.getValue()));
+        multisetHash.addAll(issuanceMap.values(), DaoState::encodeIssuance);
+        multisetHash.addAll(evaluatedProposalList, DaoState::encodeEvaluatedProposal);
+        multisetHash.addAll(decryptedBallotsWithMeritsList, DaoState::encodeDecryptedBallotsWithMerits);
+        return multisetHash;
+    }
+
+    // The entries are encoded as a DaoState proto with only that entry set, so the field number separates entries of
+    // different collections.
+
+    private static byte[] encodeUnspentTxOutput(TxOutput txOutput) {
+        return protobuf.DaoState.newBuilder()
+                .putUnspentTxOutputMap(txOutput.getKey().toString(), txOutput.toProtoMessage())
+                .build().toByteArray();
+    }
+
+    private static byte[] encodeSpentInfo(TxOutputKey txOutputKey, SpentInfo spentInfo) {
+        return protobuf.DaoState.newBuilder()
+                .putSpentInfoMap(txOutputKey.toString(), spentInfo.toProtoMessage())
+                .build().toByteArray();
+    }
+
+    private static byte[] encodeIssuance(Issuance issuance) {
+        return protobuf.DaoState.newBuilder()
+                .putIssuanceMap(issuance.getTxId(), issuance.toProtoMessage())
+                .build().toByteArray();
+    }
+
+    private static byte[] encodeEvaluatedProposal(EvaluatedProposal evaluatedProposal) {
+        return protobuf.DaoState.newBuilder()
+                .addEvaluatedProposalList(evaluatedProposal.toProtoMessage())
+                .build().toByteArray();
+    }
+
+    private static byte[] encodeDecryptedBallotsWithMerits(DecryptedBallotsWithMerits decryptedBallotsWithMerits) {
+        return protobuf.DaoState.newBuilder()
+                .addDecryptedBallotsWithMeritsList(decryptedBallotsWithMerits.toProtoMessage())
+                .build().toByteArray();
+    }
+
+
     public void addToTxCache(Tx tx) {
         // We shouldn't get duplicate txIds, but use putIfAbsent instead of put for consistency with the map merge
         // function used in the constructor to initialise txCache (and to exactly match the pre-caching behaviour).
-        txCache.putIfAbsent(tx.getId(), tx);
+        if (txCache.putIfAbsent(tx.getId(), tx) == null) {
+            addToTxsByTime(tx);
+        }
 
         addToTxOutputsByTxOutputTypeMap(tx);
     }
@@ -273,6 +388,10 @@ public class DaoState implements PersistablePayload {
 
         txOutputsByTxOutputType.clear();
         this.txCache.values().forEach(this::addToTxOutputsByTxOutputTypeMap);
+
+        txsByTime.clear();
+        txsByTimeByTxType.clear();
+        this.txCache.values().forEach(this::addToTxsByTime);
     }
 
     private void addToTxOutputsByTxOutputTypeMap(Tx tx) {
@@ -283,6 +402,36 @@ public class DaoState implements PersistablePayload {
         });
     }
 
+    private void addToTxsByTime(Tx tx) {
+        txsByTime.add(tx);
+        if (tx.getTxType() != null) {
+            txsByTimeByTxType.computeIfAbsent(tx.getTxType(), txType -> new ConcurrentSkipListSet<>(TX_BY_TIME_COMPARATOR))
+                    .add(tx);
+        }
+    }
+
+    /**
+     * @param txTypes   The tx types to include. If empty, txs of all types are included.
+     * @param afterTx   If not null, the stream starts with the tx following afterTx.
+     * @return Stream of txs ordered by time, newest first. Txs with the same time are ordered by block height,
+     * newest first, then by tx id. Skipping and limiting the stream is proportional to the number of txs consumed.
+     */
+    public Stream<Tx> getTxStreamOrderedByTime(Set<TxType> txTypes, @Nullable Tx afterTx) {
+        if (txTypes.isEmpty()) {
+            return tailSet(txsByTime, afterTx).stream();
+        }
+        List<NavigableSet<Tx>> txsOfTypes = txTypes.stream()
+                .map(txsByTimeByTxType::get)
+                .filter(Objects::nonNull)
+                .map(txs -> tailSet(txs, afterTx))
+                .collect(Collectors.toList());
+        return Streams.stream(Iterables.mergeSorted(txsOfTypes, TX_BY_TIME_COMPARATOR));
+    }
+
+    private static NavigableSet<Tx> tailSet(NavigableSet<Tx> txs, @Nullable Tx afterTx) {
+        return afterTx != null ? txs.tailSet(afterTx, false) : txs;
+    }
+
     public Set<TxOutput> getTxOutputByTxOutputType(TxOutputType txOutputType) {
         if (txOutputsByTxOutputType.containsKey(txOutputType)) {
             return Collections.unmodifiableSet(txOutputsByTxOutputType.get(txOutputType));
@@ -299,10 +448,26 @@ public class DaoState implements PersistablePayload {
         return Collections.unmodifiableMap(blocksByHeight);
     }
 
+    /**
+     * @return the time of the block at that height, also if the block has been released by releaseBlocksBelow
+     */
+    public OptionalLong getBlockTime(int height) {
+        return blockHeaderIndex.getTime(height);
+    }
+
+    /**
+     * @return the heights of the blocks which might have the given hash, also if they have been released by
+     * releaseBlocksBelow. The hash of the blocks at those heights has to be compared by the caller.
+     */
+    public IntStream getCandidateHeightsOfBlockHash(String hash) {
+        return blockHeaderIndex.getCandidateHeights(hash);
+    }
+
     /**
      * @return Unmodifiable view of the list of blocks. This prevents callers from
      * directly modifying the list. We need to do this to make sure the block list is only
      * modified together with the corresponding caches and indices.
+     * Blocks released by releaseBlocksBelow are not included.
      *
      * @see #addBlock(Block) to add a single block
      * @see #addBlocks(List) to add a list of blocks
@@ -321,6 +486,7 @@ public class DaoState implements PersistablePayload {
     public void addBlock(Block block) {
         blocks.add(block);
         blocksByHeight.put(block.getHeight(), block);
+        blockHeaderIndex.add(block.getHeight(), block.getTime(), block.getHash());
     }
 
     public void addBlocks(List<Block> newBlocks) {
@@ -334,10 +500,140 @@ public class DaoState implements PersistablePayload {
     public void clearAndSetBlocks(List<Block> newBlocks) {
         blocks.clear();
         blocksByHeight.clear();
+        blockHeaderIndex.clear();
 
         addBlocks(newBlocks);
     }
 
+    /**
+     * Removes the blocks below the given height from memory. Their txs stay in the txCache and the other indices.
+     * The caller has to ensure that the released blocks are persisted, so they can get read from disk if needed.
+     *
+     * @return the number of released blocks
+     */
+    public int releaseBlocksBelow(int height) {
+        int numReleasedBlocks = 0;
+        // We always keep the last block
+        while (blocks.size() > 1 && blocks.getFirst().getHeight() < height) {
+            Block block = blocks.removeFirst();
+            blocksByHeight.remove(block.getHeight());
+            numReleasedBlocks++;
+        }
+        return numReleasedBlocks;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Collections included in the stateCommitment
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public Map<TxOutputKey, TxOutput> getUnspentTxOutputMap() {
+        return Collections.unmodifiableMap(unspentTxOutputMap);
+    }
+
+    public void addUnspentTxOutput(TxOutput txOutput) {
+        TxOutput previous = unspentTxOutputMap.put(txOutput.getKey(), txOutput);
+        if (stateCommitment != null) {
+            if (previous != null) {
+                stateCommitment.remove(encodeUnspentTxOutput(previous));
+            }
+            stateCommitment.add(encodeUnspentTxOutput(txOutput));
+        }
+    }
+
+    public void removeUnspentTxOutput(TxOutputKey txOutputKey) {
+        TxOutput removed = unspentTxOutputMap.remove(txOutputKey);
+        if (stateCommitment != null && removed != null) {
+            stateCommitment.remove(encodeUnspentTxOutput(removed));
+        }
+    }
+
+    public Map<TxOutputKey, SpentInfo> getSpentInfoMap() {
+        return Collections.unmodifiableMap(spentInfoMap);
+    }
+
+    public void putSpentInfo(TxOutputKey txOutputKey, SpentInfo spentInfo) {
+        SpentInfo previous = spentInfoMap.put(txOutputKey, spentInfo);
+        if (stateCommitment != null) {
+            if (previous != null) {
+                stateCommitment.remove(encodeSpentInfo(txOutputKey, previous));
+            }
+            stateCommitment.add(encodeSpentInfo(txOutputKey, spentInfo));
+        }
+    }
+
+    public Map<String, Issuance> getIssuanceMap() {
+        return Collections.unmodifiableMap(issuanceMap);
+    }
+
+    public void putIssuance(Issuance issuance) {
+        Issuance previous = issuanceMap.put(issuance.getTxId(), issuance);
+        if (stateCommitment != null) {
+            if (previous != null) {
+                stateCommitment.remove(encodeIssuance(previous));
+            }
+            stateCommitment.add(encodeIssuance(issuance));
+        }
+    }
+
+    public List<EvaluatedProposal> getEvaluatedProposalList() {
+        return Collections.unmodifiableList(evaluatedProposalList);
+    }
+
+    /**
+     * Adds the evaluated proposals which are not contained yet and keeps the list sorted by proposal tx id.
+     */
+    public void addEvaluatedProposals(Collection<EvaluatedProposal> evaluatedProposals) {
+        evaluatedProposals.stream()
+                .filter(e -> !evaluatedProposalList.contains(e))
+                .forEach(e -> {
+                    evaluatedProposalList.add(e);
+                    if (stateCommitment != null) {
+                        stateCommitment.add(encodeEvaluatedProposal(e));
+                    }
+                });
+        // We need deterministic order for the hash chain
+        evaluatedProposalList.sort(Comparator.comparing(EvaluatedProposal::getProposalTxId));
+    }
+
+    public List<DecryptedBallotsWithMerits> getDecryptedBallotsWithMeritsList() {
+        return Collections.unmodifiableList(decryptedBallotsWithMeritsList);
+    }
+
+    /**
+     * Adds the decrypted ballots which are not contained yet and keeps the list sorted by blind vote tx id.
+     */
+    public void addDecryptedBallotsWithMerits(Collection<DecryptedBallotsWithMerits> decryptedBallotsWithMerits) {
+        decryptedBallotsWithMerits.stream()
+                .filter(e -> !decryptedBallotsWithMeritsList.contains(e))
+                .forEach(e -> {
+                    decryptedBallotsWithMeritsList.add(e);
+                    if (stateCommitment != null) {
+                        stateCommitment.add(encodeDecryptedBallotsWithMerits(e));
+                    }
+                });
+        // We need deterministic order for the hash chain
+        decryptedBallotsWithMeritsList.sort(Comparator.comparing(DecryptedBallotsWithMerits::getBlindVoteTxId));
+    }
+
+    /**
+     * Replaces the collections included in the stateCommitment with the ones of the snapshot. The commitment gets
+     * recreated from the new state when it is requested the next time.
+     */
+    public void setCommittedCollections(DaoState snapshot) {
+        unspentTxOutputMap.clear();
+        unspentTxOutputMap.putAll(snapshot.unspentTxOutputMap);
+        spentInfoMap.clear();
+        spentInfoMap.putAll(snapshot.spentInfoMap);
+        issuanceMap.clear();
+        issuanceMap.putAll(snapshot.issuanceMap);
+        evaluatedProposalList.clear();
+        evaluatedProposalList.addAll(snapshot.evaluatedProposalList);
+        decryptedBallotsWithMeritsList.clear();
+        decryptedBallotsWithMeritsList.addAll(snapshot.decryptedBallotsWithMeritsList);
+        stateCommitment = null;
+    }
+
     @Override
     public String toString() {
         return "DaoState{" +
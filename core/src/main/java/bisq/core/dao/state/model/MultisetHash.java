@@ -0,0 +1,105 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state.model;
+
+import bisq.common.crypto.Hash;
+
+import com.google.common.primitives.Ints;
+
+import java.math.BigInteger;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Hash of a multiset of byte arrays which can be updated when an element gets added or removed, independent of the
+ * order of the updates. It follows the MuHash construction (as used for the UTXO set hash of Bitcoin Core): each
+ * element is mapped to a number modulo a 3072 bit prime and the hash is derived from the product of those numbers.
+ * Removed elements are collected in a separate product, so we need only one modular inversion when the digest is
+ * requested.
+ * <p>
+ * Not thread safe.
+ */
+final class MultisetHash {
+    // 2^3072 - 1103717, the largest 3072 bit safe prime
+    private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(3072).subtract(BigInteger.valueOf(1103717));
+    private static final int NUM_ELEMENT_BYTES = 3072 / 8;
+    private static final int NUM_HASH_BYTES = 32;
+
+    private BigInteger numerator = BigInteger.ONE;
+    private BigInteger denominator = BigInteger.ONE;
+
+    void add(byte[] element) {
+        numerator = multiply(numerator, toGroupElement(element));
+    }
+
+    void remove(byte[] element) {
+        denominator = multiply(denominator, toGroupElement(element));
+    }
+
+    /**
+     * Adds the encodings of all items. Mapping the items is the expensive part, so we do it in parallel.
+     */
+    <T> void addAll(Collection<T> items, Function<T, byte[]> encoder) {
+        BigInteger product = items.parallelStream()
+                .map(item -> toGroupElement(encoder.apply(item)))
+                .reduce(BigInteger.ONE, MultisetHash::multiply);
+        numerator = multiply(numerator, product);
+    }
+
+    /**
+     * @return the SHA-256 hash of the normalized product. Requires a modular inversion if elements have been removed
+     * since the last call, so it should not be called per update.
+     */
+    byte[] getDigest() {
+        if (!denominator.equals(BigInteger.ONE)) {
+            numerator = multiply(numerator, denominator.modInverse(MODULUS));
+            denominator = BigInteger.ONE;
+        }
+        byte[] bytes = numerator.toByteArray();
+        // BigInteger uses the minimal two's complement representation, so we pad or strip the sign byte
+        byte[] fixedLengthBytes = new byte[NUM_ELEMENT_BYTES];
+        int length = Math.min(bytes.length, NUM_ELEMENT_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixedLengthBytes, NUM_ELEMENT_BYTES - length, length);
+        return Hash.getSha256Hash(fixedLengthBytes);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static BigInteger multiply(BigInteger a, BigInteger b) {
+        return a.multiply(b).mod(MODULUS);
+    }
+
+    // Expands the SHA-256 hash of the element to 3072 bits by hashing it with a counter
+    private static BigInteger toGroupElement(byte[] element) {
+        byte[] seed = Hash.getSha256Hash(element);
+        byte[] expanded = new byte[NUM_ELEMENT_BYTES];
+        byte[] input = new byte[NUM_HASH_BYTES + Integer.BYTES];
+        System.arraycopy(seed, 0, input, 0, NUM_HASH_BYTES);
+        for (int i = 0; i < NUM_ELEMENT_BYTES / NUM_HASH_BYTES; i++) {
+            System.arraycopy(Ints.toByteArray(i), 0, input, NUM_HASH_BYTES, Integer.BYTES);
+            System.arraycopy(Hash.getSha256Hash(input), 0, expanded, i * NUM_HASH_BYTES, NUM_HASH_BYTES);
+        }
+        BigInteger value = new BigInteger(1, expanded).mod(MODULUS);
+        // Zero has no inverse. The probability to hit it is negligible, but we must not break the group operation.
+        return value.signum() == 0 ? BigInteger.ONE : value;
+    }
+}
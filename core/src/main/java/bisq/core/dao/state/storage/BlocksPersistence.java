@@ -110,7 +110,7 @@ public class BlocksPersistence {
     }
 
 
-    private List<BaseBlock> readBucket(int bucketIndex) {
+    List<BaseBlock> readBucket(int bucketIndex) {
         int first = bucketIndex * BUCKET_SIZE - BUCKET_SIZE + 1;
         int last = bucketIndex * BUCKET_SIZE;
         String child = fileName + "_" + first + "-" + last;
@@ -33,8 +33,11 @@ import javax.inject.Singleton;
 
 import java.io.File;
 
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import lombok.Getter;
@@ -44,12 +47,22 @@ import lombok.extern.slf4j.Slf4j;
 @Singleton
 public class BsqBlocksStorageService {
     public final static String NAME = "BsqBlocks";
+    // About 1 MB per bucket
+    private static final int MAX_CACHED_BUCKETS = 10;
 
     private final int genesisBlockHeight;
     private final File blocksDir;
     private final BlocksPersistence blocksPersistence;
+    // Set from the thread writing the blocks
     @Getter
-    private int chainHeightOfPersistedBlocks;
+    private volatile int chainHeightOfPersistedBlocks;
+    // Buckets read from disk for the blocks which are not held in memory by the DaoState anymore
+    private final Map<Integer, List<Block>> cachedBucketsByIndex = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Block>> eldest) {
+            return size() > MAX_CACHED_BUCKETS;
+        }
+    };
 
     @Inject
     public BsqBlocksStorageService(GenesisTxInfo genesisTxInfo,
@@ -66,6 +79,7 @@ public class BsqBlocksStorageService {
                 .map(Block::toProtoMessage)
                 .collect(Collectors.toList());
         blocksPersistence.writeBlocks(protobufBlocks);
+        clearCachedBuckets();
 
         if (!blocks.isEmpty()) {
             chainHeightOfPersistedBlocks = Math.max(chainHeightOfPersistedBlocks,
@@ -92,6 +106,7 @@ public class BsqBlocksStorageService {
     public LinkedList<Block> migrateBlocks(List<protobuf.BaseBlock> protobufBlocks) {
         long ts = System.currentTimeMillis();
         blocksPersistence.writeBlocks(protobufBlocks);
+        clearCachedBuckets();
         LinkedList<Block> blocks = new LinkedList<>();
         protobufBlocks.forEach(protobufBlock -> blocks.add(Block.fromProto(protobufBlock)));
         if (!blocks.isEmpty()) {
@@ -103,6 +118,39 @@ public class BsqBlocksStorageService {
     }
 
 
+    /**
+     * Reads the block at that height from the persisted blocks, which covers the heights up to
+     * chainHeightOfPersistedBlocks. The buckets read from disk are kept in a LRU cache, so iterating over the blocks
+     * of a bucket reads it only once.
+     */
+    public synchronized Optional<Block> readPersistedBlock(int height) {
+        if (height < genesisBlockHeight || height > chainHeightOfPersistedBlocks) {
+            return Optional.empty();
+        }
+
+        // Bucket with index n covers the heights from (n - 1) * BUCKET_SIZE + 1 to n * BUCKET_SIZE
+        int bucketIndex = (height + BlocksPersistence.BUCKET_SIZE - 1) / BlocksPersistence.BUCKET_SIZE;
+        List<Block> bucket = cachedBucketsByIndex.get(bucketIndex);
+        if (bucket == null) {
+            long ts = System.currentTimeMillis();
+            bucket = blocksPersistence.readBucket(bucketIndex).stream()
+                    .map(Block::fromProto)
+                    .collect(Collectors.toList());
+            if (bucket.isEmpty()) {
+                return Optional.empty();
+            }
+            cachedBucketsByIndex.put(bucketIndex, bucket);
+            log.info("Reading and deserializing bucket {} with {} blocks took {} ms",
+                    bucketIndex, bucket.size(), System.currentTimeMillis() - ts);
+        }
+
+        // The first bucket starts at the genesis height
+        int index = height - bucket.get(0).getHeight();
+        return index >= 0 && index < bucket.size() ?
+                Optional.of(bucket.get(index)).filter(block -> block.getHeight() == height) :
+                Optional.empty();
+    }
+
     void copyFromResources(String postFix) {
         long ts = System.currentTimeMillis();
         String dirName = BsqBlocksStorageService.NAME;
@@ -135,6 +183,10 @@ public class BsqBlocksStorageService {
         }
     }
 
+    private synchronized void clearCachedBuckets() {
+        cachedBucketsByIndex.clear();
+    }
+
     private int getHeightOfLastFullBucket(List<Block> blocks) {
         int bucketIndex = blocks.get(blocks.size() - 1).getHeight() / BlocksPersistence.BUCKET_SIZE;
         return bucketIndex * BlocksPersistence.BUCKET_SIZE;
@@ -142,6 +194,7 @@ public class BsqBlocksStorageService {
 
     public void removeBlocksDirectory() {
         blocksPersistence.removeBlocksDirectory();
+        clearCachedBuckets();
     }
 
     public void makeBlocksDirectory() {
@@ -36,7 +36,6 @@ import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.network.Statistic;
 import bisq.network.p2p.peers.PeerManager;
 import bisq.network.p2p.storage.P2PDataStorage;
-import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
 
 import bisq.common.app.Version;
 import bisq.common.config.Config;
@@ -99,19 +98,18 @@ public class GetInventoryRequestHandler implements MessageListener {
         if (networkEnvelope instanceof GetInventoryRequest) {
             // Data
             GetInventoryRequest getInventoryRequest = (GetInventoryRequest) networkEnvelope;
-            Map<InventoryItem, Integer> dataObjects = new HashMap<>();
-            p2PDataStorage.getMapForDataResponse(getInventoryRequest.getVersion()).values().stream()
-                    .map(e -> e.getClass().getSimpleName())
-                    .forEach(className -> addClassNameToMap(dataObjects, className));
-            p2PDataStorage.getMap().values().stream()
-                    .map(ProtectedStorageEntry::getProtectedStoragePayload)
-                    .map(e -> e.getClass().getSimpleName())
-                    .forEach(className -> addClassNameToMap(dataObjects, className));
             Map<InventoryItem, String> inventory = new HashMap<>();
-            dataObjects.forEach((key, value) -> inventory.put(key, String.valueOf(value)));
+            // We use the payload counters maintained by the P2PDataStorage to avoid copying all data at each request
+            p2PDataStorage.getPayloadCountsForDataResponse(getInventoryRequest.getVersion())
+                    .forEach((className, count) -> {
+                        Optional<InventoryItem> optionalEnum = Enums.getIfPresent(InventoryItem.class, className);
+                        if (optionalEnum.isPresent()) {
+                            inventory.put(optionalEnum.get(), String.valueOf(count));
+                        }
+                    });
 
             // DAO
-            int numBsqBlocks = daoStateService.getBlocks().size();
+            int numBsqBlocks = daoStateService.getNumBlocks();
             inventory.put(InventoryItem.numBsqBlocks, String.valueOf(numBsqBlocks));
 
             int daoStateChainHeight = daoStateService.getChainHeight();
@@ -168,14 +166,4 @@ public class GetInventoryRequestHandler implements MessageListener {
     public void shutDown() {
         networkNode.removeMessageListener(this);
     }
-
-    private void addClassNameToMap(Map<InventoryItem, Integer> dataObjects, String className) {
-        Optional<InventoryItem> optionalEnum = Enums.getIfPresent(InventoryItem.class, className);
-        if (optionalEnum.isPresent()) {
-            InventoryItem key = optionalEnum.get();
-            dataObjects.putIfAbsent(key, 0);
-            int prev = dataObjects.get(key);
-            dataObjects.put(key, prev + 1);
-        }
-    }
 }
@@ -0,0 +1,150 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Index of the offer payloads in the offer book by offer id and by market (currency code and direction), optionally
+ * narrowed by the payment method. Updated from the P2P data storage listener on the user thread, and safe to be read
+ * from other threads (e.g. the gRPC or REST API).
+ */
+class OfferBookIndex {
+    @Value
+    private static class MarketKey {
+        String currencyCode;
+        OfferDirection direction;
+        // null for the index of all payment methods
+        @Nullable
+        String paymentMethodId;
+    }
+
+    // The indexed payload per offer id
+    private final Map<String, OfferPayloadBase> offerPayloadById = new ConcurrentHashMap<>();
+    private final Map<MarketKey, Map<String, OfferPayloadBase>> offerPayloadsByMarket = new ConcurrentHashMap<>();
+    // All live payloads per offer id in the order they have been added. An edited offer keeps the id (and the date) of
+    // the original, and the add of the edited payload and the remove of the original can arrive in any order. So we
+    // keep all of them and only drop the id once the last one got removed.
+    private final Map<String, List<OfferPayloadBase>> livePayloadsById = new HashMap<>();
+
+    /**
+     * Indexes the payload if it is the most recently added live payload for its offer id.
+     *
+     * @return true if the index has been changed
+     */
+    synchronized boolean add(OfferPayloadBase offerPayloadBase) {
+        List<OfferPayloadBase> livePayloads = livePayloadsById.computeIfAbsent(offerPayloadBase.getId(),
+                id -> new ArrayList<>(1));
+        if (livePayloads.contains(offerPayloadBase)) {
+            return false;
+        }
+        livePayloads.add(offerPayloadBase);
+        setIndexedPayload(offerPayloadBase);
+        return true;
+    }
+
+    /**
+     * If the removed payload was the indexed one and other payloads with the same offer id are still live, the most
+     * recently added of those gets indexed instead.
+     *
+     * @return true if the index has been changed
+     */
+    synchronized boolean remove(OfferPayloadBase offerPayloadBase) {
+        String offerId = offerPayloadBase.getId();
+        List<OfferPayloadBase> livePayloads = livePayloadsById.get(offerId);
+        if (livePayloads == null || !livePayloads.remove(offerPayloadBase)) {
+            return false;
+        }
+        if (livePayloads.isEmpty()) {
+            livePayloadsById.remove(offerId);
+            offerPayloadById.remove(offerId);
+            removeFromMarkets(offerPayloadBase);
+            return true;
+        }
+        if (!offerPayloadBase.equals(offerPayloadById.get(offerId))) {
+            return false;
+        }
+        setIndexedPayload(livePayloads.get(livePayloads.size() - 1));
+        return true;
+    }
+
+    Optional<OfferPayloadBase> get(String offerId) {
+        return Optional.ofNullable(offerPayloadById.get(offerId));
+    }
+
+    Collection<OfferPayloadBase> getAll() {
+        return Collections.unmodifiableCollection(offerPayloadById.values());
+    }
+
+    Collection<OfferPayloadBase> getByMarket(String currencyCode,
+                                             OfferDirection direction,
+                                             @Nullable String paymentMethodId) {
+        Map<String, OfferPayloadBase> offerPayloads = offerPayloadsByMarket.get(new MarketKey(currencyCode, direction, paymentMethodId));
+        return offerPayloads != null ? Collections.unmodifiableCollection(offerPayloads.values()) : Collections.emptyList();
+    }
+
+    int size() {
+        return offerPayloadById.size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void setIndexedPayload(OfferPayloadBase offerPayloadBase) {
+        OfferPayloadBase previous = offerPayloadById.put(offerPayloadBase.getId(), offerPayloadBase);
+        if (previous != null) {
+            removeFromMarkets(previous);
+        }
+        addToMarket(new MarketKey(offerPayloadBase.getCurrencyCode(), offerPayloadBase.getDirection(), null), offerPayloadBase);
+        addToMarket(new MarketKey(offerPayloadBase.getCurrencyCode(),
+                offerPayloadBase.getDirection(),
+                offerPayloadBase.getPaymentMethodId()), offerPayloadBase);
+    }
+
+    private void addToMarket(MarketKey marketKey, OfferPayloadBase offerPayloadBase) {
+        offerPayloadsByMarket.computeIfAbsent(marketKey, key -> new ConcurrentHashMap<>())
+                .put(offerPayloadBase.getId(), offerPayloadBase);
+    }
+
+    private void removeFromMarkets(OfferPayloadBase offerPayloadBase) {
+        removeFromMarket(new MarketKey(offerPayloadBase.getCurrencyCode(), offerPayloadBase.getDirection(), null), offerPayloadBase);
+        removeFromMarket(new MarketKey(offerPayloadBase.getCurrencyCode(),
+                offerPayloadBase.getDirection(),
+                offerPayloadBase.getPaymentMethodId()), offerPayloadBase);
+    }
+
+    private void removeFromMarket(MarketKey marketKey, OfferPayloadBase offerPayloadBase) {
+        offerPayloadsByMarket.computeIfPresent(marketKey, (key, offerPayloads) -> {
+            offerPayloads.remove(offerPayloadBase.getId(), offerPayloadBase);
+            return offerPayloads.isEmpty() ? null : offerPayloads;
+        });
+    }
+}
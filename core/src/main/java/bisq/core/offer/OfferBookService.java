@@ -33,6 +33,7 @@ import bisq.common.config.Config;
 import bisq.common.file.JsonFileManager;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.util.Tuple2;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -40,9 +41,11 @@ import javax.inject.Named;
 import java.io.File;
 
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -51,7 +54,9 @@ import javax.annotation.Nullable;
 
 /**
  * Handles storage and retrieval of offers.
- * Uses an invalidation flag to only request the full offer map in case there was a change (anyone has added or removed an offer).
+ * Offers are indexed by id and market when they get added or removed from the P2P network storage, so queries do not
+ * need to scan the full data map. The list for the JSON export is cached and invalidated at changes of the offers or
+ * the market prices.
  */
 @Slf4j
 public class OfferBookService {
@@ -64,9 +69,16 @@ public class OfferBookService {
 
     private final P2PService p2PService;
     private final PriceFeedService priceFeedService;
-    private final List<OfferBookChangedListener> offerBookChangedListeners = new LinkedList<>();
+    // API subscriptions might remove their listener while the listeners get notified
+    private final List<OfferBookChangedListener> offerBookChangedListeners = new CopyOnWriteArrayList<>();
     private final FilterManager filterManager;
     private final JsonFileManager jsonFileManager;
+    private final OfferBookIndex offerBookIndex = new OfferBookIndex();
+    // Incremented at any change of the offers or market prices
+    private final AtomicInteger offerBookVersion = new AtomicInteger();
+    // Tuple of the offerBookVersion the list was created from and the list
+    @Nullable
+    private volatile Tuple2<Integer, List<OfferForJson>> cachedOfferForJsonList;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -84,9 +96,11 @@ public class OfferBookService {
         this.filterManager = filterManager;
         jsonFileManager = new JsonFileManager(storageDir);
 
+        p2PService.getDataMap().values().forEach(this::addToIndex);
         p2PService.addHashSetChangedListener(new HashMapChangedListener() {
             @Override
             public void onAdded(Collection<ProtectedStorageEntry> protectedStorageEntries) {
+                protectedStorageEntries.forEach(OfferBookService.this::addToIndex);
                 protectedStorageEntries.forEach(protectedStorageEntry -> offerBookChangedListeners.forEach(listener -> {
                     if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase) {
                         OfferPayloadBase offerPayloadBase = (OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload();
@@ -99,6 +113,7 @@ public class OfferBookService {
 
             @Override
             public void onRemoved(Collection<ProtectedStorageEntry> protectedStorageEntries) {
+                protectedStorageEntries.forEach(OfferBookService.this::removeFromIndex);
                 protectedStorageEntries.forEach(protectedStorageEntry -> offerBookChangedListeners.forEach(listener -> {
                     if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase) {
                         OfferPayloadBase offerPayloadBase = (OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload();
@@ -110,6 +125,9 @@ public class OfferBookService {
             }
         });
 
+        // Market based prices of the cached offers have changed
+        priceFeedService.updateCounterProperty().addListener((observable, oldValue, newValue) -> offerBookVersion.incrementAndGet());
+
         if (dumpStatistics) {
             p2PService.addP2PServiceListener(new BootstrapListener() {
                 @Override
@@ -191,15 +209,23 @@ public class OfferBookService {
     }
 
     public List<Offer> getOffers() {
-        return p2PService.getDataMap().values().stream()
-                .filter(data -> data.getProtectedStoragePayload() instanceof OfferPayloadBase)
-                .map(data -> {
-                    OfferPayloadBase offerPayloadBase = (OfferPayloadBase) data.getProtectedStoragePayload();
-                    Offer offer = new Offer(offerPayloadBase);
-                    offer.setPriceFeedService(priceFeedService);
-                    return offer;
-                })
-                .collect(Collectors.toList());
+        return toOffers(offerBookIndex.getAll());
+    }
+
+    public Optional<Offer> findOffer(String offerId) {
+        return offerBookIndex.get(offerId).map(this::toOffer);
+    }
+
+    public List<Offer> getOffers(String currencyCode, OfferDirection direction) {
+        return getOffers(currencyCode, direction, null);
+    }
+
+    /**
+     * @param currencyCode      The currency code as used by Offer.getCurrencyCode (the fiat or altcoin code).
+     * @param paymentMethodId   If null offers of all payment methods are returned.
+     */
+    public List<Offer> getOffers(String currencyCode, OfferDirection direction, @Nullable String paymentMethodId) {
+        return toOffers(offerBookIndex.getByMarket(currencyCode.toUpperCase(), direction, paymentMethodId));
     }
 
     public void removeOfferAtShutDown(OfferPayloadBase offerPayloadBase) {
@@ -214,7 +240,56 @@ public class OfferBookService {
         offerBookChangedListeners.add(offerBookChangedListener);
     }
 
+    public void removeOfferBookChangedListener(OfferBookChangedListener offerBookChangedListener) {
+        offerBookChangedListeners.remove(offerBookChangedListener);
+    }
+
     public List<OfferForJson> getOfferForJsonList() {
+        int version = offerBookVersion.get();
+        Tuple2<Integer, List<OfferForJson>> cached = cachedOfferForJsonList;
+        if (cached != null && cached.first == version) {
+            return cached.second;
+        }
+        // If the offers change while we create the list we store it with the old version, so it gets created again
+        // at the next call.
+        List<OfferForJson> offerForJsonList = List.copyOf(createOfferForJsonList());
+        cachedOfferForJsonList = new Tuple2<>(version, offerForJsonList);
+        return offerForJsonList;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addToIndex(ProtectedStorageEntry protectedStorageEntry) {
+        if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase &&
+                offerBookIndex.add((OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload())) {
+            offerBookVersion.incrementAndGet();
+        }
+    }
+
+    private void removeFromIndex(ProtectedStorageEntry protectedStorageEntry) {
+        if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase &&
+                offerBookIndex.remove((OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload())) {
+            offerBookVersion.incrementAndGet();
+        }
+    }
+
+    // Offer is mutable (e.g. state, errorMessage), so we create a new instance for each caller
+    private Offer toOffer(OfferPayloadBase offerPayloadBase) {
+        Offer offer = new Offer(offerPayloadBase);
+        offer.setPriceFeedService(priceFeedService);
+        return offer;
+    }
+
+    private List<Offer> toOffers(Collection<OfferPayloadBase> offerPayloads) {
+        return offerPayloads.stream()
+                .map(this::toOffer)
+                .collect(Collectors.toList());
+    }
+
+    private List<OfferForJson> createOfferForJsonList() {
         return getOffers().stream()
                 .map(offer -> {
                     try {
@@ -240,11 +315,6 @@ public class OfferBookService {
                 .collect(Collectors.toList());
     }
 
-
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Private
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
     private void doDumpStatistics() {
         // We filter the case that it is a MarketBasedPrice but the price is not available
         // That should only be possible if the price feed provider is not available
@@ -43,6 +43,7 @@ import bisq.network.p2p.P2PService;
 
 import bisq.common.UserThread;
 import bisq.common.app.Version;
+import bisq.common.crypto.ProofOfWork;
 import bisq.common.crypto.ProofOfWorkService;
 import bisq.common.crypto.PubKeyRing;
 import bisq.common.handlers.ErrorMessageHandler;
@@ -63,6 +64,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -85,6 +88,8 @@ public class OpenBsqSwapOfferService {
     private final PubKeyRing pubKeyRing;
 
     private final Map<String, OpenBsqSwapOffer> openBsqSwapOffersById = new HashMap<>();
+    // Proof of work minting in progress, so we can cancel it at shutdown or if the offer is not used anymore
+    private final Map<String, CompletableFuture<ProofOfWork>> pendingProofOfWorkByOfferId = new HashMap<>();
     private final ListChangeListener<OpenOffer> offerListChangeListener;
     private final ChangeListener<Filter> filterChangeListener;
     private final DaoStateListener daoStateListener;
@@ -177,6 +182,8 @@ public class OpenBsqSwapOfferService {
         p2PService.removeP2PServiceListener(bootstrapListener);
         daoFacade.removeBsqStateListener(daoStateListener);
         filterManager.filterProperty().removeListener(filterChangeListener);
+        pendingProofOfWorkByOfferId.values().forEach(future -> future.cancel(true));
+        pendingProofOfWorkByOfferId.clear();
     }
 
     public void requestNewOffer(String offerId,
@@ -200,30 +207,33 @@ public class OpenBsqSwapOfferService {
         offerUtil.validateBasicOfferData(PaymentMethod.BSQ_SWAP, "BSQ");
 
         double difficulty = getPowDifficulty();
-        getPowService().mint(offerId, makerAddress.getFullAddress(), difficulty)
-                .whenComplete((proofOfWork, throwable) -> {
-                    // We got called from a non user thread...
-                    UserThread.execute(() -> {
-                        if (throwable != null) {
-                            log.error(throwable.toString());
-                            return;
-                        }
-
-                        BsqSwapOfferPayload bsqSwapOfferPayload = new BsqSwapOfferPayload(offerId,
-                                new Date().getTime(),
-                                makerAddress,
-                                pubKeyRing,
-                                direction,
-                                price.getValue(),
-                                amount.getValue(),
-                                minAmount.getValue(),
-                                proofOfWork,
-                                null,
-                                Version.VERSION,
-                                Version.TRADE_PROTOCOL_VERSION);
-                        resultHandler.accept(new Offer(bsqSwapOfferPayload));
-                    });
-                });
+        CompletableFuture<ProofOfWork> future = mintProofOfWork(offerId, makerAddress, difficulty);
+        future.whenComplete((proofOfWork, throwable) -> {
+            // We got called from a non user thread...
+            UserThread.execute(() -> {
+                if (isProofOfWorkCancelled(offerId, future)) {
+                    return;
+                }
+                if (throwable != null) {
+                    logMintingError(offerId, throwable);
+                    return;
+                }
+
+                BsqSwapOfferPayload bsqSwapOfferPayload = new BsqSwapOfferPayload(offerId,
+                        new Date().getTime(),
+                        makerAddress,
+                        pubKeyRing,
+                        direction,
+                        price.getValue(),
+                        amount.getValue(),
+                        minAmount.getValue(),
+                        proofOfWork,
+                        null,
+                        Version.VERSION,
+                        Version.TRADE_PROTOCOL_VERSION);
+                resultHandler.accept(new Offer(bsqSwapOfferPayload));
+            });
+        });
     }
 
     public void placeBsqSwapOffer(Offer offer,
@@ -253,6 +263,14 @@ public class OpenBsqSwapOfferService {
         openOfferManager.activateOpenOffer(openOffer, resultHandler, errorMessageHandler);
     }
 
+    // Used if the offer we mint the proof of work for is not used anymore, e.g. if the create offer screen got closed.
+    public void cancelProofOfWork(String offerId) {
+        CompletableFuture<ProofOfWork> future = pendingProofOfWorkByOfferId.remove(offerId);
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Package scope
@@ -318,6 +336,7 @@ public class OpenBsqSwapOfferService {
                 .filter(openOffer -> openOffer.getOffer().isBsqSwapOffer())
                 .map(OpenOffer::getId)
                 .forEach(offerId -> {
+                    cancelProofOfWork(offerId);
                     if (openBsqSwapOffersById.containsKey(offerId)) {
                         openBsqSwapOffersById.get(offerId).removeListeners();
                         openBsqSwapOffersById.remove(offerId);
@@ -348,33 +367,62 @@ public class OpenBsqSwapOfferService {
         String newOfferId = OfferUtil.getOfferIdWithMutationCounter(openOffer.getId());
         NodeAddress nodeAddress = Objects.requireNonNull(openOffer.getOffer().getMakerNodeAddress());
         double difficulty = getPowDifficulty();
-        getPowService().mint(newOfferId, nodeAddress.getFullAddress(), difficulty)
-                .whenComplete((proofOfWork, throwable) -> {
-                    // We got called from a non user thread...
-                    UserThread.execute(() -> {
-                        if (throwable != null) {
-                            log.error(throwable.toString());
-                            return;
-                        }
-                        // We mutate the offerId with a postfix counting the mutations to get a new unique id.
-                        // This helps to avoid issues with getting added/removed at some delayed moment the offer
-
-                        BsqSwapOfferPayload newPayload = BsqSwapOfferPayload.from(openOffer.getBsqSwapOfferPayload(),
-                                newOfferId,
-                                proofOfWork);
-                        Offer newOffer = new Offer(newPayload);
-                        newOffer.setState(Offer.State.AVAILABLE);
-
-                        checkArgument(!openOffer.isDeactivated(),
-                                "We must not get called at redoProofOrWorkAndRepublish if offer was deactivated");
-                        OpenOffer newOpenOffer = new OpenOffer(newOffer);
-                        if (!newOpenOffer.isDeactivated()) {
-                            openOfferManager.maybeRepublishOffer(newOpenOffer);
-                        }
-                        // This triggers our onOpenOffersAdded handler so we don't handle adding to our list here
-                        openOfferManager.addOpenBsqSwapOffer(newOpenOffer);
-                    });
-                });
+        CompletableFuture<ProofOfWork> future = mintProofOfWork(newOfferId, nodeAddress, difficulty);
+        future.whenComplete((proofOfWork, throwable) -> {
+            // We got called from a non user thread...
+            UserThread.execute(() -> {
+                if (isProofOfWorkCancelled(newOfferId, future)) {
+                    return;
+                }
+                if (throwable != null) {
+                    logMintingError(newOfferId, throwable);
+                    return;
+                }
+                // We mutate the offerId with a postfix counting the mutations to get a new unique id.
+                // This helps to avoid issues with getting added/removed at some delayed moment the offer
+
+                BsqSwapOfferPayload newPayload = BsqSwapOfferPayload.from(openOffer.getBsqSwapOfferPayload(),
+                        newOfferId,
+                        proofOfWork);
+                Offer newOffer = new Offer(newPayload);
+                newOffer.setState(Offer.State.AVAILABLE);
+
+                checkArgument(!openOffer.isDeactivated(),
+                        "We must not get called at redoProofOrWorkAndRepublish if offer was deactivated");
+                OpenOffer newOpenOffer = new OpenOffer(newOffer);
+                if (!newOpenOffer.isDeactivated()) {
+                    openOfferManager.maybeRepublishOffer(newOpenOffer);
+                }
+                // This triggers our onOpenOffersAdded handler so we don't handle adding to our list here
+                openOfferManager.addOpenBsqSwapOffer(newOpenOffer);
+            });
+        });
+    }
+
+    private CompletableFuture<ProofOfWork> mintProofOfWork(String offerId, NodeAddress nodeAddress, double difficulty) {
+        // A previous minting for the same offer is obsolete
+        cancelProofOfWork(offerId);
+        CompletableFuture<ProofOfWork> future = getPowService().mint(offerId, nodeAddress.getFullAddress(), difficulty);
+        pendingProofOfWorkByOfferId.put(offerId, future);
+        return future;
+    }
+
+    // Called on the user thread once the minting completed. The future might have been cancelled or replaced by a new
+    // minting after it completed, so we check if it is still the pending one before we use the result.
+    private boolean isProofOfWorkCancelled(String offerId, CompletableFuture<ProofOfWork> future) {
+        if (pendingProofOfWorkByOfferId.remove(offerId, future)) {
+            return false;
+        }
+        log.info("Minting proof of work for offer {} got cancelled", offerId);
+        return true;
+    }
+
+    private void logMintingError(String offerId, Throwable throwable) {
+        if (throwable instanceof CancellationException) {
+            log.info("Minting proof of work for offer {} got cancelled", offerId);
+        } else {
+            log.error(throwable.toString());
+        }
     }
 
 
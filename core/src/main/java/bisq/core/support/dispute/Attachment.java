@@ -17,31 +17,167 @@
 
 package bisq.core.support.dispute;
 
+import bisq.common.crypto.Hash;
 import bisq.common.proto.network.NetworkPayload;
+import bisq.common.util.Utilities;
 
 import com.google.protobuf.ByteString;
 
-import lombok.Value;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
-@Value
+import java.util.Arrays;
+import java.util.Objects;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * File attached to a chat message. Once the attachment got moved to the AttachmentStore we only keep the SHA-256 hash
+ * of the bytes and the bytes get read from the store when needed. Attachments are persisted with the hash only if
+ * they are in the store, otherwise (and in network messages) with their bytes.
+ */
+@Slf4j
 public final class Attachment implements NetworkPayload {
+    @Getter
     private final String fileName;
-    private final byte[] bytes;
+    @Getter
+    private final byte[] hash;
+    // null once the bytes are in the store
+    @Nullable
+    private volatile byte[] bytes;
+    @Nullable
+    private volatile AttachmentStore attachmentStore;
 
     public Attachment(String fileName, byte[] bytes) {
+        this(fileName, Hash.getSha256Hash(bytes), bytes);
+    }
+
+    private Attachment(String fileName, byte[] hash, @Nullable byte[] bytes) {
         this.fileName = fileName;
+        this.hash = hash;
         this.bytes = bytes;
     }
 
     @Override
     public protobuf.Attachment toProtoMessage() {
+        byte[] bytes;
+        try {
+            bytes = getBytes();
+        } catch (IOException e) {
+            // We must not send the attachment without its bytes
+            throw new UncheckedIOException(e);
+        }
         return protobuf.Attachment.newBuilder()
                 .setFileName(fileName)
                 .setBytes(ByteString.copyFrom(bytes))
+                .setHash(ByteString.copyFrom(hash))
                 .build();
     }
 
+    public protobuf.Attachment toPersistedProtoMessage() {
+        byte[] bytes = this.bytes;
+        if (bytes == null) {
+            return protobuf.Attachment.newBuilder()
+                    .setFileName(fileName)
+                    .setHash(ByteString.copyFrom(hash))
+                    .build();
+        }
+        return protobuf.Attachment.newBuilder()
+                .setFileName(fileName)
+                .setBytes(ByteString.copyFrom(bytes))
+                .setHash(ByteString.copyFrom(hash))
+                .build();
+    }
+
+    // Attachments received from the network must contain the bytes. We don't trust the hash sent by the peer, as a
+    // hash only attachment would resolve to an attachment in our store.
     public static Attachment fromProto(protobuf.Attachment proto) {
+        Attachment attachment = new Attachment(proto.getFileName(), proto.getBytes().toByteArray());
+        checkArgument(proto.getHash().isEmpty() || Arrays.equals(attachment.hash, proto.getHash().toByteArray()),
+                "Hash of attachment %s does not match its bytes", proto.getFileName());
+        return attachment;
+    }
+
+    // Attachments in the AttachmentStore are persisted with their hash only. Attachments persisted before the
+    // AttachmentStore was added contain the bytes but not the hash.
+    public static Attachment fromPersistedProto(protobuf.Attachment proto) {
+        if (proto.getBytes().isEmpty() && !proto.getHash().isEmpty()) {
+            return new Attachment(proto.getFileName(), proto.getHash().toByteArray(), null);
+        }
         return new Attachment(proto.getFileName(), proto.getBytes().toByteArray());
     }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writes the bytes to the store if not done yet and releases them. Attachments which were persisted with their
+     * hash only need to get bound to the store to be able to read the bytes.
+     *
+     * @return true if the bytes have been moved to the store
+     */
+    public boolean bindToStore(AttachmentStore attachmentStore) {
+        byte[] bytes = this.bytes;
+        if (bytes != null) {
+            try {
+                attachmentStore.put(hash, bytes);
+            } catch (IOException e) {
+                // We keep the bytes inline, so they get persisted with the dispute. We try again at the next start.
+                log.error("Could not write attachment {} to the store", fileName, e);
+                return false;
+            }
+        }
+        this.attachmentStore = attachmentStore;
+        this.bytes = null;
+        return bytes != null;
+    }
+
+    public boolean isBoundToStore() {
+        return attachmentStore != null;
+    }
+
+    /**
+     * @throws IOException if the bytes are in the store and could not be read
+     */
+    public byte[] getBytes() throws IOException {
+        byte[] bytes = this.bytes;
+        if (bytes != null) {
+            return bytes;
+        }
+
+        AttachmentStore attachmentStore = this.attachmentStore;
+        if (attachmentStore == null) {
+            throw new IOException("Attachment " + fileName + " with hash " + Utilities.bytesAsHexString(hash) +
+                    " is not bound to the store");
+        }
+        return attachmentStore.get(hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Attachment that = (Attachment) o;
+        return fileName.equals(that.fileName) && Arrays.equals(hash, that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fileName, Arrays.hashCode(hash));
+    }
+
+    @Override
+    public String toString() {
+        return "Attachment{" +
+                "\n     fileName='" + fileName + '\'' +
+                ",\n     hash=" + Utilities.bytesAsHexString(hash) +
+                "\n}";
+    }
 }
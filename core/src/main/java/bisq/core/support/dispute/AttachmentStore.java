@@ -0,0 +1,178 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import bisq.common.UserThread;
+import bisq.common.config.Config;
+import bisq.common.crypto.Hash;
+import bisq.common.file.FileUtil;
+import bisq.common.util.SingleThreadExecutorUtils;
+import bisq.common.util.Utilities;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content addressed store of the attachment bytes of the chat messages, keyed by the SHA-256 hash of the bytes.
+ * An attachment is written once (also if it is used in multiple disputes) and only read if it is viewed or sent.
+ * <p>
+ * The dispute lists report the attachments of their chat messages as references. A file gets deleted when its last
+ * reference is removed (e.g. if the chat messages are removed when clearing sensitive data). Files which are not
+ * referenced by any dispute list get deleted once all dispute lists have been read.
+ */
+@Slf4j
+@Singleton
+public class AttachmentStore {
+    private static final String DIR_NAME = "attachments";
+
+    private final File dir;
+    private final ExecutorService executor = SingleThreadExecutorUtils.getSingleThreadExecutor("AttachmentStore");
+    // Number of references by the chat messages of all dispute lists, keyed by the hex encoded hash
+    private final Map<String, Integer> numReferencesByHash = new HashMap<>();
+    private int numUnreadDisputeLists;
+    // We must not delete any files before all dispute lists have reported their references
+    private boolean allDisputeListsRead;
+
+    @Inject
+    public AttachmentStore(@Named(Config.STORAGE_DIR) File storageDir) {
+        dir = new File(storageDir, DIR_NAME);
+    }
+
+    /**
+     * Binds the attachments to the store on a background thread, as writing them can take a while.
+     *
+     * @param bytesMovedHandler Called on the user thread if the bytes of any attachment have been moved to the store
+     */
+    public void bindAsync(Collection<Attachment> attachments, Runnable bytesMovedHandler) {
+        List<Attachment> attachmentsToBind = List.copyOf(attachments);
+        executor.execute(() -> {
+            boolean bytesMoved = attachmentsToBind.stream()
+                    .map(attachment -> attachment.bindToStore(this))
+                    .reduce(false, (a, b) -> a || b);
+            if (bytesMoved) {
+                UserThread.execute(bytesMovedHandler);
+            }
+        });
+    }
+
+    /**
+     * Must be called by each dispute list before it gets read, so we know when all references are reported.
+     */
+    public synchronized void registerDisputeList() {
+        numUnreadDisputeLists++;
+    }
+
+    public synchronized void onDisputeListRead() {
+        numUnreadDisputeLists--;
+        if (numUnreadDisputeLists == 0 && !allDisputeListsRead) {
+            allDisputeListsRead = true;
+            executor.execute(this::deleteUnreferencedFiles);
+        }
+    }
+
+    public synchronized void addReferences(Collection<Attachment> attachments) {
+        attachments.forEach(attachment -> numReferencesByHash.merge(getFileName(attachment.getHash()), 1, Integer::sum));
+    }
+
+    public synchronized void removeReferences(Collection<Attachment> attachments) {
+        attachments.forEach(attachment -> {
+            String fileName = getFileName(attachment.getHash());
+            Integer numReferences = numReferencesByHash.computeIfPresent(fileName,
+                    (key, value) -> value > 1 ? value - 1 : null);
+            if (numReferences == null && allDisputeListsRead) {
+                // We delete on the executor, so we don't delete a file while it gets written
+                executor.execute(() -> deleteIfUnreferenced(fileName));
+            }
+        });
+    }
+
+    public synchronized void put(byte[] hash, byte[] bytes) throws IOException {
+        File file = getFile(hash);
+        if (file.exists()) {
+            return;
+        }
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Failed to create directory " + dir);
+        }
+        // We write to a temp file first so that an interrupted write does not leave a partial attachment
+        File tempFile = File.createTempFile("temp_", null, dir);
+        try {
+            Files.write(tempFile.toPath(), bytes);
+            FileUtil.renameFile(tempFile, file);
+        } finally {
+            FileUtil.deleteFileIfExists(tempFile);
+        }
+    }
+
+    public byte[] get(byte[] hash) throws IOException {
+        byte[] bytes = Files.readAllBytes(getFile(hash).toPath());
+        if (!Arrays.equals(hash, Hash.getSha256Hash(bytes))) {
+            throw new IOException("Attachment " + Utilities.bytesAsHexString(hash) + " is corrupted");
+        }
+        return bytes;
+    }
+
+    private synchronized void deleteIfUnreferenced(String fileName) {
+        if (!numReferencesByHash.containsKey(fileName)) {
+            deleteFile(new File(dir, fileName));
+        }
+    }
+
+    // Also deletes temp files left over from an interrupted write
+    private synchronized void deleteUnreferencedFiles() {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.stream(files)
+                .filter(file -> !numReferencesByHash.containsKey(file.getName()))
+                .forEach(this::deleteFile);
+    }
+
+    private void deleteFile(File file) {
+        try {
+            FileUtil.deleteFileIfExists(file);
+        } catch (IOException e) {
+            log.error("Could not delete attachment {}", file.getName(), e);
+        }
+    }
+
+    private File getFile(byte[] hash) {
+        return new File(dir, getFileName(hash));
+    }
+
+    private static String getFileName(byte[] hash) {
+        return Utilities.bytesAsHexString(hash);
+    }
+}
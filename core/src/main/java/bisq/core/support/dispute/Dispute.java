@@ -59,10 +59,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import lombok.EqualsAndHashCode;
@@ -173,6 +176,8 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
 
     private transient FileTransferReceiver fileTransferSession = null;
     private transient Optional<Transaction> cachedDepositTx = Optional.empty();
+    // Uids of the chatMessages, for the lookup of already received messages
+    private transient final Set<String> chatMessageUids = new HashSet<>();
 
     public FileTransferReceiver createOrGetFileTransferReceiver(NetworkNode networkNode,
                                                                 NodeAddress peerNodeAddress,
@@ -250,6 +255,15 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
 
     @Override
     public protobuf.Dispute toProtoMessage() {
+        return toProtoMessage(msg -> msg.toProtoNetworkEnvelope().getChatMessage());
+    }
+
+    // Used for the persisted dispute lists, where the attachments in the AttachmentStore are referenced by their hash only
+    public protobuf.Dispute toPersistedProtoMessage() {
+        return toProtoMessage(ChatMessage::toPersistedProtoMessage);
+    }
+
+    private protobuf.Dispute toProtoMessage(Function<ChatMessage, protobuf.ChatMessage> chatMessageToProto) {
         // Needed to avoid ConcurrentModificationException
         List<ChatMessage> clonedChatMessages = new ArrayList<>(chatMessages);
         protobuf.Dispute.Builder builder = protobuf.Dispute.newBuilder()
@@ -265,7 +279,7 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
                 .setAgentPubKeyRing(agentPubKeyRing.toProtoMessage())
                 .setIsSupportTicket(isSupportTicket)
                 .addAllChatMessage(clonedChatMessages.stream()
-                        .map(msg -> msg.toProtoNetworkEnvelope().getChatMessage())
+                        .map(chatMessageToProto)
                         .collect(Collectors.toList()))
                 .setIsClosed(this.isClosed())
                 .setOpeningDate(openingDate)
@@ -292,6 +306,17 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
     }
 
     public static Dispute fromProto(protobuf.Dispute proto, CoreProtoResolver coreProtoResolver) {
+        return fromProto(proto, coreProtoResolver, ChatMessage::fromPayloadProto);
+    }
+
+    // Used for the persisted dispute lists, where the attachments in the AttachmentStore are referenced by their hash only
+    public static Dispute fromPersistedProto(protobuf.Dispute proto, CoreProtoResolver coreProtoResolver) {
+        return fromProto(proto, coreProtoResolver, ChatMessage::fromPersistedProto);
+    }
+
+    private static Dispute fromProto(protobuf.Dispute proto,
+                                     CoreProtoResolver coreProtoResolver,
+                                     Function<protobuf.ChatMessage, ChatMessage> chatMessageFromProto) {
         Dispute dispute = new Dispute(proto.getOpeningDate(),
                 proto.getTradeId(),
                 proto.getTraderId(),
@@ -317,8 +342,9 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
                 null : ExtraDataMapValidator.getValidatedExtraDataMap(proto.getExtraDataMap()));
 
         dispute.chatMessages.addAll(proto.getChatMessageList().stream()
-                .map(ChatMessage::fromPayloadProto)
+                .map(chatMessageFromProto)
                 .collect(Collectors.toList()));
+        dispute.chatMessages.forEach(chatMessage -> dispute.chatMessageUids.add(chatMessage.getUid()));
 
         if (proto.hasDisputeResult())
             dispute.disputeResultProperty.set(DisputeResult.fromProto(proto.getDisputeResult()));
@@ -367,16 +393,22 @@ public final class Dispute implements NetworkPayload, PersistablePayload {
     public void addAndPersistChatMessage(ChatMessage chatMessage) {
         if (!chatMessages.contains(chatMessage)) {
             chatMessages.add(chatMessage);
+            chatMessageUids.add(chatMessage.getUid());
         } else {
             log.error("disputeDirectMessage already exists");
         }
     }
 
+    public boolean hasChatMessage(String uid) {
+        return chatMessageUids.contains(uid);
+    }
+
     public boolean removeAllChatMessages() {
         if (chatMessages.size() > 1) {
             // removes all chat except the initial guidelines message.
             String firstMessageUid = chatMessages.get(0).getUid();
             chatMessages.removeIf((msg) -> !msg.getUid().equals(firstMessageUid));
+            chatMessageUids.retainAll(Set.of(firstMessageUid));
             return true;
         }
         return false;
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multiset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * Index of the disputes of a DisputeListService by trade ID and by dispute ID (trade ID and trader ID), and of the
+ * dispute uids per trade ID, delayed payout tx ID and deposit tx ID as used for the replay detection.
+ * Updated from the changes of the dispute list on the user thread.
+ */
+class DisputeIndex {
+    private final Map<String, List<Dispute>> disputesByTradeId = new HashMap<>();
+    private final Map<String, Dispute> disputeById = new HashMap<>();
+    // We count the uids to keep the same semantics as the distinct uid sets built from the whole list, also if
+    // several disputes have the same (or a null) uid.
+    private final Map<String, Multiset<String>> uidsByTradeId = new HashMap<>();
+    private final Map<String, Multiset<String>> uidsByDelayedPayoutTxId = new HashMap<>();
+    private final Map<String, Multiset<String>> uidsByDepositTxId = new HashMap<>();
+
+    void add(Dispute dispute) {
+        disputesByTradeId.computeIfAbsent(dispute.getTradeId(), key -> new ArrayList<>()).add(dispute);
+        // In case of a duplicate we keep the first one, as the lookup in the list did before
+        disputeById.putIfAbsent(dispute.getId(), dispute);
+        addUid(uidsByTradeId, dispute.getTradeId(), dispute.getUid());
+        addUid(uidsByDelayedPayoutTxId, dispute.getDelayedPayoutTxId(), dispute.getUid());
+        addUid(uidsByDepositTxId, dispute.getDepositTxId(), dispute.getUid());
+    }
+
+    void remove(Dispute dispute) {
+        List<Dispute> disputes = disputesByTradeId.get(dispute.getTradeId());
+        if (disputes == null || !disputes.remove(dispute)) {
+            return;
+        }
+        if (disputes.isEmpty()) {
+            disputesByTradeId.remove(dispute.getTradeId());
+        }
+        if (disputeById.remove(dispute.getId(), dispute)) {
+            disputes.stream()
+                    .filter(e -> e.getId().equals(dispute.getId()))
+                    .findFirst()
+                    .ifPresent(e -> disputeById.put(e.getId(), e));
+        }
+        removeUid(uidsByTradeId, dispute.getTradeId(), dispute.getUid());
+        removeUid(uidsByDelayedPayoutTxId, dispute.getDelayedPayoutTxId(), dispute.getUid());
+        removeUid(uidsByDepositTxId, dispute.getDepositTxId(), dispute.getUid());
+    }
+
+    Optional<Dispute> get(String tradeId, int traderId) {
+        return Optional.ofNullable(disputeById.get(tradeId + "_" + traderId));
+    }
+
+    Optional<Dispute> getAny(String tradeId) {
+        List<Dispute> disputes = disputesByTradeId.get(tradeId);
+        return disputes != null ? Optional.of(disputes.get(0)) : Optional.empty();
+    }
+
+    List<Dispute> getByTradeId(String tradeId) {
+        return Collections.unmodifiableList(disputesByTradeId.getOrDefault(tradeId, Collections.emptyList()));
+    }
+
+    Map<String, Set<String>> getDisputesPerTradeId() {
+        return Maps.transformValues(uidsByTradeId, Multiset::elementSet);
+    }
+
+    Map<String, Set<String>> getDisputesPerDelayedPayoutTxId() {
+        return Maps.transformValues(uidsByDelayedPayoutTxId, Multiset::elementSet);
+    }
+
+    Map<String, Set<String>> getDisputesPerDepositTxId() {
+        return Maps.transformValues(uidsByDepositTxId, Multiset::elementSet);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void addUid(Map<String, Multiset<String>> uidsByKey, @Nullable String key, @Nullable String uid) {
+        if (key != null) {
+            uidsByKey.computeIfAbsent(key, k -> HashMultiset.create()).add(uid);
+        }
+    }
+
+    private static void removeUid(Map<String, Multiset<String>> uidsByKey, @Nullable String key, @Nullable String uid) {
+        if (key != null) {
+            uidsByKey.computeIfPresent(key, (k, uids) -> {
+                uids.remove(uid);
+                return uids.isEmpty() ? null : uids;
+            });
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package bisq.core.support.dispute;
 
+import bisq.core.support.messages.ChatMessage;
 import bisq.core.trade.model.bisq_v1.Contract;
 
 import bisq.network.p2p.NodeAddress;
@@ -30,6 +31,7 @@ import org.fxmisc.easybind.EasyBind;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.util.HashSet;
@@ -47,21 +49,27 @@ import javax.annotation.Nullable;
 public abstract class DisputeListService<T extends DisputeList<Dispute>> implements PersistedDataHost {
     @Getter
     protected final PersistenceManager<T> persistenceManager;
+    private final AttachmentStore attachmentStore;
     @Getter
     private final T disputeList;
     @Getter
     private final IntegerProperty numOpenDisputes = new SimpleIntegerProperty();
     @Getter
     private final Set<String> disputedTradeIds = new HashSet<>();
+    private final DisputeIndex disputeIndex = new DisputeIndex();
+    private final ListChangeListener<ChatMessage> chatMessagesListener = this::onChatMessagesChanged;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    public DisputeListService(PersistenceManager<T> persistenceManager) {
+    public DisputeListService(PersistenceManager<T> persistenceManager, AttachmentStore attachmentStore) {
         this.persistenceManager = persistenceManager;
+        this.attachmentStore = attachmentStore;
+        attachmentStore.registerDisputeList();
         disputeList = getConcreteDisputeList();
+        disputeList.addListener(this::onDisputeListChanged);
 
         this.persistenceManager.initialize(disputeList, getFileName(), PersistenceManager.Source.PRIVATE);
     }
@@ -81,10 +89,16 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
     @Override
     public void readPersisted(Runnable completeHandler) {
         persistenceManager.readPersisted(getFileName(), persisted -> {
+                    // Attachments persisted inline (by older versions or if writing them to the store failed) get
+                    // moved to the store by onDisputeListChanged
                     disputeList.setAll(persisted.getList());
+                    attachmentStore.onDisputeListRead();
                     completeHandler.run();
                 },
-                completeHandler);
+                () -> {
+                    attachmentStore.onDisputeListRead();
+                    completeHandler.run();
+                });
     }
 
     protected String getFileName() {
@@ -140,11 +154,57 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
         return disputeList.getObservableList();
     }
 
+    DisputeIndex getDisputeIndex() {
+        return disputeIndex;
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void onDisputeListChanged(ListChangeListener.Change<? extends Dispute> change) {
+        while (change.next()) {
+            change.getRemoved().forEach(dispute -> {
+                disputeIndex.remove(dispute);
+                dispute.getChatMessages().removeListener(chatMessagesListener);
+                attachmentStore.removeReferences(getAttachments(dispute.getChatMessages()));
+            });
+            change.getAddedSubList().forEach(dispute -> {
+                disputeIndex.add(dispute);
+                attachmentStore.addReferences(getAttachments(dispute.getChatMessages()));
+                bindAttachmentsToStore(dispute.getChatMessages());
+                dispute.getChatMessages().addListener(chatMessagesListener);
+            });
+        }
+    }
+
+    private void onChatMessagesChanged(ListChangeListener.Change<? extends ChatMessage> change) {
+        while (change.next()) {
+            // Attachments which are not referenced anymore (e.g. if sensitive data got cleared) get deleted
+            attachmentStore.removeReferences(getAttachments(change.getRemoved()));
+            attachmentStore.addReferences(getAttachments(change.getAddedSubList()));
+            bindAttachmentsToStore(change.getAddedSubList());
+        }
+    }
+
+    // New attachments get written to the store once, when they are added. Until then they are persisted inline. Once
+    // they are in the store we persist the list again to remove the bytes from the persisted disputes.
+    private void bindAttachmentsToStore(List<? extends ChatMessage> chatMessages) {
+        List<Attachment> attachments = getAttachments(chatMessages).stream()
+                .filter(attachment -> !attachment.isBoundToStore())
+                .collect(Collectors.toList());
+        if (!attachments.isEmpty()) {
+            attachmentStore.bindAsync(attachments, persistenceManager::requestPersistence);
+        }
+    }
+
+    private static List<Attachment> getAttachments(List<? extends ChatMessage> chatMessages) {
+        return chatMessages.stream()
+                .flatMap(chatMessage -> chatMessage.getAttachments().stream())
+                .collect(Collectors.toList());
+    }
+
     private void onDisputesChangeListener(List<? extends Dispute> addedList,
                                           @Nullable List<? extends Dispute> removedList) {
         if (removedList != null) {
@@ -177,8 +177,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
 
     @Override
     public List<ChatMessage> getAllChatMessages(String tradeId) {
-        return getDisputeList().stream()
-                .filter(dispute -> dispute.getTradeId().equals(tradeId))
+        return disputeListService.getDisputeIndex().getByTradeId(tradeId).stream()
                 .flatMap(dispute -> dispute.getChatMessages().stream())
                 .collect(Collectors.toList());
     }
@@ -191,7 +190,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
     @Override
     public void addAndPersistChatMessage(ChatMessage message) {
         findDispute(message).ifPresent(dispute -> {
-            if (dispute.getChatMessages().stream().noneMatch(m -> m.getUid().equals(message.getUid()))) {
+            if (!dispute.hasChatMessage(message.getUid())) {
                 dispute.addAndPersistChatMessage(message);
                 requestPersistence();
             } else {
@@ -291,6 +290,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
         });
 
         DisputeValidation.testIfAnyDisputeTriedReplay(disputes,
+                disputeListService.getDisputeIndex(),
                 disputeReplayException -> {
                     log.error(disputeReplayException.toString());
                     validationExceptions.add(disputeReplayException);
@@ -350,7 +350,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             log.warn("disputes is null");
             return Optional.empty();
         }
-        return disputeList.stream().filter(e -> e.getTradeId().equals(tradeId)).findAny();
+        return disputeListService.getDisputeIndex().getAny(tradeId);
     }
 
     public void maybeClearSensitiveData() {
@@ -405,7 +405,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
 
         PubKeyRing peersPubKeyRing = dispute.isDisputeOpenerIsBuyer() ? contract.getSellerPubKeyRing() : contract.getBuyerPubKeyRing();
         if (isAgent(dispute)) {
-            if (!disputeList.contains(dispute)) {
+            if (!containsDispute(dispute)) {
                 Optional<Dispute> storedDisputeOptional = findDispute(dispute);
                 if (storedDisputeOptional.isEmpty()) {
                     disputeList.add(dispute);
@@ -438,7 +438,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             DisputeValidation.validateDisputeData(dispute, btcWalletService);
             DisputeValidation.validateNodeAddresses(dispute, config);
             DisputeValidation.validateSenderNodeAddress(dispute, openNewDisputeMessage.getSenderNodeAddress());
-            DisputeValidation.testIfDisputeTriesReplay(dispute, disputeList.getList());
+            testIfDisputeTriesReplay(dispute);
             if (dispute.isUsingLegacyBurningMan()) {
                 DisputeValidation.validateDonationAddressMatchesAnyPastParamValues(dispute, dispute.getDonationAddressOfDelayedPayoutTx(), daoFacade);
             }
@@ -503,7 +503,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
         }
 
         if (!isAgent(dispute)) {
-            if (!disputeList.contains(dispute)) {
+            if (!containsDispute(dispute)) {
                 Optional<Dispute> storedDisputeOptional = findDispute(dispute);
                 if (storedDisputeOptional.isEmpty()) {
                     disputeList.add(dispute);
@@ -549,7 +549,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             return;
         }
 
-        if (disputeList.contains(dispute)) {
+        if (containsDispute(dispute)) {
             String msg = "We got a dispute msg what we have already stored. TradeId = " + dispute.getTradeId();
             log.warn(msg);
             faultHandler.handleFault(msg, new DisputeAlreadyOpenException());
@@ -920,6 +920,11 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
         return pubKeyRing.equals(dispute.getAgentPubKeyRing());
     }
 
+    // Equal disputes have the same trade ID, so we only need to compare with the disputes of that trade
+    private boolean containsDispute(Dispute dispute) {
+        return disputeListService.getDisputeIndex().getByTradeId(dispute.getTradeId()).contains(dispute);
+    }
+
     private Optional<Dispute> findDispute(Dispute dispute) {
         return findDispute(dispute.getTradeId(), dispute.getTraderId());
     }
@@ -940,9 +945,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             log.warn("disputes is null");
             return Optional.empty();
         }
-        return disputeList.stream()
-                .filter(e -> e.getTradeId().equals(tradeId) && e.getTraderId() == traderId)
-                .findAny();
+        return disputeListService.getDisputeIndex().get(tradeId, traderId);
     }
 
     public Optional<Dispute> findDispute(String tradeId) {
@@ -951,9 +954,11 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
             log.warn("disputes is null");
             return Optional.empty();
         }
-        return disputeList.stream()
-                .filter(e -> e.getTradeId().equals(tradeId))
-                .findAny();
+        return disputeListService.getDisputeIndex().getAny(tradeId);
+    }
+
+    public void testIfDisputeTriesReplay(Dispute dispute) throws DisputeValidation.DisputeReplayException {
+        DisputeValidation.testIfDisputeTriesReplay(dispute, disputeListService.getDisputeIndex());
     }
 
     public Optional<Trade> findTrade(Dispute dispute) {
@@ -31,7 +31,6 @@ import bisq.common.config.Config;
 import bisq.common.crypto.CryptoException;
 import bisq.common.crypto.Hash;
 import bisq.common.crypto.Sig;
-import bisq.common.util.Tuple3;
 
 import org.bitcoinj.core.Address;
 import org.bitcoinj.core.NetworkParameters;
@@ -39,8 +38,6 @@ import org.bitcoinj.core.Transaction;
 import org.bitcoinj.core.TransactionOutput;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -176,68 +173,23 @@ public class DisputeValidation {
                         "; dispute.getDonationAddressOfDelayedPayoutTx()=" + dispute.getDonationAddressOfDelayedPayoutTx());
     }
 
-    public static void testIfAnyDisputeTriedReplay(List<Dispute> disputeList,
-                                                   Consumer<DisputeReplayException> exceptionHandler) {
-        var tuple = getTestReplayHashMaps(disputeList);
-        Map<String, Set<String>> disputesPerTradeId = tuple.first;
-        Map<String, Set<String>> disputesPerDelayedPayoutTxId = tuple.second;
-        Map<String, Set<String>> disputesPerDepositTxId = tuple.third;
-
+    static void testIfAnyDisputeTriedReplay(List<Dispute> disputeList,
+                                            DisputeIndex disputeIndex,
+                                            Consumer<DisputeReplayException> exceptionHandler) {
         disputeList.forEach(disputeToTest -> {
             try {
-                testIfDisputeTriesReplay(disputeToTest,
-                        disputesPerTradeId,
-                        disputesPerDelayedPayoutTxId,
-                        disputesPerDepositTxId);
-
+                testIfDisputeTriesReplay(disputeToTest, disputeIndex);
             } catch (DisputeReplayException e) {
                 exceptionHandler.accept(e);
             }
         });
     }
 
-    public static void testIfDisputeTriesReplay(Dispute dispute,
-                                                List<Dispute> disputeList) throws DisputeReplayException {
-        var tuple = getTestReplayHashMaps(disputeList);
-        Map<String, Set<String>> disputesPerTradeId = tuple.first;
-        Map<String, Set<String>> disputesPerDelayedPayoutTxId = tuple.second;
-        Map<String, Set<String>> disputesPerDepositTxId = tuple.third;
-
+    static void testIfDisputeTriesReplay(Dispute dispute, DisputeIndex disputeIndex) throws DisputeReplayException {
         testIfDisputeTriesReplay(dispute,
-                disputesPerTradeId,
-                disputesPerDelayedPayoutTxId,
-                disputesPerDepositTxId);
-    }
-
-    private static Tuple3<Map<String, Set<String>>, Map<String, Set<String>>, Map<String, Set<String>>> getTestReplayHashMaps(
-            List<Dispute> disputeList) {
-        Map<String, Set<String>> disputesPerTradeId = new HashMap<>();
-        Map<String, Set<String>> disputesPerDelayedPayoutTxId = new HashMap<>();
-        Map<String, Set<String>> disputesPerDepositTxId = new HashMap<>();
-        disputeList.forEach(dispute -> {
-            String uid = dispute.getUid();
-
-            String tradeId = dispute.getTradeId();
-            disputesPerTradeId.putIfAbsent(tradeId, new HashSet<>());
-            Set<String> set = disputesPerTradeId.get(tradeId);
-            set.add(uid);
-
-            String delayedPayoutTxId = dispute.getDelayedPayoutTxId();
-            if (delayedPayoutTxId != null) {
-                disputesPerDelayedPayoutTxId.putIfAbsent(delayedPayoutTxId, new HashSet<>());
-                set = disputesPerDelayedPayoutTxId.get(delayedPayoutTxId);
-                set.add(uid);
-            }
-
-            String depositTxId = dispute.getDepositTxId();
-            if (depositTxId != null) {
-                disputesPerDepositTxId.putIfAbsent(depositTxId, new HashSet<>());
-                set = disputesPerDepositTxId.get(depositTxId);
-                set.add(uid);
-            }
-        });
-
-        return new Tuple3<>(disputesPerTradeId, disputesPerDelayedPayoutTxId, disputesPerDepositTxId);
+                disputeIndex.getDisputesPerTradeId(),
+                disputeIndex.getDisputesPerDelayedPayoutTxId(),
+                disputeIndex.getDisputesPerDepositTxId());
     }
 
     private static void testIfDisputeTriesReplay(Dispute disputeToTest,
@@ -22,8 +22,6 @@ import bisq.core.support.SupportType;
 import bisq.core.support.dispute.Dispute;
 import bisq.core.support.dispute.DisputeList;
 
-import bisq.common.proto.ProtoUtil;
-
 import com.google.protobuf.Message;
 
 import java.util.Collection;
@@ -64,13 +62,13 @@ public final class ArbitrationDisputeList extends DisputeList<Dispute> {
         forEach(dispute -> checkArgument(dispute.getSupportType().equals(SupportType.ARBITRATION), "Support type has to be ARBITRATION"));
 
         return protobuf.PersistableEnvelope.newBuilder().setArbitrationDisputeList(protobuf.ArbitrationDisputeList.newBuilder()
-                .addAllDispute(ProtoUtil.collectionToProto(getList(), protobuf.Dispute.class))).build();
+                .addAllDispute(getList().stream().map(Dispute::toPersistedProtoMessage).collect(Collectors.toList()))).build();
     }
 
     public static ArbitrationDisputeList fromProto(protobuf.ArbitrationDisputeList proto,
                                                    CoreProtoResolver coreProtoResolver) {
         List<Dispute> list = proto.getDisputeList().stream()
-                .map(disputeProto -> Dispute.fromProto(disputeProto, coreProtoResolver))
+                .map(disputeProto -> Dispute.fromPersistedProto(disputeProto, coreProtoResolver))
                 .filter(e -> e.getSupportType().equals(SupportType.ARBITRATION))
                 .collect(Collectors.toList());
 
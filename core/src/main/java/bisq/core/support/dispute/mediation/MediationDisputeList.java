@@ -22,8 +22,6 @@ import bisq.core.support.SupportType;
 import bisq.core.support.dispute.Dispute;
 import bisq.core.support.dispute.DisputeList;
 
-import bisq.common.proto.ProtoUtil;
-
 import com.google.protobuf.Message;
 
 import java.util.Collection;
@@ -59,13 +57,13 @@ public final class MediationDisputeList extends DisputeList<Dispute> {
     @Override
     public Message toProtoMessage() {
         return protobuf.PersistableEnvelope.newBuilder().setMediationDisputeList(protobuf.MediationDisputeList.newBuilder()
-                .addAllDispute(ProtoUtil.collectionToProto(getList(), protobuf.Dispute.class))).build();
+                .addAllDispute(getList().stream().map(Dispute::toPersistedProtoMessage).collect(Collectors.toList()))).build();
     }
 
     public static MediationDisputeList fromProto(protobuf.MediationDisputeList proto,
                                                  CoreProtoResolver coreProtoResolver) {
         List<Dispute> list = proto.getDisputeList().stream()
-                .map(disputeProto -> Dispute.fromProto(disputeProto, coreProtoResolver))
+                .map(disputeProto -> Dispute.fromPersistedProto(disputeProto, coreProtoResolver))
                 .filter(e -> e.getSupportType().equals(SupportType.MEDIATION))
                 .collect(Collectors.toList());
         return new MediationDisputeList(list);
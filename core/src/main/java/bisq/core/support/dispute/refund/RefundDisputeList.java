@@ -22,8 +22,6 @@ import bisq.core.support.SupportType;
 import bisq.core.support.dispute.Dispute;
 import bisq.core.support.dispute.DisputeList;
 
-import bisq.common.proto.ProtoUtil;
-
 import com.google.protobuf.Message;
 
 import java.util.Collection;
@@ -63,13 +61,13 @@ public final class RefundDisputeList extends DisputeList<Dispute> {
         forEach(dispute -> checkArgument(dispute.getSupportType().equals(SupportType.REFUND), "Support type has to be REFUND"));
 
         return protobuf.PersistableEnvelope.newBuilder().setRefundDisputeList(protobuf.RefundDisputeList.newBuilder()
-                .addAllDispute(ProtoUtil.collectionToProto(getList(), protobuf.Dispute.class))).build();
+                .addAllDispute(getList().stream().map(Dispute::toPersistedProtoMessage).collect(Collectors.toList()))).build();
     }
 
     public static RefundDisputeList fromProto(protobuf.RefundDisputeList proto,
                                               CoreProtoResolver coreProtoResolver) {
         List<Dispute> list = proto.getDisputeList().stream()
-                .map(disputeProto -> Dispute.fromProto(disputeProto, coreProtoResolver))
+                .map(disputeProto -> Dispute.fromPersistedProto(disputeProto, coreProtoResolver))
                 .filter(e -> e.getSupportType().equals(SupportType.REFUND))
                 .collect(Collectors.toList());
         return new RefundDisputeList(list);
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade;
+
+import bisq.core.trade.model.Tradable;
+import bisq.core.trade.model.bisq_v1.Trade;
+
+import bisq.network.p2p.NodeAddress;
+
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Index of the closed tradables by id, by date and of the trading peers node addresses of the closed trades.
+ * Updated on the user thread from the changes of the closed tradables list, and safe to be read from other threads
+ * (e.g. the gRPC API).
+ */
+class ClosedTradableIndex {
+    private final Map<String, Tradable> tradableById = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Set<Tradable>> tradablesByDate = new ConcurrentSkipListMap<>();
+    private final Multiset<NodeAddress> closedTradeNodeAddresses = ConcurrentHashMultiset.create();
+
+    void add(Tradable tradable) {
+        // In case of a duplicate id we keep the first one, as the lookup in the list did before
+        tradableById.putIfAbsent(tradable.getId(), tradable);
+        tradablesByDate.computeIfAbsent(tradable.getDate().getTime(), date -> ConcurrentHashMap.newKeySet())
+                .add(tradable);
+        getTradingPeerNodeAddress(tradable).ifPresent(closedTradeNodeAddresses::add);
+    }
+
+    void remove(Tradable tradable, Collection<? extends Tradable> remainingTradables) {
+        long date = tradable.getDate().getTime();
+        Set<Tradable> tradablesAtDate = tradablesByDate.get(date);
+        if (tradablesAtDate != null && tradablesAtDate.remove(tradable)) {
+            getTradingPeerNodeAddress(tradable).ifPresent(closedTradeNodeAddresses::remove);
+            tradablesByDate.computeIfPresent(date, (key, tradables) -> tradables.isEmpty() ? null : tradables);
+        }
+        if (tradableById.remove(tradable.getId(), tradable)) {
+            remainingTradables.stream()
+                    .filter(e -> e.getId().equals(tradable.getId()))
+                    .findFirst()
+                    .ifPresent(e -> tradableById.put(e.getId(), e));
+        }
+    }
+
+    void setAll(Collection<? extends Tradable> tradables) {
+        tradableById.clear();
+        tradablesByDate.clear();
+        closedTradeNodeAddresses.clear();
+        tradables.forEach(this::add);
+    }
+
+    Optional<Tradable> get(String id) {
+        return Optional.ofNullable(tradableById.get(id));
+    }
+
+    /**
+     * @return The tradables with a date in the given range (both inclusive), sorted with the most recent first.
+     * The stream is lazy, so skipping and limiting it does not touch the tradables outside of the requested page.
+     */
+    Stream<Tradable> getByDateRange(Date fromDate, Date toDate) {
+        if (fromDate.after(toDate)) {
+            return Stream.empty();
+        }
+        return tradablesByDate.subMap(fromDate.getTime(), true, toDate.getTime(), true)
+                .descendingMap()
+                .values()
+                .stream()
+                .flatMap(tradables -> tradables.stream().sorted(Comparator.comparing(Tradable::getId)));
+    }
+
+    int getNumClosedTrades(NodeAddress tradingPeerNodeAddress) {
+        return closedTradeNodeAddresses.count(tradingPeerNodeAddress);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Optional<NodeAddress> getTradingPeerNodeAddress(Tradable tradable) {
+        return tradable instanceof Trade ?
+                Optional.ofNullable(((Trade) tradable).getTradingPeerNodeAddress()) :
+                Optional.empty();
+    }
+}
@@ -46,17 +46,16 @@ import org.bitcoinj.utils.Fiat;
 import com.google.inject.Inject;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultiset;
-import com.google.common.collect.Multiset;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.time.Instant;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -91,8 +90,7 @@ public class ClosedTradableManager implements PersistedDataHost {
     private final DumpDelayedPayoutTx dumpDelayedPayoutTx;
 
     private final TradableList<Tradable> closedTradables = new TradableList<>();
-    @Nullable
-    private Multiset<NodeAddress> closedTradeNodeAddressCache;
+    private final ClosedTradableIndex closedTradableIndex = new ClosedTradableIndex();
 
     @Inject
     public ClosedTradableManager(KeyRing keyRing,
@@ -114,7 +112,7 @@ public class ClosedTradableManager implements PersistedDataHost {
         this.dumpDelayedPayoutTx = dumpDelayedPayoutTx;
         this.persistenceManager = persistenceManager;
 
-        closedTradables.addListener(c -> closedTradeNodeAddressCache = null);
+        closedTradables.addListener(this::onClosedTradablesChanged);
 
         this.persistenceManager.initialize(closedTradables, "ClosedTrades", PersistenceManager.Source.PRIVATE);
     }
@@ -178,7 +176,14 @@ public class ClosedTradableManager implements PersistedDataHost {
     }
 
     public Optional<Tradable> getTradableById(String id) {
-        return closedTradables.stream().filter(e -> e.getId().equals(id)).findFirst();
+        return closedTradableIndex.get(id);
+    }
+
+    /**
+     * @return The closed tradables with a date in the given range (both inclusive), with the most recent first.
+     */
+    public Stream<Tradable> getTradablesByDateRange(Date fromDate, Date toDate) {
+        return closedTradableIndex.getByDateRange(fromDate, toDate);
     }
 
     // if user has closed trades of greater size to the default trade limit and has never customized their
@@ -211,9 +216,9 @@ public class ClosedTradableManager implements PersistedDataHost {
 
     public boolean canTradeHaveSensitiveDataCleared(String tradeId) {
         Instant safeDate = getSafeDateForSensitiveDataClearing();
-        return closedTradables.stream()
-                .filter(e -> e.getId().equals(tradeId))
-                .anyMatch(e -> e.getDate().toInstant().isBefore(safeDate));
+        return closedTradableIndex.get(tradeId)
+                .filter(e -> e.getDate().toInstant().isBefore(safeDate))
+                .isPresent();
     }
 
     public Instant getSafeDateForSensitiveDataClearing() {
@@ -226,25 +231,13 @@ public class ClosedTradableManager implements PersistedDataHost {
                 .filter(Trade::isFundsLockedIn);
     }
 
-    private Multiset<NodeAddress> getClosedTradeNodeAddresses() {
-        var addresses = closedTradeNodeAddressCache;
-        if (addresses == null) {
-            closedTradeNodeAddressCache = addresses = closedTradables.stream()
-                    .filter(t -> t instanceof Trade)
-                    .map(t -> ((Trade) t).getTradingPeerNodeAddress())
-                    .filter(Objects::nonNull)
-                    .collect(ImmutableMultiset.toImmutableMultiset());
-        }
-        return addresses;
-    }
-
     public int getNumPastTrades(Tradable tradable) {
         if (isOpenOffer(tradable)) {
             return 0;
         }
         NodeAddress addressInTrade = castToTradeModel(tradable).getTradingPeerNodeAddress();
         return bsqSwapTradeManager.getConfirmedBsqSwapNodeAddresses().count(addressInTrade) +
-                getClosedTradeNodeAddresses().count(addressInTrade);
+                closedTradableIndex.getNumClosedTrades(addressInTrade);
     }
 
     public boolean isCurrencyForTradeFeeBtc(Tradable tradable) {
@@ -308,6 +301,13 @@ public class ClosedTradableManager implements PersistedDataHost {
         return new Volume(Fiat.valueOf("USD", value));
     }
 
+    private void onClosedTradablesChanged(ListChangeListener.Change<? extends Tradable> change) {
+        while (change.next()) {
+            change.getRemoved().forEach(tradable -> closedTradableIndex.remove(tradable, closedTradables.getList()));
+            change.getAddedSubList().forEach(closedTradableIndex::add);
+        }
+    }
+
     private void requestPersistence() {
         persistenceManager.requestPersistence();
     }
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import lombok.Value;
+
+/**
+ * Pre-aggregated OHLCV candles of the trade statistics per currency and interval. Updated incrementally when trade
+ * statistics get added, so clients like the market charts or the REST API do not need to iterate over all trade
+ * statistics at each request.
+ * <p>
+ * The candles are aligned to the intervals in the system time zone, like the ticks in the market charts.
+ * Updated on the user thread, and safe to be read from other threads.
+ */
+public class TradeStatisticsAggregates {
+    private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+
+    public enum Interval {
+        MONTH,
+        WEEK,
+        DAY,
+        HOUR;
+
+        public long getStartTime(LocalDateTime localDateTime) {
+            return roundDown(localDateTime).atZone(ZONE_ID).toInstant().toEpochMilli();
+        }
+
+        // Also used for the ticks of the market charts
+        public LocalDateTime roundDown(LocalDateTime localDateTime) {
+            switch (this) {
+                case MONTH:
+                    return localDateTime.withDayOfMonth(1).toLocalDate().atStartOfDay();
+                case WEEK:
+                    int dayOfWeek = localDateTime.getDayOfWeek().getValue();
+                    return localDateTime.toLocalDate().minusDays(dayOfWeek - 1).atStartOfDay();
+                case DAY:
+                    return localDateTime.toLocalDate().atStartOfDay();
+                case HOUR:
+                default:
+                    return localDateTime.withMinute(0).withSecond(0).withNano(0);
+            }
+        }
+    }
+
+    @Value
+    public static class Candle {
+        long startTime;
+        long open;
+        long close;
+        long high;
+        long low;
+        // Accumulated trade amount in BTC
+        long amount;
+        // Accumulated trade volume in the currency of the candle
+        long volume;
+        int numTrades;
+        // Dates of the first and last trade to find open and close independent of the order we add the trades
+        long firstTradeDate;
+        long lastTradeDate;
+
+        static Candle of(long startTime, TradeStatistics3 tradeStatistics) {
+            long price = tradeStatistics.getTradePrice().getValue();
+            long date = tradeStatistics.getDateAsLong();
+            return new Candle(startTime,
+                    price,
+                    price,
+                    price,
+                    price,
+                    tradeStatistics.getAmount(),
+                    tradeStatistics.getTradeVolume().getValue(),
+                    1,
+                    date,
+                    date);
+        }
+
+        Candle add(TradeStatistics3 tradeStatistics) {
+            long price = tradeStatistics.getTradePrice().getValue();
+            long date = tradeStatistics.getDateAsLong();
+            boolean isFirst = date < firstTradeDate;
+            boolean isLast = date >= lastTradeDate;
+            return new Candle(startTime,
+                    isFirst ? price : open,
+                    isLast ? price : close,
+                    Math.max(high, price),
+                    Math.min(low, price),
+                    amount + tradeStatistics.getAmount(),
+                    volume + tradeStatistics.getTradeVolume().getValue(),
+                    numTrades + 1,
+                    isFirst ? date : firstTradeDate,
+                    isLast ? date : lastTradeDate);
+        }
+    }
+
+    private final Map<String, Map<Interval, NavigableMap<Long, Candle>>> candlesByCurrency = new ConcurrentHashMap<>();
+
+    /**
+     * Must not be called twice for the same trade statistics.
+     */
+    void add(TradeStatistics3 tradeStatistics) {
+        Map<Interval, NavigableMap<Long, Candle>> candlesByInterval = candlesByCurrency.computeIfAbsent(
+                tradeStatistics.getCurrency(), currency -> {
+                    Map<Interval, NavigableMap<Long, Candle>> map = new EnumMap<>(Interval.class);
+                    for (Interval interval : Interval.values()) {
+                        map.put(interval, new ConcurrentSkipListMap<>());
+                    }
+                    return Collections.unmodifiableMap(map);
+                });
+        LocalDateTime localDateTime = tradeStatistics.getLocalDateTime();
+        candlesByInterval.forEach((interval, candles) -> {
+            long startTime = interval.getStartTime(localDateTime);
+            candles.compute(startTime, (key, candle) -> candle == null ?
+                    Candle.of(startTime, tradeStatistics) :
+                    candle.add(tradeStatistics));
+        });
+    }
+
+    /**
+     * @return Unmodifiable view on the candles of the given currency and interval, keyed by the start time of the
+     * candle.
+     */
+    public NavigableMap<Long, Candle> getCandles(String currencyCode, Interval interval) {
+        Map<Interval, NavigableMap<Long, Candle>> candlesByInterval = candlesByCurrency.get(currencyCode);
+        if (candlesByInterval == null) {
+            return Collections.emptyNavigableMap();
+        }
+        return Collections.unmodifiableNavigableMap(candlesByInterval.get(interval));
+    }
+}
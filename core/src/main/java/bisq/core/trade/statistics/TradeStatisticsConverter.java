@@ -74,13 +74,12 @@ public class TradeStatisticsConverter {
                 executor = SingleThreadExecutorUtils.getSingleThreadExecutor("TradeStatisticsConverter");
                 executor.submit(() -> {
                     // We convert early once tor is initialized but still not ready to receive data
-                    Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> tempMap = new HashMap<>();
-                    convertToTradeStatistics3(tradeStatistics2StorageService.getMapOfAllData().values())
-                            .forEach(e -> tempMap.put(new P2PDataStorage.ByteArray(e.getHash()), e));
+                    List<TradeStatistics3> tradeStatistics3List =
+                            convertToTradeStatistics3(tradeStatistics2StorageService.getMapOfAllData().values());
 
                     // We map to user thread to avoid potential threading issues
                     UserThread.execute(() -> {
-                        tradeStatistics3StorageService.getMapOfLiveData().putAll(tempMap);
+                        tradeStatistics3StorageService.putAllToLiveData(tradeStatistics3List);
                         tradeStatistics3StorageService.persistNow();
                     });
 
@@ -46,6 +46,8 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableSet;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 import java.io.File;
 
@@ -64,6 +66,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 @Singleton
 @Slf4j
 public class TradeStatisticsManager {
@@ -75,6 +79,7 @@ public class TradeStatisticsManager {
     private final boolean dumpStatistics;
     private final NavigableSet<TradeStatistics3> navigableTradeStatisticsSet = new TreeSet<>();
     private final ObservableSet<TradeStatistics3> observableTradeStatisticsSet = FXCollections.observableSet(navigableTradeStatisticsSet);
+    private final TradeStatisticsAggregates tradeStatisticsAggregates = new TradeStatisticsAggregates();
     private JsonFileManager jsonFileManager;
 
     @Inject
@@ -110,17 +115,19 @@ public class TradeStatisticsManager {
                 if (!tradeStatistics.isValid()) {
                     return;
                 }
-                observableTradeStatisticsSet.add(tradeStatistics);
+                addTradeStatistics(tradeStatistics);
                 priceFeedService.setBisqMarketPrice(tradeStatistics.getCurrency(), tradeStatistics.getTradePrice());
                 maybeDumpStatistics();
             }
         });
 
+        long ts = System.currentTimeMillis();
         tradeStatistics3StorageService.getMapOfAllData().values().stream()
                 .filter(e -> e instanceof TradeStatistics3)
                 .map(e -> (TradeStatistics3) e)
                 .filter(TradeStatistics3::isValid)
-                .forEach(observableTradeStatisticsSet::add);
+                .forEach(this::addTradeStatistics);
+        log.info("Adding {} trade statistics took {} ms", observableTradeStatisticsSet.size(), System.currentTimeMillis() - ts);
 
         // get the most recent price for each ccy and notify priceFeedService
         // (this relies on the trade statistics set being sorted by date)
@@ -138,6 +145,25 @@ public class TradeStatisticsManager {
         return observableTradeStatisticsSet;
     }
 
+    /**
+     * @return Unmodifiable view on the candles of the given currency and interval, keyed by the start time of the
+     * candle.
+     */
+    public NavigableMap<Long, TradeStatisticsAggregates.Candle> getCandles(String currencyCode,
+                                                                         TradeStatisticsAggregates.Interval interval) {
+        return tradeStatisticsAggregates.getCandles(currencyCode, interval);
+    }
+
+    public List<TradeStatisticsAggregates.Candle> getCandles(String currencyCode,
+                                                             TradeStatisticsAggregates.Interval interval,
+                                                             long dateStart,
+                                                             long dateEnd) {
+        checkArgument(dateStart <= dateEnd, "dateStart must not be after dateEnd");
+        return new ArrayList<>(getCandles(currencyCode, interval)
+                .subMap(interval.getStartTime(toLocalDateTime(dateStart)), true, dateEnd, true)
+                .values());
+    }
+
     public List<TradeStatistics3> getTradeStatisticsList(long dateStart, long dateEnd) {
         return new ArrayList<>(RangeUtils.subSet(navigableTradeStatisticsSet)
                 .withKey(TradeStatistics3::getDateAsLong)
@@ -145,6 +171,16 @@ public class TradeStatisticsManager {
                 .descendingSet());
     }
 
+    private void addTradeStatistics(TradeStatistics3 tradeStatistics) {
+        if (observableTradeStatisticsSet.add(tradeStatistics)) {
+            tradeStatisticsAggregates.add(tradeStatistics);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long date) {
+        return Instant.ofEpochMilli(date).atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
     private void maybeDumpStatistics() {
         if (!dumpStatistics) {
             return;
@@ -23,6 +23,7 @@ import bisq.core.dao.governance.proofofburn.ProofOfBurnConsensus;
 import bisq.core.dao.governance.proposal.ProposalService;
 import bisq.core.dao.governance.proposal.storage.appendonly.ProposalPayload;
 import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
 import bisq.core.dao.state.model.blockchain.Tx;
 import bisq.core.dao.state.model.governance.CompensationProposal;
 import bisq.core.dao.state.model.governance.Issuance;
@@ -45,6 +46,7 @@ import javafx.collections.FXCollections;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -66,6 +68,10 @@ import org.junit.jupiter.params.provider.ValueSource;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 public class BurningManServiceTest {
@@ -377,6 +383,120 @@ public class BurningManServiceTest {
         }
     }
 
+    @Nested
+    @ExtendWith(MockitoExtension.class)
+    public class MemoisationTest {
+        @Mock
+        private DaoStateService daoStateService;
+        @Mock
+        private CyclesInDaoStateService cyclesInDaoStateService;
+        @Mock
+        private ProposalService proposalService;
+        @InjectMocks
+        private BurningManService burningManService;
+
+        private final Map<Integer, Block> blocksByHeight = new HashMap<>();
+        private int chainHeight;
+
+        @BeforeEach
+        public void setUp() {
+            Res.setup();
+            when(cyclesInDaoStateService.getChainHeightOfPastCycle(anyInt(), eq(BurningManService.NUM_CYCLES_BURN_AMOUNT_DECAY)))
+                    .thenAnswer(inv -> inv.getArgument(0, Integer.class) - 50000);
+            when(cyclesInDaoStateService.getChainHeightOfPastCycle(anyInt(), eq(BurningManService.NUM_CYCLES_COMP_REQUEST_DECAY)))
+                    .thenAnswer(inv -> inv.getArgument(0, Integer.class) - 100000);
+            when(daoStateService.getChainHeight()).thenAnswer(inv -> chainHeight);
+            when(daoStateService.getBlockAtHeight(anyInt()))
+                    .thenAnswer(inv -> Optional.ofNullable(blocksByHeight.get(inv.getArgument(0, Integer.class))));
+            when(daoStateService.getProofOfBurnOpReturnTxOutputs())
+                    .thenAnswer(inv -> blocksByHeight.values().stream()
+                            .flatMap(block -> block.getTxs().stream())
+                            .map(tx -> tx.getTxOutputs().get(0))
+                            .collect(Collectors.toSet()));
+            when(daoStateService.getTx(Mockito.anyString()))
+                    .thenAnswer((Answer<Optional<Tx>>) inv -> blocksByHeight.values().stream()
+                            .flatMap(block -> block.getTxs().stream())
+                            .filter(tx -> tx.getId().equals(inv.getArgument(0, String.class)))
+                            .findAny());
+
+            var tuples = Arrays.asList(
+                    compensationIssuanceAndPayload("alice", "0000", 790000, 10000),
+                    compensationIssuanceAndPayload("bob", "0001", 790000, 20000),
+                    compensationIssuanceAndPayload("carol", "0002", 790000, 30000)
+            );
+            var issuanceMap = tuples.stream()
+                    .collect(Collectors.toMap(t -> t.first.getTxId(), t -> t.first));
+            when(proposalService.getProposalPayloads())
+                    .thenReturn(tuples.stream().map(t -> t.second).collect(Collectors.toCollection(FXCollections::observableArrayList)));
+            when(daoStateService.getIssuance(Mockito.anyString()))
+                    .thenAnswer((Answer<Optional<Issuance>>) inv -> Optional.ofNullable(issuanceMap.get(inv.getArgument(0, String.class))));
+        }
+
+        private void addBlock(int height, String hash, Tx... proofOfBurnTxs) {
+            Block block = new Block(height, 0, hash, null);
+            Arrays.stream(proofOfBurnTxs).forEach(block::addTx);
+            blocksByHeight.put(height, block);
+            chainHeight = height;
+            burningManService.onParseBlockCompleteAfterBatchProcessing(block);
+        }
+
+        private BurningManService freshBurningManService() {
+            return new BurningManService(daoStateService, cyclesInDaoStateService, proposalService);
+        }
+
+        private void assertEqualsFreshComputation(int height) {
+            BurningManService freshBurningManService = freshBurningManService();
+            assertEquals(freshBurningManService.getBurningManCandidatesByName(height),
+                    burningManService.getBurningManCandidatesByName(height));
+            assertEquals(freshBurningManService.getProofOfBurnOpReturnTxOutputByHash(height),
+                    burningManService.getProofOfBurnOpReturnTxOutputByHash(height));
+        }
+
+        @Test
+        public void testMemoisedCandidatesEqualFreshComputationAcrossNewBlocks() {
+            addBlock(800000, "block800000", proofOfBurnTx("alice", "1000", 800000, 100000));
+            var candidateMap = burningManService.getBurningManCandidatesByName(800000);
+            assertSame(candidateMap, burningManService.getBurningManCandidatesByName(800000));
+            assertEqualsFreshComputation(800000);
+
+            addBlock(800001, "block800001", proofOfBurnTx("bob", "1001", 800001, 200000));
+            addBlock(800002, "block800002");
+            addBlock(800003, "block800003", proofOfBurnTx("carol", "1002", 800003, 300000),
+                    proofOfBurnTx("alice", "1003", 800003, 100000));
+
+            // The candidates at an older height do not change with new blocks
+            assertSame(candidateMap, burningManService.getBurningManCandidatesByName(800000));
+            assertEquals(0, candidateMap.get("bob").getAccumulatedBurnAmount());
+            for (int height = 800000; height <= 800003; height++) {
+                assertEqualsFreshComputation(height);
+            }
+            assertEquals(200000, burningManService.getBurningManCandidatesByName(800003).get("alice").getAccumulatedBurnAmount());
+        }
+
+        @Test
+        public void testMemoisedCandidatesEqualFreshComputationAfterReorgOfLastIndexedBlock() {
+            addBlock(800000, "block800000", proofOfBurnTx("alice", "1000", 800000, 100000));
+            addBlock(800001, "block800001", proofOfBurnTx("bob", "1001", 800001, 200000));
+            var candidateMap = burningManService.getBurningManCandidatesByName(800001);
+            assertEquals(200000, candidateMap.get("bob").getAccumulatedBurnAmount());
+
+            // The last indexed block gets replaced by a block with another proof of burn tx
+            addBlock(800001, "block800001b", proofOfBurnTx("carol", "1002", 800001, 300000));
+
+            var candidateMapAfterReorg = burningManService.getBurningManCandidatesByName(800001);
+            assertNotEquals(candidateMap, candidateMapAfterReorg);
+            assertEquals(0, candidateMapAfterReorg.get("bob").getAccumulatedBurnAmount());
+            assertEquals(300000, candidateMapAfterReorg.get("carol").getAccumulatedBurnAmount());
+            assertEqualsFreshComputation(800000);
+            assertEqualsFreshComputation(800001);
+
+            // New blocks after the reorg get added to the rebuilt index
+            addBlock(800002, "block800002", proofOfBurnTx("bob", "1003", 800002, 50000));
+            assertEqualsFreshComputation(800002);
+            assertEquals(50000, burningManService.getBurningManCandidatesByName(800002).get("bob").getAccumulatedBurnAmount());
+        }
+    }
+
     // Returns a cut-down issuance and compensation proposal payload tuple for mocking.
     private static Tuple2<Issuance, ProposalPayload> compensationIssuanceAndPayload(String name,
                                                                                     String txId,
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import bisq.core.dao.node.full.rpc.BitcoindClient;
+import bisq.core.dao.node.full.rpc.dto.DtoNetworkInfo;
+import bisq.core.dao.node.full.rpc.dto.RawDtoBlock;
+
+import bisq.common.util.Utilities;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockPrefetcherTest {
+    private static final int MAX_LOOK_AHEAD = 4;
+
+    private ListeningExecutorService executor;
+    private StubBitcoindClient client;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Utilities.getListeningExecutorService("BlockPrefetcherTest", 8, 8, 10, new LinkedBlockingQueue<>());
+        client = new StubBitcoindClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.release();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBlocksAreDeliveredInOrder() throws Exception {
+        client.release();
+        BlockPrefetcher<RawDtoBlock> blockPrefetcher = createBlockPrefetcher(100, 130);
+
+        List<Integer> heights = new ArrayList<>();
+        while (blockPrefetcher.hasNext()) {
+            heights.add(blockPrefetcher.next().get(10, TimeUnit.SECONDS).getHeight());
+        }
+
+        assertEquals(31, heights.size());
+        for (int i = 0; i < heights.size(); i++) {
+            assertEquals(100 + i, heights.get(i));
+        }
+    }
+
+    @Test
+    public void testLookAheadIsBounded() throws InterruptedException {
+        BlockPrefetcher<RawDtoBlock> blockPrefetcher = createBlockPrefetcher(1, 100);
+
+        blockPrefetcher.next();
+
+        // The next block and the following blocks of the look-ahead window get requested concurrently, but not more
+        long deadline = System.currentTimeMillis() + 10000;
+        while (client.numRequests.get() < MAX_LOOK_AHEAD && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(MAX_LOOK_AHEAD, client.numRequests.get());
+        assertEquals(MAX_LOOK_AHEAD, client.maxConcurrentRequests.get());
+    }
+
+    @Test
+    public void testFlushCancelsPrefetchedBlocks() {
+        BlockPrefetcher<RawDtoBlock> blockPrefetcher = createBlockPrefetcher(1, 100);
+        ListenableFuture<RawDtoBlock> future = blockPrefetcher.next();
+
+        blockPrefetcher.flush();
+
+        assertTrue(blockPrefetcher.isFlushed());
+        assertFalse(blockPrefetcher.hasNext());
+        assertThrows(CancellationException.class, () -> future.get(10, TimeUnit.SECONDS));
+    }
+
+    private BlockPrefetcher<RawDtoBlock> createBlockPrefetcher(int startBlockHeight, int endBlockHeight) {
+        return new BlockPrefetcher<>(blockHeight -> client.getBlock(client.getBlockHash(blockHeight), 2),
+                executor,
+                MAX_LOOK_AHEAD,
+                startBlockHeight,
+                endBlockHeight);
+    }
+
+    private static class StubBitcoindClient implements BitcoindClient {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final AtomicInteger numRequests = new AtomicInteger();
+        private final AtomicInteger concurrentRequests = new AtomicInteger();
+        private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+        void release() {
+            latch.countDown();
+        }
+
+        @Override
+        public RawDtoBlock getBlock(String headerHash, int verbosity) {
+            numRequests.incrementAndGet();
+            int concurrent = concurrentRequests.incrementAndGet();
+            maxConcurrentRequests.accumulateAndGet(concurrent, Math::max);
+            try {
+                latch.await();
+                // Simulate varying round trip times, so the requests complete out of order
+                Thread.sleep(ThreadLocalRandom.current().nextInt(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrentRequests.decrementAndGet();
+            }
+            RawDtoBlock block = new RawDtoBlock();
+            block.setHash(headerHash);
+            block.setHeight(Integer.parseInt(headerHash));
+            return block;
+        }
+
+        @Override
+        public Integer getBlockCount() {
+            return 1000;
+        }
+
+        @Override
+        public String getBlockHash(Integer blockHeight) {
+            return String.valueOf(blockHeight);
+        }
+
+        @Override
+        public String getBestBlockHash() {
+            return String.valueOf(getBlockCount());
+        }
+
+        @Override
+        public DtoNetworkInfo getNetworkInfo() {
+            return new DtoNetworkInfo();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full.network;
+
+import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT) // the stubs in setUp() are not used by testGetBucketIndex()
+public class RawBlockBucketCacheTest {
+    // Not aligned to the buckets, so the first bucket covers the heights 500 to 1000
+    private static final int GENESIS_HEIGHT = 500;
+    private static final int MAX_BLOCKS = 3000;
+
+    @Mock
+    private DaoStateService daoStateService;
+    private final TreeMap<Integer, Block> blocksByHeight = new TreeMap<>();
+    private RawBlockBucketCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        when(daoStateService.getGenesisBlockHeight()).thenReturn(GENESIS_HEIGHT);
+        when(daoStateService.getLastBlock()).thenAnswer(invocation ->
+                Optional.ofNullable(blocksByHeight.lastEntry()).map(entry -> entry.getValue()));
+        when(daoStateService.getBlockAtHeight(anyInt())).thenAnswer(invocation ->
+                Optional.ofNullable(blocksByHeight.get(invocation.getArgument(0, Integer.class))));
+        // The newest bucket with the index 4 is not complete
+        addBlocks(GENESIS_HEIGHT, 3700, "");
+        cache = new RawBlockBucketCache(daoStateService);
+    }
+
+    @Test
+    public void testGetBucketIndex() {
+        assertEquals(1, RawBlockBucketCache.getBucketIndex(1));
+        assertEquals(1, RawBlockBucketCache.getBucketIndex(1000));
+        assertEquals(2, RawBlockBucketCache.getBucketIndex(1001));
+        assertEquals(2, RawBlockBucketCache.getBucketIndex(2000));
+    }
+
+    @Test
+    public void testRequestStartingMidBucket() {
+        assertBlocks(cache.getBlocks(1500, MAX_BLOCKS), 1500, 3700, "");
+        assertBlocks(cache.getBlocks(1999, 2), 1999, 2000, "");
+    }
+
+    @Test
+    public void testRequestCrossingSeveralBucketsIsLimited() {
+        assertBlocks(cache.getBlocks(600, MAX_BLOCKS), 600, 3599, "");
+
+        // The cached buckets are used at the next request. We only look up the last block of each bucket and convert
+        // the blocks of the incomplete bucket.
+        clearInvocations(daoStateService);
+        assertBlocks(cache.getBlocks(600, MAX_BLOCKS), 600, 3599, "");
+        verify(daoStateService, times(3 + 599)).getBlockAtHeight(anyInt());
+    }
+
+    @Test
+    public void testIncompleteNewestBucketIsNotCached() {
+        assertBlocks(cache.getBlocks(3500, MAX_BLOCKS), 3500, 3700, "");
+
+        addBlocks(3701, 3710, "");
+        assertBlocks(cache.getBlocks(3500, MAX_BLOCKS), 3500, 3710, "");
+    }
+
+    @Test
+    public void testGenesisHeightNotAlignedToBucket() {
+        assertBlocks(cache.getBlocks(0, MAX_BLOCKS), GENESIS_HEIGHT, GENESIS_HEIGHT + MAX_BLOCKS - 1, "");
+        assertBlocks(cache.getBlocks(GENESIS_HEIGHT, 10), GENESIS_HEIGHT, GENESIS_HEIGHT + 9, "");
+        assertBlocks(cache.getBlocks(999, 10), 999, 1008, "");
+    }
+
+    @Test
+    public void testReorgedBucketGetsRebuilt() {
+        assertBlocks(cache.getBlocks(1500, MAX_BLOCKS), 1500, 3700, "");
+
+        // Reorg from height 1990, so the cached bucket 2 and the later buckets are outdated
+        blocksByHeight.tailMap(1990).clear();
+        addBlocks(1990, 3700, "reorg");
+
+        assertBlocks(cache.getBlocks(1500, 490), 1500, 1989, "");
+        assertBlocks(cache.getBlocks(1990, MAX_BLOCKS), 1990, 3700, "reorg");
+    }
+
+    private void addBlocks(int fromHeight, int toHeight, String fork) {
+        for (int height = fromHeight; height <= toHeight; height++) {
+            String previousBlockHash = height == GENESIS_HEIGHT ? "" : blocksByHeight.get(height - 1).getHash();
+            blocksByHeight.put(height, new Block(height, height, getHash(height, fork), previousBlockHash));
+        }
+    }
+
+    private static String getHash(int height, String fork) {
+        return "hash" + fork + height;
+    }
+
+    private static void assertBlocks(RawBlockBucketCache.Blocks blocks, int fromHeight, int toHeight, String fork) {
+        List<Integer> expectedHeights = IntStream.rangeClosed(fromHeight, toHeight).boxed().collect(Collectors.toList());
+        assertEquals(expectedHeights,
+                blocks.getRawBlocks().stream().map(RawBlock::getHeight).collect(Collectors.toList()));
+        assertEquals(expectedHeights,
+                blocks.getRawBlocksAsProto().stream().map(protobuf.BaseBlock::getHeight).collect(Collectors.toList()));
+        assertTrue(blocks.getRawBlocks().stream()
+                .allMatch(rawBlock -> rawBlock.getHash().equals(getHash(rawBlock.getHeight(), fork))));
+        assertTrue(blocks.getRawBlocksAsProto().stream()
+                .allMatch(proto -> proto.getHash().equals(getHash(proto.getHeight(), fork))));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state;
+
+import bisq.core.dao.governance.param.Param;
+import bisq.core.dao.state.model.governance.Cycle;
+import bisq.core.dao.state.model.governance.DaoPhase;
+import bisq.core.dao.state.model.governance.ParamChange;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@Slf4j
+public class ParamAndCycleIndexTest {
+    private static final int CYCLE_DURATION = 10;
+
+    @Test
+    public void testGetParamValue() {
+        ParamAndCycleIndex index = new ParamAndCycleIndex();
+        List<ParamChange> paramChangeList = new ArrayList<>();
+        Param param = Param.DEFAULT_MAKER_FEE_BSQ;
+
+        assertEquals(param.getDefaultValue(), index.getParamValue(paramChangeList, param, 100));
+
+        paramChangeList.add(new ParamChange(param.name(), "1.00", 100));
+        paramChangeList.add(new ParamChange(Param.DEFAULT_TAKER_FEE_BSQ.name(), "3.00", 150));
+        paramChangeList.add(new ParamChange(param.name(), "2.00", 200));
+        paramChangeList.add(new ParamChange(param.name(), "2.50", 200));
+
+        assertEquals(param.getDefaultValue(), index.getParamValue(paramChangeList, param, 99));
+        assertEquals("1.00", index.getParamValue(paramChangeList, param, 100));
+        assertEquals("1.00", index.getParamValue(paramChangeList, param, 199));
+        // Later entry for the same activation height wins
+        assertEquals("2.50", index.getParamValue(paramChangeList, param, 200));
+        assertEquals("3.00", index.getParamValue(paramChangeList, Param.DEFAULT_TAKER_FEE_BSQ, 1000));
+    }
+
+    @Test
+    public void testInvalidateAfterSnapshot() {
+        ParamAndCycleIndex index = new ParamAndCycleIndex();
+        List<ParamChange> paramChangeList = new ArrayList<>();
+        Param param = Param.DEFAULT_MAKER_FEE_BSQ;
+        paramChangeList.add(new ParamChange(param.name(), "1.00", 100));
+        assertEquals("1.00", index.getParamValue(paramChangeList, param, 100));
+
+        // A snapshot with the same number of param changes
+        paramChangeList.clear();
+        paramChangeList.add(new ParamChange(param.name(), "2.00", 100));
+        index.invalidate();
+        assertEquals("2.00", index.getParamValue(paramChangeList, param, 100));
+    }
+
+    @Test
+    public void testGetCycle() {
+        ParamAndCycleIndex index = new ParamAndCycleIndex();
+        LinkedList<Cycle> cycles = new LinkedList<>();
+        assertFalse(index.getCycle(cycles, 100).isPresent());
+
+        cycles.add(newCycle(100));
+        cycles.add(newCycle(100 + CYCLE_DURATION));
+
+        assertFalse(index.getCycle(cycles, 99).isPresent());
+        assertSame(cycles.get(0), index.getCycle(cycles, 100).orElseThrow());
+        assertSame(cycles.get(0), index.getCycle(cycles, 109).orElseThrow());
+        assertSame(cycles.get(1), index.getCycle(cycles, 110).orElseThrow());
+        assertFalse(index.getCycle(cycles, 120).isPresent());
+
+        // New cycles get picked up
+        cycles.add(newCycle(100 + 2 * CYCLE_DURATION));
+        assertSame(cycles.get(2), index.getCycle(cycles, 120).orElseThrow());
+    }
+
+    @Disabled("Benchmark")
+    @Test
+    public void benchmark() {
+        int numParamChanges = 500;
+        int numCycles = 300;
+        int numCalls = 1_000_000;
+        Param param = Param.DEFAULT_MAKER_FEE_BSQ;
+        Param[] params = Param.values();
+        List<ParamChange> paramChangeList = new ArrayList<>();
+        for (int i = 0; i < numParamChanges; i++) {
+            paramChangeList.add(new ParamChange(params[i % params.length].name(), String.valueOf(i), i * CYCLE_DURATION));
+        }
+        LinkedList<Cycle> cycles = new LinkedList<>();
+        for (int i = 0; i < numCycles; i++) {
+            cycles.add(newCycle(i * CYCLE_DURATION));
+        }
+        int maxHeight = numCycles * CYCLE_DURATION;
+        ParamAndCycleIndex index = new ParamAndCycleIndex();
+
+        long ts = System.nanoTime();
+        int hits = 0;
+        for (int i = 0; i < numCalls; i++) {
+            hits += getParamValueByScan(paramChangeList, param, i % maxHeight).length();
+        }
+        log.info("getParamValue by scan: {} ns per call", (System.nanoTime() - ts) / numCalls);
+
+        ts = System.nanoTime();
+        for (int i = 0; i < numCalls; i++) {
+            hits += index.getParamValue(paramChangeList, param, i % maxHeight).length();
+        }
+        log.info("getParamValue by index: {} ns per call", (System.nanoTime() - ts) / numCalls);
+
+        ts = System.nanoTime();
+        for (int i = 0; i < numCalls; i++) {
+            hits += getCycleByScan(cycles, i % maxHeight).isPresent() ? 1 : 0;
+        }
+        log.info("getCycle by scan: {} ns per call", (System.nanoTime() - ts) / numCalls);
+
+        ts = System.nanoTime();
+        for (int i = 0; i < numCalls; i++) {
+            hits += index.getCycle(cycles, i % maxHeight).isPresent() ? 1 : 0;
+        }
+        log.info("getCycle by index: {} ns per call", (System.nanoTime() - ts) / numCalls);
+        log.info("hits {}", hits);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Cycle newCycle(int heightOfFirstBlock) {
+        return new Cycle(heightOfFirstBlock, ImmutableList.of(
+                new DaoPhase(DaoPhase.Phase.PROPOSAL, 3),
+                new DaoPhase(DaoPhase.Phase.BREAK1, 1),
+                new DaoPhase(DaoPhase.Phase.BLIND_VOTE, 2),
+                new DaoPhase(DaoPhase.Phase.BREAK2, 1),
+                new DaoPhase(DaoPhase.Phase.VOTE_REVEAL, 1),
+                new DaoPhase(DaoPhase.Phase.BREAK3, 1),
+                new DaoPhase(DaoPhase.Phase.RESULT, 1)));
+    }
+
+    // Previous implementation of DaoStateService.getParamValue
+    private static String getParamValueByScan(List<ParamChange> list, Param param, int blockHeight) {
+        List<ParamChange> paramChangeList = new ArrayList<>(list);
+        for (int i = paramChangeList.size() - 1; i >= 0; i--) {
+            ParamChange paramChange = paramChangeList.get(i);
+            if (paramChange.getParamName().equals(param.name()) &&
+                    blockHeight >= paramChange.getActivationHeight()) {
+                return paramChange.getValue();
+            }
+        }
+        return param.getDefaultValue();
+    }
+
+    // Previous implementation of DaoStateService.getCycle
+    private static Optional<Cycle> getCycleByScan(List<Cycle> cycles, int height) {
+        return cycles.stream()
+                .filter(cycle -> cycle.getHeightOfFirstBlock() <= height)
+                .filter(cycle -> cycle.getHeightOfLastBlock() >= height)
+                .findAny();
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state.model;
+
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.SpentInfo;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxType;
+import bisq.core.dao.state.model.governance.Issuance;
+import bisq.core.dao.state.model.governance.IssuanceType;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DaoStateTest {
+
+    @Test
+    public void testIncrementalStateCommitmentMatchesCommitmentFromScratch() {
+        DaoState daoState = new DaoState();
+        daoState.setChainHeight(100);
+        daoState.addBlock(new Block(100, 1000, "hash100", "hash99"));
+        for (int i = 0; i < 50; i++) {
+            daoState.addUnspentTxOutput(createTxOutput("tx" + i, i % 3, 100));
+        }
+        // The commitment gets created from the full state at the first request and is updated incrementally afterwards
+        byte[] initialCommitment = daoState.getStateCommitmentForHashChain();
+        assertArrayEquals(daoState.getStateCommitmentForHashChainFromScratch(), initialCommitment);
+
+        for (int i = 0; i < 5; i++) {
+            daoState.putIssuance(new Issuance("issuance" + i, 100, 1000 + i, null, IssuanceType.COMPENSATION));
+        }
+        daoState.getConfiscatedLockupTxList().add("confiscated");
+        assertArrayEquals(daoState.getStateCommitmentForHashChainFromScratch(), daoState.getStateCommitmentForHashChain());
+
+        // Next block spends some outputs and adds new ones
+        daoState.setChainHeight(101);
+        daoState.addBlock(new Block(101, 2000, "hash101", "hash100"));
+        for (int i = 0; i < 10; i++) {
+            TxOutput txOutput = createTxOutput("tx" + i, i % 3, 100);
+            daoState.removeUnspentTxOutput(txOutput.getKey());
+            daoState.putSpentInfo(txOutput.getKey(), new SpentInfo(101, "spendingTx" + i, 0));
+            daoState.addUnspentTxOutput(createTxOutput("newTx" + i, 0, 101));
+        }
+        // Removing a missing key must not change the commitment
+        daoState.removeUnspentTxOutput(createTxOutput("unknownTx", 0, 101).getKey());
+        assertArrayEquals(daoState.getStateCommitmentForHashChainFromScratch(), daoState.getStateCommitmentForHashChain());
+
+        // Replacing values for existing keys
+        daoState.addUnspentTxOutput(createTxOutput("tx20", 20 % 3, 101));
+        daoState.putSpentInfo(createTxOutput("tx0", 0, 100).getKey(), new SpentInfo(102, "otherSpendingTx", 1));
+        daoState.putIssuance(new Issuance("issuance0", 101, 2000, null, IssuanceType.REIMBURSEMENT));
+        assertArrayEquals(daoState.getStateCommitmentForHashChainFromScratch(), daoState.getStateCommitmentForHashChain());
+
+        // Reset from a snapshot
+        DaoState snapshot = DaoState.getClone(daoState);
+        daoState.setCommittedCollections(new DaoState());
+        assertEquals(0, daoState.getUnspentTxOutputMap().size());
+        assertArrayEquals(daoState.getStateCommitmentForHashChainFromScratch(), daoState.getStateCommitmentForHashChain());
+        daoState.setCommittedCollections(snapshot);
+        assertArrayEquals(daoState.getStateCommitmentForHashChainFromScratch(), daoState.getStateCommitmentForHashChain());
+        assertArrayEquals(snapshot.getStateCommitmentForHashChain(), daoState.getStateCommitmentForHashChain());
+    }
+
+    @Test
+    public void testStateCommitmentIsIndependentOfInsertionOrder() {
+        DaoState daoState1 = new DaoState();
+        DaoState daoState2 = new DaoState();
+        daoState1.addBlock(new Block(100, 1000, "hash100", "hash99"));
+        daoState2.addBlock(new Block(100, 1000, "hash100", "hash99"));
+        daoState1.getStateCommitmentForHashChain();
+        daoState2.getStateCommitmentForHashChain();
+
+        for (int i = 0; i < 10; i++) {
+            daoState1.addUnspentTxOutput(createTxOutput("tx" + i, 0, 100));
+            daoState2.addUnspentTxOutput(createTxOutput("tx" + (9 - i), 0, 100));
+        }
+        assertArrayEquals(daoState1.getStateCommitmentForHashChain(), daoState2.getStateCommitmentForHashChain());
+
+        daoState2.removeUnspentTxOutput(createTxOutput("tx5", 0, 100).getKey());
+        assertFalse(Arrays.equals(daoState1.getStateCommitmentForHashChain(), daoState2.getStateCommitmentForHashChain()));
+
+        // The same entry in a different collection must give a different commitment
+        daoState2.putSpentInfo(createTxOutput("tx5", 0, 100).getKey(), new SpentInfo(100, "spendingTx", 0));
+        assertFalse(Arrays.equals(daoState1.getStateCommitmentForHashChain(), daoState2.getStateCommitmentForHashChain()));
+        daoState2.addUnspentTxOutput(createTxOutput("tx5", 0, 100));
+        daoState1.putSpentInfo(createTxOutput("tx5", 0, 100).getKey(), new SpentInfo(100, "spendingTx", 0));
+        assertArrayEquals(daoState1.getStateCommitmentForHashChain(), daoState2.getStateCommitmentForHashChain());
+    }
+
+    @Test
+    public void testTxStreamOrderedByTime() {
+        DaoState daoState = new DaoState();
+        // Block time is not strictly increasing with the height
+        daoState.addToTxCache(createTx("a", 100, 1000, TxType.TRANSFER_BSQ));
+        daoState.addToTxCache(createTx("b", 101, 900, TxType.PAY_TRADE_FEE));
+        daoState.addToTxCache(createTx("c", 102, 1100, TxType.TRANSFER_BSQ));
+        daoState.addToTxCache(createTx("d", 102, 1100, TxType.PROPOSAL));
+        daoState.addToTxCache(createTx("e", 103, 1200, TxType.PAY_TRADE_FEE));
+
+        assertEquals(List.of("e", "c", "d", "a", "b"), txIds(daoState.getTxStreamOrderedByTime(Set.of(), null)));
+
+        Set<TxType> txTypes = EnumSet.of(TxType.TRANSFER_BSQ, TxType.PAY_TRADE_FEE);
+        assertEquals(List.of("e", "c", "a", "b"), txIds(daoState.getTxStreamOrderedByTime(txTypes, null)));
+
+        // Paging with the last tx of the previous page as cursor
+        Tx cursor = daoState.getTxCache().get("c");
+        assertEquals(List.of("a", "b"), txIds(daoState.getTxStreamOrderedByTime(txTypes, cursor)));
+        assertEquals(List.of("d", "a", "b"), txIds(daoState.getTxStreamOrderedByTime(Set.of(), cursor)));
+
+        // Reset from a snapshot
+        daoState.setTxCache(Map.of("a", daoState.getTxCache().get("a")));
+        assertEquals(List.of("a"), txIds(daoState.getTxStreamOrderedByTime(Set.of(), null)));
+        assertEquals(List.of(), txIds(daoState.getTxStreamOrderedByTime(Set.of(TxType.PAY_TRADE_FEE), null)));
+    }
+
+    @Test
+    public void testReleaseBlocksBelow() {
+        DaoState daoState = new DaoState();
+        for (int height = 100; height < 110; height++) {
+            Tx tx = createTx("tx" + height, height, height * 10L, TxType.TRANSFER_BSQ);
+            Block block = new Block(height, height * 10L, "hash" + height, "hash" + (height - 1));
+            block.addTx(tx);
+            daoState.addBlock(block);
+            daoState.addToTxCache(tx);
+        }
+
+        assertEquals(5, daoState.releaseBlocksBelow(105));
+        assertEquals(105, daoState.getBlocks().get(0).getHeight());
+        assertEquals(5, daoState.getBlocksByHeight().size());
+        assertFalse(daoState.getBlocksByHeight().containsKey(104));
+        // Txs and block times of the released blocks are kept
+        assertTrue(daoState.getTxCache().containsKey("tx100"));
+        assertEquals(1000, daoState.getBlockTime(100).orElseThrow());
+        assertFalse(daoState.getBlockTime(99).isPresent());
+
+        // The last block is never released
+        assertEquals(4, daoState.releaseBlocksBelow(200));
+        assertEquals(109, daoState.getLastBlock().getHeight());
+
+        daoState.addBlock(new Block(110, 1100, "hash110", "hash109"));
+        assertEquals(1100, daoState.getBlockTime(110).orElseThrow());
+
+        daoState.clearAndSetBlocks(List.of(new Block(100, 1000, "hash100", "hash99")));
+        assertFalse(daoState.getBlockTime(101).isPresent());
+    }
+
+    @Test
+    public void testCandidateHeightsOfBlockHash() {
+        DaoState daoState = new DaoState();
+        for (int height = 100; height < 110; height++) {
+            daoState.addBlock(new Block(height, height * 10L, blockHash(height), blockHash(height - 1)));
+        }
+        daoState.releaseBlocksBelow(105);
+
+        // Released blocks are found as well, the case of the hash is ignored
+        assertEquals(List.of(102), daoState.getCandidateHeightsOfBlockHash(blockHash(102).toUpperCase())
+                .boxed().collect(Collectors.toList()));
+        assertEquals(List.of(107), daoState.getCandidateHeightsOfBlockHash(blockHash(107))
+                .boxed().collect(Collectors.toList()));
+        assertEquals(0, daoState.getCandidateHeightsOfBlockHash(blockHash(110)).count());
+        assertEquals(0, daoState.getCandidateHeightsOfBlockHash("notAHash").count());
+    }
+
+    private static String blockHash(int height) {
+        // Like the hashes of Bitcoin blocks, all hashes start with the same zeros
+        return "0".repeat(16) + String.format("%016x%016x%016x",
+                height * 0x9e3779b97f4a7c15L, height * 0xc2b2ae3d27d4eb4fL, height * 0x165667b19e3779f9L);
+    }
+
+    private static List<String> txIds(Stream<Tx> txs) {
+        return txs.map(Tx::getId).collect(Collectors.toList());
+    }
+
+    private static Tx createTx(String txId, int blockHeight, long time, TxType txType) {
+        return Tx.fromProto(protobuf.BaseTx.newBuilder()
+                .setId(txId)
+                .setBlockHeight(blockHeight)
+                .setTime(time)
+                .setTx(protobuf.Tx.newBuilder()
+                        .setTxType(txType.toProtoMessage()))
+                .build());
+    }
+
+    private static TxOutput createTxOutput(String txId, int index, int blockHeight) {
+        return TxOutput.fromProto(protobuf.BaseTxOutput.newBuilder()
+                .setIndex(index)
+                .setValue(1000L * (index + 1))
+                .setTxId(txId)
+                .setAddress("address" + index)
+                .setBlockHeight(blockHeight)
+                .setTxOutput(protobuf.TxOutput.newBuilder()
+                        .setTxOutputType(protobuf.TxOutputType.BSQ_OUTPUT)
+                        .setLockTime(-1))
+                .build());
+    }
+}
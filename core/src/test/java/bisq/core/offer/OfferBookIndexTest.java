@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import org.junit.jupiter.api.Test;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static bisq.core.offer.OfferMaker.counterCurrencyCode;
+import static bisq.core.offer.OfferMaker.direction;
+import static bisq.core.offer.OfferMaker.id;
+import static bisq.core.offer.OfferMaker.price;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OfferBookIndexTest {
+
+    @Test
+    public void testAddAndRemove() {
+        OfferBookIndex offerBookIndex = new OfferBookIndex();
+        OfferPayloadBase usdBuy = make(btcUsdOffer.but(with(id, "1"))).getOfferPayloadBase();
+        OfferPayloadBase usdSell = make(btcUsdOffer.but(with(id, "2"), with(direction, OfferDirection.SELL))).getOfferPayloadBase();
+        OfferPayloadBase eurBuy = make(btcUsdOffer.but(with(id, "3"), with(counterCurrencyCode, "EUR"))).getOfferPayloadBase();
+
+        assertTrue(offerBookIndex.add(usdBuy));
+        assertTrue(offerBookIndex.add(usdSell));
+        assertTrue(offerBookIndex.add(eurBuy));
+        assertFalse(offerBookIndex.add(usdBuy));
+
+        assertEquals(3, offerBookIndex.size());
+        assertSame(usdSell, offerBookIndex.get("2").orElseThrow());
+        assertEquals(1, offerBookIndex.getByMarket("USD", OfferDirection.BUY, null).size());
+        assertEquals(1, offerBookIndex.getByMarket("USD", OfferDirection.SELL, "SEPA").size());
+        assertTrue(offerBookIndex.getByMarket("USD", OfferDirection.SELL, "ZELLE").isEmpty());
+        assertTrue(offerBookIndex.getByMarket("EUR", OfferDirection.SELL, null).isEmpty());
+
+        assertTrue(offerBookIndex.remove(usdBuy));
+        assertFalse(offerBookIndex.remove(usdBuy));
+        assertFalse(offerBookIndex.get("1").isPresent());
+        assertTrue(offerBookIndex.getByMarket("USD", OfferDirection.BUY, null).isEmpty());
+        assertEquals(2, offerBookIndex.getAll().size());
+    }
+
+    @Test
+    public void testEditedOfferReplacesPrevious() {
+        OfferBookIndex offerBookIndex = new OfferBookIndex();
+        OfferPayloadBase original = make(btcUsdOffer.but(with(id, "1"))).getOfferPayloadBase();
+        OfferPayloadBase edited = make(btcUsdOffer.but(with(id, "1"), with(price, 200000L))).getOfferPayloadBase();
+
+        offerBookIndex.add(original);
+        assertTrue(offerBookIndex.add(edited));
+
+        // A late remove of the original must not remove the edited offer
+        assertFalse(offerBookIndex.remove(original));
+        assertSame(edited, offerBookIndex.get("1").orElseThrow());
+        assertEquals(1, offerBookIndex.getByMarket("USD", OfferDirection.BUY, "SEPA").size());
+        assertSame(edited, offerBookIndex.getByMarket("USD", OfferDirection.BUY, null).iterator().next());
+    }
+
+    @Test
+    public void testStaleAddOfPreviousDoesNotDropEditedOffer() {
+        OfferBookIndex offerBookIndex = new OfferBookIndex();
+        OfferPayloadBase original = make(btcUsdOffer.but(with(id, "1"))).getOfferPayloadBase();
+        OfferPayloadBase edited = make(btcUsdOffer.but(with(id, "1"), with(price, 200000L))).getOfferPayloadBase();
+
+        // The add of the original arrives after the add of the edited offer, followed by its remove
+        offerBookIndex.add(edited);
+        offerBookIndex.add(original);
+        assertTrue(offerBookIndex.remove(original));
+
+        assertSame(edited, offerBookIndex.get("1").orElseThrow());
+        assertEquals(1, offerBookIndex.getByMarket("USD", OfferDirection.BUY, "SEPA").size());
+        assertSame(edited, offerBookIndex.getByMarket("USD", OfferDirection.BUY, null).iterator().next());
+
+        assertTrue(offerBookIndex.remove(edited));
+        assertFalse(offerBookIndex.get("1").isPresent());
+        assertTrue(offerBookIndex.getByMarket("USD", OfferDirection.BUY, null).isEmpty());
+    }
+}
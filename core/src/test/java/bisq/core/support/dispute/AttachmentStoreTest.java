@@ -0,0 +1,155 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import bisq.core.support.SupportType;
+import bisq.core.support.dispute.mediation.MediationDisputeList;
+import bisq.core.support.dispute.mediation.MediationDisputeListService;
+import bisq.core.support.messages.ChatMessage;
+import bisq.core.trade.model.bisq_v1.Contract;
+
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.crypto.PubKeyRing;
+import bisq.common.persistence.PersistenceManager;
+import bisq.common.util.Utilities;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.File;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nullable;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class AttachmentStoreTest {
+    private static final byte[] BYTES = "screenshot".getBytes(StandardCharsets.UTF_8);
+    private static final NodeAddress NODE_ADDRESS = new NodeAddress("localhost", 9999);
+
+    @TempDir
+    File storageDir;
+    private AttachmentStore attachmentStore;
+    private MediationDisputeListService disputeListService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        attachmentStore = new AttachmentStore(storageDir);
+        PersistenceManager<MediationDisputeList> persistenceManager = mock(PersistenceManager.class);
+        // Nothing persisted yet
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(2)).run();
+            return null;
+        }).when(persistenceManager).readPersisted(anyString(), any(), any());
+        disputeListService = new MediationDisputeListService(persistenceManager, attachmentStore);
+    }
+
+    @Test
+    public void testUnreferencedFilesDeletedAfterRead() throws Exception {
+        Attachment referenced = new Attachment("screenshot.png", BYTES);
+        referenced.bindToStore(attachmentStore);
+        Attachment unreferenced = new Attachment("log.txt", "log".getBytes(StandardCharsets.UTF_8));
+        unreferenced.bindToStore(attachmentStore);
+
+        Dispute dispute = createDispute("trade1");
+        dispute.addAndPersistChatMessage(createChatMessage(referenced));
+        disputeListService.getDisputeList().add(dispute);
+        assertTrue(getFile(unreferenced).exists());
+
+        disputeListService.readPersisted(() -> {
+        });
+        waitUntilDeleted(getFile(unreferenced));
+        assertTrue(getFile(referenced).exists());
+    }
+
+    @Test
+    public void testClearSensitiveDataDeletesAttachment() throws Exception {
+        Attachment attachment = new Attachment("screenshot.png", BYTES);
+        attachment.bindToStore(attachmentStore);
+        disputeListService.readPersisted(() -> {
+        });
+
+        Dispute dispute = createDispute("trade1");
+        disputeListService.getDisputeList().add(dispute);
+        dispute.addAndPersistChatMessage(createChatMessage(null));
+        dispute.addAndPersistChatMessage(createChatMessage(attachment));
+
+        // The same attachment in another dispute keeps the file
+        Dispute otherDispute = createDispute("trade2");
+        disputeListService.getDisputeList().add(otherDispute);
+        otherDispute.addAndPersistChatMessage(createChatMessage(null));
+        otherDispute.addAndPersistChatMessage(createChatMessage(new Attachment("screenshot.png", BYTES)));
+
+        dispute.maybeClearSensitiveData();
+        assertTrue(getFile(attachment).exists());
+
+        otherDispute.maybeClearSensitiveData();
+        waitUntilDeleted(getFile(attachment));
+    }
+
+    @Test
+    public void testRemovingDisputeDeletesAttachment() throws Exception {
+        Attachment attachment = new Attachment("screenshot.png", BYTES);
+        attachment.bindToStore(attachmentStore);
+        disputeListService.readPersisted(() -> {
+        });
+
+        Dispute dispute = createDispute("trade1");
+        dispute.addAndPersistChatMessage(createChatMessage(attachment));
+        disputeListService.getDisputeList().add(dispute);
+
+        disputeListService.getDisputeList().remove(dispute);
+        waitUntilDeleted(getFile(attachment));
+    }
+
+    private File getFile(Attachment attachment) {
+        return new File(new File(storageDir, "attachments"), Utilities.bytesAsHexString(attachment.getHash()));
+    }
+
+    // Files get deleted on the thread of the store
+    private static void waitUntilDeleted(File file) throws InterruptedException {
+        for (int i = 0; i < 500 && file.exists(); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(file.exists());
+    }
+
+    private static ChatMessage createChatMessage(@Nullable Attachment attachment) {
+        ArrayList<Attachment> attachments = new ArrayList<>();
+        if (attachment != null) {
+            attachments.add(attachment);
+        }
+        return new ChatMessage(SupportType.MEDIATION, "tradeId", 1, true, "message", NODE_ADDRESS, attachments);
+    }
+
+    private static Dispute createDispute(String tradeId) {
+        return new Dispute(0, tradeId, 1, true, true, mock(PubKeyRing.class), 0, 0, mock(Contract.class),
+                null, null, null, null, null, "{}", null, null, mock(PubKeyRing.class), false, SupportType.MEDIATION);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import com.google.protobuf.ByteString;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AttachmentTest {
+    private static final byte[] BYTES = "screenshot".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testPersistedByHashOnceInStore(@TempDir File storageDir) throws IOException {
+        AttachmentStore attachmentStore = new AttachmentStore(storageDir);
+        Attachment attachment = new Attachment("screenshot.png", BYTES);
+        assertFalse(attachment.toPersistedProtoMessage().getBytes().isEmpty());
+
+        assertTrue(attachment.bindToStore(attachmentStore));
+        protobuf.Attachment persisted = attachment.toPersistedProtoMessage();
+        assertTrue(persisted.getBytes().isEmpty());
+        // Network messages still contain the bytes
+        assertArrayEquals(BYTES, attachment.toProtoMessage().getBytes().toByteArray());
+
+        Attachment fromPersisted = Attachment.fromPersistedProto(persisted);
+        assertEquals(attachment, fromPersisted);
+        assertFalse(fromPersisted.bindToStore(attachmentStore));
+        assertArrayEquals(BYTES, fromPersisted.getBytes());
+    }
+
+    @Test
+    public void testMigrationOfInlineAttachment(@TempDir File storageDir) throws IOException {
+        // Attachments persisted by older versions have no hash
+        protobuf.Attachment legacy = protobuf.Attachment.newBuilder()
+                .setFileName("log.txt")
+                .setBytes(ByteString.copyFrom(BYTES))
+                .build();
+        Attachment attachment = Attachment.fromPersistedProto(legacy);
+        assertEquals(new Attachment("log.txt", BYTES), attachment);
+
+        assertTrue(attachment.bindToStore(new AttachmentStore(storageDir)));
+        assertTrue(attachment.toPersistedProtoMessage().getBytes().isEmpty());
+        assertArrayEquals(BYTES, attachment.getBytes());
+    }
+
+    @Test
+    public void testNetworkProtoRequiresBytes(@TempDir File storageDir) throws IOException {
+        Attachment attachment = new Attachment("screenshot.png", BYTES);
+        attachment.bindToStore(new AttachmentStore(storageDir));
+
+        // A peer must not be able to reference an attachment in our store by its hash
+        protobuf.Attachment hashOnly = attachment.toPersistedProtoMessage();
+        assertThrows(IllegalArgumentException.class, () -> Attachment.fromProto(hashOnly));
+
+        Attachment fromNetwork = Attachment.fromProto(attachment.toProtoMessage());
+        assertEquals(attachment, fromNetwork);
+        assertFalse(fromNetwork.isBoundToStore());
+        assertArrayEquals(BYTES, fromNetwork.getBytes());
+    }
+
+    @Test
+    public void testMissingStoreFileIsSurfaced(@TempDir File storageDir) {
+        Attachment attachment = Attachment.fromPersistedProto(protobuf.Attachment.newBuilder()
+                .setFileName("screenshot.png")
+                .setHash(ByteString.copyFrom(new Attachment("screenshot.png", BYTES).getHash()))
+                .build());
+        assertThrows(IOException.class, attachment::getBytes);
+
+        attachment.bindToStore(new AttachmentStore(storageDir));
+        assertThrows(IOException.class, attachment::getBytes);
+    }
+}
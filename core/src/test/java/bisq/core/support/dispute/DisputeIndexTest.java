@@ -0,0 +1,87 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DisputeIndexTest {
+
+    @Test
+    public void testAddAndRemove() {
+        DisputeIndex disputeIndex = new DisputeIndex();
+        Dispute buyersDispute = mockDispute("trade", 1, "uid1", "depositTx", "dpt");
+        Dispute sellersDispute = mockDispute("trade", 2, "uid2", "depositTx", "dpt");
+        disputeIndex.add(buyersDispute);
+        disputeIndex.add(sellersDispute);
+
+        assertSame(sellersDispute, disputeIndex.get("trade", 2).orElseThrow());
+        assertEquals(2, disputeIndex.getByTradeId("trade").size());
+        assertEquals(2, disputeIndex.getDisputesPerDepositTxId().get("depositTx").size());
+
+        disputeIndex.remove(buyersDispute);
+        assertFalse(disputeIndex.get("trade", 1).isPresent());
+        assertSame(sellersDispute, disputeIndex.getAny("trade").orElseThrow());
+        assertEquals(1, disputeIndex.getDisputesPerDelayedPayoutTxId().get("dpt").size());
+
+        disputeIndex.remove(sellersDispute);
+        assertFalse(disputeIndex.getAny("trade").isPresent());
+        assertNull(disputeIndex.getDisputesPerTradeId().get("trade"));
+    }
+
+    @Test
+    public void testReplayDetection() throws Exception {
+        DisputeIndex disputeIndex = new DisputeIndex();
+        Dispute dispute1 = mockDispute("trade1", 1, "uid1", "depositTx", "dpt1");
+        Dispute dispute2 = mockDispute("trade1", 2, "uid2", "depositTx", "dpt1");
+        disputeIndex.add(dispute1);
+        disputeIndex.add(dispute2);
+        DisputeValidation.testIfDisputeTriesReplay(dispute1, disputeIndex);
+
+        // A third dispute re-using the deposit tx of another trade is a replay
+        Dispute replayedDispute = mockDispute("trade2", 1, "uid3", "depositTx", "dpt2");
+        disputeIndex.add(replayedDispute);
+        assertThrows(DisputeValidation.DisputeReplayException.class,
+                () -> DisputeValidation.testIfDisputeTriesReplay(replayedDispute, disputeIndex));
+
+        disputeIndex.remove(replayedDispute);
+        DisputeValidation.testIfDisputeTriesReplay(dispute2, disputeIndex);
+    }
+
+    private static Dispute mockDispute(String tradeId,
+                                       int traderId,
+                                       String uid,
+                                       String depositTxId,
+                                       String delayedPayoutTxId) {
+        Dispute dispute = mock(Dispute.class);
+        when(dispute.getTradeId()).thenReturn(tradeId);
+        when(dispute.getTraderId()).thenReturn(traderId);
+        when(dispute.getId()).thenReturn(tradeId + "_" + traderId);
+        when(dispute.getUid()).thenReturn(uid);
+        when(dispute.getDepositTxId()).thenReturn(depositTxId);
+        when(dispute.getDelayedPayoutTxId()).thenReturn(delayedPayoutTxId);
+        return dispute;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade;
+
+import bisq.core.trade.model.Tradable;
+import bisq.core.trade.model.bisq_v1.Trade;
+
+import bisq.network.p2p.NodeAddress;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ClosedTradableIndexTest {
+    private static final NodeAddress PEER = new NodeAddress("peer.onion", 9999);
+
+    @Test
+    public void testAddAndRemove() {
+        ClosedTradableIndex closedTradableIndex = new ClosedTradableIndex();
+        Trade trade1 = mockTrade("1", 1000);
+        Trade trade2 = mockTrade("2", 2000);
+        Tradable canceledOffer = mock(Tradable.class);
+        when(canceledOffer.getId()).thenReturn("3");
+        when(canceledOffer.getDate()).thenReturn(new Date(3000));
+
+        closedTradableIndex.setAll(List.of(trade1, trade2, canceledOffer));
+
+        assertSame(trade2, closedTradableIndex.get("2").orElseThrow());
+        assertEquals(2, closedTradableIndex.getNumClosedTrades(PEER));
+
+        closedTradableIndex.remove(trade1, List.of(trade2, canceledOffer));
+        assertFalse(closedTradableIndex.get("1").isPresent());
+        assertEquals(1, closedTradableIndex.getNumClosedTrades(PEER));
+        assertEquals(List.of(canceledOffer, trade2), getByDateRange(closedTradableIndex, 0, 5000));
+    }
+
+    @Test
+    public void testGetByDateRange() {
+        ClosedTradableIndex closedTradableIndex = new ClosedTradableIndex();
+        Trade trade1 = mockTrade("1", 1000);
+        Trade trade2 = mockTrade("2", 2000);
+        Trade trade3 = mockTrade("3", 2000);
+        Trade trade4 = mockTrade("4", 3000);
+        closedTradableIndex.setAll(List.of(trade4, trade1, trade3, trade2));
+
+        // Most recent first, same dates sorted by id, both bounds inclusive
+        assertEquals(List.of(trade4, trade2, trade3, trade1), getByDateRange(closedTradableIndex, 0, Long.MAX_VALUE));
+        assertEquals(List.of(trade2, trade3), getByDateRange(closedTradableIndex, 2000, 2000));
+        assertEquals(List.of(trade4, trade2, trade3), getByDateRange(closedTradableIndex, 1001, 3000));
+        assertTrue(getByDateRange(closedTradableIndex, 3000, 1000).isEmpty());
+    }
+
+    @Test
+    public void testDuplicateIdFallsBackToRemaining() {
+        ClosedTradableIndex closedTradableIndex = new ClosedTradableIndex();
+        Trade trade = mockTrade("1", 1000);
+        Trade duplicate = mockTrade("1", 2000);
+        closedTradableIndex.setAll(List.of(trade, duplicate));
+        assertSame(trade, closedTradableIndex.get("1").orElseThrow());
+
+        closedTradableIndex.remove(trade, List.of(duplicate));
+        assertSame(duplicate, closedTradableIndex.get("1").orElseThrow());
+    }
+
+    private static Trade mockTrade(String id, long date) {
+        Trade trade = mock(Trade.class);
+        when(trade.getId()).thenReturn(id);
+        when(trade.getDate()).thenReturn(new Date(date));
+        when(trade.getTradingPeerNodeAddress()).thenReturn(PEER);
+        return trade;
+    }
+
+    private static List<Tradable> getByDateRange(ClosedTradableIndex closedTradableIndex, long fromDate, long toDate) {
+        return closedTradableIndex.getByDateRange(new Date(fromDate), new Date(toDate))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.core.payment.payload.PaymentMethod;
+import bisq.core.trade.statistics.TradeStatisticsAggregates.Candle;
+import bisq.core.trade.statistics.TradeStatisticsAggregates.Interval;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.NavigableMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TradeStatisticsAggregatesTest {
+    private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+
+    @Test
+    public void testCandlesOfTradesAddedOutOfOrder() {
+        TradeStatisticsAggregates aggregates = new TradeStatisticsAggregates();
+        aggregates.add(createTradeStatistics("2023-03-15T10:30:00", 200000000L, 1000000L));
+        aggregates.add(createTradeStatistics("2023-03-15T09:10:00", 210000000L, 2000000L));
+        aggregates.add(createTradeStatistics("2023-03-15T10:50:00", 190000000L, 3000000L));
+
+        NavigableMap<Long, Candle> dayCandles = aggregates.getCandles("EUR", Interval.DAY);
+        assertEquals(1, dayCandles.size());
+        Candle dayCandle = dayCandles.firstEntry().getValue();
+        assertEquals(toMillis("2023-03-15T00:00:00"), dayCandle.getStartTime());
+        assertEquals(210000000L, dayCandle.getOpen());
+        assertEquals(190000000L, dayCandle.getClose());
+        assertEquals(210000000L, dayCandle.getHigh());
+        assertEquals(190000000L, dayCandle.getLow());
+        assertEquals(6000000L, dayCandle.getAmount());
+        assertEquals(3, dayCandle.getNumTrades());
+
+        NavigableMap<Long, Candle> hourCandles = aggregates.getCandles("EUR", Interval.HOUR);
+        assertEquals(2, hourCandles.size());
+        assertEquals(1, hourCandles.get(toMillis("2023-03-15T09:00:00")).getNumTrades());
+        assertEquals(2, hourCandles.get(toMillis("2023-03-15T10:00:00")).getNumTrades());
+
+        assertEquals(toMillis("2023-03-01T00:00:00"), aggregates.getCandles("EUR", Interval.MONTH).firstKey());
+        assertTrue(aggregates.getCandles("USD", Interval.DAY).isEmpty());
+    }
+
+    @Test
+    public void testWeekStartsOnMonday() {
+        long startTime = Interval.WEEK.getStartTime(LocalDateTime.parse("2023-03-19T23:59:00"));
+        LocalDateTime start = Instant.ofEpochMilli(startTime).atZone(ZONE_ID).toLocalDateTime();
+        assertEquals(DayOfWeek.MONDAY, start.getDayOfWeek());
+        assertEquals(LocalDateTime.parse("2023-03-13T00:00:00"), start);
+    }
+
+    private static TradeStatistics3 createTradeStatistics(String dateTime, long price, long amount) {
+        return new TradeStatistics3("EUR",
+                price,
+                amount,
+                PaymentMethod.SEPA_ID,
+                toMillis(dateTime),
+                null,
+                null,
+                null,
+                null);
+    }
+
+    private static long toMillis(String dateTime) {
+        return LocalDateTime.parse(dateTime).atZone(ZONE_ID).toInstant().toEpochMilli();
+    }
+}
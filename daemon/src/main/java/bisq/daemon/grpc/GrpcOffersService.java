@@ -45,6 +45,8 @@ import bisq.proto.grpc.GetOfferReply;
 import bisq.proto.grpc.GetOfferRequest;
 import bisq.proto.grpc.GetOffersReply;
 import bisq.proto.grpc.GetOffersRequest;
+import bisq.proto.grpc.OfferEvent;
+import bisq.proto.grpc.SubscribeOffersRequest;
 
 import io.grpc.ServerInterceptor;
 import io.grpc.stub.StreamObserver;
@@ -211,6 +213,16 @@ class GrpcOffersService extends OffersImplBase {
         }
     }
 
+    @Override
+    public void subscribeOffers(SubscribeOffersRequest req,
+                                StreamObserver<OfferEvent> responseObserver) {
+        var streamSubscriber = new GrpcStreamSubscriber<>(responseObserver, exceptionHandler, log);
+        streamSubscriber.subscribe(() -> coreApi.subscribeToOffers(req.getDirection(),
+                req.getCurrencyCode(),
+                streamSubscriber.toListener(offer -> buildOfferEvent(OfferEvent.EventType.ADDED, offer)),
+                streamSubscriber.toListener(offer -> buildOfferEvent(OfferEvent.EventType.REMOVED, offer))));
+    }
+
     @Override
     public void getMyBsqSwapOffers(GetBsqSwapOffersRequest req,
                                    StreamObserver<GetMyBsqSwapOffersReply> responseObserver) {
@@ -352,6 +364,7 @@ class GrpcOffersService extends OffersImplBase {
                             put(getGetMyOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetOffersMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetMyOffersMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
+                            put(getSubscribeOffersMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getCreateOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getEditOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getCancelOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
@@ -369,4 +382,11 @@ class GrpcOffersService extends OffersImplBase {
         else
             return UNKNOWN;
     }
+
+    private OfferEvent buildOfferEvent(OfferEvent.EventType eventType, Offer offer) {
+        return OfferEvent.newBuilder()
+                .setEventType(eventType)
+                .setOffer(toOfferInfo(offer).toProtoMessage())
+                .build();
+    }
 }
@@ -48,6 +48,7 @@ import static bisq.daemon.grpc.interceptor.GrpcServiceRateMeteringConfig.getCust
 import static bisq.proto.grpc.PriceGrpc.PriceImplBase;
 import static bisq.proto.grpc.PriceGrpc.getGetAverageBsqTradePriceMethod;
 import static bisq.proto.grpc.PriceGrpc.getGetMarketPriceMethod;
+import static bisq.proto.grpc.PriceGrpc.getSubscribeMarketPriceMethod;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 
@@ -82,6 +83,14 @@ class GrpcPriceService extends PriceImplBase {
         }
     }
 
+    @Override
+    public void subscribeMarketPrice(MarketPriceRequest req,
+                                     StreamObserver<MarketPriceReply> responseObserver) {
+        var streamSubscriber = new GrpcStreamSubscriber<>(responseObserver, exceptionHandler, log);
+        streamSubscriber.subscribe(() -> coreApi.subscribeToMarketPrice(req.getCurrencyCode(),
+                streamSubscriber.toListener(price -> MarketPriceReply.newBuilder().setPrice(price).build())));
+    }
+
     @Override
     public void getAverageBsqTradePrice(GetAverageBsqTradePriceRequest req,
                                         StreamObserver<GetAverageBsqTradePriceReply> responseObserver) {
@@ -107,6 +116,7 @@ class GrpcPriceService extends PriceImplBase {
                 .or(() -> Optional.of(CallRateMeteringInterceptor.valueOf(
                         new HashMap<>() {{
                             put(getGetMarketPriceMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
+                            put(getSubscribeMarketPriceMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetAverageBsqTradePriceMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.daemon.grpc;
+
+import bisq.common.UserThread;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import org.fxmisc.easybind.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Connects a server-streaming gRPC call to a core api subscription.
+ *
+ * The core api listeners are called on the user thread, so the subscription is made on
+ * the user thread as well, and all messages are sent to the client from there.  When the
+ * client cancels the call (or the connection is lost), the core api subscription gets
+ * unsubscribed, again on the user thread.
+ *
+ * Messages are only sent while the transport is ready for them. Otherwise they are queued
+ * until the client has read the previous messages.  If the client falls too far behind,
+ * the stream ends with RESOURCE_EXHAUSTED, as dropping single messages would leave the
+ * client with an inconsistent state.  The client can subscribe again to get a new snapshot.
+ *
+ * Exceptions thrown while creating or sending a message must not reach the core api
+ * listeners, as the other listeners would be skipped.  They end the stream with the error,
+ * and the core api subscription gets unsubscribed.
+ *
+ * A unique instance should be used for a single gRPC call.
+ */
+class GrpcStreamSubscriber<T> {
+
+    private static final int MAX_PENDING_MESSAGES = 1000;
+
+    private final ServerCallStreamObserver<T> responseObserver;
+    private final GrpcExceptionHandler exceptionHandler;
+    private final Logger log;
+
+    // Only accessed on the user thread
+    private Subscription subscription;
+    private boolean isClosed;
+    private final Queue<T> pendingMessages = new ArrayDeque<>();
+
+    GrpcStreamSubscriber(StreamObserver<T> responseObserver,
+                         GrpcExceptionHandler exceptionHandler,
+                         Logger log) {
+        this.responseObserver = (ServerCallStreamObserver<T>) responseObserver;
+        this.exceptionHandler = exceptionHandler;
+        this.log = log;
+    }
+
+    /**
+     * Must be called from the gRPC service method, as the cancel and ready handlers can only
+     * be set before the method returns.
+     */
+    void subscribe(Supplier<Subscription> subscriber) {
+        responseObserver.setOnCancelHandler(() -> UserThread.execute(this::close));
+        responseObserver.setOnReadyHandler(() -> UserThread.execute(this::sendPendingMessages));
+        UserThread.execute(() -> {
+            if (isClosed || responseObserver.isCancelled())
+                return;
+
+            try {
+                Subscription subscription = subscriber.get();
+                if (isClosed)
+                    subscription.unsubscribe();
+                else
+                    this.subscription = subscription;
+            } catch (Throwable cause) {
+                onError(cause);
+            }
+        });
+    }
+
+    /**
+     * Returns a listener for the core api subscription, which sends the message created
+     * from each event to the client.  If creating or sending the message fails, the stream
+     * ends with the error.
+     */
+    <E> Consumer<E> toListener(Function<E, T> messageFactory) {
+        return event -> {
+            try {
+                onNext(messageFactory.apply(event));
+            } catch (Throwable cause) {
+                onError(cause);
+            }
+        };
+    }
+
+    void onNext(T value) {
+        if (isClosed)
+            return;
+
+        pendingMessages.add(value);
+        if (pendingMessages.size() > MAX_PENDING_MESSAGES) {
+            log.warn("Client does not read the stream. We end the stream after {} pending messages.",
+                    pendingMessages.size());
+            close();
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                    .withDescription("client does not keep up with the stream, subscribe again")
+                    .asRuntimeException());
+            return;
+        }
+        sendPendingMessages();
+    }
+
+    /**
+     * Sends the error to the client and ends the stream.
+     */
+    void onError(Throwable cause) {
+        if (!isClosed) {
+            close();
+            try {
+                exceptionHandler.handleException(log, cause, responseObserver);
+            } catch (Throwable t) {
+                // The call might have been cancelled already
+                log.warn("Could not send error to the client: {}", t.toString());
+            }
+        }
+    }
+
+    private void sendPendingMessages() {
+        while (!isClosed && !pendingMessages.isEmpty() && responseObserver.isReady())
+            responseObserver.onNext(pendingMessages.poll());
+    }
+
+    private void close() {
+        isClosed = true;
+        pendingMessages.clear();
+        if (subscription != null) {
+            subscription.unsubscribe();
+            subscription = null;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import bisq.proto.grpc.GetTradeReply;
 import bisq.proto.grpc.GetTradeRequest;
 import bisq.proto.grpc.GetTradesReply;
 import bisq.proto.grpc.GetTradesRequest;
+import bisq.proto.grpc.SubscribeTradesRequest;
 import bisq.proto.grpc.TakeOfferReply;
 import bisq.proto.grpc.TakeOfferRequest;
 import bisq.proto.grpc.UnFailTradeReply;
@@ -158,10 +159,19 @@ class GrpcTradesService extends TradesImplBase {
                           StreamObserver<GetTradesReply> responseObserver) {
         try {
             var category = req.getCategory();
-            var trades = category.equals(OPEN)
-                    ? coreApi.getOpenTrades()
-                    : coreApi.getTradeHistory(category);
-            var reply = buildGetTradesReply(trades, category);
+            var isPagedClosedTrades = category.equals(CLOSED) && req.getLimit() > 0;
+            List<TradeModel> trades;
+            if (category.equals(OPEN)) {
+                trades = coreApi.getOpenTrades();
+            } else if (isPagedClosedTrades) {
+                trades = coreApi.getClosedTrades(req.getFromDate(),
+                        req.getToDate() == 0 ? Long.MAX_VALUE : req.getToDate(),
+                        req.getOffset(),
+                        req.getLimit());
+            } else {
+                trades = coreApi.getTradeHistory(category);
+            }
+            var reply = buildGetTradesReply(trades, category, !isPagedClosedTrades);
             responseObserver.onNext(reply);
             responseObserver.onCompleted();
         } catch (IllegalArgumentException cause) {
@@ -171,6 +181,14 @@ class GrpcTradesService extends TradesImplBase {
         }
     }
 
+    @Override
+    public void subscribeTrades(SubscribeTradesRequest req,
+                                StreamObserver<GetTradeReply> responseObserver) {
+        var streamSubscriber = new GrpcStreamSubscriber<>(responseObserver, exceptionHandler, log);
+        streamSubscriber.subscribe(() -> coreApi.subscribeToTradeChanges(
+                streamSubscriber.toListener((Trade trade) -> buildGetTradeReply(trade))));
+    }
+
     @Override
     public void confirmPaymentStarted(ConfirmPaymentStartedRequest req,
                                       StreamObserver<ConfirmPaymentStartedReply> responseObserver) {
@@ -274,6 +292,7 @@ class GrpcTradesService extends TradesImplBase {
                         new HashMap<>() {{
                             put(getGetTradeMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetTradesMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
+                            put(getSubscribeTradesMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getTakeOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getConfirmPaymentStartedMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getConfirmPaymentReceivedMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
@@ -329,7 +348,9 @@ class GrpcTradesService extends TradesImplBase {
     }
 
 
-    private GetTradesReply buildGetTradesReply(List<TradeModel> trades, GetTradesRequest.Category category) {
+    private GetTradesReply buildGetTradesReply(List<TradeModel> trades,
+                                               GetTradesRequest.Category category,
+                                               boolean includeCanceledOpenOffers) {
         // Build an unsorted List<TradeInfo>, starting with
         // all pending, or all completed BsqSwap and v1 trades.
         List<TradeInfo> unsortedTrades = trades.stream()
@@ -349,9 +370,9 @@ class GrpcTradesService extends TradesImplBase {
                 })
                 .collect(Collectors.toList());
 
-        // If closed trades were requested, add any canceled
+        // If all closed trades were requested, add any canceled
         // OpenOffers (canceled trades) to the unsorted List<TradeInfo>.
-        Optional<List<OpenOffer>> canceledOpenOffers = category.equals(CLOSED)
+        Optional<List<OpenOffer>> canceledOpenOffers = category.equals(CLOSED) && includeCanceledOpenOffers
                 ? Optional.of(coreApi.getCanceledOpenOffers())
                 : Optional.empty();
         List<TradeInfo> canceledTrades = new ArrayList<>();
@@ -73,6 +73,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -143,6 +144,30 @@ class GrpcWalletsService extends WalletsImplBase {
         }
     }
 
+    @Override
+    public void subscribeBalances(GetBalancesRequest req, StreamObserver<GetBalancesReply> responseObserver) {
+        var streamSubscriber = new GrpcStreamSubscriber<>(responseObserver, exceptionHandler, log);
+        // Several balance listeners fire for a single wallet change, so only different balances are sent.
+        AtomicReference<GetBalancesReply> lastReply = new AtomicReference<>();
+        Runnable sendBalances = () -> {
+            try {
+                var balances = coreApi.getBalances(req.getCurrencyCode());
+                var reply = GetBalancesReply.newBuilder()
+                        .setBalances(balances.toProtoMessage())
+                        .build();
+                if (!reply.equals(lastReply.getAndSet(reply)))
+                    streamSubscriber.onNext(reply);
+            } catch (Throwable cause) {
+                streamSubscriber.onError(cause);
+            }
+        };
+        streamSubscriber.subscribe(() -> {
+            var subscription = coreApi.subscribeToBalanceChanges(sendBalances);
+            sendBalances.run();
+            return subscription;
+        });
+    }
+
     @Override
     public void getAddressBalance(GetAddressBalanceRequest req,
                                   StreamObserver<GetAddressBalanceReply> responseObserver) {
@@ -420,6 +445,7 @@ class GrpcWalletsService extends WalletsImplBase {
                             put(getGetNetworkMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetDaoStatusMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetBalancesMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
+                            put(getSubscribeBalancesMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetAddressBalanceMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetFundingAddressesMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetUnusedBsqAddressMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
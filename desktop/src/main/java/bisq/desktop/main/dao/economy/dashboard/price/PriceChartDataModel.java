@@ -306,8 +306,7 @@ public class PriceChartDataModel extends ChartDataModel {
     }
 
     private NavigableMap<Long, Double> getOutstandingBsqByInterval() {
-        Stream<Tx> txStream = daoStateService.getBlocks().stream()
-                .flatMap(b -> b.getTxs().stream())
+        Stream<Tx> txStream = daoStateService.getUnorderedTxStream()
                 .filter(tx -> tx.getBurntBsq() > 0);
         Map<Long, Double> simpleBurns = txStream
                 .collect(Collectors.groupingBy(
@@ -354,14 +354,12 @@ public class DaoChartDataModel extends ChartDataModel {
     // TODO: Consider moving these two methods to DaoStateService:
 
     private Stream<Tx> getBurntBsqTxStream() {
-        return daoStateService.getBlocks().stream()
-                .flatMap(b -> b.getTxs().stream())
+        return daoStateService.getUnorderedTxStream()
                 .filter(tx -> tx.getBurntBsq() > 0);
     }
 
     private Stream<Tx> getTradeFeeTxStream() {
-        return daoStateService.getBlocks().stream()
-                .flatMap(b -> b.getTxs().stream())
+        return daoStateService.getUnorderedTxStream()
                 .filter(tx -> tx.getTxType() == TxType.PAY_TRADE_FEE);
     }
 
@@ -24,6 +24,8 @@ import bisq.desktop.util.DisplayUtils;
 import bisq.core.locale.CurrencyUtil;
 import bisq.core.monetary.Altcoin;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsAggregates.Candle;
+import bisq.core.trade.statistics.TradeStatisticsAggregates.Interval;
 
 import bisq.common.util.MathUtils;
 import bisq.common.util.Tuple2;
@@ -37,7 +39,6 @@ import javafx.scene.chart.XYChart;
 
 import javafx.util.Pair;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
@@ -49,6 +50,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -58,6 +60,8 @@ import java.util.stream.IntStream;
 
 import lombok.Getter;
 
+import javax.annotation.Nullable;
+
 import static bisq.desktop.main.market.trades.TradesChartsViewModel.MAX_TICKS;
 
 public class ChartCalculations {
@@ -69,29 +73,45 @@ public class ChartCalculations {
     // Async
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    static CompletableFuture<Map<TickUnit, Map<Long, Long>>> getUsdAveragePriceMapsPerTickUnit(NavigableSet<TradeStatistics3> sortedTradeStatisticsSet) {
+    static CompletableFuture<Map<TickUnit, Map<Long, Long>>> getUsdAveragePriceMapsPerTickUnit(NavigableSet<TradeStatistics3> sortedTradeStatisticsSet,
+                                                                                               Map<Interval, NavigableMap<Long, Candle>> usdCandlesByInterval) {
         return CompletableFuture.supplyAsync(() -> {
             Map<TickUnit, Map<Long, PriceAccumulator>> priceAccumulatorMapsPerTickUnit = new HashMap<>();
             for (TickUnit tick : TickUnit.values()) {
                 priceAccumulatorMapsPerTickUnit.put(tick, new HashMap<>());
             }
 
-            // Stream the trade statistics in reverse chronological order
-            TickUnit[] tickUnits = TickUnit.values();
-            sortedTradeStatisticsSet.descendingSet().stream()
-                    .filter(e -> e.getCurrency().equals("USD"))
-                    .forEach(tradeStatistics -> {
-                        for (TickUnit tickUnit : tickUnits) {
-                            Map<Long, PriceAccumulator> map = priceAccumulatorMapsPerTickUnit.get(tickUnit);
-                            if (map.size() > MAX_TICKS) {
-                                // No more prices are needed once more than MAX_TICKS candles have been spanned
-                                // (and tick size is decreasing so we may break out of the whole loop)
-                                break;
-                            }
-                            long time = roundToTick(tradeStatistics.getLocalDateTime(), tickUnit).getTime();
-                            map.computeIfAbsent(time, t -> new PriceAccumulator()).add(tradeStatistics);
-                        }
-                    });
+            // We use the pre-aggregated candles for the tick units which have a matching interval. The YEAR ticks
+            // are derived from the MONTH candles.
+            for (TickUnit tickUnit : TickUnit.values()) {
+                Interval interval = toInterval(tickUnit);
+                if (interval == null) {
+                    continue;
+                }
+                Map<Long, PriceAccumulator> map = priceAccumulatorMapsPerTickUnit.get(tickUnit);
+                usdCandlesByInterval.get(interval).descendingMap().values().stream()
+                        .limit(MAX_TICKS + 1)
+                        .forEach(candle -> map.put(candle.getStartTime(), new PriceAccumulator().add(candle)));
+            }
+            Map<Long, PriceAccumulator> yearMap = priceAccumulatorMapsPerTickUnit.get(TickUnit.YEAR);
+            usdCandlesByInterval.get(Interval.MONTH).values().forEach(candle -> {
+                long time = roundToTick(new Date(candle.getStartTime()), TickUnit.YEAR).getTime();
+                yearMap.computeIfAbsent(time, t -> new PriceAccumulator()).add(candle);
+            });
+
+            // For the MINUTE_10 ticks we only need the most recent trades
+            Map<Long, PriceAccumulator> minuteMap = priceAccumulatorMapsPerTickUnit.get(TickUnit.MINUTE_10);
+            for (TradeStatistics3 tradeStatistics : sortedTradeStatisticsSet.descendingSet()) {
+                if (!tradeStatistics.getCurrency().equals("USD")) {
+                    continue;
+                }
+                if (minuteMap.size() > MAX_TICKS) {
+                    // No more prices are needed once more than MAX_TICKS candles have been spanned
+                    break;
+                }
+                long time = roundToTick(tradeStatistics.getLocalDateTime(), TickUnit.MINUTE_10).getTime();
+                minuteMap.computeIfAbsent(time, t -> new PriceAccumulator()).add(tradeStatistics);
+            }
 
             Map<TickUnit, Map<Long, Long>> usdAveragePriceMapsPerTickUnit = new HashMap<>();
             priceAccumulatorMapsPerTickUnit.forEach((tickUnit, map) -> {
@@ -222,15 +242,13 @@ public class ChartCalculations {
             case YEAR:
                 return localDateTime.withMonth(1).withDayOfYear(1).toLocalDate().atStartOfDay();
             case MONTH:
-                return localDateTime.withDayOfMonth(1).toLocalDate().atStartOfDay();
+                return Interval.MONTH.roundDown(localDateTime);
             case WEEK:
-                int dayOfWeek = localDateTime.getDayOfWeek().getValue();
-                LocalDate firstDayOfWeek = localDateTime.toLocalDate().minusDays(dayOfWeek - 1);
-                return firstDayOfWeek.atStartOfDay();
+                return Interval.WEEK.roundDown(localDateTime);
             case DAY:
-                return localDateTime.toLocalDate().atStartOfDay();
+                return Interval.DAY.roundDown(localDateTime);
             case HOUR:
-                return localDateTime.withMinute(0).withSecond(0).withNano(0);
+                return Interval.HOUR.roundDown(localDateTime);
             case MINUTE_10:
                 return localDateTime.withMinute(localDateTime.getMinute() - localDateTime.getMinute() % 10).withSecond(0).withNano(0);
             default:
@@ -319,6 +337,22 @@ public class ChartCalculations {
                 numTrades, isBullish, dateString, volumeInUsd);
     }
 
+    @Nullable
+    private static Interval toInterval(TickUnit tickUnit) {
+        switch (tickUnit) {
+            case MONTH:
+                return Interval.MONTH;
+            case WEEK:
+                return Interval.WEEK;
+            case DAY:
+                return Interval.DAY;
+            case HOUR:
+                return Interval.HOUR;
+            default:
+                return null;
+        }
+    }
+
     static long getTimeFromTickIndex(int tickIndex, List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval) {
         if (tickIndex < 0 || tickIndex >= itemsPerInterval.size()) {
             return 0;
@@ -335,6 +369,12 @@ public class ChartCalculations {
             accumulatedVolume += tradeStatistics.getTradeVolume().getValue();
         }
 
+        PriceAccumulator add(Candle candle) {
+            accumulatedAmount += candle.getAmount();
+            accumulatedVolume += candle.getVolume();
+            return this;
+        }
+
         long getAveragePrice() {
             double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
             return MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
@@ -115,6 +115,11 @@ class BsqSwapCreateOfferDataModel extends BsqSwapOfferDataModel {
                 });
     }
 
+    // If the create offer screen gets closed while the proof of work is minted we do not need the offer anymore
+    void cancelProofOfWork() {
+        openBsqSwapOfferService.cancelProofOfWork(getOfferId());
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // UI actions
@@ -256,6 +256,12 @@ public class BsqSwapCreateOfferView extends BsqSwapOfferView<BsqSwapCreateOfferV
         close();
     }
 
+    @Override
+    protected void close() {
+        model.dataModel.cancelProofOfWork();
+        super.close();
+    }
+
     private void onPaymentAccountsComboBoxSelected() {
         PaymentAccount paymentAccount = paymentAccountsComboBox.getSelectionModel().getSelectedItem();
         // We have represented BSQ swaps as payment method and switch to a new view if a non BSQ swap account is selected
@@ -25,6 +25,8 @@ import bisq.core.offer.OfferRestrictions;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.utils.Utils;
 
+import bisq.common.UserThread;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -32,9 +34,12 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -53,6 +58,12 @@ import static bisq.core.offer.OfferDirection.BUY;
 public class OfferBook {
     private final OfferBookService offerBookService;
     private final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
+    // Items by offer id as they will be after the pending changes got applied to offerBookListItems
+    private final Map<String, OfferBookListItem> offerBookListItemsByOfferId = new LinkedHashMap<>();
+    // OfferBookListItem does not override equals, so the sets are identity based
+    private final Set<OfferBookListItem> pendingAdditions = new LinkedHashSet<>();
+    private final Set<OfferBookListItem> pendingRemovals = new HashSet<>();
+    private boolean flushScheduled;
     private final Map<String, Integer> buyOfferCountMap = new HashMap<>();
     private final Map<String, Integer> sellOfferCountMap = new HashMap<>();
     private final FilterManager filterManager;
@@ -70,7 +81,6 @@ public class OfferBook {
         offerBookService.addOfferBookChangedListener(new OfferBookService.OfferBookChangedListener() {
             @Override
             public void onAdded(Offer offer) {
-                printOfferBookListItems("Before onAdded");
                 // We get onAdded called every time a new ProtectedStorageEntry is received.
                 // Mostly it is the same OfferPayload but the ProtectedStorageEntry is different.
                 // We filter here to only add new offers if the same offer (using equals) was not already added and it
@@ -94,28 +104,39 @@ public class OfferBook {
                 // Use offer.equals(offer) to see if the OfferBook list contains an exact
                 // match -- offer.equals(offer) includes comparisons of payload, state
                 // and errorMessage.
-                boolean hasSameOffer = offerBookListItems.stream().anyMatch(item -> item.getOffer().equals(offer));
-                if (!hasSameOffer) {
-                    OfferBookListItem newOfferBookListItem = new OfferBookListItem(offer);
-                    removeDuplicateItem(newOfferBookListItem);
-                    offerBookListItems.add(newOfferBookListItem);  // Add replacement.
+                OfferBookListItem existingItem = offerBookListItemsByOfferId.get(offer.getId());
+                if (existingItem != null && existingItem.getOffer().equals(offer)) {
+                    log.debug("We have the exact same offer already in our list and ignore the onAdded call. ID={}", offer.getId());
+                    return;
+                }
+
+                OfferBookListItem newOfferBookListItem = new OfferBookListItem(offer);
+                if (existingItem != null) {
+                    // We need to remove any view item with a matching offerId before
+                    // a newOfferBookListItem is added to the view.
+                    queueRemoval(existingItem);
                     if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
-                        log.debug("onAdded: Added new offer {}\n"
-                                        + "\twith newItem.payloadHash: {}",
+                        log.debug("onAdded: Removed old offer {}\n"
+                                        + "\twith payload hash {} from list.\n"
+                                        + "\tThis may make a subsequent onRemoved( {} ) call redundant.",
                                 offer.getId(),
-                                newOfferBookListItem.hashOfPayload.getHex());
+                                existingItem.getHashOfPayload().getHex(),
+                                existingItem.getOffer().getId());
                     }
-                } else {
-                    log.debug("We have the exact same offer already in our list and ignore the onAdded call. ID={}", offer.getId());
                 }
-                printOfferBookListItems("After onAdded");
+                offerBookListItemsByOfferId.put(offer.getId(), newOfferBookListItem);
+                queueAddition(newOfferBookListItem);  // Add replacement.
+                if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
+                    log.debug("onAdded: Added new offer {}\n"
+                                    + "\twith newItem.payloadHash: {}",
+                            offer.getId(),
+                            newOfferBookListItem.hashOfPayload.getHex());
+                }
             }
 
             @Override
             public void onRemoved(Offer offer) {
-                printOfferBookListItems("Before onRemoved");
                 removeOffer(offer);
-                printOfferBookListItems("After onRemoved");
             }
         });
 
@@ -127,30 +148,13 @@ public class OfferBook {
     }
 
     private void onProofOfWorkDifficultyChanged() {
-        List<OfferBookListItem> toRemove = offerBookListItems.stream()
+        List<OfferBookListItem> toRemove = offerBookListItemsByOfferId.values().stream()
                 .filter(item -> item.getOffer().isBsqSwapOffer())
                 .filter(item -> !filterManager.isProofOfWorkValid(item.getOffer()))
                 .collect(Collectors.toList());
-        toRemove.forEach(offerBookListItems::remove);
-    }
-
-    private void removeDuplicateItem(OfferBookListItem newOfferBookListItem) {
-        String offerId = newOfferBookListItem.getOffer().getId();
-        // We need to remove any view items with a matching offerId before
-        // a newOfferBookListItem is added to the view.
-        List<OfferBookListItem> duplicateItems = offerBookListItems.stream()
-                .filter(item -> item.getOffer().getId().equals(offerId))
-                .collect(Collectors.toList());
-        duplicateItems.forEach(oldOfferItem -> {
-            offerBookListItems.remove(oldOfferItem);
-            if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
-                log.debug("onAdded: Removed old offer {}\n"
-                                + "\twith payload hash {} from list.\n"
-                                + "\tThis may make a subsequent onRemoved( {} ) call redundant.",
-                        offerId,
-                        oldOfferItem.getHashOfPayload().getHex(),
-                        oldOfferItem.getOffer().getId());
-            }
+        toRemove.forEach(item -> {
+            offerBookListItemsByOfferId.remove(item.getOffer().getId(), item);
+            queueRemoval(item);
         });
     }
 
@@ -168,29 +172,22 @@ public class OfferBook {
                     hashOfPayload.getHex());
         }
 
-        // Find the removal candidate in the OfferBook list with matching offerId and payload-hash.
-        Optional<OfferBookListItem> candidateWithMatchingPayloadHash = offerBookListItems.stream()
-                .filter(item -> item.getOffer().getId().equals(offer.getId())
-                        && item.hashOfPayload.equals(hashOfPayload))
-                .findAny();
-
-        if (!candidateWithMatchingPayloadHash.isPresent()) {
+        OfferBookListItem candidate = offerBookListItemsByOfferId.get(offer.getId());
+        if (candidate == null) {
             if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
-                log.debug("UI view list does not contain offer with id {} and payload-hash {}",
-                        offer.getId(),
-                        hashOfPayload.getHex());
+                log.debug("UI view list does not contain offer with id {}", offer.getId());
             }
             return;
         }
 
-        OfferBookListItem candidate = candidateWithMatchingPayloadHash.get();
         // Remove the candidate only if the candidate's offer payload the hash matches the
         // onRemoved hashOfPayload parameter.  We may receive add/remove messages out of
         // order from the API's 'editoffer' method, and use the offer payload hash to
         // ensure we do not remove an edited offer immediately after it was added.
         if (candidate.getHashOfPayload().equals(hashOfPayload)) {
             // The payload-hash test passed, remove the candidate and print reason.
-            offerBookListItems.remove(candidate);
+            offerBookListItemsByOfferId.remove(offer.getId());
+            queueRemoval(candidate);
 
             if (log.isDebugEnabled()) {  // TODO delete debug stmt in future PR.
                 log.debug("Candidate.payload-hash: {} == onRemoved.payload-hash: {} ?"
@@ -218,12 +215,16 @@ public class OfferBook {
         try {
             // setAll causes sometimes an UnsupportedOperationException
             // Investigate why....
-            offerBookListItems.clear();
-            offerBookListItems.addAll(offerBookService.getOffers().stream()
+            pendingAdditions.clear();
+            pendingRemovals.clear();
+            offerBookListItemsByOfferId.clear();
+            offerBookService.getOffers().stream()
                     .filter(this::isOfferAllowed)
                     .filter(offer -> !offer.isBsqSwapOffer() || filterManager.isProofOfWorkValid(offer))
                     .map(OfferBookListItem::new)
-                    .collect(Collectors.toList()));
+                    .forEach(item -> offerBookListItemsByOfferId.put(item.getOffer().getId(), item));
+            offerBookListItems.clear();
+            offerBookListItems.addAll(offerBookListItemsByOfferId.values());
 
             log.debug("offerBookListItems.size {}", offerBookListItems.size());
             fillOfferCountMaps();
@@ -254,6 +255,46 @@ public class OfferBook {
         return sellOfferCountMap;
     }
 
+    private void queueAddition(OfferBookListItem item) {
+        pendingAdditions.add(item);
+        scheduleFlush();
+    }
+
+    private void queueRemoval(OfferBookListItem item) {
+        // An item added and removed again before the next flush never reaches the list
+        if (!pendingAdditions.remove(item)) {
+            pendingRemovals.add(item);
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            UserThread.execute(this::flushPendingChanges);
+        }
+    }
+
+    // Applies all changes received since the last flush as one removal and one addition, so that the filtered and
+    // sorted lists of the views get re-evaluated once per burst and not once per offer.
+    private void flushPendingChanges() {
+        flushScheduled = false;
+        if (pendingRemovals.isEmpty() && pendingAdditions.isEmpty()) {
+            return;
+        }
+
+        printOfferBookListItems("Before flushPendingChanges");
+        if (!pendingRemovals.isEmpty()) {
+            offerBookListItems.removeAll(pendingRemovals);
+            pendingRemovals.clear();
+        }
+        if (!pendingAdditions.isEmpty()) {
+            offerBookListItems.addAll(pendingAdditions);
+            pendingAdditions.clear();
+        }
+        printOfferBookListItems("After flushPendingChanges");
+    }
+
     private boolean isOfferAllowed(Offer offer) {
         boolean isBanned = filterManager.isOfferIdBanned(offer.getId())
                 || filterManager.isNodeAddressBanned(offer.getMakerNodeAddress());
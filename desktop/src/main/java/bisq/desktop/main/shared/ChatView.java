@@ -128,6 +128,7 @@ public class ChatView extends AnchorPane {
     private ListChangeListener<ChatMessage> disputeDirectMessageListListener;
     private Subscription inputTextAreaTextSubscription;
     private final List<Attachment> tempAttachments = new ArrayList<>();
+    private int tempAttachmentsSize;
     private ChangeListener<Boolean> storedInMailboxPropertyListener, acknowledgedPropertyListener;
     private ChangeListener<String> sendMessageErrorPropertyListener;
 
@@ -538,7 +539,7 @@ public class ChatView extends AnchorPane {
     private void onRequestUpload() {
         if (!allowAttachments)
             return;
-        int totalSize = tempAttachments.stream().mapToInt(a -> a.getBytes().length).sum();
+        int totalSize = tempAttachmentsSize;
         if (tempAttachments.size() < 3) {
             FileChooser fileChooser = new FileChooser();
             int maxMsgSize = Connection.getPermittedMessageSize();
@@ -560,6 +561,7 @@ public class ChatView extends AnchorPane {
                             new Popup().warning(Res.get("support.maxSize", maxSizeInKB)).show();
                         } else {
                             tempAttachments.add(new Attachment(result.getName(), filesAsBytes));
+                            tempAttachmentsSize = newSize;
                             inputTextArea.setText(inputTextArea.getText() + "\n[" + Res.get("support.attachment") + " " + result.getName() + "]");
                         }
                     } catch (java.io.IOException e) {
@@ -588,6 +590,7 @@ public class ChatView extends AnchorPane {
                 new Popup().warning(Res.get("support.attachmentTooLarge", (size / 1024), maxSizeInKB)).show();
             } else {
                 tempAttachments.add(new Attachment(name, filesAsBytes));
+                tempAttachmentsSize += size;
                 inputTextArea.setText(inputTextArea.getText() + "\n[" + Res.get("support.attachment") + " " + name + "]");
             }
         } catch (Exception e) {
@@ -624,8 +627,17 @@ public class ChatView extends AnchorPane {
             fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));*/
         File file = fileChooser.showSaveDialog(getScene().getWindow());
         if (file != null) {
+            byte[] bytes;
+            try {
+                // Might fail if the attachment got removed from the attachment store
+                bytes = attachment.getBytes();
+            } catch (IOException e) {
+                log.error("Could not read attachment {}", attachment.getFileName(), e);
+                new Popup().warning(e.getMessage()).show();
+                return;
+            }
             try (FileOutputStream fileOutputStream = new FileOutputStream(file.getAbsolutePath())) {
-                fileOutputStream.write(attachment.getBytes());
+                fileOutputStream.write(bytes);
             } catch (IOException e) {
                 e.printStackTrace();
                 System.out.println(e.getMessage());
@@ -642,6 +654,7 @@ public class ChatView extends AnchorPane {
 
         chatMessage = sendDisputeDirectMessage(inputText, new ArrayList<>(tempAttachments));
         tempAttachments.clear();
+        tempAttachmentsSize = 0;
         scrollToBottom();
 
         inputTextArea.setDisable(true);
@@ -0,0 +1,180 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import bisq.core.filter.FilterManager;
+import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
+
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.UserThread;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import javafx.beans.property.SimpleObjectProperty;
+
+import javafx.collections.ListChangeListener;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OfferBookTest {
+    private static final NodeAddress MAKER_NODE_ADDRESS =
+            new NodeAddress("a".repeat(56) + ".onion", 9999);
+
+    // The tasks executed on the user thread, run by the tests to simulate the next frame
+    private final List<Runnable> userThreadTasks = new ArrayList<>();
+    private OfferBookService offerBookService;
+    private OfferBook offerBook;
+    private OfferBookService.OfferBookChangedListener offerBookChangedListener;
+
+    @BeforeEach
+    public void setUp() {
+        UserThread.setExecutor(userThreadTasks::add);
+
+        offerBookService = mock(OfferBookService.class);
+        FilterManager filterManager = mock(FilterManager.class);
+        when(filterManager.filterProperty()).thenReturn(new SimpleObjectProperty<>());
+        offerBook = new OfferBook(offerBookService, filterManager);
+
+        ArgumentCaptor<OfferBookService.OfferBookChangedListener> captor =
+                ArgumentCaptor.forClass(OfferBookService.OfferBookChangedListener.class);
+        verify(offerBookService).addOfferBookChangedListener(captor.capture());
+        offerBookChangedListener = captor.getValue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        UserThread.setExecutor(MoreExecutors.directExecutor());
+    }
+
+    @Test
+    public void testOfferAddedAndRemovedBeforeFlushNeverReachesList() {
+        AtomicInteger numChanges = new AtomicInteger();
+        offerBook.getOfferBookListItems().addListener((ListChangeListener<OfferBookListItem>) c ->
+                numChanges.incrementAndGet());
+
+        Offer offer = createOffer("id1", "hash1");
+        offerBookChangedListener.onAdded(offer);
+        offerBookChangedListener.onRemoved(offer);
+        runUserThreadTasks();
+
+        assertTrue(offerBook.getOfferBookListItems().isEmpty());
+        assertEquals(0, numChanges.get());
+    }
+
+    @Test
+    public void testEditedOfferReplacesOldItemInOneFlush() {
+        Offer offer = createOffer("id1", "hash1");
+        offerBookChangedListener.onAdded(offer);
+        offerBookChangedListener.onAdded(createOffer("id2", "hash2"));
+        runUserThreadTasks();
+        assertEquals(2, offerBook.getOfferBookListItems().size());
+
+        Offer editedOffer = createOffer("id1", "hash1-edited");
+        offerBookChangedListener.onAdded(editedOffer);
+        offerBookChangedListener.onRemoved(offer);
+        // Both changes get applied by the same flush
+        assertEquals(1, userThreadTasks.size());
+        runUserThreadTasks();
+
+        assertEquals(2, offerBook.getOfferBookListItems().size());
+        assertSame(editedOffer, findItem("id1").getOffer());
+    }
+
+    @Test
+    public void testRemovalWithOutdatedPayloadHashKeepsNewerItem() {
+        Offer offer = createOffer("id1", "hash1");
+        offerBookChangedListener.onAdded(offer);
+        runUserThreadTasks();
+
+        // The API's editoffer can cause the removal of the old offer to arrive after the edited offer got added
+        Offer editedOffer = createOffer("id1", "hash1-edited");
+        offerBookChangedListener.onAdded(editedOffer);
+        runUserThreadTasks();
+        offerBookChangedListener.onRemoved(offer);
+        runUserThreadTasks();
+
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        assertSame(editedOffer, findItem("id1").getOffer());
+
+        // The removal of the edited offer removes the item
+        offerBookChangedListener.onRemoved(editedOffer);
+        runUserThreadTasks();
+        assertTrue(offerBook.getOfferBookListItems().isEmpty());
+    }
+
+    @Test
+    public void testFillOfferBookListItemsDropsPendingChanges() {
+        Offer removedOffer = createOffer("id1", "hash1");
+        offerBookChangedListener.onAdded(removedOffer);
+        runUserThreadTasks();
+
+        Offer offer = createOffer("id2", "hash2");
+        when(offerBookService.getOffers()).thenReturn(List.of(offer));
+        offerBookChangedListener.onAdded(createOffer("id3", "hash3"));
+        offerBookChangedListener.onRemoved(removedOffer);
+
+        offerBook.fillOfferBookListItems();
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        assertSame(offer, offerBook.getOfferBookListItems().get(0).getOffer());
+
+        // The flush scheduled before has nothing left to apply
+        runUserThreadTasks();
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        assertSame(offer, offerBook.getOfferBookListItems().get(0).getOffer());
+    }
+
+    private void runUserThreadTasks() {
+        List<Runnable> tasks = new ArrayList<>(userThreadTasks);
+        userThreadTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private OfferBookListItem findItem(String offerId) {
+        return offerBook.getOfferBookListItems().stream()
+                .filter(item -> item.getOffer().getId().equals(offerId))
+                .findAny()
+                .orElseThrow();
+    }
+
+    private static Offer createOffer(String offerId, String payload) {
+        Offer offer = mock(Offer.class);
+        when(offer.getId()).thenReturn(offerId);
+        when(offer.getOfferPayloadHash()).thenReturn(payload.getBytes(StandardCharsets.UTF_8));
+        when(offer.getMakerNodeAddress()).thenReturn(MAKER_NODE_ADDRESS);
+        return offer;
+    }
+}
@@ -86,7 +86,7 @@ import static org.mockito.Mockito.when;
 public class OfferBookViewModelTest {
     private final CoinFormatter coinFormatter = new ImmutableCoinFormatter(Config.baseCurrencyNetworkParameters().getMonetaryFormat());
     private User user;
-    private final DaoStateService daoStateService = new DaoStateService(null, null, null);
+    private final DaoStateService daoStateService = new DaoStateService(null, null, null, null);
 
     @BeforeEach
     public void setUp() {
@@ -19,6 +19,8 @@ package bisq.network.p2p.mailbox;
 
 import bisq.common.proto.ProtobufferException;
 import bisq.common.proto.network.NetworkProtoResolver;
+import bisq.common.proto.persistable.JournaledPersistableEnvelope;
+import bisq.common.proto.persistable.PersistableEnvelope;
 import bisq.common.proto.persistable.PersistableList;
 
 import com.google.protobuf.Message;
@@ -26,6 +28,7 @@ import com.google.protobuf.Message;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.EqualsAndHashCode;
@@ -33,7 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @EqualsAndHashCode(callSuper = true)
-public class MailboxMessageList extends PersistableList<MailboxItem> {
+public class MailboxMessageList extends PersistableList<MailboxItem> implements JournaledPersistableEnvelope {
 
     public MailboxMessageList() {
         super();
@@ -73,4 +76,20 @@ public class MailboxMessageList extends PersistableList<MailboxItem> {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList())));
     }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // JournaledPersistableEnvelope
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void applyJournalEntry(PersistableEnvelope delta, boolean removed) {
+        List<MailboxItem> items = ((MailboxMessageList) delta).getList();
+        if (removed) {
+            Set<String> uids = items.stream().map(MailboxItem::getUid).collect(Collectors.toSet());
+            getList().removeIf(mailboxItem -> uids.contains(mailboxItem.getUid()));
+        } else {
+            items.forEach(this::add);
+        }
+    }
 }
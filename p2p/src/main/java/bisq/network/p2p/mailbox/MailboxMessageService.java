@@ -31,6 +31,7 @@ import bisq.network.p2p.peers.Broadcaster;
 import bisq.network.p2p.peers.PeerManager;
 import bisq.network.p2p.storage.HashMapChangedListener;
 import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.VerificationExecutor;
 import bisq.network.p2p.storage.messages.AddDataMessage;
 import bisq.network.p2p.storage.payload.MailboxStoragePayload;
 import bisq.network.p2p.storage.payload.ProtectedMailboxStorageEntry;
@@ -55,6 +56,7 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -66,6 +68,7 @@ import java.time.Clock;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
@@ -74,8 +77,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -112,6 +115,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 @Slf4j
 public class MailboxMessageService implements HashMapChangedListener, PersistedDataHost {
     private static final long REPUBLISH_DELAY_SEC = TimeUnit.MINUTES.toSeconds(2);
+    private static final int MAX_JOURNAL_ENTRIES = 500;
+    private static final int DECRYPTION_BATCH_SIZE = 50;
 
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
@@ -152,6 +157,8 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
         this.republishMailboxEntries = republishMailboxEntries;
 
         this.persistenceManager.initialize(mailboxMessageList, PersistenceManager.Source.PRIVATE_LOW_PRIO);
+        // Adding or removing a single item would otherwise cause a rewrite of up to 60 MB
+        this.persistenceManager.enableJournal(MAX_JOURNAL_ENTRIES);
     }
 
 
@@ -425,34 +432,30 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
         }
     }
 
-    // We run the batch processing of all mailbox messages we have received at startup in a thread to not block the UI.
-    // For about 1000 messages decryption takes about 1 sec.
+    // We run the batch processing of all mailbox messages we have received at startup on a thread pool to not block
+    // the UI. Only the entries addressed to us need to get decrypted, those are processed in parallel batches.
     private void threadedBatchProcessMailboxEntries(Collection<ProtectedMailboxStorageEntry> protectedMailboxStorageEntries) {
         long ts = System.currentTimeMillis();
-        SettableFuture<Set<MailboxItem>> future = SettableFuture.create();
-
-        new Thread(() -> {
-            try {
-                var mailboxItems = getMailboxItems(protectedMailboxStorageEntries);
-                log.info("Batch processing of {} mailbox entries took {} ms",
-                        protectedMailboxStorageEntries.size(),
-                        System.currentTimeMillis() - ts);
-                future.set(mailboxItems);
-
-            } catch (Throwable throwable) {
-                future.setException(throwable);
-            }
-        }, "processMailboxEntry-" + new Random().nextInt(1000)).start();
-
-        Futures.addCallback(future, new FutureCallback<>() {
-            public void onSuccess(Set<MailboxItem> decryptedMailboxMessageWithEntries) {
-                UserThread.execute(() -> decryptedMailboxMessageWithEntries.forEach(e -> handleMailboxItem(e)));
-            }
-
-            public void onFailure(@NotNull Throwable throwable) {
-                log.error(throwable.toString());
-            }
-        }, MoreExecutors.directExecutor());
+        List<CompletableFuture<Set<MailboxItem>>> futures = Lists.partition(
+                        new ArrayList<>(protectedMailboxStorageEntries), DECRYPTION_BATCH_SIZE).stream()
+                .map(batch -> CompletableFuture.supplyAsync(() -> getMailboxItems(batch),
+                        VerificationExecutor.get()))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error(throwable.toString());
+                        return;
+                    }
+
+                    log.info("Batch processing of {} mailbox entries took {} ms",
+                            protectedMailboxStorageEntries.size(),
+                            System.currentTimeMillis() - ts);
+                    Set<MailboxItem> mailboxItems = futures.stream()
+                            .flatMap(future -> future.join().stream())
+                            .collect(Collectors.toSet());
+                    UserThread.execute(() -> mailboxItems.forEach(this::handleMailboxItem));
+                });
     }
 
     private Set<MailboxItem> getMailboxItems(Collection<ProtectedMailboxStorageEntry> protectedMailboxStorageEntries) {
@@ -473,6 +476,12 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
             // We had persisted a past failed decryption attempt on that message so we don't try again and return early
             return new MailboxItem(protectedMailboxStorageEntry, null);
         }
+        // The owner of the mailbox payload is the receiver, as only the receiver is permitted to remove it. If it is
+        // not our signature pub key the message cannot be addressed to us, so we do not need to try to decrypt it.
+        if (!Arrays.equals(protectedMailboxStorageEntry.getMailboxStoragePayload().getOwnerPubKeyBytes(),
+                keyRing.getPubKeyRing().getSignaturePubKeyBytes())) {
+            return new MailboxItem(protectedMailboxStorageEntry, null);
+        }
         try {
             DecryptedMessageWithPubKey decryptedMessageWithPubKey = encryptionService.decryptAndVerify(sealedAndSigned);
             checkArgument(decryptedMessageWithPubKey.getNetworkEnvelope() instanceof MailboxMessage);
@@ -497,7 +506,7 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
                     uid,
                     P2PDataStorage.get32ByteHashAsByteArray(mailboxItem.getProtectedMailboxStorageEntry().getProtectedStoragePayload()));
 
-            requestPersistence();
+            persistenceManager.persistDelta(new MailboxMessageList(List.of(mailboxItem)), false);
         }
 
         // In case we had the item already stored we still prefer to apply it again to the domain.
@@ -658,7 +667,7 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
                 P2PDataStorage.get32ByteHashAsByteArray(mailboxItem.getProtectedMailboxStorageEntry().getProtectedStoragePayload()),
                 mailboxItemsByUid.keySet()
         );
-        requestPersistence();
+        persistenceManager.persistDelta(new MailboxMessageList(List.of(mailboxItem)), true);
     }
 
     private void requestPersistence() {
@@ -43,10 +43,13 @@ import bisq.common.proto.network.NetworkProtoResolver;
 import bisq.common.util.SingleThreadExecutorUtils;
 import bisq.common.util.Utilities;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 
 import javax.inject.Inject;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import javafx.beans.property.ObjectProperty;
@@ -59,7 +62,6 @@ import java.net.SocketTimeoutException;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InvalidClassException;
 import java.io.OptionalDataException;
 import java.io.StreamCorruptedException;
 
@@ -69,13 +71,19 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import java.lang.ref.WeakReference;
@@ -91,6 +99,16 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Connection is created by the server thread or by sendMessage from NetworkNode.
  * All handlers are called on User thread.
+ * <p>
+ * Received messages pass a pipeline of 3 stages:
+ * <ul>
+ *     <li>The InputHandler thread of the connection reads the length prefixed frames from the socket. The size is
+ *     checked before the buffer for the frame gets allocated.</li>
+ *     <li>The frames get parsed, resolved and checked on a thread pool shared by all connections. We use a sequential
+ *     executor per connection, so the messages of a connection are processed in order.</li>
+ *     <li>The messages get dispatched to the message listeners on the UserThread. Messages which got queued in the
+ *     meantime are dispatched in the same UserThread task.</li>
+ * </ul>
  */
 @Slf4j
 public class Connection implements HasCapabilities, Runnable, MessageListener {
@@ -109,6 +127,14 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     //TODO decrease limits again after testing
     private static final int SOCKET_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(240);
     private static final int SHUTDOWN_TIMEOUT = 100;
+    // Max. number of queued messages we dispatch in one UserThread task
+    private static final int MAX_DISPATCH_BATCH_SIZE = 50;
+
+    private static class MessageProcessingExecutorHolder {
+        private static final int NUM_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private static final ExecutorService EXECUTOR = Utilities.getListeningExecutorService("MessageProcessing",
+                NUM_THREADS, NUM_THREADS, 60, new LinkedBlockingQueue<>());
+    }
 
     public static int getPermittedMessageSize() {
         return PERMITTED_MESSAGE_SIZE;
@@ -165,6 +191,15 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
 
     private final Capabilities capabilities = new Capabilities();
 
+    // Pipeline for received messages
+    private final Executor messageProcessingExecutor =
+            MoreExecutors.newSequentialExecutor(MessageProcessingExecutorHolder.EXECUTOR);
+    // Limits the bytes of frames which have been read but not processed yet
+    private final Semaphore pendingFrameBytes = new Semaphore(MAX_PERMITTED_MESSAGE_SIZE);
+    private volatile boolean inputHandlerStopped;
+    private final Queue<Runnable> userThreadDispatchQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean userThreadDispatchScheduled = new AtomicBoolean();
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -340,9 +375,9 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         capabilitiesListeners.add(new WeakReference<>(listener));
     }
 
-    private boolean violatesThrottleLimit() {
-        long now = System.currentTimeMillis();
-
+    // The read time is taken on the input handler thread, so queueing on the messageProcessingExecutor does not
+    // spread a burst of received messages over a longer period.
+    private boolean violatesThrottleLimit(long now) {
         messageTimeStamps.add(now);
 
         // clean list
@@ -397,7 +432,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         if (networkEnvelope instanceof BundleOfEnvelopes) {
             onBundleOfEnvelopes((BundleOfEnvelopes) networkEnvelope, connection);
         } else {
-            UserThread.execute(() -> messageListeners.forEach(e -> e.onMessage(networkEnvelope, connection)));
+            dispatchToUserThread(() -> messageListeners.forEach(e -> e.onMessage(networkEnvelope, connection)));
         }
     }
 
@@ -433,10 +468,36 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                 envelopesToProcess.add(networkEnvelope);
             }
         }
-        envelopesToProcess.forEach(envelope -> UserThread.execute(() ->
+        envelopesToProcess.forEach(envelope -> dispatchToUserThread(() ->
                 messageListeners.forEach(listener -> listener.onMessage(envelope, connection))));
     }
 
+    // Keeps the order of the dispatched runnables. Runnables which got queued while a dispatch task is waiting to be
+    // executed on the UserThread are run in that same task.
+    private void dispatchToUserThread(Runnable runnable) {
+        userThreadDispatchQueue.add(runnable);
+        maybeScheduleUserThreadDispatch();
+    }
+
+    private void maybeScheduleUserThreadDispatch() {
+        if (!userThreadDispatchQueue.isEmpty() && userThreadDispatchScheduled.compareAndSet(false, true)) {
+            UserThread.execute(this::runUserThreadDispatch);
+        }
+    }
+
+    private void runUserThreadDispatch() {
+        try {
+            Runnable runnable;
+            for (int i = 0; i < MAX_DISPATCH_BATCH_SIZE && (runnable = userThreadDispatchQueue.poll()) != null; i++) {
+                runnable.run();
+            }
+        } finally {
+            // If a runnable threw an exception, the remaining ones get dispatched in a new task
+            userThreadDispatchScheduled.set(false);
+            maybeScheduleUserThreadDispatch();
+        }
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Setters
@@ -698,9 +759,9 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     // InputHandler
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    // Runs in same thread as Connection, receives a message, performs several checks on it
-    // (including throttling limits, validity and statistics)
-    // and delivers it to the message listener given in the constructor.
+    // Runs in same thread as Connection, reads the frames of the messages and passes them to processFrame on the
+    // messageProcessingExecutor, which performs several checks on it (including throttling limits, validity and
+    // statistics) and delivers it to the message listener given in the constructor.
     private InputStream protoInputStream;
     private final NetworkProtoResolver networkProtoResolver;
 
@@ -711,7 +772,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     public void run() {
         try {
             Thread.currentThread().setName("InputHandler-" + Utilities.toTruncatedString(uid, 15));
-            while (!stopped && !Thread.currentThread().isInterrupted()) {
+            while (!stopped && !inputHandlerStopped && !Thread.currentThread().isInterrupted()) {
                 if (!threadNameSet && getPeersNodeAddressOptional().isPresent()) {
                     Thread.currentThread().setName("InputHandler-" + Utilities.toTruncatedString(getPeersNodeAddressOptional().get().getFullAddress(), 15));
                     threadNameSet = true;
@@ -724,37 +785,49 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         return;
                     }
 
-                    // Blocking read from the inputStream
-                    protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.parseDelimitedFrom(protoInputStream);
-
-                    long ts = System.currentTimeMillis();
-
-                    if (socket != null &&
-                            socket.isClosed()) {
-                        log.warn("Socket is null or closed socket={}", socket);
-                        shutDown(CloseConnectionReason.SOCKET_CLOSED);
-                        return;
-                    }
-
-                    if (proto == null) {
+                    // Blocking read from the inputStream. The frame is prefixed with its size as varint like written
+                    // by writeDelimitedTo.
+                    int firstByte = protoInputStream.read();
+                    if (firstByte == -1) {
                         if (stopped) {
                             return;
                         }
-                        if (protoInputStream.read() == -1) {
-                            log.warn("proto is null because protoInputStream.read()=-1 (EOF). That is expected if client got stopped without proper shutdown.");
-                        } else {
-                            log.warn("proto is null. protoInputStream.read()=" + protoInputStream.read());
-                        }
+                        log.warn("proto is null because protoInputStream.read()=-1 (EOF). That is expected if client got stopped without proper shutdown.");
                         shutDown(CloseConnectionReason.NO_PROTO_BUFFER_ENV);
                         return;
                     }
+                    int size = CodedInputStream.readRawVarint32(firstByte, protoInputStream);
+
+                    // We check the size before we allocate the buffer. The limit depending on the message type is
+                    // checked after parsing.
+                    if (size < 0 || size > MAX_PERMITTED_MESSAGE_SIZE) {
+                        log.warn("size > MAX_PERMITTED_MESSAGE_SIZE. size={}", size);
+                        if (size < 0 || reportInvalidRequest(RuleViolation.MAX_MSG_SIZE_EXCEEDED)) {
+                            shutDown(CloseConnectionReason.RULE_VIOLATION);
+                            return;
+                        }
+                        // We skip the frame without buffering it
+                        ByteStreams.skipFully(protoInputStream, size);
+                        statistic.addReceivedBytes(size);
+                        continue;
+                    }
 
-                    if (banFilter != null &&
-                            peersNodeAddressOptional.isPresent() &&
-                            banFilter.isPeerBanned(peersNodeAddressOptional.get())) {
+                    pendingFrameBytes.acquire(size);
+                    byte[] frame = new byte[size];
+                    try {
+                        ByteStreams.readFully(protoInputStream, frame);
+                    } catch (Throwable t) {
+                        pendingFrameBytes.release(size);
+                        throw t;
+                    }
 
-                        log.warn("We got a message from a banned peer. proto={}", Utilities.toTruncatedString(proto));
-                        reportInvalidRequest(RuleViolation.PEER_BANNED);
+                    long ts = System.currentTimeMillis();
+
+                    if (socket != null &&
+                            socket.isClosed()) {
+                        pendingFrameBytes.release(size);
+                        log.warn("Socket is null or closed socket={}", socket);
+                        shutDown(CloseConnectionReason.SOCKET_CLOSED);
                         return;
                     }
 
@@ -767,108 +840,154 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                                 lastReadTimeStamp, now, elapsed);
                         Thread.sleep(20);
                     }
-
-                    NetworkEnvelope networkEnvelope = networkProtoResolver.fromProto(proto);
                     lastReadTimeStamp = now;
-                    log.debug("<< Received networkEnvelope of type: {}", networkEnvelope.getClass().getSimpleName());
-                    int size = proto.getSerializedSize();
 
-                    // We want to track the size of each object even if it is invalid data
-                    statistic.addReceivedBytes(size);
+                    messageProcessingExecutor.execute(() -> processFrame(frame, ts));
+                } catch (InvalidProtocolBufferException e) {
+                    log.error(e.getMessage());
+                    reportInvalidRequest(RuleViolation.INVALID_DATA_TYPE);
+                } catch (Throwable t) {
+                    handleException(t);
+                }
+            }
+        } catch (Throwable t) {
+            handleException(t);
+        }
+    }
+
+    // Runs on the messageProcessingExecutor
+    private void processFrame(byte[] frame, long readTimeStamp) {
+        try {
+            if (stopped || inputHandlerStopped) {
+                return;
+            }
 
-                    // We want to track the network_messages also before the checks, so do it early...
-                    statistic.addReceivedMessage(networkEnvelope);
+            long ts = System.currentTimeMillis();
+            protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.parseFrom(frame);
 
-                    // First we check the size
-                    boolean exceeds;
-                    if (networkEnvelope instanceof ExtendedDataSizePermission) {
-                        exceeds = size > MAX_PERMITTED_MESSAGE_SIZE;
-                    } else {
-                        exceeds = size > PERMITTED_MESSAGE_SIZE;
-                    }
+            if (banFilter != null &&
+                    peersNodeAddressOptional.isPresent() &&
+                    banFilter.isPeerBanned(peersNodeAddressOptional.get())) {
 
-                    if (networkEnvelope instanceof AddPersistableNetworkPayloadMessage &&
-                            !((AddPersistableNetworkPayloadMessage) networkEnvelope).getPersistableNetworkPayload().verifyHashSize()) {
-                        log.warn("PersistableNetworkPayload.verifyHashSize failed. hashSize={}; object={}",
-                                ((AddPersistableNetworkPayloadMessage) networkEnvelope).getPersistableNetworkPayload().getHash().length,
-                                Utilities.toTruncatedString(proto));
-                        if (reportInvalidRequest(RuleViolation.MAX_MSG_SIZE_EXCEEDED))
-                            return;
-                    }
+                log.warn("We got a message from a banned peer. proto={}", Utilities.toTruncatedString(proto));
+                reportInvalidRequest(RuleViolation.PEER_BANNED);
+                stopInputHandler();
+                return;
+            }
 
-                    if (exceeds) {
-                        log.warn("size > MAX_MSG_SIZE. size={}; object={}", size, Utilities.toTruncatedString(proto));
+            NetworkEnvelope networkEnvelope = networkProtoResolver.fromProto(proto);
+            log.debug("<< Received networkEnvelope of type: {}", networkEnvelope.getClass().getSimpleName());
+            int size = frame.length;
 
-                        if (reportInvalidRequest(RuleViolation.MAX_MSG_SIZE_EXCEEDED))
-                            return;
-                    }
+            // We want to track the size of each object even if it is invalid data
+            statistic.addReceivedBytes(size);
 
-                    if (violatesThrottleLimit() && reportInvalidRequest(RuleViolation.THROTTLE_LIMIT_EXCEEDED))
-                        return;
+            // We want to track the network_messages also before the checks, so do it early...
+            statistic.addReceivedMessage(networkEnvelope);
 
-                    // Check P2P network ID
-                    if (proto.getMessageVersion() != Version.getP2PMessageVersion()
-                            && reportInvalidRequest(RuleViolation.WRONG_NETWORK_ID)) {
-                        log.warn("RuleViolation.WRONG_NETWORK_ID. version of message={}, app version={}, " +
-                                        "proto.toTruncatedString={}", proto.getMessageVersion(),
-                                Version.getP2PMessageVersion(),
-                                Utilities.toTruncatedString(proto.toString()));
-                        return;
-                    }
+            // First we check the size
+            boolean exceeds;
+            if (networkEnvelope instanceof ExtendedDataSizePermission) {
+                exceeds = size > MAX_PERMITTED_MESSAGE_SIZE;
+            } else {
+                exceeds = size > PERMITTED_MESSAGE_SIZE;
+            }
 
-                    boolean causedShutDown = maybeHandleSupportedCapabilitiesMessage(networkEnvelope);
-                    if (causedShutDown) {
-                        return;
-                    }
+            if (networkEnvelope instanceof AddPersistableNetworkPayloadMessage &&
+                    !((AddPersistableNetworkPayloadMessage) networkEnvelope).getPersistableNetworkPayload().verifyHashSize()) {
+                log.warn("PersistableNetworkPayload.verifyHashSize failed. hashSize={}; object={}",
+                        ((AddPersistableNetworkPayloadMessage) networkEnvelope).getPersistableNetworkPayload().getHash().length,
+                        Utilities.toTruncatedString(proto));
+                if (reportInvalidRequest(RuleViolation.MAX_MSG_SIZE_EXCEEDED)) {
+                    stopInputHandler();
+                    return;
+                }
+            }
 
-                    if (networkEnvelope instanceof CloseConnectionMessage) {
-                        // If we get a CloseConnectionMessage we shut down
-                        log.debug("CloseConnectionMessage received. Reason={}\n\t" +
-                                "connection={}", proto.getCloseConnectionMessage().getReason(), this);
+            if (exceeds) {
+                log.warn("size > MAX_MSG_SIZE. size={}; object={}", size, Utilities.toTruncatedString(proto));
 
-                        if (CloseConnectionReason.PEER_BANNED.name().equals(proto.getCloseConnectionMessage().getReason())) {
-                            log.warn("We got shut down because we are banned by the other peer. " +
-                                    "(InputHandler.run CloseConnectionMessage). Peer: {}", getPeersNodeAddressOptional());
-                        }
-                        shutDown(CloseConnectionReason.CLOSE_REQUESTED_BY_PEER);
-                        return;
-                    } else if (!stopped) {
-                        // We don't want to get the activity ts updated by ping/pong msg
-                        if (!(networkEnvelope instanceof KeepAliveMessage))
-                            statistic.updateLastActivityTimestamp();
-
-                        // If SendersNodeAddressMessage we do some verifications and apply if successful,
-                        // otherwise we return false.
-                        if (networkEnvelope instanceof SendersNodeAddressMessage) {
-                            boolean isValid = processSendersNodeAddressMessage((SendersNodeAddressMessage) networkEnvelope);
-                            if (!isValid) {
-                                return;
-                            }
-                        }
+                if (reportInvalidRequest(RuleViolation.MAX_MSG_SIZE_EXCEEDED)) {
+                    stopInputHandler();
+                    return;
+                }
+            }
 
-                        if (!(networkEnvelope instanceof SendersNodeAddressMessage) && peersNodeAddressOptional.isEmpty()) {
-                            log.info("We got a {} from a peer with yet unknown address on connection with uid={}", networkEnvelope.getClass().getSimpleName(), uid);
-                        }
+            if (violatesThrottleLimit(readTimeStamp) && reportInvalidRequest(RuleViolation.THROTTLE_LIMIT_EXCEEDED)) {
+                stopInputHandler();
+                return;
+            }
+
+            // Check P2P network ID
+            if (proto.getMessageVersion() != Version.getP2PMessageVersion()
+                    && reportInvalidRequest(RuleViolation.WRONG_NETWORK_ID)) {
+                log.warn("RuleViolation.WRONG_NETWORK_ID. version of message={}, app version={}, " +
+                                "proto.toTruncatedString={}", proto.getMessageVersion(),
+                        Version.getP2PMessageVersion(),
+                        Utilities.toTruncatedString(proto.toString()));
+                stopInputHandler();
+                return;
+            }
+
+            boolean causedShutDown = maybeHandleSupportedCapabilitiesMessage(networkEnvelope);
+            if (causedShutDown) {
+                stopInputHandler();
+                return;
+            }
 
-                        onMessage(networkEnvelope, this);
-                        UserThread.execute(() -> connectionStatistics.addReceivedMsgMetrics(System.currentTimeMillis() - ts, size));
+            if (networkEnvelope instanceof CloseConnectionMessage) {
+                // If we get a CloseConnectionMessage we shut down
+                log.debug("CloseConnectionMessage received. Reason={}\n\t" +
+                        "connection={}", proto.getCloseConnectionMessage().getReason(), this);
+
+                if (CloseConnectionReason.PEER_BANNED.name().equals(proto.getCloseConnectionMessage().getReason())) {
+                    log.warn("We got shut down because we are banned by the other peer. " +
+                            "(InputHandler.run CloseConnectionMessage). Peer: {}", getPeersNodeAddressOptional());
+                }
+                stopInputHandler();
+                shutDown(CloseConnectionReason.CLOSE_REQUESTED_BY_PEER);
+            } else if (!stopped) {
+                // We don't want to get the activity ts updated by ping/pong msg
+                if (!(networkEnvelope instanceof KeepAliveMessage))
+                    statistic.updateLastActivityTimestamp();
+
+                // If SendersNodeAddressMessage we do some verifications and apply if successful,
+                // otherwise we return false.
+                if (networkEnvelope instanceof SendersNodeAddressMessage) {
+                    boolean isValid = processSendersNodeAddressMessage((SendersNodeAddressMessage) networkEnvelope);
+                    if (!isValid) {
+                        stopInputHandler();
+                        return;
                     }
-                } catch (InvalidClassException e) {
-                    log.error(e.getMessage());
-                    e.printStackTrace();
-                    reportInvalidRequest(RuleViolation.INVALID_CLASS);
-                } catch (ProtobufferException | NoClassDefFoundError | InvalidProtocolBufferException e) {
-                    log.error(e.getMessage());
-                    reportInvalidRequest(RuleViolation.INVALID_DATA_TYPE);
-                } catch (Throwable t) {
-                    handleException(t);
                 }
+
+                if (!(networkEnvelope instanceof SendersNodeAddressMessage) && peersNodeAddressOptional.isEmpty()) {
+                    log.info("We got a {} from a peer with yet unknown address on connection with uid={}", networkEnvelope.getClass().getSimpleName(), uid);
+                }
+
+                onMessage(networkEnvelope, this);
+                long timeSpent = System.currentTimeMillis() - ts;
+                // Runs after the message listeners, so the latency includes the time for handling the message
+                dispatchToUserThread(() -> connectionStatistics.addReceivedMsgMetrics(timeSpent,
+                        size,
+                        System.currentTimeMillis() - readTimeStamp));
             }
+        } catch (ProtobufferException | NoClassDefFoundError | InvalidProtocolBufferException e) {
+            log.error(e.getMessage());
+            reportInvalidRequest(RuleViolation.INVALID_DATA_TYPE);
         } catch (Throwable t) {
             handleException(t);
+        } finally {
+            pendingFrameBytes.release(frame.length);
         }
     }
 
+    // Frames which are read or queued already get dropped. If the InputHandler thread is blocked at reading it stops
+    // after the next frame.
+    private void stopInputHandler() {
+        inputHandlerStopped = true;
+    }
+
     public boolean maybeHandleSupportedCapabilitiesMessage(NetworkEnvelope networkEnvelope) {
         if (!(networkEnvelope instanceof SupportedCapabilitiesMessage)) {
             return false;
@@ -900,7 +1019,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         capabilitiesListeners.forEach(weakListener -> {
             SupportedCapabilitiesListener supportedCapabilitiesListener = weakListener.get();
             if (supportedCapabilitiesListener != null) {
-                UserThread.execute(() -> supportedCapabilitiesListener.onChanged(supportedCapabilities));
+                dispatchToUserThread(() -> supportedCapabilitiesListener.onChanged(supportedCapabilities));
             }
         });
         return false;
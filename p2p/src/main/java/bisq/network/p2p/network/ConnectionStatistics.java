@@ -25,6 +25,7 @@ import bisq.network.p2p.NodeAddress;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.util.Utilities;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,6 +35,49 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ConnectionStatistics implements MessageListener {
+
+    /**
+     * Histogram with buckets of powers of 2. Bucket 0 counts the values smaller than 1, bucket i the values in the
+     * range [2^(i-1), 2^i). The last bucket counts all larger values as well.
+     */
+    public static class Histogram {
+        private static final int NUM_BUCKETS = 24;
+
+        private final String unit;
+        private final long[] counts = new long[NUM_BUCKETS];
+
+        public Histogram(String unit) {
+            this.unit = unit;
+        }
+
+        public void add(long value) {
+            int bucket = value < 1 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+            counts[Math.min(bucket, NUM_BUCKETS - 1)]++;
+        }
+
+        public long[] getCounts() {
+            return Arrays.copyOf(counts, counts.length);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < NUM_BUCKETS; i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                String lowerBound = i == 0 ? "0" : String.valueOf(1L << (i - 1));
+                String upperBound = i == NUM_BUCKETS - 1 ? "" : String.valueOf(1L << i);
+                sb.append(lowerBound).append("-").append(upperBound).append(" ").append(unit)
+                        .append(": ").append(counts[i]);
+            }
+            return sb.append("]").toString();
+        }
+    }
+
     private final Connection connection;
     private final ConnectionState connectionState;
     private final Map<String, Integer> sentDataMap = new HashMap<>();
@@ -51,6 +95,11 @@ public class ConnectionStatistics implements MessageListener {
     private int sentBytes = 0;
     @Getter
     private int receivedBytes = 0;
+    // Time from reading the message from the socket until it has been handled on the user thread
+    @Getter
+    private final Histogram receivedMsgLatencyHistogram = new Histogram("ms");
+    @Getter
+    private final Histogram receivedMsgSizeHistogram = new Histogram("KB");
 
     public ConnectionStatistics(Connection connection, ConnectionState connectionState) {
         this.connection = connection;
@@ -95,6 +144,8 @@ public class ConnectionStatistics implements MessageListener {
         } else {
             rrt = "Time for response: " + rrt + ls;
         }
+        long ageInSec = Math.max(1, (now - connectionCreationTimeStamp) / 1000);
+        String receivedThroughput = Utilities.readableFileSize(receivedBytes / ageInSec) + "/sec";
         boolean seedNode = connectionState.isSeedNode();
         return String.format(
                 "Age: %s" + ls +
@@ -106,6 +157,9 @@ public class ConnectionStatistics implements MessageListener {
                         "%s" +
                         "Sent data: %s; %s" + ls +
                         "Received data: %s; %s" + ls +
+                        "Received data throughput: %s" + ls +
+                        "Received message sizes: %s" + ls +
+                        "Received message latencies: %s" + ls +
                         "CPU time spent on sending messages: %s" + ls +
                         "CPU time spent on receiving messages: %s",
                 age,
@@ -117,6 +171,9 @@ public class ConnectionStatistics implements MessageListener {
                 rrt,
                 Utilities.readableFileSize(sentBytes), sentDataMap.toString(),
                 Utilities.readableFileSize(receivedBytes), receivedDataMap.toString(),
+                receivedThroughput,
+                receivedMsgSizeHistogram,
+                receivedMsgLatencyHistogram,
                 Utilities.formatDurationAsWords(timeOnSendMsg),
                 Utilities.formatDurationAsWords(timeOnReceivedMsg));
     }
@@ -166,8 +223,10 @@ public class ConnectionStatistics implements MessageListener {
         this.sentBytes += bytes;
     }
 
-    public void addReceivedMsgMetrics(long timeSpent, int bytes) {
+    public void addReceivedMsgMetrics(long timeSpent, int bytes, long latency) {
         this.timeOnReceivedMsg += timeSpent;
         this.receivedBytes += bytes;
+        receivedMsgSizeHistogram.add(bytes / 1024);
+        receivedMsgLatencyHistogram.add(latency);
     }
 }
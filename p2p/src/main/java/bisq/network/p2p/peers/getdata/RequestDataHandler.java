@@ -31,6 +31,7 @@ import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
+import bisq.common.app.Capability;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.proto.network.NetworkPayload;
 import bisq.common.util.Tuple2;
@@ -121,10 +122,13 @@ class RequestDataHandler implements MessageListener {
         if (!stopped) {
             GetDataRequest getDataRequest;
 
+            // If we know already that the peer supports compact excluded keys we use them to reduce the request size.
+            boolean useCompactExcludedKeys = peerManager.peerHasCapability(nodeAddress,
+                    Capability.COMPACT_EXCLUDED_KEYS);
             if (isPreliminaryDataRequest)
-                getDataRequest = dataStorage.buildPreliminaryGetDataRequest(nonce);
+                getDataRequest = dataStorage.buildPreliminaryGetDataRequest(nonce, useCompactExcludedKeys);
             else
-                getDataRequest = dataStorage.buildGetUpdatedDataRequest(networkNode.getNodeAddress(), nonce);
+                getDataRequest = dataStorage.buildGetUpdatedDataRequest(networkNode.getNodeAddress(), nonce, useCompactExcludedKeys);
 
             if (timeoutTimer == null) {
                 timeoutTimer = UserThread.runAfter(() -> {  // setup before sending to avoid race conditions
@@ -197,11 +201,18 @@ class RequestDataHandler implements MessageListener {
                             return;
                         }
 
-                        dataStorage.processGetDataResponse(getDataResponse,
-                                connection.getPeersNodeAddressOptional().get());
-
-                        cleanup();
-                        listener.onComplete(getDataResponse.isWasTruncated());
+                        // The signatures get verified off the user thread, the data is applied on the user thread
+                        // afterwards.
+                        dataStorage.processGetDataResponseAsync(getDataResponse,
+                                connection.getPeersNodeAddressOptional().get(),
+                                () -> {
+                                    if (!stopped) {
+                                        cleanup();
+                                        listener.onComplete(getDataResponse.isWasTruncated());
+                                    }
+                                    log.info("Applying GetDataResponse completed after {} ms",
+                                            System.currentTimeMillis() - ts1);
+                                });
                     } else {
                         log.warn("Nonce not matching. That can happen rarely if we get a response after a canceled " +
                                         "handshake (timeout causes connection close but peer might have sent a msg before " +
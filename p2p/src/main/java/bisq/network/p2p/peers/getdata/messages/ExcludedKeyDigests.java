@@ -0,0 +1,115 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata.messages;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+
+/**
+ * Compact representation of the excluded keys of a GetDataRequest. Instead of the keys (20 bytes for
+ * PersistableNetworkPayloads and 32 bytes for ProtectedStorageEntries) we send a 64 bit digest of each key. That
+ * shrinks the request by factor 3-4 and allows the responder to look up known keys by binary search in a sorted
+ * primitive array instead of creating a HashSet of ByteArrays.
+ * <p>
+ * A collision causes the responder to not deliver an item we do not have. As the keys are hashes, anyone could create
+ * items whose key prefix collides with the key of an existing item with about 2^32 work, and those items would never
+ * be delivered to the requester. To prevent that, the digest is a SipHash of the key, keyed with the nonce of the
+ * request. Both peers know the nonce, but a colliding item would have to be created for each request after its nonce
+ * got chosen. Accidental collisions are independent for each request, so an item missing due to a collision gets
+ * delivered at the next request. With a few 100 000 keys the probability for a collision is < 10^-8.
+ * <p>
+ * Only used if the peer has the Capability.COMPACT_EXCLUDED_KEYS.
+ */
+@EqualsAndHashCode
+public final class ExcludedKeyDigests {
+    public static final ExcludedKeyDigests EMPTY = new ExcludedKeyDigests(0, new long[0]);
+
+    // Fixed second half of the SipHash key. The first half is the nonce of the request.
+    private static final long SIP_HASH_KEY = 0x4269737145786b64L;
+
+    private final int nonce;
+    // Sorted, may contain duplicates
+    private final long[] digests;
+    @EqualsAndHashCode.Exclude
+    private final HashFunction hashFunction;
+
+    private ExcludedKeyDigests(int nonce, long[] sortedDigests) {
+        this.nonce = nonce;
+        this.digests = sortedDigests;
+        this.hashFunction = getHashFunction(nonce);
+    }
+
+    /**
+     * @param nonce The nonce of the request the digests get sent with
+     */
+    public static ExcludedKeyDigests fromKeys(Collection<byte[]> keys, int nonce) {
+        HashFunction hashFunction = getHashFunction(nonce);
+        return fromDigests(keys.stream().mapToLong(key -> digest(hashFunction, key)).toArray(), nonce);
+    }
+
+    /**
+     * @param nonce The nonce of the request the digests got received with
+     */
+    public static ExcludedKeyDigests fromProto(List<Long> list, int nonce) {
+        return fromDigests(list.stream().mapToLong(Long::longValue).toArray(), nonce);
+    }
+
+    private static ExcludedKeyDigests fromDigests(long[] digests, int nonce) {
+        if (digests.length == 0) {
+            return EMPTY;
+        }
+        // We do not trust the peers data to be sorted, so we always sort. Duplicates are harmless for binary search.
+        Arrays.sort(digests);
+        return new ExcludedKeyDigests(nonce, digests);
+    }
+
+    private static HashFunction getHashFunction(int nonce) {
+        return Hashing.sipHash24(nonce, SIP_HASH_KEY);
+    }
+
+    private static long digest(HashFunction hashFunction, byte[] key) {
+        return hashFunction.hashBytes(key).asLong();
+    }
+
+    public boolean contains(byte[] key) {
+        return digests.length > 0 && Arrays.binarySearch(digests, digest(hashFunction, key)) >= 0;
+    }
+
+    public int size() {
+        return digests.length;
+    }
+
+    public boolean isEmpty() {
+        return digests.length == 0;
+    }
+
+    public Iterable<Long> toProtoList() {
+        return () -> Arrays.stream(digests).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "ExcludedKeyDigests{size=" + digests.length + "}";
+    }
+}
@@ -44,13 +44,23 @@ public abstract class GetDataRequest extends NetworkEnvelope implements Extended
     @Nullable
     protected final String version;
 
+    // Added for Capability.COMPACT_EXCLUDED_KEYS
+    // If used, excludedKeys is empty and the keys are represented by their 64 bit digests.
+    protected final ExcludedKeyDigests excludedKeyDigests;
+
     public GetDataRequest(int messageVersion,
                           int nonce,
                           Set<byte[]> excludedKeys,
-                          @Nullable String version) {
+                          @Nullable String version,
+                          ExcludedKeyDigests excludedKeyDigests) {
         super(messageVersion);
         this.nonce = nonce;
         this.excludedKeys = excludedKeys;
         this.version = version;
+        this.excludedKeyDigests = excludedKeyDigests;
+    }
+
+    public int getNumExcludedKeys() {
+        return excludedKeys.size() + excludedKeyDigests.size();
     }
 }
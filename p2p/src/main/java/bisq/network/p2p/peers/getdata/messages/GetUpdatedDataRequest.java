@@ -46,11 +46,19 @@ public final class GetUpdatedDataRequest extends GetDataRequest implements Sende
     public GetUpdatedDataRequest(NodeAddress senderNodeAddress,
                                  int nonce,
                                  Set<byte[]> excludedKeys) {
+        this(senderNodeAddress, nonce, excludedKeys, ExcludedKeyDigests.EMPTY);
+    }
+
+    public GetUpdatedDataRequest(NodeAddress senderNodeAddress,
+                                 int nonce,
+                                 Set<byte[]> excludedKeys,
+                                 ExcludedKeyDigests excludedKeyDigests) {
         this(senderNodeAddress,
                 nonce,
                 excludedKeys,
                 Version.VERSION,
-                Version.getP2PMessageVersion());
+                Version.getP2PMessageVersion(),
+                excludedKeyDigests);
     }
 
 
@@ -62,11 +70,13 @@ public final class GetUpdatedDataRequest extends GetDataRequest implements Sende
                                   int nonce,
                                   Set<byte[]> excludedKeys,
                                   @Nullable String version,
-                                  int messageVersion) {
+                                  int messageVersion,
+                                  ExcludedKeyDigests excludedKeyDigests) {
         super(messageVersion,
                 nonce,
                 excludedKeys,
-                version);
+                version,
+                excludedKeyDigests);
         this.senderNodeAddress = senderNodeAddress;
     }
 
@@ -77,25 +87,29 @@ public final class GetUpdatedDataRequest extends GetDataRequest implements Sende
                 .setNonce(nonce)
                 .addAllExcludedKeys(excludedKeys.stream()
                         .map(ByteString::copyFrom)
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList()))
+                .addAllExcludedKeyDigests(excludedKeyDigests.toProtoList());
         Optional.ofNullable(version).ifPresent(builder::setVersion);
         NetworkEnvelope proto = getNetworkEnvelopeBuilder()
                 .setGetUpdatedDataRequest(builder)
                 .build();
         log.info("Sending a GetUpdatedDataRequest with {} kB and {} excluded key entries. Requesters version={}",
-                proto.getSerializedSize() / 1000d, excludedKeys.size(), version);
+                proto.getSerializedSize() / 1000d, getNumExcludedKeys(), version);
         return proto;
     }
 
     public static GetUpdatedDataRequest fromProto(protobuf.GetUpdatedDataRequest proto, int messageVersion) {
         Set<byte[]> excludedKeys = ProtoUtil.byteSetFromProtoByteStringList(proto.getExcludedKeysList());
+        ExcludedKeyDigests excludedKeyDigests = ExcludedKeyDigests.fromProto(proto.getExcludedKeyDigestsList(),
+                proto.getNonce());
         String requestersVersion = ProtoUtil.stringOrNullFromProto(proto.getVersion());
         log.info("Received a GetUpdatedDataRequest with {} kB and {} excluded key entries. Requesters version={}",
-                proto.getSerializedSize() / 1000d, excludedKeys.size(), requestersVersion);
+                proto.getSerializedSize() / 1000d, excludedKeys.size() + excludedKeyDigests.size(), requestersVersion);
         return new GetUpdatedDataRequest(NodeAddress.fromProto(proto.getSenderNodeAddress()),
                 proto.getNonce(),
                 excludedKeys,
                 requestersVersion,
-                messageVersion);
+                messageVersion,
+                excludedKeyDigests);
     }
 }
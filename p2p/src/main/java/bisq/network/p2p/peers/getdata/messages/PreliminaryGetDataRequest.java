@@ -45,11 +45,16 @@ public final class PreliminaryGetDataRequest extends GetDataRequest implements A
     private final Capabilities supportedCapabilities;
 
     public PreliminaryGetDataRequest(int nonce, Set<byte[]> excludedKeys) {
+        this(nonce, excludedKeys, ExcludedKeyDigests.EMPTY);
+    }
+
+    public PreliminaryGetDataRequest(int nonce, Set<byte[]> excludedKeys, ExcludedKeyDigests excludedKeyDigests) {
         this(nonce,
                 excludedKeys,
                 Version.VERSION,
                 Capabilities.app,
-                Version.getP2PMessageVersion());
+                Version.getP2PMessageVersion(),
+                excludedKeyDigests);
     }
 
 
@@ -61,8 +66,9 @@ public final class PreliminaryGetDataRequest extends GetDataRequest implements A
                                       Set<byte[]> excludedKeys,
                                       @Nullable String version,
                                       Capabilities supportedCapabilities,
-                                      int messageVersion) {
-        super(messageVersion, nonce, excludedKeys, version);
+                                      int messageVersion,
+                                      ExcludedKeyDigests excludedKeyDigests) {
+        super(messageVersion, nonce, excludedKeys, version, excludedKeyDigests);
 
         this.supportedCapabilities = supportedCapabilities;
     }
@@ -74,25 +80,29 @@ public final class PreliminaryGetDataRequest extends GetDataRequest implements A
                 .setNonce(nonce)
                 .addAllExcludedKeys(excludedKeys.stream()
                         .map(ByteString::copyFrom)
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList()))
+                .addAllExcludedKeyDigests(excludedKeyDigests.toProtoList());
         Optional.ofNullable(version).ifPresent(builder::setVersion);
         NetworkEnvelope proto = getNetworkEnvelopeBuilder()
                 .setPreliminaryGetDataRequest(builder)
                 .build();
         log.info("Sending a PreliminaryGetDataRequest with {} kB and {} excluded key entries. Requesters version={}",
-                proto.getSerializedSize() / 1000d, excludedKeys.size(), version);
+                proto.getSerializedSize() / 1000d, getNumExcludedKeys(), version);
         return proto;
     }
 
     public static PreliminaryGetDataRequest fromProto(protobuf.PreliminaryGetDataRequest proto, int messageVersion) {
         Set<byte[]> excludedKeys = ProtoUtil.byteSetFromProtoByteStringList(proto.getExcludedKeysList());
+        ExcludedKeyDigests excludedKeyDigests = ExcludedKeyDigests.fromProto(proto.getExcludedKeyDigestsList(),
+                proto.getNonce());
         String requestersVersion = ProtoUtil.stringOrNullFromProto(proto.getVersion());
         log.info("Received a PreliminaryGetDataRequest with {} kB and {} excluded key entries. Requesters version={}",
-                proto.getSerializedSize() / 1000d, excludedKeys.size(), requestersVersion);
+                proto.getSerializedSize() / 1000d, excludedKeys.size() + excludedKeyDigests.size(), requestersVersion);
         return new PreliminaryGetDataRequest(proto.getNonce(),
                 excludedKeys,
                 requestersVersion,
                 Capabilities.fromIntList(proto.getSupportedCapabilitiesList()),
-                messageVersion);
+                messageVersion,
+                excludedKeyDigests);
     }
 }
@@ -25,6 +25,7 @@ import bisq.network.p2p.network.MessageListener;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.peers.BroadcastHandler;
 import bisq.network.p2p.peers.Broadcaster;
+import bisq.network.p2p.peers.getdata.messages.ExcludedKeyDigests;
 import bisq.network.p2p.peers.getdata.messages.GetDataRequest;
 import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
 import bisq.network.p2p.peers.getdata.messages.GetUpdatedDataRequest;
@@ -49,6 +50,7 @@ import bisq.network.p2p.storage.payload.RequiresOwnerIsOnlinePayload;
 import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreListener;
 import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
 import bisq.network.p2p.storage.persistence.HistoricalDataStoreService;
+import bisq.network.p2p.storage.persistence.PayloadCounter;
 import bisq.network.p2p.storage.persistence.PersistableNetworkPayloadStore;
 import bisq.network.p2p.storage.persistence.ProtectedDataStoreService;
 import bisq.network.p2p.storage.persistence.RemovedPayloadsService;
@@ -81,6 +83,7 @@ import com.google.inject.name.Named;
 import javax.inject.Inject;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import org.fxmisc.easybind.EasyBind;
@@ -105,6 +108,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
@@ -119,6 +123,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
@@ -134,6 +139,9 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     @VisibleForTesting
     public static final int CHECK_TTL_INTERVAL_SEC = 60;
 
+    // Number of ProtectedStorageEntries of a GetDataResponse which get verified in one task
+    private static final int PRE_VALIDATION_BATCH_SIZE = 100;
+
     private boolean initialRequestApplied = false;
 
     private final Broadcaster broadcaster;
@@ -144,6 +152,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
     @Getter
     private final Map<ByteArray, ProtectedStorageEntry> map = new ConcurrentHashMap<>();
+    // Counts the protected storage payloads in map. Only change map with putToMap and removeFromMap to keep it in sync.
+    private final PayloadCounter protectedStoragePayloadCounter = new PayloadCounter();
     private final Set<HashMapChangedListener> hashMapChangedListeners = new CopyOnWriteArraySet<>();
     private Timer removeExpiredEntriesTimer;
 
@@ -221,6 +231,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
     // Threading is done on the persistenceManager level
     public void readFromResources(String postFix, Runnable completeHandler) {
+        long ts = System.currentTimeMillis();
         BooleanProperty appendOnlyDataStoreServiceReady = new SimpleBooleanProperty();
         BooleanProperty protectedDataStoreServiceReady = new SimpleBooleanProperty();
         BooleanProperty resourceDataStoreServiceReady = new SimpleBooleanProperty();
@@ -231,13 +242,14 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 (a, b, c) -> a && b && c);
         readFromResourcesCompleteBinding.subscribe((observable, oldValue, newValue) -> {
             if (newValue) {
+                log.info("Loading all stores completed in {} ms", System.currentTimeMillis() - ts);
                 completeHandler.run();
             }
         });
 
         appendOnlyDataStoreService.readFromResources(postFix, () -> appendOnlyDataStoreServiceReady.set(true));
         protectedDataStoreService.readFromResources(postFix, () -> {
-            map.putAll(protectedDataStoreService.getMap());
+            protectedDataStoreService.getMap().forEach(this::putToMap);
             protectedDataStoreServiceReady.set(true);
         });
         resourceDataStoreService.readFromResources(postFix, () -> resourceDataStoreServiceReady.set(true));
@@ -250,7 +262,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         protectedDataStoreService.readFromResourcesSync(postFix);
         resourceDataStoreService.readFromResourcesSync(postFix);
 
-        map.putAll(protectedDataStoreService.getMap());
+        protectedDataStoreService.getMap().forEach(this::putToMap);
     }
 
     // We get added mailbox message data from MailboxMessageService. We want to add those early so we can get it added
@@ -258,7 +270,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     public void addProtectedMailboxStorageEntryToMap(ProtectedStorageEntry protectedStorageEntry) {
         ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
         ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
-        map.put(hashOfPayload, protectedStorageEntry);
+        putToMap(hashOfPayload, protectedStorageEntry);
         //log.trace("## addProtectedMailboxStorageEntryToMap hashOfPayload={}, map={}", hashOfPayload, printMap());
     }
 
@@ -271,14 +283,45 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
      * Returns a PreliminaryGetDataRequest that can be sent to a peer node to request missing Payload data.
      */
     public PreliminaryGetDataRequest buildPreliminaryGetDataRequest(int nonce) {
-        return new PreliminaryGetDataRequest(nonce, getKnownPayloadHashes());
+        return buildPreliminaryGetDataRequest(nonce, false);
+    }
+
+    /**
+     * Returns a PreliminaryGetDataRequest. If useCompactExcludedKeys is set the known payload hashes are sent as
+     * 64 bit digests. Must only be used if the peer has the Capability.COMPACT_EXCLUDED_KEYS.
+     */
+    public PreliminaryGetDataRequest buildPreliminaryGetDataRequest(int nonce, boolean useCompactExcludedKeys) {
+        Set<byte[]> knownPayloadHashes = getKnownPayloadHashes();
+        if (useCompactExcludedKeys) {
+            return new PreliminaryGetDataRequest(nonce, new HashSet<>(), ExcludedKeyDigests.fromKeys(knownPayloadHashes, nonce));
+        } else {
+            return new PreliminaryGetDataRequest(nonce, knownPayloadHashes);
+        }
     }
 
     /**
      * Returns a GetUpdatedDataRequest that can be sent to a peer node to request missing Payload data.
      */
     public GetUpdatedDataRequest buildGetUpdatedDataRequest(NodeAddress senderNodeAddress, int nonce) {
-        return new GetUpdatedDataRequest(senderNodeAddress, nonce, getKnownPayloadHashes());
+        return buildGetUpdatedDataRequest(senderNodeAddress, nonce, false);
+    }
+
+    /**
+     * Returns a GetUpdatedDataRequest. If useCompactExcludedKeys is set the known payload hashes are sent as
+     * 64 bit digests. Must only be used if the peer has the Capability.COMPACT_EXCLUDED_KEYS.
+     */
+    public GetUpdatedDataRequest buildGetUpdatedDataRequest(NodeAddress senderNodeAddress,
+                                                            int nonce,
+                                                            boolean useCompactExcludedKeys) {
+        Set<byte[]> knownPayloadHashes = getKnownPayloadHashes();
+        if (useCompactExcludedKeys) {
+            return new GetUpdatedDataRequest(senderNodeAddress,
+                    nonce,
+                    new HashSet<>(),
+                    ExcludedKeyDigests.fromKeys(knownPayloadHashes, nonce));
+        } else {
+            return new GetUpdatedDataRequest(senderNodeAddress, nonce, knownPayloadHashes);
+        }
     }
 
     /**
@@ -308,12 +351,19 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         Set<P2PDataStorage.ByteArray> excludedKeysAsByteArray =
                 P2PDataStorage.ByteArray.convertBytesSetToByteArraySet(getDataRequest.getExcludedKeys());
+        // If the requester sent the compact digests we do not need to create the ByteArray set, but do a binary
+        // search in the sorted digests.
+        ExcludedKeyDigests excludedKeyDigests = getDataRequest.getExcludedKeyDigests();
+        Predicate<ByteArray> isKnownHash = key -> excludedKeysAsByteArray.contains(key) ||
+                excludedKeyDigests.contains(key.bytes);
+        int numKnownHashes = getDataRequest.getNumExcludedKeys();
 
         // Pre v 1.4.0 requests do not have set the requesters version field so it is null.
         // The methods in HistoricalDataStoreService will return all historical data in that case.
         // mapForDataResponse contains the filtered by version data from HistoricalDataStoreService as well as all other
         // maps of the remaining appendOnlyDataStoreServices.
-        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = getMapForDataResponse(getDataRequest.getVersion());
+        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = getMapForDataResponse(getDataRequest.getVersion(),
+                isKnownHash);
 
         // Give a bit of tolerance for message overhead
         double maxSize = Connection.getMaxPermittedMessageSize() * 0.6;
@@ -324,7 +374,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 filterKnownHashes(
                         mapForDataResponse,
                         Function.identity(),
-                        excludedKeysAsByteArray,
+                        isKnownHash,
+                        numKnownHashes,
                         peerCapabilities,
                         maxEntriesPerType,
                         limit,
@@ -344,7 +395,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 filterKnownHashes(
                         map,
                         ProtectedStorageEntry::getProtectedStoragePayload,
-                        excludedKeysAsByteArray,
+                        isKnownHash,
+                        numKnownHashes,
                         peerCapabilities,
                         maxEntriesPerType,
                         limit,
@@ -392,14 +444,16 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         return map;
     }
 
-    public Map<ByteArray, PersistableNetworkPayload> getMapForDataResponse(String requestersVersion) {
+    // Historical data known by the requester are left out already here, so they do not get deserialised
+    public Map<ByteArray, PersistableNetworkPayload> getMapForDataResponse(String requestersVersion,
+                                                                           Predicate<ByteArray> isKnownHash) {
         Map<ByteArray, PersistableNetworkPayload> map = new HashMap<>();
         appendOnlyDataStoreService.getServices()
                 .forEach(service -> {
                     Map<ByteArray, PersistableNetworkPayload> serviceMap;
                     if (service instanceof HistoricalDataStoreService) {
                         var historicalDataStoreService = (HistoricalDataStoreService<? extends PersistableNetworkPayloadStore>) service;
-                        serviceMap = historicalDataStoreService.getMapSinceVersion(requestersVersion);
+                        serviceMap = historicalDataStoreService.getMapSinceVersion(requestersVersion, isKnownHash);
                     } else {
                         serviceMap = service.getMap();
                     }
@@ -410,6 +464,26 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         return map;
     }
 
+    /**
+     * @return The number of payloads by class name of the map returned by getMapForDataResponse plus the number of
+     * protected storage payloads. Built from counters which are maintained at each change of the data, so no data map
+     * gets copied or iterated.
+     */
+    public Map<String, Integer> getPayloadCountsForDataResponse(String requestersVersion) {
+        Map<String, Integer> countsByClassName = new HashMap<>();
+        appendOnlyDataStoreService.getServices()
+                .forEach(service -> {
+                    if (service instanceof HistoricalDataStoreService) {
+                        var historicalDataStoreService = (HistoricalDataStoreService<? extends PersistableNetworkPayloadStore>) service;
+                        historicalDataStoreService.addPayloadCountsSinceVersion(requestersVersion, countsByClassName);
+                    } else {
+                        service.addPayloadCounts(countsByClassName);
+                    }
+                });
+        protectedStoragePayloadCounter.addTo(countsByClassName);
+        return countsByClassName;
+    }
+
     /**
      * Generic function that can be used to filter a Map<ByteArray, ProtectedStorageEntry || PersistableNetworkPayload>
      * by a given set of keys and peer capabilities.
@@ -417,7 +491,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     static private <T extends NetworkPayload> Set<T> filterKnownHashes(
             Map<ByteArray, T> toFilter,
             Function<T, ? extends NetworkPayload> asPayload,
-            Set<ByteArray> knownHashes,
+            Predicate<ByteArray> isKnownHash,
+            int numKnownHashes,
             Capabilities peerCapabilities,
             int maxEntries,
             long limit,
@@ -425,7 +500,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             boolean isPersistableNetworkPayload) {
         log.info("Filter {} data based on {} knownHashes",
                 isPersistableNetworkPayload ? "PersistableNetworkPayload" : "ProtectedStorageEntry",
-                knownHashes.size());
+                numKnownHashes);
 
         AtomicLong totalSize = new AtomicLong();
         AtomicBoolean exceededSizeLimit = new AtomicBoolean();
@@ -441,7 +516,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // Map.Entry.value can be ProtectedStorageEntry or PersistableNetworkPayload. We call it item in the steam iterations.
         List<T> filteredItems = entries.stream()
-                .filter(entry -> !knownHashes.contains(entry.getKey()))
+                .filter(entry -> !isKnownHash.test(entry.getKey()))
                 .map(Map.Entry::getValue)
                 .filter(item -> shouldTransmitPayloadToPeer(peerCapabilities, asPayload.apply(item)))
                 .collect(Collectors.toList());
@@ -581,10 +656,50 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
      * or domain listeners.
      */
     public void processGetDataResponse(GetDataResponse getDataResponse, NodeAddress sender) {
+        applyGetDataResponse(getDataResponse, sender, preValidateProtectedStorageEntries(getDataResponse.getDataSet()).join());
+    }
+
+    /**
+     * Processes the GetDataResponse in 3 stages: The hashes and signatures of the ProtectedStorageEntries are verified
+     * in parallel on a worker pool, then the entries are applied on the user thread and the HashMapChangedListeners
+     * are notified once with all added entries.
+     *
+     * @param completeHandler Called on the user thread after the GetDataResponse has been applied
+     */
+    public void processGetDataResponseAsync(GetDataResponse getDataResponse,
+                                            NodeAddress sender,
+                                            Runnable completeHandler) {
         Set<ProtectedStorageEntry> protectedStorageEntries = getDataResponse.getDataSet();
+        long ts = this.clock.millis();
+        preValidateProtectedStorageEntries(protectedStorageEntries)
+                .whenComplete((result, throwable) -> UserThread.execute(() -> {
+                    List<PreValidatedEntry> preValidatedEntries;
+                    if (throwable != null) {
+                        // Should not happen as pre-validation catches all exceptions. We verify on the user thread then.
+                        log.error("Pre-validation of protectedStorageEntries failed", throwable);
+                        preValidatedEntries = protectedStorageEntries.stream()
+                                .map(e -> new PreValidatedEntry(e,
+                                        get32ByteHashAsByteArray(e.getProtectedStoragePayload()),
+                                        null))
+                                .collect(Collectors.toList());
+                    } else {
+                        log.info("Pre-validation of {} protectedStorageEntries took {} ms.",
+                                protectedStorageEntries.size(), this.clock.millis() - ts);
+                        preValidatedEntries = result;
+                    }
+                    applyGetDataResponse(getDataResponse, sender, preValidatedEntries);
+                    completeHandler.run();
+                }));
+    }
+
+    private void applyGetDataResponse(GetDataResponse getDataResponse,
+                                      NodeAddress sender,
+                                      List<PreValidatedEntry> preValidatedEntries) {
         Set<PersistableNetworkPayload> persistableNetworkPayloadSet = getDataResponse.getPersistableNetworkPayloadSet();
-        long ts = System.currentTimeMillis();
-        protectedStorageEntries.forEach(protectedStorageEntry -> {
+        long ts = this.clock.millis();
+        List<ProtectedStorageEntry> addedEntries = new ArrayList<>();
+        preValidatedEntries.forEach(preValidatedEntry -> {
+            ProtectedStorageEntry protectedStorageEntry = preValidatedEntry.getProtectedStorageEntry();
             // We rebroadcast high priority data after a delay for better resilience
             if (protectedStorageEntry.getProtectedStoragePayload().getGetDataResponsePriority() == GetDataResponsePriority.HIGH) {
                 UserThread.runAfter(() -> {
@@ -594,10 +709,20 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             }
 
             // We don't broadcast here (last param) as we are only connected to the seed node and would be pointless
-            addProtectedStorageEntry(protectedStorageEntry, sender, null, false);
-
+            if (doAddProtectedStorageEntry(protectedStorageEntry,
+                    preValidatedEntry.getHashOfPayload(),
+                    preValidatedEntry.getValidForAddOperation(),
+                    sender,
+                    null,
+                    false)) {
+                addedEntries.add(protectedStorageEntry);
+            }
         });
-        log.info("Processing {} protectedStorageEntries took {} ms.", protectedStorageEntries.size(), this.clock.millis() - ts);
+        // We notify the listeners once with all added entries
+        if (!addedEntries.isEmpty()) {
+            hashMapChangedListeners.forEach(e -> e.onAdded(addedEntries));
+        }
+        log.info("Processing {} protectedStorageEntries took {} ms.", preValidatedEntries.size(), this.clock.millis() - ts);
 
         ts = this.clock.millis();
         persistableNetworkPayloadSet.forEach(e -> {
@@ -832,8 +957,27 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                                              @Nullable NodeAddress sender,
                                              @Nullable BroadcastHandler.Listener listener,
                                              boolean allowBroadcast) {
+        ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStorageEntry.getProtectedStoragePayload());
+        if (!doAddProtectedStorageEntry(protectedStorageEntry, hashOfPayload, null, sender, listener, allowBroadcast)) {
+            return false;
+        }
+
+        hashMapChangedListeners.forEach(e -> e.onAdded(Collections.singletonList(protectedStorageEntry)));
+        return true;
+    }
+
+    /**
+     * Same as addProtectedStorageEntry but without notifying the HashMapChangedListeners.
+     *
+     * @param validForAddOperation Result of isValidForAddOperation if already verified, otherwise null
+     */
+    private boolean doAddProtectedStorageEntry(ProtectedStorageEntry protectedStorageEntry,
+                                               ByteArray hashOfPayload,
+                                               @Nullable Boolean validForAddOperation,
+                                               @Nullable NodeAddress sender,
+                                               @Nullable BroadcastHandler.Listener listener,
+                                               boolean allowBroadcast) {
         ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
-        ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
 
         //log.trace("## call addProtectedStorageEntry hash={}, map={}", hashOfPayload, printMap());
 
@@ -869,7 +1013,10 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         }
 
         // Verify the ProtectedStorageEntry is well formed and valid for the add operation
-        if (!protectedStorageEntry.isValidForAddOperation()) {
+        boolean isValidForAddOperation = validForAddOperation != null ?
+                validForAddOperation :
+                protectedStorageEntry.isValidForAddOperation();
+        if (!isValidForAddOperation) {
             log.trace("## !isValidForAddOperation hash={}", hashOfPayload);
             return false;
         }
@@ -887,9 +1034,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             return false;
         }
 
-        // This is an updated entry. Record it and signal listeners.
-        map.put(hashOfPayload, protectedStorageEntry);
-        hashMapChangedListeners.forEach(e -> e.onAdded(Collections.singletonList(protectedStorageEntry)));
+        // This is an updated entry. Record it. The caller signals the listeners.
+        putToMap(hashOfPayload, protectedStorageEntry);
 
         // Record the updated sequence number and persist it. Higher delay so we can batch more items.
         sequenceNumberMap.put(hashOfPayload, new MapValue(protectedStorageEntry.getSequenceNumber(), this.clock.millis()));
@@ -978,7 +1124,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 return false;
 
             // Update the hash map with the updated entry
-            map.put(hashOfPayload, updatedEntry);
+            putToMap(hashOfPayload, updatedEntry);
 
             // Record the latest sequence number and persist it
             sequenceNumberMap.put(hashOfPayload, new MapValue(updatedEntry.getSequenceNumber(), this.clock.millis()));
@@ -1116,6 +1262,21 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void putToMap(ByteArray hashOfPayload, ProtectedStorageEntry protectedStorageEntry) {
+        ProtectedStorageEntry previous = map.put(hashOfPayload, protectedStorageEntry);
+        if (previous != null) {
+            protectedStoragePayloadCounter.decrement(previous.getProtectedStoragePayload());
+        }
+        protectedStoragePayloadCounter.increment(protectedStorageEntry.getProtectedStoragePayload());
+    }
+
+    private void removeFromMap(ByteArray hashOfPayload) {
+        ProtectedStorageEntry removed = map.remove(hashOfPayload);
+        if (removed != null) {
+            protectedStoragePayloadCounter.decrement(removed.getProtectedStoragePayload());
+        }
+    }
+
     private void removeFromMapAndDataStore(ProtectedStorageEntry protectedStorageEntry, ByteArray hashOfPayload) {
         removeFromMapAndDataStore(Collections.singletonList(Maps.immutableEntry(hashOfPayload, protectedStorageEntry)));
     }
@@ -1130,7 +1291,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             ProtectedStorageEntry protectedStorageEntry = entry.getValue();
 
             //log.trace("## removeFromMapAndDataStore: hashOfPayload={}, map before remove={}", hashOfPayload, printMap());
-            map.remove(hashOfPayload);
+            removeFromMap(hashOfPayload);
             //log.trace("## removeFromMapAndDataStore: map after remove={}", printMap());
 
             // We inform listeners even the entry was not found in our map
@@ -1147,6 +1308,41 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         hashMapChangedListeners.forEach(e -> e.onRemoved(removedProtectedStorageEntries));
     }
 
+    private CompletableFuture<List<PreValidatedEntry>> preValidateProtectedStorageEntries(
+            Collection<ProtectedStorageEntry> protectedStorageEntries) {
+        List<CompletableFuture<List<PreValidatedEntry>>> futures = Lists.partition(
+                        new ArrayList<>(protectedStorageEntries), PRE_VALIDATION_BATCH_SIZE).stream()
+                .map(batch -> CompletableFuture.supplyAsync(() -> batch.stream()
+                                .map(this::preValidate)
+                                .collect(Collectors.toList()),
+                        VerificationExecutor.get()))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(e -> futures.stream()
+                        .flatMap(future -> future.join().stream())
+                        .collect(Collectors.toList()));
+    }
+
+    // Called from a worker thread. The map and sequenceNumberMap are only read to skip the signature verification for
+    // entries which would be rejected anyway. The checks against the state get repeated at applying on the user thread.
+    private PreValidatedEntry preValidate(ProtectedStorageEntry protectedStorageEntry) {
+        ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStorageEntry.getProtectedStoragePayload());
+        int sequenceNumber = protectedStorageEntry.getSequenceNumber();
+        MapValue sequenceNumberMapValue = sequenceNumberMap.get(hashOfPayload);
+        if (sequenceNumberMapValue != null &&
+                (sequenceNumber < sequenceNumberMapValue.sequenceNr ||
+                        (map.containsKey(hashOfPayload) && sequenceNumber == sequenceNumberMapValue.sequenceNr))) {
+            return new PreValidatedEntry(protectedStorageEntry, hashOfPayload, null);
+        }
+
+        try {
+            return new PreValidatedEntry(protectedStorageEntry, hashOfPayload, protectedStorageEntry.isValidForAddOperation());
+        } catch (Throwable t) {
+            log.error("Pre-validation of protectedStorageEntry failed", t);
+            return new PreValidatedEntry(protectedStorageEntry, hashOfPayload, null);
+        }
+    }
+
     private boolean hasSequenceNrIncreased(int newSequenceNumber, ByteArray hashOfData) {
         if (sequenceNumberMap.containsKey(hashOfData)) {
             int storedSequenceNumber = sequenceNumberMap.get(hashOfData).sequenceNr;
@@ -1251,6 +1447,15 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     // Static class
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    @Value
+    private static class PreValidatedEntry {
+        ProtectedStorageEntry protectedStorageEntry;
+        ByteArray hashOfPayload;
+        // Result of isValidForAddOperation, null if not verified
+        @Nullable
+        Boolean validForAddOperation;
+    }
+
     /**
      * Used as container for calculating cryptographic hash of data and sequenceNumber.
      */
@@ -0,0 +1,44 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.common.util.Utilities;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Bounded thread pool for the CPU bound verification of received storage entries, like checking their signatures
+ * or decrypting mailbox messages. It is shared by those tasks, as they run at the same time at startup and separate
+ * pools would use more threads than we have processors.
+ */
+public final class VerificationExecutor {
+    private VerificationExecutor() {
+    }
+
+    public static ExecutorService get() {
+        return Holder.EXECUTOR;
+    }
+
+    // The threads get only created at first use
+    private static class Holder {
+        private static final int NUM_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private static final ExecutorService EXECUTOR = Utilities.getListeningExecutorService("Verification",
+                NUM_THREADS, NUM_THREADS, 60, new LinkedBlockingQueue<>());
+    }
+}
@@ -64,7 +64,9 @@ public class AppendOnlyDataStoreService {
         }
         AtomicInteger remaining = new AtomicInteger(services.size());
         services.forEach(service -> {
+            long ts = System.currentTimeMillis();
             service.readFromResources(postFix, () -> {
+                log.info("Loading store {} completed in {} ms", service.getFileName(), System.currentTimeMillis() - ts);
                 if (remaining.decrementAndGet() == 0) {
                     completeHandler.run();
                 }
@@ -20,31 +20,48 @@ package bisq.network.p2p.storage.persistence;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 
+import bisq.common.UserThread;
 import bisq.common.app.DevEnv;
 import bisq.common.app.Version;
+import bisq.common.persistence.PersistedDataLoader;
 import bisq.common.persistence.PersistenceManager;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
 
 import java.io.File;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Manages historical data stores tagged with the release versions.
  * New data is added to the default map in the store (live data). Historical data is created from resource files.
+ * At the first start with new resource files we merge those into a memory-mapped file, from which the historical
+ * payloads get deserialised on access (see MappedHistoricalDataStore).
  * For initial data requests we only use the live data as the users version is sent with the
  * request so the responding (seed)node can figure out if we miss any of the historical data.
  */
 @Slf4j
 public abstract class HistoricalDataStoreService<T extends PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> extends MapStoreService<T, PersistableNetworkPayload> {
-    private ImmutableMap<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion;
-    // Cache to avoid that we have to recreate the historical data at each request
-    private ImmutableMap<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads;
+    private static final String HISTORICAL_DATA_FILE_POSTFIX = "_historical";
+
+    // All historical data. Those do not change, so their payloads got counted once when the file was created.
+    private MappedHistoricalDataStore historicalData = MappedHistoricalDataStore.EMPTY;
+    // Read-only view on the live and historical data. Avoids copying all data at each getMapOfAllData call.
+    private final Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> mapOfAllData = new MapOfAllDataView();
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -62,47 +79,75 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
 
     // We give back a map of our live map and all historical maps newer than the requested version.
     // If requestersVersion is null we return all historical data.
-    public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapSinceVersion(String requestersVersion) {
+    // Historical data with keys matching isExcludedKey are left out before they get deserialised. The live data are
+    // deserialised anyway, so the caller filters those.
+    public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapSinceVersion(String requestersVersion,
+                                                                                       Predicate<P2PDataStorage.ByteArray> isExcludedKey) {
         // We add all our live data
         Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> result = new HashMap<>(store.getMap());
 
-        // If we have a store with a newer version than the requesters version we will add those as well.
-        storesByVersion.entrySet().stream()
-                .filter(entry -> {
-                    // Old nodes not sending the version will get delivered all data
-                    if (requestersVersion == null) {
-                        log.info("The requester did not send a version. This is expected for not updated nodes.");
-                        return true;
-                    }
+        // Old nodes not sending the version will get delivered all data
+        if (requestersVersion == null) {
+            log.info("The requester did not send a version. This is expected for not updated nodes.");
+        }
 
-                    // Otherwise we only add data if the requesters version is older then
-                    // the version of the particular store.
-                    String storeVersion = entry.getKey();
-                    boolean newVersion = Version.isNewVersion(storeVersion, requestersVersion);
-                    String details = newVersion ?
-                            "As our historical store is a newer version we add the data to our result map." :
-                            "As the requester version is not older as our historical store we do not " +
-                                    "add the data to the result map.";
-                    log.trace("The requester had version {}. Our historical data store has version {}.\n{}",
-                            requestersVersion, storeVersion, details);
-                    return newVersion;
-                })
-                .map(e -> e.getValue().getMap())
-                .forEach(result::putAll);
+        // If we have historical data with a newer version than the requesters version we will add those as well.
+        historicalData.forEachOfVersions(storeVersion -> {
+            if (requestersVersion == null) {
+                return true;
+            }
+
+            // Otherwise we only add data if the requesters version is older then
+            // the version of the particular store.
+            boolean newVersion = Version.isNewVersion(storeVersion, requestersVersion);
+            String details = newVersion ?
+                    "As our historical store is a newer version we add the data to our result map." :
+                    "As the requester version is not older as our historical store we do not " +
+                            "add the data to the result map.";
+            log.trace("The requester had version {}. Our historical data store has version {}.\n{}",
+                    requestersVersion, storeVersion, details);
+            return newVersion;
+        }, isExcludedKey, result::put);
 
         log.info("We found {} entries since requesters version {}",
                 result.size(), requestersVersion);
         return result;
     }
 
+    /**
+     * Adds the number of payloads by class name of the map returned by getMapSinceVersion to the given counts, without
+     * building that map.
+     */
+    public void addPayloadCountsSinceVersion(String requestersVersion, Map<String, Integer> countsByClassName) {
+        payloadCounter.addTo(countsByClassName);
+        historicalData.getPayloadCountersByVersion().forEach((storeVersion, counter) -> {
+            if (requestersVersion == null || Version.isNewVersion(storeVersion, requestersVersion)) {
+                counter.addTo(countsByClassName);
+            }
+        });
+    }
+
+    /**
+     * @return Unmodifiable view on the live data. Use putAllToLiveData for adding data, so the payload counts are
+     * maintained.
+     */
     public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapOfLiveData() {
-        return store.getMap();
+        return Collections.unmodifiableMap(store.getMap());
+    }
+
+    /**
+     * Adds the given payloads to the live data if they are not contained in the live or historical data yet.
+     */
+    public void putAllToLiveData(Collection<? extends PersistableNetworkPayload> payloads) {
+        payloads.forEach(payload -> putIfAbsent(new P2PDataStorage.ByteArray(payload.getHash()), payload));
     }
 
+    /**
+     * @return Unmodifiable view on the live data and all historical data. Changes of the live data are reflected in
+     * the view. Clients who need a snapshot have to copy it.
+     */
     public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapOfAllData() {
-        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> result = new HashMap<>(getMapOfLiveData());
-        result.putAll(allHistoricalPayloads);
-        return result;
+        return mapOfAllData;
     }
 
 
@@ -123,7 +168,8 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
             return;
         }
 
-        getMapOfLiveData().put(hash, payload);
+        store.getMap().put(hash, payload);
+        payloadCounter.increment(payload);
         requestPersistence();
     }
 
@@ -133,38 +179,60 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
             return null;
         }
 
-        // We do not return the value from getMapOfLiveData().put as we checked before that it does not contain any value.
+        // We do not return the value from store.getMap().put as we checked before that it does not contain any value.
         // So it will be always null. We still keep the return type as we override the method from MapStoreService which
         // follow the Map.putIfAbsent signature.
-        getMapOfLiveData().put(hash, payload);
+        store.getMap().put(hash, payload);
+        payloadCounter.increment(payload);
         requestPersistence();
         return null;
     }
 
+    @Override
+    protected void resetPayloadCounter() {
+        payloadCounter.reset(store.getMap().values());
+    }
 
+
+    // We read the live data store and the historical data in parallel. If we have no historical data file for the
+    // current historical resource files yet, we read all historical data stores and create it. The historical data and
+    // the pruned live data are prepared on the PersistedDataLoader pool, so we only apply the result on the user
+    // thread once all is ready.
+    // As PersistenceManager does for its own read errors, we fall back to an empty store if a store can not be read,
+    // so the completeHandler gets always called.
     @Override
     protected void readFromResources(String postFix, Runnable completeHandler) {
-        readStore(persisted -> {
-            log.debug("We have created the {} store for the live data and filled it with {} entries from the persisted data.",
-                    getFileName(), getMapOfLiveData().size());
-
-            // Now we add our historical data stores.
-            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads = new HashMap<>();
-            Map<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion = new HashMap<>();
-            AtomicInteger numFiles = new AtomicInteger(Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.size());
-            Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.forEach(version -> readHistoricalStoreFromResources(version,
-                    postFix,
-                    allHistoricalPayloads,
-                    storesByVersion,
-                    () -> {
-                        if (numFiles.decrementAndGet() == 0) {
-                            // At last iteration we set the immutable map
-                            this.allHistoricalPayloads = ImmutableMap.copyOf(allHistoricalPayloads);
-                            this.storesByVersion = ImmutableMap.copyOf(storesByVersion);
-                            completeHandler.run();
-                        }
-                    }));
-        });
+        long ts = System.currentTimeMillis();
+        CompletableFuture<T> liveStoreFuture = nullIfFailed(persistenceManager.readPersistedAsync(getFileName()),
+                getFileName());
+        File historicalDataFile = new File(absolutePathOfStorageDir, getFileName() + HISTORICAL_DATA_FILE_POSTFIX);
+        CompletableFuture<MappedHistoricalDataStore> historicalDataFuture = PersistedDataLoader.supplyAsync(() ->
+                        MappedHistoricalDataStore.open(historicalDataFile,
+                                Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS,
+                                persistenceManager.getPersistenceProtoResolver()))
+                .thenCompose(historicalData -> historicalData
+                        .map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> createHistoricalData(historicalDataFile, postFix)));
+
+        CompletableFuture.allOf(liveStoreFuture, historicalDataFuture)
+                .thenRun(() -> {
+                    T liveStore = liveStoreFuture.join();
+                    T storeToApply = liveStore != null ? liveStore : createStore();
+                    MappedHistoricalDataStore historicalData = historicalDataFuture.join();
+                    pruneStore(storeToApply, historicalData);
+                    UserThread.execute(() -> applyStores(storeToApply, historicalData, ts, completeHandler));
+                })
+                .exceptionally(throwable -> {
+                    // We continue with the live data only
+                    log.error("Applying the historical data of {} failed", getFileName(), throwable);
+                    T liveStore = liveStoreFuture.join();
+                    T storeToApply = liveStore != null ? liveStore : createStore();
+                    UserThread.execute(() -> applyStores(storeToApply,
+                            MappedHistoricalDataStore.EMPTY,
+                            ts,
+                            completeHandler));
+                    return null;
+                });
     }
 
 
@@ -172,43 +240,149 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private void readHistoricalStoreFromResources(String version,
-                                                  String postFix,
-                                                  Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads,
-                                                  Map<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion,
-                                                  Runnable completeHandler) {
-
-        String fileName = getFileName() + "_" + version;
-        boolean wasCreatedFromResources = makeFileFromResourceFile(fileName, postFix);
-
-        // If resource file does not exist we do not create a new store as it would never get filled.
-        persistenceManager.readPersisted(fileName, persisted -> {
-                    storesByVersion.put(version, persisted);
-                    allHistoricalPayloads.putAll(persisted.getMap());
-                    log.debug("We have read from {} {} historical items.", fileName, persisted.getMap().size());
-                    pruneStore(persisted, version);
-                    completeHandler.run();
-                },
-                completeHandler::run);
-    }
-
-    private void pruneStore(PersistableNetworkPayloadStore<? extends PersistableNetworkPayload> historicalStore,
-                            String version) {
-        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> mapOfLiveData = getMapOfLiveData();
+    // The historical data stores are only kept in the heap until the historical data file is written.
+    private CompletableFuture<MappedHistoricalDataStore> createHistoricalData(File historicalDataFile, String postFix) {
+        List<String> versions = Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS;
+        Set<String> unreadableVersions = ConcurrentHashMap.newKeySet();
+        Map<String, CompletableFuture<T>> historicalStoreFutures = new LinkedHashMap<>();
+        versions.forEach(version -> {
+            String fileName = getFileName() + "_" + version;
+            historicalStoreFutures.put(version, PersistedDataLoader.supplyAsync(() -> {
+                makeFileFromResourceFile(fileName, postFix);
+                // If resource file does not exist we do not create a new store as it would never get filled.
+                boolean exists = new File(absolutePathOfStorageDir, fileName).exists();
+                T historicalStore = persistenceManager.getPersisted(fileName);
+                if (exists && historicalStore == null) {
+                    unreadableVersions.add(version);
+                }
+                return historicalStore;
+            }).exceptionally(throwable -> {
+                log.error("Reading {} failed", fileName, throwable);
+                unreadableVersions.add(version);
+                return null;
+            }));
+        });
+
+        return CompletableFuture.allOf(historicalStoreFutures.values().toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion = new HashMap<>();
+                    historicalStoreFutures.forEach((version, future) -> {
+                        T historicalStore = future.join();
+                        if (historicalStore != null) {
+                            payloadsByVersion.put(version, historicalStore.getMap());
+                            log.debug("We have read from {} {} historical items.",
+                                    getFileName() + "_" + version, historicalStore.getMap().size());
+                        }
+                    });
+
+                    if (!unreadableVersions.isEmpty()) {
+                        // We must not persist incomplete data, as we would not read the historical stores again.
+                        log.warn("Historical stores of {} for versions {} could not be read. We keep the historical " +
+                                "data in memory.", getFileName(), unreadableVersions);
+                        return MappedHistoricalDataStore.createInMemory(versions,
+                                payloadsByVersion,
+                                persistenceManager.getPersistenceProtoResolver());
+                    }
+                    return MappedHistoricalDataStore.create(historicalDataFile,
+                            versions,
+                            payloadsByVersion,
+                            persistenceManager.getPersistenceProtoResolver());
+                });
+    }
+
+    private void applyStores(T liveStore,
+                             MappedHistoricalDataStore historicalData,
+                             long ts,
+                             Runnable completeHandler) {
+        store = liveStore;
+        initializePersistenceManager();
+        this.historicalData = historicalData;
+        resetPayloadCounter();
+        requestPersistence();
+        log.info("Reading {} with {} live and {} historical items from {} historical stores completed in {} ms",
+                getFileName(), getMapOfLiveData().size(), historicalData.size(),
+                historicalData.getPayloadCountersByVersion().size(), System.currentTimeMillis() - ts);
+        completeHandler.run();
+    }
+
+    // A store which can not be read is handled like a missing store
+    private CompletableFuture<T> nullIfFailed(CompletableFuture<T> future, String fileName) {
+        return future.exceptionally(throwable -> {
+            log.error("Reading {} failed", fileName, throwable);
+            return null;
+        });
+    }
+
+    private void pruneStore(T liveStore, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> historicalData) {
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> mapOfLiveData = liveStore.getMap();
         int preLive = mapOfLiveData.size();
-        mapOfLiveData.keySet().removeAll(historicalStore.getMap().keySet());
+        // The live data are small compared to the historical data, so we look up the live keys in the historical data
+        mapOfLiveData.keySet().removeIf(historicalData::containsKey);
         int postLive = mapOfLiveData.size();
         if (preLive > postLive) {
-            log.debug("We pruned data from our live data store which are already contained in the historical data store with version {}. " +
+            log.debug("We pruned data from our live data store {} which are already contained in the historical data stores. " +
                             "The live map had {} entries before pruning and has {} entries afterwards.",
-                    version, preLive, postLive);
+                    getFileName(), preLive, postLive);
         } else {
-            log.debug("No pruning from historical data store with version {} was applied", version);
+            log.debug("No pruning from historical data stores of {} was applied", getFileName());
         }
-        requestPersistence();
     }
 
     private boolean anyMapContainsKey(P2PDataStorage.ByteArray hash) {
-        return getMapOfLiveData().containsKey(hash) || allHistoricalPayloads.containsKey(hash);
+        return getMapOfLiveData().containsKey(hash) || historicalData.containsKey(hash);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // MapOfAllDataView
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The live data get pruned from entries contained in the historical data, but to be on the safe side we do not
+    // rely on it and skip historical entries which are contained in the live data as well.
+    private class MapOfAllDataView extends AbstractMap<P2PDataStorage.ByteArray, PersistableNetworkPayload> {
+        private final Set<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> iterator() {
+                Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> liveData = getMapOfLiveData();
+                Iterator<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> historicalEntries =
+                        Iterators.filter(historicalData.entrySet().iterator(),
+                                entry -> !liveData.containsKey(entry.getKey()));
+                return Iterators.unmodifiableIterator(Iterators.concat(liveData.entrySet().iterator(), historicalEntries));
+            }
+
+            @Override
+            public int size() {
+                return MapOfAllDataView.this.size();
+            }
+        };
+
+        @Override
+        public Set<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> liveData = getMapOfLiveData();
+            // The live data are small compared to the historical data, so we iterate those for detecting duplicates.
+            long numDuplicates = liveData.keySet().stream().filter(historicalData::containsKey).count();
+            return (int) (liveData.size() + historicalData.size() - numDuplicates);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getMapOfLiveData().isEmpty() && historicalData.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return getMapOfLiveData().containsKey(key) || historicalData.containsKey(key);
+        }
+
+        @Override
+        public PersistableNetworkPayload get(Object key) {
+            PersistableNetworkPayload payload = getMapOfLiveData().get(key);
+            return payload != null ? payload : historicalData.get(key);
+        }
     }
 }
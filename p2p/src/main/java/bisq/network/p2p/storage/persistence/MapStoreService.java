@@ -26,6 +26,7 @@ import bisq.common.proto.persistable.PersistablePayload;
 import java.io.File;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,6 +38,8 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public abstract class MapStoreService<T extends PersistableEnvelope, R extends PersistablePayload> extends StoreService<T> {
+    // Counts the payloads in the map returned by getMap
+    protected final PayloadCounter payloadCounter = new PayloadCounter();
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -56,23 +59,64 @@ public abstract class MapStoreService<T extends PersistableEnvelope, R extends P
 
     public abstract boolean canHandle(R payload);
 
+    /**
+     * Adds the number of our payloads by class name to the given counts.
+     */
+    public void addPayloadCounts(Map<String, Integer> countsByClassName) {
+        payloadCounter.addTo(countsByClassName);
+    }
+
     void put(P2PDataStorage.ByteArray hash, R payload) {
-        getMap().put(hash, payload);
+        R previous = getMap().put(hash, payload);
+        if (previous != null) {
+            payloadCounter.decrement(previous);
+        }
+        payloadCounter.increment(payload);
         requestPersistence();
     }
 
     protected R putIfAbsent(P2PDataStorage.ByteArray hash, R payload) {
         R previous = getMap().putIfAbsent(hash, payload);
+        if (previous == null) {
+            payloadCounter.increment(payload);
+        }
         requestPersistence();
         return previous;
     }
 
     R remove(P2PDataStorage.ByteArray hash) {
         R result = getMap().remove(hash);
+        if (result != null) {
+            payloadCounter.decrement(result);
+        }
         requestPersistence();
         return result;
     }
 
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Protected
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void readStore(Consumer<T> consumer) {
+        super.readStore(persisted -> {
+            resetPayloadCounter();
+            consumer.accept(persisted);
+        });
+    }
+
+    @Override
+    protected void readStoreSync() {
+        super.readStoreSync();
+        resetPayloadCounter();
+    }
+
+    // Called once the store got applied
+    protected void resetPayloadCounter() {
+        payloadCounter.reset(getMap().values());
+    }
+
     boolean containsKey(P2PDataStorage.ByteArray hash) {
         return getMap().containsKey(hash);
     }
@@ -0,0 +1,570 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.storage.persistence;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+
+import bisq.common.file.FileUtil;
+import bisq.common.proto.ProtoResolver;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CountingInputStream;
+import com.google.common.primitives.UnsignedBytes;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import java.lang.ref.SoftReference;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Immutable map of the historical payloads of a HistoricalDataStoreService, backed by a file which gets memory-mapped.
+ * The entries are sorted by their hash and are looked up by a binary search in a fixed size index. The payloads are
+ * only deserialised when they get accessed. If all payloads get iterated, the deserialised payloads are kept by a soft
+ * reference, so repeated iterations do not deserialise them again, but the garbage collector can reclaim them.
+ * The file is created once from the historical resource files and gets reused at the next startups as long as the
+ * version tags of the historical resource files have not changed.
+ *
+ * File layout (all numbers big endian):
+ * header: magic, format version, version tags, payload counts by class name per version, hash length,
+ * number of entries and size of the data section
+ * index: per entry sorted by hash: hash, index of the version tag (short), offset (int) and length (int) of the payload
+ * data: the serialised protobuf.PersistableNetworkPayload messages
+ */
+@Slf4j
+class MappedHistoricalDataStore extends AbstractMap<P2PDataStorage.ByteArray, PersistableNetworkPayload> {
+    private static final int MAGIC = 0x42484453;
+    private static final int FORMAT_VERSION = 1;
+
+    static final MappedHistoricalDataStore EMPTY = new MappedHistoricalDataStore(ByteBuffer.allocate(0),
+            null,
+            new Header(ImmutableList.of(), ImmutableMap.of(), 0, 0, 0));
+
+    private final ByteBuffer buffer;
+    @Nullable
+    private final ProtoResolver resolver;
+    private final List<String> versions;
+    private final ImmutableMap<String, PayloadCounter> payloadCountersByVersion;
+    private final int hashLength;
+    private final int numEntries;
+    private final int indexEntrySize;
+    private final int indexStart;
+    private final int dataStart;
+    private final Set<P2PDataStorage.ByteArray> keySet = new KeySet();
+    private final Set<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> entrySet = new EntrySet();
+    // Written only after all payloads got deserialised, so readers always see a completely filled array
+    private volatile SoftReference<PersistableNetworkPayload[]> decodedPayloads = new SoftReference<>(null);
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Factory methods
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The data of the given file or an empty Optional if the file does not exist, is invalid or was created
+     * for other version tags.
+     */
+    static Optional<MappedHistoricalDataStore> open(File file, List<String> versions, ProtoResolver resolver) {
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+
+        // We validate the header before we map the file, as a mapped file can not be replaced on Windows.
+        Header header;
+        try (CountingInputStream in = new CountingInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            header = Header.read(in, versions, file.length());
+        } catch (IOException e) {
+            log.info("We ignore {} as it is outdated or invalid. {}", file.getName(), e.getMessage());
+            return Optional.empty();
+        }
+
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            return Optional.of(new MappedHistoricalDataStore(buffer, resolver, header));
+        } catch (IOException e) {
+            log.error("Mapping {} failed", file.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the given payloads to the given file and maps it. If the file can not be written we keep the data in
+     * the same format in the heap.
+     */
+    static MappedHistoricalDataStore create(File file,
+                                            List<String> versions,
+                                            Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion,
+                                            ProtoResolver resolver) {
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                write(out, versions, payloadsByVersion);
+            }
+            FileUtil.renameFile(tempFile, file);
+            Optional<MappedHistoricalDataStore> historicalData = open(file, versions, resolver);
+            if (historicalData.isPresent()) {
+                return historicalData.get();
+            }
+        } catch (IOException e) {
+            log.error("Writing {} failed", file.getName(), e);
+        }
+
+        log.warn("We keep the historical data of {} in memory", file.getName());
+        return createInMemory(versions, payloadsByVersion, resolver);
+    }
+
+    static MappedHistoricalDataStore createInMemory(List<String> versions,
+                                                    Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion,
+                                                    ProtoResolver resolver) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            write(out, versions, payloadsByVersion);
+            byte[] bytes = out.toByteArray();
+            Header header = Header.read(new CountingInputStream(new ByteArrayInputStream(bytes)), versions, bytes.length);
+            return new MappedHistoricalDataStore(ByteBuffer.wrap(bytes), resolver, header);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private MappedHistoricalDataStore(ByteBuffer buffer, @Nullable ProtoResolver resolver, Header header) {
+        this.buffer = buffer;
+        this.resolver = resolver;
+        versions = header.versions;
+        payloadCountersByVersion = header.payloadCountersByVersion;
+        hashLength = header.hashLength;
+        numEntries = header.numEntries;
+        indexEntrySize = getIndexEntrySize(hashLength);
+        indexStart = header.indexStart;
+        dataStart = indexStart + numEntries * indexEntrySize;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return Counters of the payloads by version tag. A payload which is contained in several historical resource
+     * files is only counted for the oldest version.
+     */
+    ImmutableMap<String, PayloadCounter> getPayloadCountersByVersion() {
+        return payloadCountersByVersion;
+    }
+
+    /**
+     * Passes all entries of the versions accepted by the given version filter, which are not excluded by the given key
+     * filter, to the given consumer. The keys are tested before the payloads get deserialised, so excluded payloads
+     * do not get deserialised.
+     */
+    void forEachOfVersions(Predicate<String> versionFilter,
+                           Predicate<P2PDataStorage.ByteArray> isExcludedKey,
+                           BiConsumer<P2PDataStorage.ByteArray, PersistableNetworkPayload> consumer) {
+        boolean[] acceptedVersions = new boolean[versions.size()];
+        for (int i = 0; i < acceptedVersions.length; i++) {
+            acceptedVersions[i] = versionFilter.test(versions.get(i));
+        }
+        for (int entry = 0; entry < numEntries; entry++) {
+            if (acceptedVersions[getVersionIndex(entry)]) {
+                P2PDataStorage.ByteArray key = new P2PDataStorage.ByteArray(getHash(entry));
+                if (!isExcludedKey.test(key)) {
+                    consumer.accept(key, getPayload(entry));
+                }
+            }
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Map
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int size() {
+        return numEntries;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof P2PDataStorage.ByteArray && indexOf(((P2PDataStorage.ByteArray) key).bytes) >= 0;
+    }
+
+    @Override
+    public PersistableNetworkPayload get(Object key) {
+        if (!(key instanceof P2PDataStorage.ByteArray)) {
+            return null;
+        }
+        int entry = indexOf(((P2PDataStorage.ByteArray) key).bytes);
+        return entry >= 0 ? getPayload(entry) : null;
+    }
+
+    @Override
+    public Set<P2PDataStorage.ByteArray> keySet() {
+        return keySet;
+    }
+
+    @Override
+    public Set<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> entrySet() {
+        return entrySet;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static int getIndexEntrySize(int hashLength) {
+        // hash, version index (short), offset (int), length (int)
+        return hashLength + 2 + 4 + 4;
+    }
+
+    private static void write(OutputStream outputStream,
+                              List<String> versions,
+                              Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion)
+            throws IOException {
+        // We sort the entries by the hash and keep a payload only for the oldest version it is contained in
+        TreeMap<byte[], IndexEntry> indexEntries = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+        Map<String, PayloadCounter> payloadCountersByVersion = new LinkedHashMap<>();
+        int hashLength = -1;
+        for (int versionIndex = 0; versionIndex < versions.size(); versionIndex++) {
+            String version = versions.get(versionIndex);
+            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> payloads = payloadsByVersion.get(version);
+            if (payloads == null) {
+                continue;
+            }
+
+            PayloadCounter payloadCounter = new PayloadCounter();
+            for (Map.Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload> entry : payloads.entrySet()) {
+                byte[] hash = entry.getKey().bytes;
+                if (hashLength == -1) {
+                    hashLength = hash.length;
+                } else if (hash.length != hashLength) {
+                    // Payloads of one store have always the same hash size, so that is an invalid payload
+                    log.warn("We ignore a historical payload of version {} with an unexpected hash size of {} bytes",
+                            version, hash.length);
+                    continue;
+                }
+
+                if (!indexEntries.containsKey(hash)) {
+                    byte[] serializedPayload = entry.getValue().toProtoMessage().toByteArray();
+                    indexEntries.put(hash, new IndexEntry(versionIndex, serializedPayload));
+                    payloadCounter.increment(entry.getValue());
+                }
+            }
+            payloadCountersByVersion.put(version, payloadCounter);
+        }
+
+        long dataSize = indexEntries.values().stream().mapToLong(entry -> entry.serializedPayload.length).sum();
+        long indexSize = (long) indexEntries.size() * getIndexEntrySize(Math.max(hashLength, 0));
+        // We use int offsets and leave 1 MB for the header. That is far above the size of the historical data.
+        if (dataSize + indexSize > Integer.MAX_VALUE - (1 << 20)) {
+            throw new IOException("Historical data are too large for a single file: " + (dataSize + indexSize));
+        }
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(versions.size());
+        for (String version : versions) {
+            out.writeUTF(version);
+        }
+        out.writeInt(payloadCountersByVersion.size());
+        for (Map.Entry<String, PayloadCounter> entry : payloadCountersByVersion.entrySet()) {
+            Map<String, Integer> countsByClassName = new TreeMap<>();
+            entry.getValue().addTo(countsByClassName);
+            out.writeUTF(entry.getKey());
+            out.writeInt(countsByClassName.size());
+            for (Map.Entry<String, Integer> count : countsByClassName.entrySet()) {
+                out.writeUTF(count.getKey());
+                out.writeInt(count.getValue());
+            }
+        }
+        out.writeInt(Math.max(hashLength, 0));
+        out.writeInt(indexEntries.size());
+        out.writeInt((int) dataSize);
+
+        int offset = 0;
+        for (Map.Entry<byte[], IndexEntry> entry : indexEntries.entrySet()) {
+            out.write(entry.getKey());
+            out.writeShort(entry.getValue().versionIndex);
+            out.writeInt(offset);
+            out.writeInt(entry.getValue().serializedPayload.length);
+            offset += entry.getValue().serializedPayload.length;
+        }
+        for (IndexEntry entry : indexEntries.values()) {
+            out.write(entry.serializedPayload);
+        }
+        out.flush();
+    }
+
+    // Binary search in the index, which is sorted by the unsigned bytes of the hashes
+    private int indexOf(byte[] hash) {
+        if (hash.length != hashLength) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = numEntries - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareHash(mid, hash);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // We only use absolute reads of the shared buffer, so it is safe to use from multiple threads
+    private int compareHash(int entry, byte[] hash) {
+        int position = indexStart + entry * indexEntrySize;
+        for (int i = 0; i < hashLength; i++) {
+            int comparison = Integer.compare(buffer.get(position + i) & 0xff, hash[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private byte[] getHash(int entry) {
+        int position = indexStart + entry * indexEntrySize;
+        byte[] hash = new byte[hashLength];
+        for (int i = 0; i < hashLength; i++) {
+            hash[i] = buffer.get(position + i);
+        }
+        return hash;
+    }
+
+    private int getVersionIndex(int entry) {
+        return buffer.getShort(indexStart + entry * indexEntrySize + hashLength);
+    }
+
+    private PersistableNetworkPayload getPayload(int entry) {
+        PersistableNetworkPayload[] payloads = decodedPayloads.get();
+        return payloads != null ? payloads[entry] : decodePayload(entry);
+    }
+
+    private PersistableNetworkPayload[] getDecodedPayloads() {
+        PersistableNetworkPayload[] payloads = decodedPayloads.get();
+        if (payloads == null) {
+            payloads = new PersistableNetworkPayload[numEntries];
+            for (int entry = 0; entry < numEntries; entry++) {
+                payloads[entry] = decodePayload(entry);
+            }
+            decodedPayloads = new SoftReference<>(payloads);
+        }
+        return payloads;
+    }
+
+    private PersistableNetworkPayload decodePayload(int entry) {
+        int position = indexStart + entry * indexEntrySize + hashLength + 2;
+        int offset = buffer.getInt(position);
+        int length = buffer.getInt(position + 4);
+        ByteBuffer serializedPayload = buffer.duplicate();
+        serializedPayload.limit(dataStart + offset + length);
+        serializedPayload.position(dataStart + offset);
+        try {
+            return PersistableNetworkPayload.fromProto(protobuf.PersistableNetworkPayload.parseFrom(serializedPayload),
+                    resolver);
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException("Historical payload at entry " + entry + " can not be parsed", e);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Inner classes
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class IndexEntry {
+        private final int versionIndex;
+        private final byte[] serializedPayload;
+
+        IndexEntry(int versionIndex, byte[] serializedPayload) {
+            this.versionIndex = versionIndex;
+            this.serializedPayload = serializedPayload;
+        }
+    }
+
+    private static class Header {
+        private final List<String> versions;
+        private final ImmutableMap<String, PayloadCounter> payloadCountersByVersion;
+        private final int hashLength;
+        private final int numEntries;
+        private final int indexStart;
+
+        Header(List<String> versions,
+               ImmutableMap<String, PayloadCounter> payloadCountersByVersion,
+               int hashLength,
+               int numEntries,
+               int indexStart) {
+            this.versions = versions;
+            this.payloadCountersByVersion = payloadCountersByVersion;
+            this.hashLength = hashLength;
+            this.numEntries = numEntries;
+            this.indexStart = indexStart;
+        }
+
+        static Header read(CountingInputStream countingInputStream, List<String> expectedVersions, long fileSize)
+                throws IOException {
+            DataInputStream in = new DataInputStream(countingInputStream);
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown file format");
+            }
+
+            int numVersions = in.readInt();
+            ImmutableList.Builder<String> versions = ImmutableList.builder();
+            for (int i = 0; i < numVersions; i++) {
+                versions.add(in.readUTF());
+            }
+            if (!versions.build().equals(expectedVersions)) {
+                throw new IOException("The file was created for other version tags");
+            }
+
+            int numCountedVersions = in.readInt();
+            ImmutableMap.Builder<String, PayloadCounter> payloadCountersByVersion = ImmutableMap.builder();
+            for (int i = 0; i < numCountedVersions; i++) {
+                String version = in.readUTF();
+                PayloadCounter payloadCounter = new PayloadCounter();
+                int numClassNames = in.readInt();
+                for (int j = 0; j < numClassNames; j++) {
+                    payloadCounter.add(in.readUTF(), in.readInt());
+                }
+                payloadCountersByVersion.put(version, payloadCounter);
+            }
+
+            int hashLength = in.readInt();
+            int numEntries = in.readInt();
+            int dataSize = in.readInt();
+            int indexStart = (int) countingInputStream.getCount();
+            long expectedFileSize = indexStart + (long) numEntries * getIndexEntrySize(hashLength) + dataSize;
+            if (hashLength < 0 || numEntries < 0 || dataSize < 0 || fileSize != expectedFileSize) {
+                throw new IOException("Unexpected file size " + fileSize + ". Expected " + expectedFileSize);
+            }
+            return new Header(ImmutableList.copyOf(expectedVersions),
+                    payloadCountersByVersion.build(),
+                    hashLength,
+                    numEntries,
+                    indexStart);
+        }
+    }
+
+    private class KeySet extends AbstractSet<P2PDataStorage.ByteArray> {
+        @Override
+        public Iterator<P2PDataStorage.ByteArray> iterator() {
+            return new EntryIterator<>() {
+                @Override
+                P2PDataStorage.ByteArray get(int entry) {
+                    return new P2PDataStorage.ByteArray(getHash(entry));
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return numEntries;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> {
+        @Override
+        public Iterator<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> iterator() {
+            PersistableNetworkPayload[] payloads = getDecodedPayloads();
+            return new EntryIterator<>() {
+                @Override
+                Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload> get(int entry) {
+                    return new SimpleImmutableEntry<>(new P2PDataStorage.ByteArray(getHash(entry)), payloads[entry]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return numEntries;
+        }
+    }
+
+    private abstract class EntryIterator<E> implements Iterator<E> {
+        private int nextEntry;
+
+        abstract E get(int entry);
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry < numEntries;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return get(nextEntry++);
+        }
+    }
+}
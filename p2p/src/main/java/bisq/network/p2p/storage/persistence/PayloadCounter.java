@@ -0,0 +1,60 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.storage.persistence;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts payloads by their simple class name. Maintained at each change of a data map, so that reporting the number
+ * of payloads (e.g. for the inventory of a seed node) does not require to iterate over or copy the data maps.
+ */
+public class PayloadCounter {
+    private final Map<String, Integer> countByClassName = new ConcurrentHashMap<>();
+
+    public void increment(Object payload) {
+        countByClassName.merge(payload.getClass().getSimpleName(), 1, Integer::sum);
+    }
+
+    public void decrement(Object payload) {
+        countByClassName.computeIfPresent(payload.getClass().getSimpleName(),
+                (className, count) -> count > 1 ? count - 1 : null);
+    }
+
+    public void add(String className, int count) {
+        countByClassName.merge(className, count, Integer::sum);
+    }
+
+    public void reset(Collection<?> payloads) {
+        countByClassName.clear();
+        payloads.forEach(this::increment);
+    }
+
+    /**
+     * Adds our counts to the given counts by class name.
+     */
+    public void addTo(Map<String, Integer> counts) {
+        countByClassName.forEach((className, count) -> counts.merge(className, count, Integer::sum));
+    }
+
+    public int getCount(String className) {
+        return countByClassName.getOrDefault(className, 0);
+    }
+}
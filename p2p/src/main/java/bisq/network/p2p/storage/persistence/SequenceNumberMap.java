@@ -27,7 +27,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * This class was not generalized to HashMapPersistable (like we did with #ListPersistable) because
@@ -35,9 +34,10 @@ import lombok.Setter;
  * Hence this Persistable class.
  */
 public class SequenceNumberMap implements PersistableEnvelope {
+    // The map is read from worker threads at pre-validating received entries while it gets written on the user thread,
+    // so we always use a ConcurrentHashMap and a volatile reference.
     @Getter
-    @Setter
-    private Map<P2PDataStorage.ByteArray, P2PDataStorage.MapValue> map = new ConcurrentHashMap<>();
+    private volatile Map<P2PDataStorage.ByteArray, P2PDataStorage.MapValue> map = new ConcurrentHashMap<>();
 
     public SequenceNumberMap() {
     }
@@ -76,6 +76,10 @@ public class SequenceNumberMap implements PersistableEnvelope {
     // API
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    public void setMap(Map<P2PDataStorage.ByteArray, P2PDataStorage.MapValue> map) {
+        this.map = new ConcurrentHashMap<>(map);
+    }
+
     // Delegates
     public int size() {
         return map.size();
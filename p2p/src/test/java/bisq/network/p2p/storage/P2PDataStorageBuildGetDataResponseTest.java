@@ -20,6 +20,7 @@ package bisq.network.p2p.storage;
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.TestUtils;
 import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.peers.getdata.messages.ExcludedKeyDigests;
 import bisq.network.p2p.peers.getdata.messages.GetDataRequest;
 import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
 import bisq.network.p2p.peers.getdata.messages.GetUpdatedDataRequest;
@@ -487,4 +488,23 @@ public class P2PDataStorageBuildGetDataResponseTest {
             return new GetUpdatedDataRequest(new NodeAddress("peer", 10), nonce, knownKeys);
         }
     }
+
+    public static class P2PDataStorageBuildGetDataResponseTestPreliminaryCompact extends P2PDataStorageBuildGetDataResponseTestBase {
+
+        @Override
+        GetDataRequest buildGetDataRequest(int nonce, Set<byte[]> knownKeys) {
+            return new PreliminaryGetDataRequest(nonce, new HashSet<>(), ExcludedKeyDigests.fromKeys(knownKeys, nonce));
+        }
+    }
+
+    public static class P2PDataStorageBuildGetDataResponseTestUpdatedCompact extends P2PDataStorageBuildGetDataResponseTestBase {
+
+        @Override
+        GetDataRequest buildGetDataRequest(int nonce, Set<byte[]> knownKeys) {
+            return new GetUpdatedDataRequest(new NodeAddress("peer", 10),
+                    nonce,
+                    new HashSet<>(),
+                    ExcludedKeyDigests.fromKeys(knownKeys, nonce));
+        }
+    }
 }
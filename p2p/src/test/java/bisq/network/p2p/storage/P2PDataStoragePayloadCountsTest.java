@@ -0,0 +1,98 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.TestUtils;
+import bisq.network.p2p.storage.mocks.ExpirableProtectedStoragePayloadStub;
+import bisq.network.p2p.storage.mocks.PersistableNetworkPayloadStub;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
+
+import bisq.common.app.Version;
+import bisq.common.crypto.CryptoException;
+
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static bisq.network.p2p.storage.TestState.getTestNodeAddress;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the payload counts used for the inventory follow the adds, removes and expiry of the data.
+ */
+public class P2PDataStoragePayloadCountsTest {
+    private TestState testState;
+
+    @BeforeEach
+    public void setUp() {
+        this.testState = new TestState();
+        Version.setBaseCryptoNetworkId(1);
+    }
+
+    private Map<String, Integer> getPayloadCounts() {
+        return this.testState.mockedStorage.getPayloadCountsForDataResponse(Version.VERSION);
+    }
+
+    @Test
+    public void addPersistableNetworkPayload_countsOncePerHash() {
+        P2PDataStorage storage = this.testState.mockedStorage;
+        assertTrue(storage.addPersistableNetworkPayload(new PersistableNetworkPayloadStub(new byte[]{1}), getTestNodeAddress(), false));
+        assertTrue(storage.addPersistableNetworkPayload(new PersistableNetworkPayloadStub(new byte[]{2}), getTestNodeAddress(), false));
+        assertFalse(storage.addPersistableNetworkPayload(new PersistableNetworkPayloadStub(new byte[]{2}), getTestNodeAddress(), false));
+
+        assertEquals(2, getPayloadCounts().get(PersistableNetworkPayloadStub.class.getSimpleName()));
+    }
+
+    @Test
+    public void protectedStorageEntry_countedOnAddAndExpiry() throws NoSuchAlgorithmException, CryptoException {
+        KeyPair ownerKeys = TestUtils.generateKeyPair();
+        ProtectedStoragePayload protectedStoragePayload = new ExpirableProtectedStoragePayloadStub(ownerKeys.getPublic(), 0);
+        ProtectedStorageEntry protectedStorageEntry = this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, ownerKeys);
+        assertTrue(this.testState.mockedStorage.addProtectedStorageEntry(protectedStorageEntry, getTestNodeAddress(), null));
+
+        String className = ExpirableProtectedStoragePayloadStub.class.getSimpleName();
+        assertEquals(1, getPayloadCounts().get(className));
+
+        // Increment the clock by an hour which will cause the Payload to be outside the TTL range
+        this.testState.incrementClock();
+        this.testState.mockedStorage.removeExpiredEntries();
+
+        assertFalse(getPayloadCounts().containsKey(className));
+    }
+
+    @Test
+    public void protectedStorageEntry_countedOnceAfterRefresh() throws NoSuchAlgorithmException, CryptoException {
+        KeyPair ownerKeys = TestUtils.generateKeyPair();
+        ProtectedStoragePayload protectedStoragePayload = new ExpirableProtectedStoragePayloadStub(ownerKeys.getPublic());
+        ProtectedStorageEntry protectedStorageEntry = this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, ownerKeys);
+        assertTrue(this.testState.mockedStorage.addProtectedStorageEntry(protectedStorageEntry, getTestNodeAddress(), null));
+
+        ProtectedStorageEntry updatedEntry = this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, ownerKeys);
+        assertTrue(this.testState.mockedStorage.addProtectedStorageEntry(updatedEntry, getTestNodeAddress(), null));
+
+        assertEquals(1, getPayloadCounts().get(ExpirableProtectedStoragePayloadStub.class.getSimpleName()));
+    }
+}
@@ -30,15 +30,22 @@ import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class P2PDataStorageProcessGetDataResponse {
@@ -258,4 +265,28 @@ public class P2PDataStorageProcessGetDataResponse {
         this.testState.verifyProtectedStorageAdd(
                 beforeState, protectedStorageEntry, true, true, false, true);
     }
+
+    // TESTCASE: GetDataResponse w/ missing PSEs processed async signals listeners once with all added entries
+    @Test
+    public void processGetDataResponseAsync_newPSEsUpdatesStateWithSingleListenerSignal()
+            throws NoSuchAlgorithmException, InterruptedException {
+        ProtectedStorageEntry protectedStorageEntry1 = getProtectedStorageEntryForAdd();
+        ProtectedStorageEntry protectedStorageEntry2 = getProtectedStorageEntryForAdd();
+        GetDataResponse getDataResponse = buildGetDataResponse(
+                Arrays.asList(protectedStorageEntry1, protectedStorageEntry2), Collections.emptyList());
+
+        HashMapChangedListener hashMapChangedListener = mock(HashMapChangedListener.class);
+        this.testState.mockedStorage.addHashMapChangedListener(hashMapChangedListener);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        this.testState.mockedStorage.processGetDataResponseAsync(getDataResponse, this.peerNodeAddress, latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        assertEquals(protectedStorageEntry1, this.testState.mockedStorage.getMap().get(
+                P2PDataStorage.get32ByteHashAsByteArray(protectedStorageEntry1.getProtectedStoragePayload())));
+        assertEquals(protectedStorageEntry2, this.testState.mockedStorage.getMap().get(
+                P2PDataStorage.get32ByteHashAsByteArray(protectedStorageEntry2.getProtectedStoragePayload())));
+        verify(hashMapChangedListener).onAdded(argThat(entries -> entries.size() == 2 &&
+                entries.containsAll(Arrays.asList(protectedStorageEntry1, protectedStorageEntry2))));
+    }
 }
@@ -19,6 +19,7 @@ package bisq.network.p2p.storage;
 
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.TestUtils;
+import bisq.network.p2p.peers.getdata.messages.ExcludedKeyDigests;
 import bisq.network.p2p.peers.getdata.messages.GetUpdatedDataRequest;
 import bisq.network.p2p.peers.getdata.messages.PreliminaryGetDataRequest;
 import bisq.network.p2p.storage.mocks.PersistableNetworkPayloadStub;
@@ -30,15 +31,20 @@ import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
 import bisq.common.app.Capabilities;
 import bisq.common.app.Capability;
 
+import com.google.common.collect.Lists;
+
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
 
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
@@ -168,4 +174,47 @@ public class P2PDataStorageRequestDataTest {
         assertTrue(byteSetContains(getDataRequest.getExcludedKeys(),
                 P2PDataStorage.get32ByteHash(toAdd4.getProtectedStoragePayload())));
     }
+
+    // TESTCASE: P2PDataStorage with PersistableNetworkPayloads and ProtectedStorageEntry generates
+    // correct compact GetDataRequestMessage with digests of both sets of keys.
+    @Test
+    public void buildPreliminaryGetDataRequest_FilledP2PDataStore_CompactExcludedKeys() throws NoSuchAlgorithmException {
+        PersistableNetworkPayload toAdd1 = new PersistableNetworkPayloadStub(new byte[]{1});
+        PersistableNetworkPayload toAdd2 = new PersistableNetworkPayloadStub(new byte[]{2});
+        PersistableNetworkPayload notAdded = new PersistableNetworkPayloadStub(new byte[]{3});
+        ProtectedStorageEntry toAdd3 = getProtectedStorageEntryForAdd();
+
+        this.testState.mockedStorage.addPersistableNetworkPayload(toAdd1, this.localNodeAddress, false);
+        this.testState.mockedStorage.addPersistableNetworkPayload(toAdd2, this.localNodeAddress, false);
+        this.testState.mockedStorage.addProtectedStorageEntry(toAdd3, this.localNodeAddress, null);
+
+        PreliminaryGetDataRequest getDataRequest =
+                this.testState.mockedStorage.buildPreliminaryGetDataRequest(1, true);
+
+        assertTrue(getDataRequest.getExcludedKeys().isEmpty());
+        assertEquals(3, getDataRequest.getExcludedKeyDigests().size());
+        assertEquals(3, getDataRequest.getNumExcludedKeys());
+        assertTrue(getDataRequest.getExcludedKeyDigests().contains(toAdd1.getHash()));
+        assertTrue(getDataRequest.getExcludedKeyDigests().contains(toAdd2.getHash()));
+        assertTrue(getDataRequest.getExcludedKeyDigests().contains(
+                P2PDataStorage.get32ByteHash(toAdd3.getProtectedStoragePayload())));
+        assertFalse(getDataRequest.getExcludedKeyDigests().contains(notAdded.getHash()));
+    }
+
+    // TESTCASE: The digests are salted with the nonce of the request, so they differ for each request but the
+    // receiver finds the keys using the nonce of the received request.
+    @Test
+    public void buildPreliminaryGetDataRequest_CompactExcludedKeysSaltedWithNonce() {
+        PersistableNetworkPayload toAdd = new PersistableNetworkPayloadStub(new byte[]{1});
+        this.testState.mockedStorage.addPersistableNetworkPayload(toAdd, this.localNodeAddress, false);
+
+        PreliminaryGetDataRequest request1 = this.testState.mockedStorage.buildPreliminaryGetDataRequest(1, true);
+        PreliminaryGetDataRequest request2 = this.testState.mockedStorage.buildPreliminaryGetDataRequest(2, true);
+        List<Long> digests1 = Lists.newArrayList(request1.getExcludedKeyDigests().toProtoList());
+        List<Long> digests2 = Lists.newArrayList(request2.getExcludedKeyDigests().toProtoList());
+        assertNotEquals(digests1, digests2);
+
+        assertTrue(ExcludedKeyDigests.fromProto(digests1, 1).contains(toAdd.getHash()));
+        assertFalse(ExcludedKeyDigests.fromProto(digests1, 2).contains(toAdd.getHash()));
+    }
 }
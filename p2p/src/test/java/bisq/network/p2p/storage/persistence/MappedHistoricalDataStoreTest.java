@@ -0,0 +1,211 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.network.p2p.storage.persistence;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+
+import bisq.common.proto.ProtoResolver;
+
+import com.google.protobuf.ByteString;
+
+import java.io.File;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MappedHistoricalDataStoreTest {
+    private static final List<String> VERSIONS = Arrays.asList("1.0.0", "1.1.0", "1.2.0");
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void testCreateAndOpen() {
+        File file = new File(tempDir, "TestStore_historical");
+        Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion = getPayloadsByVersion();
+        MappedHistoricalDataStore created = MappedHistoricalDataStore.create(file, VERSIONS, payloadsByVersion, getResolver());
+        assertTrue(file.exists());
+        assertContainsAll(created, payloadsByVersion);
+
+        Optional<MappedHistoricalDataStore> opened = MappedHistoricalDataStore.open(file, VERSIONS, getResolver());
+        assertTrue(opened.isPresent());
+        assertContainsAll(opened.get(), payloadsByVersion);
+    }
+
+    @Test
+    public void testCreateInMemory() {
+        Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion = getPayloadsByVersion();
+        assertContainsAll(MappedHistoricalDataStore.createInMemory(VERSIONS, payloadsByVersion, getResolver()),
+                payloadsByVersion);
+    }
+
+    @Test
+    public void testOpenIgnoresFileOfOtherVersions() {
+        File file = new File(tempDir, "TestStore_historical");
+        MappedHistoricalDataStore.create(file, VERSIONS, getPayloadsByVersion(), getResolver());
+
+        assertFalse(MappedHistoricalDataStore.open(file, Arrays.asList("1.0.0", "1.1.0"), getResolver()).isPresent());
+        assertFalse(MappedHistoricalDataStore.open(new File(tempDir, "missing"), VERSIONS, getResolver()).isPresent());
+    }
+
+    @Test
+    public void testDuplicatesAreAssignedToOldestVersion() {
+        MappedHistoricalDataStore historicalData = MappedHistoricalDataStore.createInMemory(VERSIONS,
+                getPayloadsByVersion(),
+                getResolver());
+
+        // Payload 3 is contained in the stores of 1.0.0 and 1.2.0
+        String className = TestPayload.class.getSimpleName();
+        assertEquals(4, historicalData.size());
+        assertEquals(2, historicalData.getPayloadCountersByVersion().get("1.0.0").getCount(className));
+        assertEquals(1, historicalData.getPayloadCountersByVersion().get("1.1.0").getCount(className));
+        assertEquals(1, historicalData.getPayloadCountersByVersion().get("1.2.0").getCount(className));
+
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> sinceVersion = new HashMap<>();
+        historicalData.forEachOfVersions(version -> !version.equals("1.0.0"), key -> false, sinceVersion::put);
+        assertEquals(2, sinceVersion.size());
+        assertTrue(sinceVersion.containsKey(getHash(2)));
+        assertTrue(sinceVersion.containsKey(getHash(4)));
+    }
+
+    @Test
+    public void testExcludedKeysAreNotDeserialised() {
+        ProtoResolver resolver = getResolver();
+        MappedHistoricalDataStore historicalData = MappedHistoricalDataStore.createInMemory(VERSIONS,
+                getPayloadsByVersion(),
+                resolver);
+
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> sinceVersion = new HashMap<>();
+        historicalData.forEachOfVersions(version -> true, getHash(2)::equals, sinceVersion::put);
+        assertEquals(3, sinceVersion.size());
+        assertFalse(sinceVersion.containsKey(getHash(2)));
+        verify(resolver, times(3)).fromProto(any(protobuf.PersistableNetworkPayload.class));
+    }
+
+    @Test
+    public void testIteratedPayloadsAreDeserialisedOnce() {
+        ProtoResolver resolver = getResolver();
+        MappedHistoricalDataStore historicalData = MappedHistoricalDataStore.createInMemory(VERSIONS,
+                getPayloadsByVersion(),
+                resolver);
+
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> firstIteration = new HashMap<>(historicalData);
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> secondIteration = new HashMap<>(historicalData);
+        firstIteration.forEach((hash, payload) -> {
+            assertSame(payload, secondIteration.get(hash));
+            assertSame(payload, historicalData.get(hash));
+        });
+        verify(resolver, times(4)).fromProto(any(protobuf.PersistableNetworkPayload.class));
+    }
+
+    private static void assertContainsAll(MappedHistoricalDataStore historicalData,
+                                          Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion) {
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allPayloads = new HashMap<>();
+        payloadsByVersion.values().forEach(allPayloads::putAll);
+
+        assertEquals(allPayloads.size(), historicalData.size());
+        allPayloads.forEach((hash, payload) -> {
+            assertTrue(historicalData.containsKey(hash));
+            assertEquals(payload.toProtoMessage(), historicalData.get(hash).toProtoMessage());
+        });
+        assertEquals(allPayloads.keySet(), historicalData.keySet());
+        historicalData.forEach((hash, payload) -> assertArrayEquals(hash.bytes, payload.getHash()));
+
+        assertFalse(historicalData.containsKey(getHash(99)));
+        assertNull(historicalData.get(getHash(99)));
+        assertNull(historicalData.get(new P2PDataStorage.ByteArray(new byte[]{1})));
+    }
+
+    private static Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> getPayloadsByVersion() {
+        Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> payloadsByVersion = new HashMap<>();
+        payloadsByVersion.put("1.0.0", getPayloads(1, 3));
+        payloadsByVersion.put("1.1.0", getPayloads(2));
+        payloadsByVersion.put("1.2.0", getPayloads(3, 4));
+        return payloadsByVersion;
+    }
+
+    private static Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getPayloads(int... ids) {
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> payloads = new HashMap<>();
+        for (int id : ids) {
+            TestPayload payload = new TestPayload(protobuf.AccountAgeWitness.newBuilder()
+                    .setHash(ByteString.copyFrom(getHash(id).bytes))
+                    .setDate(id)
+                    .build());
+            payloads.put(new P2PDataStorage.ByteArray(payload.getHash()), payload);
+        }
+        return payloads;
+    }
+
+    // Hashes with a negative first byte for covering the unsigned sort order
+    private static P2PDataStorage.ByteArray getHash(int id) {
+        byte[] hash = new byte[20];
+        hash[0] = (byte) (id * 70);
+        hash[19] = (byte) id;
+        return new P2PDataStorage.ByteArray(hash);
+    }
+
+    private static ProtoResolver getResolver() {
+        ProtoResolver resolver = mock(ProtoResolver.class);
+        when(resolver.fromProto(any(protobuf.PersistableNetworkPayload.class))).thenAnswer(invocation ->
+                new TestPayload(invocation.getArgument(0, protobuf.PersistableNetworkPayload.class).getAccountAgeWitness()));
+        return resolver;
+    }
+
+    private static class TestPayload implements PersistableNetworkPayload {
+        private final protobuf.AccountAgeWitness proto;
+
+        TestPayload(protobuf.AccountAgeWitness proto) {
+            this.proto = proto;
+        }
+
+        @Override
+        public protobuf.PersistableNetworkPayload toProtoMessage() {
+            return protobuf.PersistableNetworkPayload.newBuilder().setAccountAgeWitness(proto).build();
+        }
+
+        @Override
+        public byte[] getHash() {
+            return proto.getHash().toByteArray();
+        }
+
+        @Override
+        public boolean verifyHashSize() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends records to a journal file. Each record is prefixed with its length as varint32 like protobuf's
+ * writeDelimitedTo does, so a journal of protobuf messages can be read with parseDelimitedFrom as well.
+ * <p>
+ * Appends are executed in the order of the calls. If a write fails all following appends fail as well until the
+ * journal gets reset, as we would otherwise leave a gap in the file.
+ */
+@Slf4j
+public class JournalFileWriter {
+    private final AsyncFileWriter asyncWriter;
+    private final ExecutorService writeRequestScheduler;
+    private int position;
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+    public JournalFileWriter(AsyncFileWriter asyncWriter, ExecutorService writeRequestScheduler, int position) {
+        this.asyncWriter = asyncWriter;
+        this.writeRequestScheduler = writeRequestScheduler;
+        this.position = position;
+    }
+
+    public synchronized CompletableFuture<Void> append(byte[] record) {
+        byte[] data = toDelimited(record);
+        int offset = position;
+        position += data.length;
+        lastWrite = lastWrite.thenCompose(nil -> writeFully(data, offset));
+        return lastWrite;
+    }
+
+    /**
+     * Truncates the journal after all pending appends have been completed. Used after the full state got written to
+     * a snapshot. Clears a previous write failure.
+     */
+    public synchronized CompletableFuture<Void> reset() {
+        position = 0;
+        lastWrite = lastWrite.handle((nil, throwable) -> null)
+                .thenCompose(nil -> asyncWriter.truncate());
+        return lastWrite;
+    }
+
+    /**
+     * @return Future which completes when all appends issued before have been completed.
+     */
+    public synchronized CompletableFuture<Void> getPendingWrites() {
+        return lastWrite;
+    }
+
+    public Path getFilePath() {
+        return asyncWriter.getFilePath();
+    }
+
+    /**
+     * Reads all records of a journal file. A trailing incomplete record, which is the result of a crash in the middle
+     * of a write, is ignored. It must be cut off by {@link #truncate(Path, long)} before appending to the journal
+     * again, as the appended records would not be readable otherwise.
+     */
+    public static List<byte[]> readRecords(Path journalFile) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        if (!Files.exists(journalFile)) {
+            return records;
+        }
+
+        byte[] data = Files.readAllBytes(journalFile);
+        int index = 0;
+        while (index < data.length) {
+            int length = 0;
+            int shift = 0;
+            boolean hasLength = false;
+            while (index < data.length && shift < 35) {
+                byte b = data[index++];
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+                if ((b & 0x80) == 0) {
+                    hasLength = true;
+                    break;
+                }
+            }
+
+            if (!hasLength || length < 0 || length > data.length - index) {
+                log.warn("Journal {} has an incomplete record at its end. We ignore it.", journalFile);
+                break;
+            }
+
+            records.add(Arrays.copyOfRange(data, index, index + length));
+            index += length;
+        }
+        return records;
+    }
+
+    /**
+     * Cuts the journal file back to the given length, e.g. to the end of the last valid record.
+     */
+    public static void truncate(Path journalFile, long length) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            fileChannel.truncate(length);
+            fileChannel.force(true);
+        }
+    }
+
+    /**
+     * @return The number of bytes the record occupies in the journal file, including its length prefix.
+     */
+    public static int getDelimitedSize(byte[] record) {
+        int size = 1;
+        int length = record.length;
+        while ((length & ~0x7F) != 0) {
+            size++;
+            length >>>= 7;
+        }
+        return size + record.length;
+    }
+
+    private CompletableFuture<Void> writeFully(byte[] data, int offset) {
+        return asyncWriter.write(data, offset)
+                .thenComposeAsync(writtenBytes -> {
+                    if (writtenBytes == data.length) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    byte[] remaining = Arrays.copyOfRange(data, writtenBytes, data.length);
+                    return writeFully(remaining, offset + writtenBytes);
+                }, writeRequestScheduler);
+    }
+
+    private static byte[] toDelimited(byte[] record) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(record.length + 5);
+        int length = record.length;
+        while ((length & ~0x7F) != 0) {
+            outputStream.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        outputStream.write(length);
+        outputStream.write(record, 0, record.length);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JournalFileWriterTests {
+    private static final ExecutorService writeRequestScheduler = Executors.newSingleThreadExecutor();
+    private Path filePath;
+    private AsynchronousFileChannel fileChannel;
+    private JournalFileWriter journalFileWriter;
+
+    @BeforeEach
+    void setup(@TempDir Path tempDir) throws IOException {
+        filePath = tempDir.resolve("journal");
+        fileChannel = AsynchronousFileChannel.open(filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        journalFileWriter = new JournalFileWriter(new AsyncFileChannelWriter(filePath, fileChannel),
+                writeRequestScheduler,
+                0);
+    }
+
+    @AfterEach
+    void closeChannel() throws IOException {
+        fileChannel.close();
+    }
+
+    @AfterAll
+    static void teardown() {
+        writeRequestScheduler.shutdownNow();
+    }
+
+    @Test
+    void appendAndReadRecords() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        byte[] first = randomBytes(10);
+        byte[] second = randomBytes(300);
+        byte[] third = new byte[0];
+
+        journalFileWriter.append(first);
+        journalFileWriter.append(second);
+        journalFileWriter.append(third)
+                .get(30, TimeUnit.SECONDS);
+
+        List<byte[]> records = JournalFileWriter.readRecords(filePath);
+        assertThat(records.size(), is(3));
+        assertThat(records.get(0), is(first));
+        assertThat(records.get(1), is(second));
+        assertThat(records.get(2), is(third));
+    }
+
+    @Test
+    void resetTruncatesJournal() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        journalFileWriter.append(randomBytes(100));
+        journalFileWriter.reset();
+        byte[] afterReset = randomBytes(20);
+        journalFileWriter.append(afterReset)
+                .get(30, TimeUnit.SECONDS);
+
+        List<byte[]> records = JournalFileWriter.readRecords(filePath);
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0), is(afterReset));
+    }
+
+    @Test
+    void ignoreIncompleteRecordAtEnd() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        byte[] complete = randomBytes(50);
+        journalFileWriter.append(complete);
+        journalFileWriter.append(randomBytes(200))
+                .get(30, TimeUnit.SECONDS);
+
+        // Simulate a crash in the middle of the second write
+        byte[] data = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(data, data.length - 100));
+
+        List<byte[]> records = JournalFileWriter.readRecords(filePath);
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0), is(complete));
+    }
+
+    @Test
+    void appendAfterCuttingOffIncompleteRecord() throws IOException, InterruptedException, ExecutionException,
+            TimeoutException {
+        byte[] first = randomBytes(50);
+        byte[] second = randomBytes(200);
+        journalFileWriter.append(first);
+        journalFileWriter.append(second);
+        journalFileWriter.append(randomBytes(300))
+                .get(30, TimeUnit.SECONDS);
+        fileChannel.close();
+
+        // Simulate a crash in the middle of the third write
+        byte[] data = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(data, data.length - 100));
+
+        // Recover as at reading the persisted data
+        List<byte[]> records = JournalFileWriter.readRecords(filePath);
+        long validLength = records.stream().mapToLong(JournalFileWriter::getDelimitedSize).sum();
+        JournalFileWriter.truncate(filePath, validLength);
+
+        fileChannel = AsynchronousFileChannel.open(filePath, StandardOpenOption.WRITE);
+        journalFileWriter = new JournalFileWriter(new AsyncFileChannelWriter(filePath, fileChannel),
+                writeRequestScheduler,
+                (int) fileChannel.size());
+        byte[] third = randomBytes(20);
+        byte[] fourth = randomBytes(400);
+        journalFileWriter.append(third);
+        journalFileWriter.append(fourth)
+                .get(30, TimeUnit.SECONDS);
+
+        records = JournalFileWriter.readRecords(filePath);
+        assertThat(records.size(), is(4));
+        assertThat(records.get(0), is(first));
+        assertThat(records.get(1), is(second));
+        assertThat(records.get(2), is(third));
+        assertThat(records.get(3), is(fourth));
+    }
+
+    @Test
+    void delimitedSizeMatchesFileSize() throws IOException, InterruptedException, ExecutionException,
+            TimeoutException {
+        byte[] small = randomBytes(127);
+        byte[] large = randomBytes(20000);
+        journalFileWriter.append(small);
+        journalFileWriter.append(large)
+                .get(30, TimeUnit.SECONDS);
+
+        assertThat(Files.size(filePath),
+                is((long) JournalFileWriter.getDelimitedSize(small) + JournalFileWriter.getDelimitedSize(large)));
+    }
+
+    @Test
+    void readMissingJournal(@TempDir Path tempDir) throws IOException {
+        assertThat(JournalFileWriter.readRecords(tempDir.resolve("missing")).isEmpty(), is(true));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+}
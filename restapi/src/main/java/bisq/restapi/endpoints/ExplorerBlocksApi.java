@@ -1,15 +1,11 @@
 package bisq.restapi.endpoints;
 
 import bisq.core.dao.state.DaoStateService;
-import bisq.core.dao.state.model.blockchain.Block;
 
-import java.util.List;
 import java.util.Optional;
 
 import lombok.extern.slf4j.Slf4j;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-
 
 
 import bisq.restapi.BlockDataToJsonConverter;
@@ -53,11 +49,8 @@ public class ExplorerBlocksApi {
     @Path("get-bsq-block-by-height/{block-height}")
     public JsonBlock getBsqBlockByHeight(@Parameter(description = "Block Height") @PathParam("block-height") int blockHeight) {
         restApi.checkDaoReady();
-        List<Block> blocks = daoStateService.getBlocks();
-        Optional<JsonBlock> jsonBlock = checkNotNull(blocks.stream())
-                .filter(block -> block.getHeight() == blockHeight)
-                .map(block -> BlockDataToJsonConverter.getJsonBlock(daoStateService, block))
-                .findFirst();
+        Optional<JsonBlock> jsonBlock = daoStateService.getBlockAtHeight(blockHeight)
+                .map(block -> BlockDataToJsonConverter.getJsonBlock(daoStateService, block));
         if (jsonBlock.isPresent()) {
             log.info("supplying block at height {} to client.", blockHeight);
             return jsonBlock.get();
@@ -71,11 +64,8 @@ public class ExplorerBlocksApi {
     @Path("get-bsq-block-by-hash/{block-hash}")
     public JsonBlock getBsqBlockByHash(@Parameter(description = "Block Hash") @PathParam("block-hash") String hash) {
         restApi.checkDaoReady();
-        List<Block> blocks = daoStateService.getBlocks();
-        Optional<JsonBlock> jsonBlock = checkNotNull(blocks.stream())
-                .filter(block -> block.getHash().equalsIgnoreCase(hash))
-                .map(block -> BlockDataToJsonConverter.getJsonBlock(daoStateService, block))
-                .findFirst();
+        Optional<JsonBlock> jsonBlock = daoStateService.getBlockByHash(hash)
+                .map(block -> BlockDataToJsonConverter.getJsonBlock(daoStateService, block));
         if (jsonBlock.isPresent()) {
             log.info("supplying block {} to client.", hash);
             return jsonBlock.get();
@@ -4,13 +4,16 @@ import bisq.core.locale.CurrencyUtil;
 import bisq.core.locale.Res;
 import bisq.core.offer.OfferBookService;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsAggregates;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 
 import bisq.common.util.MathUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -21,9 +24,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
+import bisq.restapi.dto.JsonCandle;
 import bisq.restapi.dto.JsonCurrency;
 import bisq.restapi.dto.JsonOffer;
 import bisq.restapi.dto.JsonTradeInfo;
+import bisq.restapi.error.StatusException;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
@@ -32,6 +37,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 
 @Slf4j
 @Path("/explorer/markets")
@@ -142,4 +148,44 @@ public class ExplorerMarketsApi {
         log.info("client requested trades, returning {} trades", result.size());
         return result;
     }
+
+    // Candles are read from the pre-aggregated trade statistics. Interval is one of month, week, day or hour.
+    // http://localhost:8081/api/v1/explorer/markets/get-candles/EUR/day/1672531200000/1675209600000
+    @GET
+    @Path("get-candles/{currency}/{interval}/{from}/{to}")
+    public List<JsonCandle> getBisqCandles(@PathParam("currency") String currency,
+                                           @PathParam("interval") String interval,
+                                           @PathParam("from") long from,
+                                           @PathParam("to") long to) {
+        TradeStatisticsAggregates.Interval candleInterval = toCandleInterval(interval);
+        if (from > to) {
+            throw new StatusException(Response.Status.BAD_REQUEST,
+                    "Invalid range. from " + from + " must not be after to " + to);
+        }
+        List<JsonCandle> result = tradeStatisticsManager.getCandles(currency, candleInterval, from, to).stream()
+                .map(candle -> new JsonCandle(currency,
+                        candleInterval.name().toLowerCase(Locale.ROOT),
+                        candle.getStartTime(),
+                        candle.getOpen(),
+                        candle.getClose(),
+                        candle.getHigh(),
+                        candle.getLow(),
+                        candle.getAmount(),
+                        candle.getVolume(),
+                        candle.getNumTrades()))
+                .collect(Collectors.toList());
+        log.info("client requested {} candles for {}, returning {} candles", interval, currency, result.size());
+        return result;
+    }
+
+    private static TradeStatisticsAggregates.Interval toCandleInterval(String interval) {
+        return Arrays.stream(TradeStatisticsAggregates.Interval.values())
+                .filter(candleInterval -> candleInterval.name().equalsIgnoreCase(interval))
+                .findAny()
+                .orElseThrow(() -> new StatusException(Response.Status.BAD_REQUEST,
+                        "Invalid interval " + interval + ". Allowed values are " +
+                                Arrays.stream(TradeStatisticsAggregates.Interval.values())
+                                        .map(candleInterval -> candleInterval.name().toLowerCase(Locale.ROOT))
+                                        .collect(Collectors.joining(", "))));
+    }
 }
@@ -18,11 +18,9 @@
 package bisq.restapi.endpoints;
 
 import bisq.core.dao.state.DaoStateService;
-import bisq.core.dao.state.model.blockchain.BaseTx;
-import bisq.core.dao.state.model.blockchain.Tx;
 import bisq.core.dao.state.model.blockchain.TxType;
 
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -100,9 +98,11 @@ public class ExplorerTransactionsApi {
                                           @PathParam("filters") String filters) {
         restApi.checkDaoReady();
         log.info("filters: {}", filters);
-        List<JsonTx> jsonTxs = daoStateService.getUnorderedTxStream()
-                .sorted(Comparator.comparing(BaseTx::getTime).reversed())
-                .filter(tx -> hasMatchingTxType(tx, filters))
+        Optional<Set<TxType>> txTypes = toTxTypes(filters);
+        if (txTypes.isEmpty()) {
+            return List.of();
+        }
+        List<JsonTx> jsonTxs = daoStateService.getTxStreamOrderedByTime(txTypes.get(), null)
                 .skip(start)
                 .limit(count)
                 .map(tx -> BlockDataToJsonConverter.getJsonTx(daoStateService, tx))
@@ -111,23 +111,44 @@ public class ExplorerTransactionsApi {
         return jsonTxs;
     }
 
-    private boolean hasMatchingTxType(Tx tx, String filters) {
+    // Cursor based pagination. The id of the last tx of a page is used as afterTxId for requesting the next page.
+    @GET
+    @Path("query-txs-after/{afterTxId}/{count}/{filters}")
+    public List<JsonTx> queryTxsAfter(@Parameter(description = "TxId of the last tx of the previous page")
+                                      @PathParam("afterTxId") String afterTxId,
+                                      @PathParam("count") int count,
+                                      @PathParam("filters") String filters) {
+        restApi.checkDaoReady();
+        log.info("afterTxId: {}, filters: {}", afterTxId, filters);
+        Optional<Set<TxType>> txTypes = toTxTypes(filters);
+        if (txTypes.isEmpty()) {
+            return List.of();
+        }
+        List<JsonTx> jsonTxs = daoStateService.getTxStreamOrderedByTime(txTypes.get(), afterTxId)
+                .limit(count)
+                .map(tx -> BlockDataToJsonConverter.getJsonTx(daoStateService, tx))
+                .collect(Collectors.toList());
+        log.info("supplying {} jsonTxs to client after tx {}", jsonTxs.size(), afterTxId);
+        return jsonTxs;
+    }
+
+    // Returns an empty set if all tx types are requested, and Optional.empty if the first filter cannot be resolved.
+    // Filters after an unresolvable one are ignored.
+    private Optional<Set<TxType>> toTxTypes(String filters) {
         String[] filterTokens = filters.split("~");
         if (filterTokens.length < 1 || filters.equalsIgnoreCase("~")) {
-            return true;
+            return Optional.of(Set.of());
         }
+        Set<TxType> txTypes = EnumSet.noneOf(TxType.class);
         for (String filter : filterTokens) {
             try {
-                TxType txType = Enum.valueOf(TxType.class, filter);
-                if (tx.getTxType() == txType) {
-                    return true;
-                }
+                txTypes.add(Enum.valueOf(TxType.class, filter));
             } catch (Exception e) {
                 log.error("Could not resolve TxType Enum from " + filter, e);
-                return false;
+                break;
             }
         }
-        return false;
+        return txTypes.isEmpty() ? Optional.empty() : Optional.of(txTypes);
     }
 
 }